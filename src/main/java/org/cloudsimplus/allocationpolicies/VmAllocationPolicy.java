@@ -171,6 +171,31 @@ public sealed interface VmAllocationPolicy
      */
     Optional<Host> findHostForVm(Vm vm);
 
+    /**
+     * Finds a suitable Host that has enough resources to place a given VM,
+     * just as {@link #findHostForVm(Vm)}, but without changing the simulation state
+     * (for instance, the Host found is not activated).
+     * It enables evaluating a VM placement that may not happen,
+     * such as when planning VM migrations.
+     *
+     * @param vm the vm to find a host for it
+     * @return an {@link Optional} containing a suitable Host to place the VM;
+     *         or an empty {@link Optional} if no suitable Host was found
+     * @see #isHostSearchThreadSafe()
+     */
+    Optional<Host> searchHostForVm(Vm vm);
+
+    /**
+     * Checks if {@link #searchHostForVm(Vm)} can be called concurrently from multiple threads,
+     * while no VM is being placed.
+     * Policies that change some internal state when searching a Host
+     * (such as the index of the last selected Host or a pseudo-random number generator)
+     * or that use a {@link #setFindHostForVmFunction(BiFunction) custom function} to find a Host are not thread-safe.
+     *
+     * @return true if the Host search is thread-safe, false otherwise
+     */
+    boolean isHostSearchThreadSafe();
+
     /**
      * Checks if VM migrations are supported by this VmAllocationPolicy.
      * Realize that even if the policy allows VM migration,
@@ -7,6 +7,7 @@
  */
 package org.cloudsimplus.allocationpolicies;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -15,6 +16,7 @@ import org.cloudsimplus.autoscaling.VerticalVmScaling;
 import org.cloudsimplus.datacenters.Datacenter;
 import org.cloudsimplus.hosts.Host;
 import org.cloudsimplus.hosts.HostAbstract;
+import org.cloudsimplus.hosts.HostCapacityIndex;
 import org.cloudsimplus.hosts.HostSuitability;
 import org.cloudsimplus.resources.Pe;
 import org.cloudsimplus.resources.Processor;
@@ -58,6 +60,10 @@ public non-sealed abstract class VmAllocationPolicyAbstract implements VmAllocat
     /** @see #getHostCountForParallelSearch() */
     private int hostCountForParallelSearch;
 
+    /** @see #getHostCapacityIndex() */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private HostCapacityIndex hostCapacityIndex;
+
     /**
      * Creates a VmAllocationPolicy.
      */
@@ -348,9 +354,37 @@ public non-sealed abstract class VmAllocationPolicyAbstract implements VmAllocat
 
     @Override
     public final Optional<Host> findHostForVm(final Vm vm) {
-        final var optionalHost = findHostForVmFunction == null ? defaultFindHostForVm(vm) : findHostForVmFunction.apply(this, vm);
         //If the selected Host is not active, activate it (if it's already active, setActive has no effect)
-        return optionalHost.map(host -> host.setActive(true));
+        return searchHostForVm(vm).map(host -> host.setActive(true));
+    }
+
+    @Override
+    public final Optional<Host> searchHostForVm(final Vm vm) {
+        return findHostForVmFunction == null ? defaultFindHostForVm(vm) : findHostForVmFunction.apply(this, vm);
+    }
+
+    /**
+     * {@inheritDoc}
+     * It's just thread-safe if no {@link #setFindHostForVmFunction(BiFunction) custom function} is set
+     * and the {@link #defaultFindHostForVm(Vm) default search} {@link #isDefaultHostSearchThreadSafe() is thread-safe}.
+     */
+    @Override
+    public final boolean isHostSearchThreadSafe() {
+        return findHostForVmFunction == null && isDefaultHostSearchThreadSafe();
+    }
+
+    /**
+     * Checks if {@link #defaultFindHostForVm(Vm)} can be called concurrently from multiple threads,
+     * while no VM is being placed. It must not change any state of the policy, Hosts or simulation,
+     * such as a cursor to start the next search from, or the utilization of VMs
+     * (which may be computed by stateful UtilizationModels).
+     * Checking if a {@link Host#isSuitableForVm(Vm) Host is suitable for a VM}
+     * and querying the {@link #getHostCapacityIndex() HostCapacityIndex} are thread-safe.
+     * @return true if the default Host search is thread-safe, false otherwise (the default)
+     * @see #isHostSearchThreadSafe()
+     */
+    protected boolean isDefaultHostSearchThreadSafe() {
+        return false;
     }
 
     /**
@@ -364,6 +398,33 @@ public non-sealed abstract class VmAllocationPolicyAbstract implements VmAllocat
      */
     protected abstract Optional<Host> defaultFindHostForVm(Vm vm);
 
+    /**
+     * {@return an index of the Datacenter Hosts by their free capacity}
+     * It enables finding a suitable Host for a VM without checking every Host.
+     * The index is created the first time it's requested and
+     * whenever the Datacenter Host list changes.
+     * Then, Hosts update it incrementally as resources are allocated or deallocated.
+     * It's synchronized since Hosts may be searched concurrently (see {@link #isHostSearchThreadSafe()}).
+     */
+    protected synchronized HostCapacityIndex getHostCapacityIndex() {
+        final List<Host> hostList = getHostList();
+        if (hostCapacityIndex == null || !hostCapacityIndex.isIndexing(hostList)) {
+            hostCapacityIndex = new HostCapacityIndex(hostList);
+        }
+
+        return hostCapacityIndex;
+    }
+
+    /**
+     * Checks if the {@link #getHostCapacityIndex() Host capacity index} can be used to find a Host for a given VM.
+     * Since the index leaves out Hosts without available MIPS, it cannot be used for VMs not requesting any MIPS.
+     * @param vm the VM to find a Host for
+     * @return true if the index can be used, false otherwise
+     */
+    protected boolean isHostCapacityIndexUsable(final Vm vm) {
+        return vm.getCurrentRequestedMips().totalMips() > 0;
+    }
+
     @Override
     public Map<Vm, Host> getOptimizedAllocationMap(final List<? extends Vm> vmList) {
         /*
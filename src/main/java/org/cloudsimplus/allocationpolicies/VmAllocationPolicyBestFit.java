@@ -24,6 +24,7 @@
 package org.cloudsimplus.allocationpolicies;
 
 import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostCapacityIndex;
 import org.cloudsimplus.vms.Vm;
 
 import java.util.Comparator;
@@ -34,9 +35,9 @@ import java.util.stream.Stream;
 /// as the host for a VM, the one with the highest number of PEs in use,
 /// which has enough free PEs for a VM.
 ///
-/// This is a really computationally complex policy since the worst-case complexity
-/// to allocate a Host for a VM is O(N), where N is the number of Hosts.
-/// Such an implementation is not appropriate for large scale scenarios.
+/// Hosts are found using a [HostCapacityIndex], which seeks to the active Host with the fewest
+/// free PEs in O(log N), where N is the number of Hosts. Hosts are then checked in that order,
+/// so that the complexity only becomes O(N) when many of them lack other resources (such as RAM or BW).
 ///
 /// **NOTE: This policy doesn't perform optimization of VM allocation by means of VM migration.**
 ///
@@ -54,6 +55,10 @@ public class VmAllocationPolicyBestFit extends VmAllocationPolicyAbstract {
      */
     @Override
     protected Optional<Host> defaultFindHostForVm(final Vm vm) {
+        if (isHostCapacityIndexUsable(vm)) {
+            return getHostCapacityIndex().findBestFit(vm);
+        }
+
         /* Since it's being used the min operation, the active comparator must be reversed so that
          * we get active hosts with minimum number of free PEs. */
         final Comparator<Host> activeComparator = Comparator.comparing(Host::isActive).reversed();
@@ -65,4 +70,13 @@ public class VmAllocationPolicyBestFit extends VmAllocationPolicyAbstract {
                 .min(comparator);
     }
 
+    /**
+     * {@inheritDoc}
+     * @return true, since the Host search just reads the state of Hosts
+     */
+    @Override
+    protected boolean isDefaultHostSearchThreadSafe() {
+        return true;
+    }
+
 }
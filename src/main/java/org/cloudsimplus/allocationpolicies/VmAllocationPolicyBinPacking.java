@@ -0,0 +1,289 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.allocationpolicies;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.cloudsimplus.brokers.DatacenterBroker;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostSuitability;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toSet;
+
+/// A VmAllocationPolicy that places VMs as a
+/// [vector bin-packing](https://en.wikipedia.org/wiki/Bin_packing_problem) problem,
+/// considering CPU (MIPS), RAM, bandwidth and storage as the dimensions
+/// of VMs (items) and Hosts (bins).
+/// Each dimension is normalized by the Host capacity, so that different resources can be compared.
+///
+/// When a list of VMs is submitted together (such as when [DatacenterBroker#setBatchVmCreation(boolean)] is enabled),
+/// the whole list is sorted in decreasing order of VM size (the sum of its normalized demands)
+/// before placing VMs, so that the largest VMs are placed first, when there is more free capacity.
+/// Then, each VM is placed according to the selected [Heuristic].
+/// Active Hosts are always preferred over inactive ones, to avoid powering on new Hosts.
+///
+/// Candidate Hosts are scored in parallel when [#isParallelHostSearchEnabled()].
+/// Ties are always broken by the Host position in the Host list,
+/// so that results are the same either for parallel or sequential scoring.
+///
+/// **NOTE: This policy doesn't perform optimization of VM allocation by means of VM migration.**
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+/// @see <a href="https://www.microsoft.com/en-us/research/publication/heuristics-for-vector-bin-packing/">Heuristics for Vector Bin Packing</a>
+public class VmAllocationPolicyBinPacking extends VmAllocationPolicyAbstract {
+    /**
+     * Heuristics to select a Host for a VM.
+     */
+    public enum Heuristic {
+        /**
+         * Selects the first suitable Host in the Host list
+         * (First Fit Decreasing, when VMs are placed in batch).
+         */
+        FIRST_FIT_DECREASING,
+
+        /**
+         * Selects the suitable Host that will have the lowest remaining capacity
+         * (sum of normalized free resources) after placing the VM
+         * (Best Fit Decreasing, when VMs are placed in batch).
+         */
+        BEST_FIT_DECREASING,
+
+        /**
+         * Selects the suitable Host with the highest dot product between the VM demand vector
+         * and the Host free capacity vector, matching VMs to Hosts which have
+         * more free capacity in the dimensions the VM demands most.
+         */
+        DOT_PRODUCT,
+
+        /**
+         * Selects the suitable Host with the lowest L2-norm of the difference between
+         * the Host free capacity vector and the VM demand vector,
+         * making the remaining capacity as small and as balanced as possible.
+         */
+        L2_NORM
+    }
+
+    /**
+     * The heuristic used to select a Host for each VM.
+     */
+    @Getter
+    private final Heuristic heuristic;
+
+    /**
+     * Creates a VmAllocationPolicy using the {@link Heuristic#BEST_FIT_DECREASING} heuristic.
+     */
+    public VmAllocationPolicyBinPacking() {
+        this(Heuristic.BEST_FIT_DECREASING);
+    }
+
+    /**
+     * Creates a VmAllocationPolicy using a given heuristic.
+     * @param heuristic the heuristic used to select a Host for each VM
+     */
+    public VmAllocationPolicyBinPacking(@NonNull final Heuristic heuristic) {
+        super();
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * {@inheritDoc}
+     * VMs are sorted in decreasing order of their size (the sum of their normalized demands)
+     * before being placed.
+     * @param vmList {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected Set<HostSuitability> allocateHostForVmInternal(@NonNull final List<Vm> vmList) {
+        final double[] maxCapacity = getMaxHostCapacity();
+        final Comparator<Vm> sizeComparator = Comparator.comparingDouble(vm -> getVmSize(vm, maxCapacity));
+        return vmList.stream()
+                     .sorted(sizeComparator.reversed())
+                     .map(this::allocateHostForVm)
+                     .collect(toSet());
+    }
+
+    /**
+     * {@return the size of a VM} That is the sum of its demands,
+     * each one normalized by the maximum capacity of that resource among all Hosts.
+     * @param vm the VM to get its size
+     * @param maxCapacity the maximum capacity of each resource among all Hosts
+     */
+    private static double getVmSize(final Vm vm, final double[] maxCapacity) {
+        final double[] demand = getDemand(vm);
+        double size = 0;
+        for (int i = 0; i < demand.length; i++) {
+            size += maxCapacity[i] > 0 ? demand[i] / maxCapacity[i] : 0;
+        }
+
+        return size;
+    }
+
+    /**
+     * {@return the maximum capacity of each resource among all Hosts}
+     */
+    private double[] getMaxHostCapacity() {
+        final double[] maxCapacity = new double[4];
+        for (final Host host : getHostList()) {
+            final double[] capacity = getCapacity(host);
+            for (int i = 0; i < capacity.length; i++) {
+                maxCapacity[i] = Math.max(maxCapacity[i], capacity[i]);
+            }
+        }
+
+        return maxCapacity;
+    }
+
+    @Override
+    protected Optional<Host> defaultFindHostForVm(final Vm vm) {
+        final List<Host> hostList = getHostList();
+        if (heuristic == Heuristic.FIRST_FIT_DECREASING) {
+            return findFirstFit(vm, hostList);
+        }
+
+        final double[] demand = getDemand(vm);
+        final var indexStream = IntStream.range(0, hostList.size());
+        final var stream = isParallelHostSearchEnabled() ? indexStream.parallel() : indexStream;
+        return stream
+            .filter(i -> hostList.get(i).isSuitableForVm(vm))
+            .mapToObj(i -> new HostScore(i, hostList.get(i).isActive(), score(hostList.get(i), demand)))
+            .min(Comparator.naturalOrder())
+            .map(hostScore -> hostList.get(hostScore.position()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return true, since the Host search just reads the state and capacity of Hosts
+     */
+    @Override
+    protected boolean isDefaultHostSearchThreadSafe() {
+        return true;
+    }
+
+    /**
+     * Finds the first suitable Host for a VM, giving priority to active Hosts.
+     * @param vm the VM to find a Host for
+     * @param hostList the list of Hosts
+     * @return an {@link Optional} containing the Host found or an empty {@link Optional} otherwise
+     */
+    private static Optional<Host> findFirstFit(final Vm vm, final List<Host> hostList) {
+        Host firstInactiveHost = null;
+        for (final Host host : hostList) {
+            if ((host.isActive() || firstInactiveHost == null) && host.isSuitableForVm(vm)) {
+                if (host.isActive()) {
+                    return Optional.of(host);
+                }
+
+                firstInactiveHost = host;
+            }
+        }
+
+        return Optional.ofNullable(firstInactiveHost);
+    }
+
+    /**
+     * Computes the score of a Host for a VM according to the selected {@link #heuristic}.
+     * All scores are defined so that the lower the score, the better the Host.
+     * @param host the Host to compute the score
+     * @param demand the demand vector of the VM
+     * @return the Host score
+     */
+    private double score(final Host host, final double[] demand) {
+        final double[] capacity = getCapacity(host);
+        final double[] free = getFreeCapacity(host);
+        double score = 0;
+        for (int i = 0; i < demand.length; i++) {
+            if (capacity[i] <= 0) {
+                continue;
+            }
+
+            final double normalizedDemand = demand[i] / capacity[i];
+            final double normalizedFree = free[i] / capacity[i];
+            score += switch (heuristic) {
+                case DOT_PRODUCT -> -normalizedDemand * normalizedFree;
+                case L2_NORM -> Math.pow(normalizedFree - normalizedDemand, 2);
+                default -> normalizedFree - normalizedDemand;
+            };
+        }
+
+        return score;
+    }
+
+    /**
+     * {@return the demand vector of a VM} It contains, in this order, the
+     * total MIPS, RAM, bandwidth and storage capacity of the VM.
+     * @param vm the VM to get its demand vector
+     */
+    private static double[] getDemand(final Vm vm) {
+        return new double[]{
+            vm.getTotalMipsCapacity(), vm.getRam().getCapacity(),
+            vm.getBw().getCapacity(), vm.getStorage().getCapacity()
+        };
+    }
+
+    /**
+     * {@return the capacity vector of a Host} It contains the same resources as {@link #getDemand(Vm)}.
+     * @param host the Host to get its capacity vector
+     */
+    private static double[] getCapacity(final Host host) {
+        return new double[]{
+            host.getTotalMipsCapacity(), host.getRam().getCapacity(),
+            host.getBw().getCapacity(), host.getStorage().getCapacity()
+        };
+    }
+
+    /**
+     * {@return the free capacity vector of a Host} It contains the same resources as {@link #getDemand(Vm)}.
+     * @param host the Host to get its free capacity vector
+     */
+    private static double[] getFreeCapacity(final Host host) {
+        return new double[]{
+            host.getTotalAvailableMips(), host.getRam().getAvailableResource(),
+            host.getBw().getAvailableResource(), host.getStorage().getAvailableResource()
+        };
+    }
+
+    /**
+     * The score of a candidate Host, ordered first by the active state (active Hosts first),
+     * then by the score and finally by the Host position in the Host list.
+     * @param position the position of the Host in the Host list
+     * @param active the Host active state
+     * @param score the Host score (the lower, the better)
+     */
+    private record HostScore(int position, boolean active, double score) implements Comparable<HostScore> {
+        @Override
+        public int compareTo(final HostScore other) {
+            if (active != other.active) {
+                return active ? -1 : 1;
+            }
+
+            final int scoreComparison = Double.compare(score, other.score);
+            return scoreComparison == 0 ? Integer.compare(position, other.position) : scoreComparison;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostCapacityIndex;
 import org.cloudsimplus.vms.Vm;
 
 import java.util.List;
@@ -34,8 +35,9 @@ import java.util.Optional;
 
 /// A [First Fit VM allocation policy](https://en.wikipedia.org/wiki/First-fit_bin_packing)
 /// which finds the first Host having enough resources to place a given VM.
-/// This is a high time-efficient policy with a best-case complexity O(1)
+/// This is a high time-efficient policy with a best-case complexity O(log N)
 /// and a worst-case complexity O(N), where N is the number of Hosts.
+/// Hosts without available capacity are skipped using a [HostCapacityIndex].
 /// Additionally, such a policy is resource efficient, because it performs
 /// server consolidation by trying to place the maximum number of VMs
 /// into the same Host to increase Host's resource usage.
@@ -59,6 +61,13 @@ public class VmAllocationPolicyFirstFit extends VmAllocationPolicyAbstract {
 
     @Override
     protected Optional<Host> defaultFindHostForVm(final Vm vm) {
+        if (isHostCapacityIndexUsable(vm)) {
+            final var index = getHostCapacityIndex();
+            final var optionalHost = index.findFirstFit(vm, lastHostIndex);
+            optionalHost.ifPresent(host -> lastHostIndex = index.getPosition(host));
+            return optionalHost;
+        }
+
         final List<Host> hostList = getHostList();
         /* The for loop just defines the maximum number of Hosts to try.
          * When a suitable Host is found, the method returns immediately. */
@@ -57,6 +57,8 @@ final class VmAllocationPolicyNull implements VmAllocationPolicy {
     @Override public List<Host> getHostList() { return Collections.emptyList(); }
     @Override public Map<Vm, Host> getOptimizedAllocationMap(List<? extends Vm> vmList) { return Collections.emptyMap(); }
     @Override public Optional<Host> findHostForVm(Vm vm) { return Optional.empty(); }
+    @Override public Optional<Host> searchHostForVm(Vm vm) { return Optional.empty(); }
+    @Override public boolean isHostSearchThreadSafe() { return false; }
     @Override public boolean isVmMigrationSupported() { return false; }
     @Override public int getHostCountForParallelSearch() { return 0; }
     @Override public VmAllocationPolicy setHostCountForParallelSearch(int hostCountForParallelSearch) { return this; }
@@ -0,0 +1,278 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.allocationpolicies;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostCapacityIndex;
+import org.cloudsimplus.hosts.HostSuitability;
+import org.cloudsimplus.hosts.network.NetworkHost;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.*;
+import java.util.function.Function;
+
+/// A VmAllocationPolicy for very large Datacenters, which partitions Hosts into cells
+/// (such as racks or pods) and performs a two-level search to place a VM:
+/// it selects a cell first and then a Host inside that cell.
+///
+/// Each cell has its own [HostCapacityIndex], which keeps its Hosts sorted by their number of free PEs.
+/// This way, cells without enough free PEs for a VM are skipped in logarithmic time
+/// (when their Hosts require free PEs to place a VM, see [HostCapacityIndex#mayPlace(Vm)]),
+/// and the Host search inside a cell only depends on the cell size, not on the total number of Hosts.
+///
+/// Cells are checked in a round-robin fashion, starting from the last cell where a VM was placed.
+/// Such a cell (and the last Host selected inside it) is just updated when a VM is actually placed,
+/// so that [#searchHostForVm(Vm)] doesn't change the result of the next search.
+/// That fills up cells one after another (as Borg/Omega cells), keeping VMs placed close together.
+/// Then the [HostSelection] defines how a Host is selected inside the chosen cell.
+///
+/// Cells are created the first time a VM is placed and whenever the Datacenter Host list changes.
+///
+/// **NOTE: This policy doesn't perform optimization of VM allocation by means of VM migration.**
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+/// @see <a href="https://research.google/pubs/large-scale-cluster-management-at-google-with-borg/">Large-scale cluster management at Google with Borg</a>
+public class VmAllocationPolicySharded extends VmAllocationPolicyAbstract {
+    /**
+     * The default number of Hosts in each cell, when Hosts are partitioned by their IDs.
+     */
+    public static final int DEF_CELL_SIZE = 1024;
+
+    /**
+     * Policies to select a Host inside a cell.
+     */
+    public enum HostSelection {
+        /** Selects the suitable Host with the fewest free PEs, giving priority to active Hosts. */
+        BEST_FIT,
+
+        /** Selects the suitable Host with the most free PEs, giving priority to active Hosts. */
+        WORST_FIT,
+
+        /** Selects the first suitable Host, starting from the last Host selected in the cell. */
+        FIRST_FIT
+    }
+
+    /**
+     * A function that gets the cell of a Host, which can be any object
+     * identifying the cell (according to its equals/hashCode methods).
+     */
+    @Getter
+    private final Function<Host, Object> cellFunction;
+
+    /**
+     * The policy to select a Host inside a cell.
+     */
+    @Getter
+    private final HostSelection hostSelection;
+
+    /** The Host list the {@link #cells} were created from. */
+    private List<Host> shardedHostList;
+
+    private List<Cell> cells;
+
+    /** The index of the last cell where a VM was placed. */
+    private int lastCellIndex;
+
+    /** The index of each cell inside the {@link #cells} list, according to the cell returned by the {@link #cellFunction}. */
+    private Map<Object, Integer> cellIndexes;
+
+    /**
+     * A partition of the Datacenter Hosts.
+     */
+    private static final class Cell {
+        private final List<Host> hostList;
+        private final HostCapacityIndex index;
+
+        /** The position (inside the cell) of the last Host where a VM was placed, used by {@link HostSelection#FIRST_FIT}. */
+        private int lastHostPosition;
+
+        private Cell(final List<Host> hostList) {
+            this.hostList = hostList;
+            this.index = new HostCapacityIndex(hostList);
+        }
+    }
+
+    /**
+     * Creates a VmAllocationPolicy which partitions Hosts into cells of {@link #DEF_CELL_SIZE} Hosts
+     * (according to their IDs) and selects Hosts by {@link HostSelection#BEST_FIT}.
+     */
+    public VmAllocationPolicySharded() {
+        this(DEF_CELL_SIZE, HostSelection.BEST_FIT);
+    }
+
+    /**
+     * Creates a VmAllocationPolicy which partitions Hosts into cells of a given size,
+     * according to their IDs (the Host ID divided by the cell size).
+     *
+     * @param cellSize the number of Hosts in each cell
+     * @param hostSelection the policy to select a Host inside a cell
+     */
+    public VmAllocationPolicySharded(final int cellSize, final HostSelection hostSelection) {
+        this(hostIdCellFunction(cellSize), hostSelection);
+    }
+
+    /**
+     * Creates a VmAllocationPolicy which partitions Hosts into cells using a given function.
+     *
+     * @param cellFunction a function that gets the cell of a Host, which can be any object
+     *                     identifying the cell (according to its equals/hashCode methods)
+     * @param hostSelection the policy to select a Host inside a cell
+     * @see #rackCellFunction()
+     */
+    public VmAllocationPolicySharded(@NonNull final Function<Host, Object> cellFunction, @NonNull final HostSelection hostSelection) {
+        super();
+        this.cellFunction = cellFunction;
+        this.hostSelection = hostSelection;
+    }
+
+    private static Function<Host, Object> hostIdCellFunction(final int cellSize) {
+        if (cellSize < 1) {
+            throw new IllegalArgumentException("Cell size must be at least 1.");
+        }
+
+        return host -> host.getId() / cellSize;
+    }
+
+    /**
+     * {@return a cell function where each rack is a cell} The rack of a {@link NetworkHost} is the
+     * edge switch it's connected to. Any other Host is placed into a single cell.
+     */
+    public static Function<Host, Object> rackCellFunction() {
+        return host -> host instanceof NetworkHost networkHost && networkHost.getEdgeSwitch() != null ? networkHost.getEdgeSwitch() : Host.NULL;
+    }
+
+    /**
+     * {@return the number of cells the Datacenter Hosts are partitioned into}
+     */
+    public int getCellCount() {
+        return getCells().size();
+    }
+
+    /**
+     * {@return the cells the Datacenter Hosts are partitioned into}
+     * They are recreated if the Datacenter Host list has changed.
+     * Since Hosts are usually just added to the end of a Datacenter Host list,
+     * it just checks the list size and the last Host, avoiding iterating over the entire list.
+     */
+    private List<Cell> getCells() {
+        final List<Host> hostList = getHostList();
+        final boolean changed =
+            cells == null || hostList.size() != shardedHostList.size() ||
+            !hostList.isEmpty() && hostList.getLast() != shardedHostList.getLast();
+        if (changed) {
+            createCells(hostList);
+        }
+
+        return cells;
+    }
+
+    private void createCells(final List<Host> hostList) {
+        final var cellHostLists = new LinkedHashMap<Object, List<Host>>();
+        for (final Host host : hostList) {
+            cellHostLists.computeIfAbsent(cellFunction.apply(host), cell -> new ArrayList<>()).add(host);
+        }
+
+        this.shardedHostList = List.copyOf(hostList);
+        this.cells = cellHostLists.values().stream().map(Cell::new).toList();
+        this.cellIndexes = new HashMap<>();
+        cellHostLists.keySet().forEach(cell -> cellIndexes.put(cell, cellIndexes.size()));
+        this.lastCellIndex = 0;
+    }
+
+    /**
+     * Selects a Host for a VM, checking cells in a round-robin fashion
+     * from the last one where a VM was placed.
+     * @param vm {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected Optional<Host> defaultFindHostForVm(final Vm vm) {
+        final List<Cell> cellList = getCells();
+        for (int i = 0; i < cellList.size(); i++) {
+            final int cellIndex = (lastCellIndex + i) % cellList.size();
+            final Cell cell = cellList.get(cellIndex);
+            final var optionalHost = findHostInCell(cell, vm);
+            if (optionalHost.isPresent()) {
+                return optionalHost;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private Optional<Host> findHostInCell(final Cell cell, final Vm vm) {
+        if (!isHostCapacityIndexUsable(vm)) {
+            return cell.hostList.stream().filter(host -> host.isSuitableForVm(vm)).findFirst();
+        }
+
+        if (!cell.index.mayPlace(vm)) {
+            return Optional.empty();
+        }
+
+        return switch (hostSelection) {
+            case BEST_FIT -> cell.index.findBestFit(vm);
+            case WORST_FIT -> cell.index.findWorstFit(vm);
+            case FIRST_FIT -> cell.index.findFirstFit(vm, cell.lastHostPosition);
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * When the VM is placed, the cell of the Host becomes the first one to be checked for the next VM.
+     * @param vm {@inheritDoc}
+     * @param host {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public HostSuitability allocateHostForVm(final Vm vm, final Host host) {
+        final var suitability = super.allocateHostForVm(vm, host);
+        if (suitability.fully()) {
+            updateLastCell(host);
+        }
+
+        return suitability;
+    }
+
+    /**
+     * Sets the cell of a Host where a VM was placed as the last selected one.
+     * @param host the Host where a VM was placed
+     */
+    private void updateLastCell(final Host host) {
+        final List<Cell> cellList = getCells();
+        final Integer cellIndex = cellIndexes.get(cellFunction.apply(host));
+        if (cellIndex == null) {
+            return;
+        }
+
+        final Cell cell = cellList.get(cellIndex);
+        final int hostPosition = cell.index.getPosition(host);
+        if (hostPosition >= 0) {
+            lastCellIndex = cellIndex;
+            cell.lastHostPosition = hostPosition;
+        }
+    }
+}
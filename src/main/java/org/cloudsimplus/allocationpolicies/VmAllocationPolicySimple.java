@@ -8,6 +8,7 @@
 package org.cloudsimplus.allocationpolicies;
 
 import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostCapacityIndex;
 import org.cloudsimplus.vms.Vm;
 
 import java.util.Comparator;
@@ -21,9 +22,9 @@ import static java.util.Comparator.comparing;
 /// the host for a VM, that one with the fewest PEs in use.
 /// **It is therefore a Worst-Fit policy**, allocating each VM into the host with the highest number of available PEs.
 ///
-/// This is a really computationally complex policy since the worst-case complexity
-/// to allocate a Host for a VM is O(N), where N is the number of Hosts.
-/// Such an implementation is not appropriate for large scale scenarios.
+/// Hosts are found using a [HostCapacityIndex], which seeks to the active Host with the most
+/// free PEs in O(log N), where N is the number of Hosts. Hosts are then checked in that order,
+/// so that the complexity only becomes O(N) when many of them lack other resources (such as RAM or BW).
 ///
 /// **NOTE: This policy doesn't perform optimization of VM allocation using VM migration.**
 ///
@@ -59,9 +60,22 @@ public class VmAllocationPolicySimple extends VmAllocationPolicyAbstract {
      */
     @Override
     protected Optional<Host> defaultFindHostForVm(final Vm vm) {
+        if (isHostCapacityIndexUsable(vm)) {
+            return getHostCapacityIndex().findWorstFit(vm);
+        }
+
         final Comparator<Host> comparator = comparing(Host::isActive).thenComparingLong(Host::getFreePesNumber);
 
         final var hostStream = isParallelHostSearchEnabled() ? getHostList().stream().parallel() : getHostList().stream();
         return hostStream.filter(host -> host.isSuitableForVm(vm)).max(comparator);
     }
+
+    /**
+     * {@inheritDoc}
+     * @return true, since the Host search just reads the state of Hosts
+     */
+    @Override
+    protected boolean isDefaultHostSearchThreadSafe() {
+        return true;
+    }
 }
@@ -0,0 +1,225 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.allocationpolicies.migration;
+
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmPlacementConstraint;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/// A copy-on-write overlay of the resources planned to be allocated to (or released from) [Host]s
+/// while a [VmAllocationPolicyMigrationAbstract] builds a VM migration map.
+///
+/// Candidate VM placements and removals are just recorded as capacity deltas
+/// for the Hosts they affect, so they can be evaluated and rolled back
+/// (by [clearing][#clear()] the overlay) without creating or destroying
+/// VMs into the actual Hosts. Hosts not changed by the overlay have no delta at all,
+/// and queries for them just read the Host state.
+///
+/// A planned placement reserves the entire VM capacity in the target Host
+/// (as it happens when the VM is actually created there),
+/// while a planned removal releases the CPU that the VM is currently using.
+/// The target Host of a planned placement is also counted by the [VmPlacementConstraint]s of the VM,
+/// so that other VMs are checked against such constraints considering that placement.
+/// A VM planned to be removed is still counted into its current Host by its constraints,
+/// since it will be there until the migration finishes.
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+final class HostAllocationOverlay {
+    /**
+     * The resources reserved (positive values) or released (negative values) in a Host
+     * by the planned placements and removals of VMs.
+     */
+    private static final class Delta {
+        /**
+         * The MIPS requested by the VMs actually placed into the Host.
+         * Since VMs are just planned to be placed or removed, that doesn't change while the overlay is used,
+         * so it's computed once, when the delta is created.
+         */
+        private final double hostRequestedMips;
+        private long pes;
+        private double allocatedMips;
+        private double requestedMips;
+        private double usedMips;
+        private long ram;
+        private long bw;
+        private long storage;
+
+        private Delta(final Host host) {
+            this.hostRequestedMips = getHostRequestedMips(host);
+        }
+
+        private void add(final Vm vm, final int sign, final double allocatedMips, final double requestedMips) {
+            this.pes += sign * vm.getPesNumber();
+            this.allocatedMips += sign * allocatedMips;
+            this.requestedMips += sign * requestedMips;
+            this.usedMips += sign * vm.getTotalCpuMipsUtilization();
+            this.ram += sign * vm.getRam().getCapacity();
+            this.bw += sign * vm.getBw().getCapacity();
+            this.storage += sign * vm.getStorage().getCapacity();
+        }
+    }
+
+    private final Map<Host, Delta> deltas = new IdentityHashMap<>();
+
+    /** The VMs planned to be removed from their current Hosts. */
+    private final Set<Vm> removedVms = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /** The VMs with placement constraints which were planned to be placed into some Host. */
+    private final Set<Vm> constrainedVms = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Plans the placement of a VM into a Host, reserving the entire VM capacity there.
+     * @param vm the VM to place
+     * @param host the target Host
+     */
+    void place(final Vm vm, final Host host) {
+        final double mips = vm.getTotalMipsCapacity();
+        getDelta(host).add(vm, 1, mips, mips);
+        if (!vm.getPlacementConstraints().isEmpty()) {
+            constrainedVms.add(vm);
+            vm.getPlacementConstraints().forEach(constraint -> constraint.updatePlannedTarget(vm, host));
+        }
+    }
+
+    /**
+     * Plans the removal of a VM from its current Host, releasing the resources it's using.
+     * @param vm the VM to remove
+     */
+    void remove(final Vm vm) {
+        if (removedVms.add(vm)) {
+            final Host host = vm.getHost();
+            getDelta(host).add(vm, -1, host.getTotalAllocatedMipsForVm(vm), vm.getTotalCpuMipsRequested());
+        }
+    }
+
+    private Delta getDelta(final Host host) {
+        return deltas.computeIfAbsent(host, Delta::new);
+    }
+
+    /**
+     * {@return true if a VM was planned to be removed from its current Host, false otherwise}
+     * @param vm the VM to check
+     */
+    boolean isRemoved(final Vm vm) {
+        return removedVms.contains(vm);
+    }
+
+    /**
+     * Rolls back all planned placements and removals.
+     */
+    void clear() {
+        deltas.clear();
+        removedVms.clear();
+        for (final Vm vm : constrainedVms) {
+            vm.getPlacementConstraints().forEach(constraint -> constraint.updatePlannedTarget(vm, Host.NULL));
+        }
+
+        constrainedVms.clear();
+    }
+
+    /**
+     * Checks if a Host has enough resources to place a VM, considering the planned placements and removals.
+     * Since released resources are just planned, the Host must be suitable
+     * for the VM with its actual resources as well.
+     * The placement constraints of the VM are checked by the Host, considering the planned placements too.
+     * @param host the Host to check
+     * @param vm the VM to check
+     * @return true if the VM fits into the Host, false otherwise
+     */
+    boolean isSuitableForVm(final Host host, final Vm vm) {
+        if (!host.isSuitableForVm(vm)) {
+            return false;
+        }
+
+        final Delta delta = deltas.get(host);
+        return delta == null ||
+               host.getFreePesNumber() - delta.pes >= vm.getPesNumber() &&
+               host.getTotalAvailableMips() - delta.allocatedMips >= vm.getTotalMipsCapacity() &&
+               host.getRam().getAvailableResource() - delta.ram >= vm.getRam().getCapacity() &&
+               host.getBw().getAvailableResource() - delta.bw >= vm.getBw().getCapacity() &&
+               host.getStorage().getAvailableResource() - delta.storage >= vm.getStorage().getCapacity();
+    }
+
+    /**
+     * {@return the MIPS used by all VMs in a Host}, considering the planned placements and removals
+     * @param host the Host to get the MIPS utilization
+     */
+    double getCpuMipsUtilization(final Host host) {
+        final Delta delta = deltas.get(host);
+        return host.getCpuMipsUtilization() + (delta == null ? 0 : delta.usedMips);
+    }
+
+    /**
+     * {@return the percentage of CPU used by all VMs in a Host (between 0 and 1)},
+     * considering the planned placements and removals
+     * @param host the Host to get the CPU utilization
+     */
+    double getCpuPercentUtilization(final Host host) {
+        final Delta delta = deltas.get(host);
+        if (delta == null) {
+            return host.getCpuPercentUtilization();
+        }
+
+        final double totalMips = host.getTotalMipsCapacity();
+        return totalMips == 0 ? 0 : getCpuMipsUtilization(host) / totalMips;
+    }
+
+    /**
+     * {@return the MIPS requested by all VMs in a Host}, considering the planned placements and removals
+     * @param host the Host to get the requested MIPS
+     */
+    double getCpuMipsRequested(final Host host) {
+        final Delta delta = deltas.get(host);
+        return delta == null ? getHostRequestedMips(host) : delta.hostRequestedMips + delta.requestedMips;
+    }
+
+    /**
+     * {@return the MIPS requested by the VMs actually placed into a Host}
+     * @param host the Host to get the requested MIPS
+     */
+    private static double getHostRequestedMips(final Host host) {
+        double requestedMips = 0;
+        for (final Vm vm : host.getVmList()) {
+            requestedMips += vm.getTotalCpuMipsRequested();
+        }
+
+        return requestedMips;
+    }
+
+    /**
+     * {@return the MIPS allocated to the VMs in a Host by the planned placements and removals}
+     * It's positive when more MIPS were planned to be allocated than released.
+     * @param host the Host to get the allocated MIPS
+     */
+    double getAllocatedMipsDelta(final Host host) {
+        final Delta delta = deltas.get(host);
+        return delta == null ? 0 : delta.allocatedMips;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.allocationpolicies.migration;
+
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.listeners.HostUpdatesVmsProcessingEventInfo;
+
+import java.util.*;
+
+/// Keeps the sets of overloaded and underloaded [Host]s for a [VmAllocationPolicyMigrationAbstract],
+/// so that the policy doesn't need to check every Host at every VM migration round.
+///
+/// The load state of a Host can only change when its processing is updated
+/// (since VM utilization is updated there) or when the policy thresholds change.
+/// This way, the index listens to [Host#addOnUpdateProcessingListener(EventListener) processing updates]
+/// and just re-evaluates the changed Hosts at the next query,
+/// moving them into or out of the overloaded/underloaded sets when they cross some threshold.
+///
+/// Underloaded Hosts are kept ordered by their CPU utilization (ties broken by the Host position in the Host list),
+/// so that the most underloaded Hosts are taken first without scanning the whole Host list again
+/// for every Host selected to have its VMs migrated.
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+final class HostLoadIndex {
+    private final VmAllocationPolicyMigrationAbstract policy;
+
+    /** The indexed Hosts, where the position of each one is its index in this list. */
+    private final List<Host> hostList;
+
+    /** The position of each Host inside the {@link #hostList}. */
+    private final Map<Host, Integer> positions;
+
+    /** The CPU utilization of each Host when it was last evaluated. */
+    private final double[] cpuUtilization;
+
+    /** Positions of the overloaded Hosts when they were last evaluated. */
+    private final NavigableSet<Integer> overloadedPositions;
+
+    /**
+     * Positions of the underloaded Hosts when they were last evaluated,
+     * ordered by their {@link #cpuUtilization}.
+     */
+    private final NavigableSet<Integer> underloadedPositions;
+
+    /** Positions of Hosts that must be re-evaluated at the next query. */
+    private final List<Integer> changedPositions;
+
+    /** @see #changedPositions */
+    private final boolean[] changed;
+
+    private final EventListener<HostUpdatesVmsProcessingEventInfo> onHostUpdateProcessingListener;
+
+    /**
+     * Creates an index for a list of Hosts, registering a listener
+     * for the processing updates of each one.
+     * @param policy the policy which defines if a Host is overloaded or underloaded
+     * @param hostList the list of Hosts to index
+     */
+    HostLoadIndex(final VmAllocationPolicyMigrationAbstract policy, final List<? extends Host> hostList) {
+        this.policy = policy;
+        this.hostList = List.copyOf(hostList);
+        this.positions = new IdentityHashMap<>(hostList.size());
+        this.cpuUtilization = new double[hostList.size()];
+        this.overloadedPositions = new TreeSet<>();
+        this.underloadedPositions = new TreeSet<>(
+            Comparator.<Integer>comparingDouble(position -> cpuUtilization[position]).thenComparing(position -> position));
+        this.changedPositions = new ArrayList<>(hostList.size());
+        this.changed = new boolean[hostList.size()];
+        this.onHostUpdateProcessingListener = info -> update(info.getHost());
+
+        for (int i = 0; i < this.hostList.size(); i++) {
+            final Host host = this.hostList.get(i);
+            positions.put(host, i);
+            host.addOnUpdateProcessingListener(onHostUpdateProcessingListener);
+        }
+
+        invalidate();
+    }
+
+    /**
+     * Notifies that the processing of a Host was updated,
+     * so that its load state must be re-evaluated before the next query.
+     * @param host the updated Host
+     */
+    private void update(final Host host) {
+        final Integer position = positions.get(host);
+        if (position != null) {
+            markChanged(position);
+        }
+    }
+
+    /**
+     * Marks all Hosts to be re-evaluated at the next query.
+     * It must be called when the thresholds used to define the Hosts load state change.
+     */
+    void invalidate() {
+        for (int i = 0; i < hostList.size(); i++) {
+            markChanged(i);
+        }
+    }
+
+    private void markChanged(final int position) {
+        if (!changed[position]) {
+            changed[position] = true;
+            changedPositions.add(position);
+        }
+    }
+
+    /**
+     * Removes the listeners registered into the indexed Hosts,
+     * when the index is not used anymore.
+     */
+    void close() {
+        hostList.forEach(host -> host.removeOnUpdateProcessingListener(onHostUpdateProcessingListener));
+    }
+
+    /**
+     * Re-evaluates the load state of all Hosts which have changed since the last query.
+     */
+    private void reevaluateChangedHosts() {
+        for (final int position : changedPositions) {
+            changed[position] = false;
+            reevaluate(position, hostList.get(position));
+        }
+
+        changedPositions.clear();
+    }
+
+    private void reevaluate(final int position, final Host host) {
+        // The position must be removed before changing its utilization, which is the key of the ordered set
+        underloadedPositions.remove(position);
+        cpuUtilization[position] = host.getCpuPercentUtilization();
+        if (policy.isUnderloaded(host)) {
+            underloadedPositions.add(position);
+        }
+
+        if (policy.isOverloaded(host)) {
+            overloadedPositions.add(position);
+        } else overloadedPositions.remove(position);
+    }
+
+    /**
+     * {@return the Hosts which are overloaded} They are in the order of the Host list.
+     */
+    List<Host> getOverloadedHosts() {
+        reevaluateChangedHosts();
+        return overloadedPositions.stream().map(hostList::get).toList();
+    }
+
+    /**
+     * {@return the Hosts which are underloaded}
+     * They are in ascending order of CPU utilization, so that the most underloaded ones come first.
+     */
+    List<Host> getUnderloadedHosts() {
+        reevaluateChangedHosts();
+        return underloadedPositions.stream().map(hostList::get).toList();
+    }
+
+    /**
+     * Checks if the index was created for a given Host list.
+     * Since Hosts are usually just added to the end of a Datacenter Host list,
+     * it just checks the list size and the last Host, avoiding iterating over the entire list.
+     * @param hostList the list to check
+     * @return true if the index was created for the given list, false otherwise
+     */
+    boolean isIndexing(final List<? extends Host> hostList) {
+        final int size = this.hostList.size();
+        return hostList.size() == size && (size == 0 || hostList.get(size - 1) == this.hostList.get(size - 1));
+    }
+}
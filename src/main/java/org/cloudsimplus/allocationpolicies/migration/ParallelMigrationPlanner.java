@@ -0,0 +1,138 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.allocationpolicies.migration;
+
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/// Plans the placement of a list of VMs to be migrated, evaluating the target Host for
+/// each VM in parallel, instead of searching a Host for one VM at a time.
+///
+/// The planning is performed in rounds. At each round:
+/// 1. the target Host of every pending VM is searched in parallel, against the same snapshot
+///    of the planned allocations (which are not changed while the round is searching for Hosts);
+/// 2. the VMs are then placed sequentially, in the order they were given.
+///    A VM is placed into the Host found for it only if no other VM was placed into that Host
+///    in the current round (since that Host may not be suitable for the VM anymore)
+///    and the Host is still suitable for the VM (since placing other VMs may violate
+///    placement constraints between them, such as affinity rules).
+///    Otherwise, the VM is deferred to the next round.
+///
+/// This way, conflicts are always resolved the same way, independently of the number of threads,
+/// and the placements are consistent, since every Host is evaluated for a VM with all
+/// previously planned placements into it. When most of the VMs in a round conflict
+/// (for instance, when the target Host selection prefers the most loaded Hosts),
+/// the remaining VMs are planned sequentially, so that the planning is never much slower than
+/// searching a Host for one VM at a time.
+///
+/// The function to find a target Host is called from multiple threads, while no VM is being placed.
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+final class ParallelMigrationPlanner {
+    /** A function that finds a target Host for a VM, considering the placements planned so far. */
+    private final Function<Vm, Optional<Host>> targetHostFinder;
+
+    /**
+     * A predicate that checks if a Host found for a VM in the current round is still suitable for it,
+     * after other VMs were placed into other Hosts.
+     */
+    private final BiPredicate<Vm, Host> stillSuitable;
+
+    /** A consumer that actually places a VM into a target Host, changing the planned placements. */
+    private final BiConsumer<Vm, Host> placement;
+
+    /**
+     * Creates a planner where a Host found for a VM is always suitable, unless other VMs are placed into it.
+     * @param targetHostFinder a function that finds a target Host for a VM, considering the placements planned so far
+     * @param placement a consumer that places a VM into a target Host, changing the planned placements
+     */
+    ParallelMigrationPlanner(final Function<Vm, Optional<Host>> targetHostFinder, final BiConsumer<Vm, Host> placement) {
+        this(targetHostFinder, (vm, host) -> true, placement);
+    }
+
+    /**
+     * Creates a planner.
+     * @param targetHostFinder a function that finds a target Host for a VM, considering the placements planned so far
+     * @param stillSuitable a predicate that checks if a Host found for a VM is still suitable for it,
+     *                      after other VMs were placed into other Hosts
+     * @param placement a consumer that places a VM into a target Host, changing the planned placements
+     */
+    ParallelMigrationPlanner(
+        final Function<Vm, Optional<Host>> targetHostFinder,
+        final BiPredicate<Vm, Host> stillSuitable,
+        final BiConsumer<Vm, Host> placement)
+    {
+        this.targetHostFinder = targetHostFinder;
+        this.stillSuitable = stillSuitable;
+        this.placement = placement;
+    }
+
+    /**
+     * Plans the placement of a list of VMs. VMs for which no target Host is found are not placed.
+     * @param vmList the VMs to place, in the order they have priority to be placed
+     */
+    void plan(final List<? extends Vm> vmList) {
+        List<Vm> pendingVms = new ArrayList<>(vmList);
+        while (!pendingVms.isEmpty()) {
+            final int evaluatedVms = pendingVms.size();
+            pendingVms = planRound(pendingVms);
+            // Most VMs conflicted, so another round would mostly repeat the same searches
+            if (pendingVms.size() > evaluatedVms / 2) {
+                pendingVms.forEach(vm -> targetHostFinder.apply(vm).ifPresent(host -> placement.accept(vm, host)));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Searches the target Host for a list of VMs in parallel and places those ones without conflicts.
+     * @param vmList the VMs to place
+     * @return the VMs deferred to the next round
+     */
+    private List<Vm> planRound(final List<Vm> vmList) {
+        final List<Optional<Host>> targetHosts = vmList.parallelStream().map(targetHostFinder).toList();
+        final Set<Host> changedHosts = Collections.newSetFromMap(new IdentityHashMap<>());
+        final var deferredVms = new ArrayList<Vm>();
+        for (int i = 0; i < vmList.size(); i++) {
+            final Vm vm = vmList.get(i);
+            final Optional<Host> targetHost = targetHosts.get(i);
+            if (targetHost.isEmpty()) {
+                continue;
+            }
+
+            if (!changedHosts.contains(targetHost.get()) && stillSuitable.test(vm, targetHost.get())) {
+                changedHosts.add(targetHost.get());
+                placement.accept(vm, targetHost.get());
+            } else deferredVms.add(vm);
+        }
+
+        return deferredVms;
+    }
+}
@@ -7,6 +7,7 @@
  */
 package org.cloudsimplus.allocationpolicies.migration;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -16,15 +17,14 @@ import org.cloudsimplus.allocationpolicies.VmAllocationPolicyAbstract;
 import org.cloudsimplus.core.CloudInformationService;
 import org.cloudsimplus.datacenters.Datacenter;
 import org.cloudsimplus.hosts.Host;
-import org.cloudsimplus.hosts.HostAbstract;
 import org.cloudsimplus.selectionpolicies.VmSelectionPolicy;
 import org.cloudsimplus.util.TimeUtil;
 import org.cloudsimplus.vms.Vm;
-import org.cloudsimplus.vms.VmAbstract;
-import org.cloudsimplus.vms.VmSimple;
 
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -39,6 +39,13 @@ import static java.util.stream.Collectors.*;
  *
  * <p>Any {@link VmAllocationPolicyMigration} implementation must be based on this class.</p>
  *
+ * <p>When {@link #isParallelHostSearchEnabled() parallel Host search is enabled}
+ * for the policy of the Datacenter where VMs are migrated to
+ * and such a policy {@link #isHostSearchThreadSafe() can search Hosts concurrently}
+ * (such as a {@link org.cloudsimplus.allocationpolicies.VmAllocationPolicyBestFit}),
+ * the target Hosts for VMs from overloaded Hosts are searched in parallel
+ * (see {@link ParallelMigrationPlanner}).</p>
+ *
  * @author Anton Beloglazov
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Toolkit 3.0
@@ -71,9 +78,11 @@ public non-sealed abstract class VmAllocationPolicyMigrationAbstract
     private boolean overloaded;
 
     /**
-     * A map between a VM and the host where it is placed.
+     * The VM placements and removals planned while building a migration map,
+     * which are evaluated without changing the actual Hosts and VMs.
      */
-    private final Map<VmAbstract, Host> savedAllocation;
+    @Getter(AccessLevel.PACKAGE)
+    private final HostAllocationOverlay allocationOverlay;
 
     /**
      * The datacenter to try migrating VMs to.
@@ -91,6 +100,13 @@ public non-sealed abstract class VmAllocationPolicyMigrationAbstract
      */
     private int targetMigrationDcIndex;
 
+    /**
+     * Keeps the overloaded and underloaded Hosts,
+     * which are updated when the processing of some Host is updated.
+     * @see #getHostLoadIndex()
+     */
+    private HostLoadIndex hostLoadIndex;
+
     /**
      * Creates a VmAllocationPolicy using a {@link #DEF_UNDER_UTILIZATION_THRESHOLD default under utilization threshold}.
      *
@@ -118,7 +134,7 @@ public non-sealed abstract class VmAllocationPolicyMigrationAbstract
     {
         super(findHostForVmFunction);
         this.underUtilizationThreshold = DEF_UNDER_UTILIZATION_THRESHOLD;
-        this.savedAllocation = new HashMap<>();
+        this.allocationOverlay = new HostAllocationOverlay();
         setVmSelectionPolicy(vmSelectionPolicy);
     }
 
@@ -131,13 +147,17 @@ public non-sealed abstract class VmAllocationPolicyMigrationAbstract
 
     @Override
     public Map<Vm, Host> getOptimizedAllocationMap(final List<? extends Vm> vmList) {
-        //@TODO See https://github.com/cloudsimplus/cloudsimplus/issues/94
         final var overloadedHosts = getOverloadedHosts();
         this.overloaded = !overloadedHosts.isEmpty();
         printOverUtilizedHosts(overloadedHosts);
 
-        final Map<Vm, Host> migrationMap = getMigrationMapFromOverloadedHosts(overloadedHosts);
-        updateMigrationMapFromUnderloadedHosts(overloadedHosts, migrationMap);
+        final Map<Vm, Host> migrationMap;
+        try {
+            migrationMap = getMigrationMapFromOverloadedHosts(overloadedHosts);
+            updateMigrationMapFromUnderloadedHosts(overloadedHosts, migrationMap);
+        } finally {
+            allocationOverlay.clear();
+        }
 
         if (overloaded && migrationMap.isEmpty()) {
             hostSearchRetry();
@@ -183,14 +203,11 @@ public non-sealed abstract class VmAllocationPolicyMigrationAbstract
         final var ignoredSourceHosts = getIgnoredHosts(overloadedHosts, switchedOffHosts);
 
         /*
-        During the computation of the new placement for VMs,
-        the current VM placement is changed temporarily, before the actual migration of VMs.
-        If VMs are being migrated from overloaded Hosts, they in fact already were removed
-        from such Hosts and moved to destination ones.
-        The target Host that maybe was shut down, might become underloaded too.
+        The target Hosts of VMs planned to be migrated from overloaded Hosts
+        (which maybe were shut down) might be underloaded now,
+        but they won't be after the migrations.
         This way, such Hosts are added to be ignored when
         looking for underloaded Hosts.
-        See https://github.com/cloudsimplus/cloudsimplus/issues/94
          */
         ignoredSourceHosts.addAll(migrationMap.values());
 
@@ -199,15 +216,17 @@ public non-sealed abstract class VmAllocationPolicyMigrationAbstract
 
         final int numberOfHosts = getHostList().size();
 
+        /* The target Hosts of VMs planned to be migrated during this loop become ignored source Hosts.
+         * Since placements are just planned (the actual load of Hosts doesn't change),
+         * underloaded Hosts can be taken from the index just once, from the most to the least underloaded one. */
         this.underloaded = false;
-        while (true) {
+        for (final Host underloadedHost : getHostLoadIndex().getUnderloadedHosts()) {
             if (numberOfHosts == ignoredSourceHosts.size()) {
                 break;
             }
 
-            final var underloadedHost = getUnderloadedHost(ignoredSourceHosts);
-            if (Host.NULL.equals(underloadedHost)) {
-                break;
+            if (!isMigratableUnderloadedHost(underloadedHost, ignoredSourceHosts)) {
+                continue;
             }
             this.underloaded = true;
 
@@ -291,16 +310,12 @@ public non-sealed abstract class VmAllocationPolicyMigrationAbstract
      * @return true, if the host will be over utilized after VM placement; false otherwise
      */
     private boolean isNotHostOverloadedAfterAllocation(final Host host, final Vm vm) {
-        final var tempVm = new VmSimple(vm);
-
-        if (!host.createTemporaryVm(tempVm).fully()) {
+        if (!allocationOverlay.isSuitableForVm(host, vm)) {
             return false;
         }
 
-        final double usagePercent = getHostCpuPercentRequested(host);
-        final boolean notOverloadedAfterAllocation = !isHostOverloaded(host, usagePercent);
-        ((HostAbstract)host).destroyTemporaryVm(tempVm);
-        return notOverloadedAfterAllocation;
+        final double requestedMips = allocationOverlay.getCpuMipsRequested(host) + vm.getTotalMipsCapacity();
+        return !isHostOverloaded(host, requestedMips / host.getTotalMipsCapacity());
     }
 
     /**
@@ -309,7 +324,19 @@ public non-sealed abstract class VmAllocationPolicyMigrationAbstract
      */
     @Override
     public boolean isOverloaded(final Host host) {
-        return isHostOverloaded(host, host.getCpuPercentUtilization());
+        return isOverloaded(host, host.getCpuPercentUtilization());
+    }
+
+    /**
+     * Checks if a Host is overloaded, considering a given CPU utilization
+     * instead of the current one.
+     * @param host the Host to check
+     * @param cpuUsagePercent the Host's CPU utilization percent (between 0 and 1)
+     * @return true if the Host is overloaded, false otherwise
+     * @see #isOverloaded(Host)
+     */
+    protected boolean isOverloaded(final Host host, final double cpuUsagePercent) {
+        return isHostOverloaded(host, cpuUsagePercent);
     }
 
     /**
@@ -362,13 +389,34 @@ public non-sealed abstract class VmAllocationPolicyMigrationAbstract
      * @see #findHostForVmInternal(Vm, Predicate)
      */
     private Optional<Host> findHostForVm(final Vm vm, final Predicate<Host> predicate) {
-        final var newPredicate =
-            predicate
-                .and(host -> !host.equals(vm.getHost()))
-                .and(host -> host.isSuitableForVm(vm))
-                .and(host -> isNotHostOverloadedAfterAllocation(host, vm));
+        return findHostForVmInternal(vm, predicate.and(host -> isSuitableTargetHost(host, vm)));
+    }
 
-        return findHostForVmInternal(vm, newPredicate);
+    /**
+     * Finds a Host from a given list to place a VM, considering the placements planned so far.
+     * It's used when the Host selected by the target {@link VmAllocationPolicy} isn't suitable anymore
+     * due to such placements. The selected Host will be that one with the most
+     * efficient power usage for the given VM.
+     *
+     * @param hostList the list of Hosts to search
+     * @param vm the VM to find a host for
+     * @return an {@link Optional} containing a suitable Host to place the VM, or an empty {@link Optional} if not found
+     */
+    private Optional<Host> findHostForVm(final List<Host> hostList, final Vm vm) {
+        final Comparator<Host> powerConsumptionComparator = comparingDouble(host -> powerDiffAfterAllocation(host, vm));
+        return hostList.stream().filter(host -> isSuitableTargetHost(host, vm)).min(powerConsumptionComparator);
+    }
+
+    /**
+     * Checks if a Host, other than the current one of a VM, is suitable to place that VM
+     * and will not be overloaded after that.
+     *
+     * @param host the Host to check
+     * @param vm the VM to place
+     * @return true if the Host is a suitable target for the VM, false otherwise
+     */
+    private boolean isSuitableTargetHost(final Host host, final Vm vm) {
+        return !host.equals(vm.getHost()) && host.isSuitableForVm(vm) && isNotHostOverloadedAfterAllocation(host, vm);
     }
 
     /**
@@ -401,35 +449,51 @@ public non-sealed abstract class VmAllocationPolicyMigrationAbstract
      * and each value is the Host to place it;
      * an empty map if no suitable target Hosts were found
      * or if there is no overloaded host.
-     * TODO: See issue in {@link #getVmsToMigrateFromOverloadedHost(Host)}
      */
     private Map<Vm, Host> getMigrationMapFromOverloadedHosts(final Set<Host> overloadedHosts) {
         if(overloadedHosts.isEmpty()) {
-            return Collections.emptyMap();
+            // The map may be updated with VMs from underloaded Hosts later
+            return new HashMap<>();
         }
 
-        saveAllocation();
         final var migrationMap = new HashMap<Vm, Host>();
-        try {
-            final var vmsToMigrateList = getVmsToMigrateFromOverloadedHosts(overloadedHosts);
-            sortByCpuUtilization(vmsToMigrateList, getDatacenter().getSimulation().clock());
-
-            final var builder = new StringBuilder();
-            final var targetVmAllocationPolicy = targetMigrationDc.getVmAllocationPolicy();
+        final var vmsToMigrateList = getVmsToMigrateFromOverloadedHosts(overloadedHosts);
+        sortByCpuUtilization(vmsToMigrateList, getDatacenter().getSimulation().clock());
+
+        final var builder = new StringBuilder();
+        final var targetVmAllocationPolicy = targetMigrationDc.getVmAllocationPolicy();
+        /* The target policy may not know the placements planned so far
+         * (for instance, if it's from another Datacenter or uses a custom function to find a Host),
+         * so the selected Host is checked against them.
+         * If they make it unsuitable, the search goes on over the other Hosts of that policy. */
+        final Function<Vm, Optional<Host>> targetHostFinder =
+            vm -> targetVmAllocationPolicy
+                    .searchHostForVm(vm)
+                    .filter(targetHost -> allocationOverlay.isSuitableForVm(targetHost, vm))
+                    .or(() -> findHostForVm(targetVmAllocationPolicy.getHostList(), vm));
+        // Hosts are just activated when VMs are actually placed into them (which is always performed sequentially)
+        final BiConsumer<Vm, Host> placement = (vm, targetHost) -> {
+            targetHost.setActive(true);
+            addVmToMigrationMap(migrationMap, vm, targetHost);
+            appendVmMigrationMsgToStringBuilder(builder, vm, targetHost);
+        };
+
+        if (targetVmAllocationPolicy.isParallelHostSearchEnabled() && targetVmAllocationPolicy.isHostSearchThreadSafe()) {
+            /* Other VMs placed in the same round may just violate the placement constraints of a VM
+             * (a Host without changes is still suitable for resources). */
+            final BiPredicate<Vm, Host> stillSuitable =
+                (vm, targetHost) -> vm.getPlacementConstraints().isEmpty() || allocationOverlay.isSuitableForVm(targetHost, vm);
+            new ParallelMigrationPlanner(targetHostFinder, stillSuitable, placement).plan(vmsToMigrateList);
+        } else {
             for (final var vm : vmsToMigrateList) {
-                targetVmAllocationPolicy.findHostForVm(vm).ifPresent(targetHost -> {
-                    addVmToMigrationMap(migrationMap, vm, targetHost);
-                    appendVmMigrationMsgToStringBuilder(builder, vm, targetHost);
-                });
+                targetHostFinder.apply(vm).ifPresent(targetHost -> placement.accept(vm, targetHost));
             }
+        }
 
-            if(!migrationMap.isEmpty()) {
-                LOGGER.info(
-                    "{}: {}: Reallocation of VMs from overloaded hosts: {}{}",
-                    getDatacenter().getSimulation().clockStr(), getClass().getSimpleName(), System.lineSeparator(), builder);
-            }
-        } finally {
-            restoreAllocation();
+        if(!migrationMap.isEmpty()) {
+            LOGGER.info(
+                "{}: {}: Reallocation of VMs from overloaded hosts: {}{}",
+                getDatacenter().getSimulation().clockStr(), getClass().getSimpleName(), System.lineSeparator(), builder);
         }
 
         return migrationMap;
@@ -456,7 +520,7 @@ public non-sealed abstract class VmAllocationPolicyMigrationAbstract
         sortByCpuUtilization(vmsToMigrate, getDatacenter().getSimulation().clock());
         for (final Vm vm : vmsToMigrate) {
             //try to find a target Host to place a VM from an underloaded Host that is not underloaded too
-            final var optionalHost = findHostForVm(vm, host -> !isUnderloaded(host));
+            final var optionalHost = findHostForVm(vm, host -> !isUnderloadedAfterPlannedAllocations(host));
             if (optionalHost.isEmpty()) {
                 LOGGER.warn(
                     "{}: VmAllocationPolicy: A new Host, which isn't also underloaded or won't be overloaded, couldn't be found to migrate {}. Migration of VMs from the underloaded {} cancelled.",
@@ -482,13 +546,13 @@ public non-sealed abstract class VmAllocationPolicyMigrationAbstract
 
     private <T extends Host> void addVmToMigrationMap(final Map<Vm, T> migrationMap, final Vm vm, final T targetHost) {
         /*
-        Temporarily creates the VM into the target Host so that
+        Plans the VM placement into the target Host so that
         when the next VM is got to be migrated, if the same Host
         is selected as destination, the resource to be
         used by the previous VM will be considered when
         assessing the suitability of such a Host for the next VM.
          */
-        targetHost.createTemporaryVm(vm);
+        allocationOverlay.place(vm, targetHost);
         migrationMap.put(vm, targetHost);
     }
 
@@ -508,24 +572,21 @@ public non-sealed abstract class VmAllocationPolicyMigrationAbstract
     }
 
     private List<Vm> getVmsToMigrateFromOverloadedHost(final Host host) {
-        /*
-        @TODO The method doesn't just gets a list of VMs to migrate from an overloaded Host,
-        but it temporarily destroys VMs on such Hosts.
-        See https://github.com/cloudsimplus/cloudsimplus/issues/94
-        */
         final var vmsToMigrateList = new LinkedList<Vm>();
+        final var candidateVms = new ArrayList<>(host.getMigratableVms());
         while (true) {
-            final var optionalVm = getVmSelectionPolicy().getVmToMigrate(host);
+            final var optionalVm = getVmSelectionPolicy().getVmToMigrate(host, candidateVms);
             if (optionalVm.isEmpty()) {
                 break;
             }
 
             final var vm = optionalVm.get();
             vmsToMigrateList.add(vm);
-            /*Temporarily destroys the selected VM into the overloaded Host so that
+            candidateVms.remove(vm);
+            /*Plans the removal of the selected VM from the overloaded Host so that
             the loop gets VMs from such a Host until it is not overloaded anymore.*/
-            ((HostAbstract)host).destroyTemporaryVm(vm);
-            if (!isOverloaded(host)) {
+            allocationOverlay.remove(vm);
+            if (!isOverloaded(host, allocationOverlay.getCpuPercentUtilization(host))) {
                 break;
             }
         }
@@ -565,38 +626,81 @@ public non-sealed abstract class VmAllocationPolicyMigrationAbstract
      * @return the over utilized hosts
      */
     private Set<Host> getOverloadedHosts() {
-        return this.getHostList().stream()
-            .filter(this::isOverloaded)
+        return getHostLoadIndex().getOverloadedHosts().stream()
             .filter(host -> host.getVmsMigratingOut().isEmpty())
             .collect(toSet());
     }
 
     /**
-     * Gets the most underloaded Host.
+     * Checks if an underloaded Host can have its VMs migrated.
      * If a Host is underloaded, but it has VMs migrating in, then it's not considered.
      * That is because the incoming VMs will take the Host out of the underload state.
      * Likewise, if all VMs are migrating out, nothing has to be
      * done anymore. It has just to wait the VMs to finish the migration so that the
      * Host can be turned off.
      *
+     * @param host the underloaded Host to check
      * @param excludedHosts the Hosts that have to be ignored when looking for the under utilized Host
-     * @return the most under utilized host or {@link Host#NULL} if no Host is found
+     * @return true if VMs can be migrated from the Host, false otherwise
      */
-    private Host getUnderloadedHost(final Set<? extends Host> excludedHosts) {
-        return this.getHostList().stream()
-            .filter(host -> !excludedHosts.contains(host))
-            .filter(Host::isActive)
-            .filter(this::isUnderloaded)
-            .filter(host -> host.getVmsMigratingIn().isEmpty())
-            .filter(this::notAllVmsAreMigratingOut)
-            .min(comparingDouble(Host::getCpuPercentUtilization))
-            .orElse(Host.NULL);
+    private boolean isMigratableUnderloadedHost(final Host host, final Set<? extends Host> excludedHosts) {
+        return !excludedHosts.contains(host) &&
+               host.isActive() &&
+               host.getVmsMigratingIn().isEmpty() &&
+               notAllVmsAreMigratingOut(host);
+    }
+
+    /**
+     * {@return the index of overloaded and underloaded Hosts}
+     * It's (re)created when the Host list changes.
+     */
+    private HostLoadIndex getHostLoadIndex() {
+        if (hostLoadIndex == null || !hostLoadIndex.isIndexing(getHostList())) {
+            if (hostLoadIndex != null) {
+                hostLoadIndex.close();
+            }
+
+            hostLoadIndex = new HostLoadIndex(this, getHostList());
+        }
+
+        return hostLoadIndex;
+    }
+
+    /**
+     * Makes the load state of all Hosts to be re-evaluated at the next migration round.
+     * It must be called when some threshold used to check if Hosts are overloaded or underloaded changes.
+     */
+    protected final void invalidateHostLoadIndex() {
+        if (hostLoadIndex != null) {
+            hostLoadIndex.invalidate();
+        }
     }
 
     private double getHostCpuPercentRequested(final Host host) {
         return getHostTotalRequestedMips(host) / host.getTotalMipsCapacity();
     }
 
+    /**
+     * Checks if a Host is underloaded, considering the VM placements and removals
+     * planned for the migration map being built.
+     * @param host the Host to check
+     * @return true if the Host is underloaded, false otherwise
+     * @see #isUnderloaded(Host)
+     */
+    private boolean isUnderloadedAfterPlannedAllocations(final Host host) {
+        return allocationOverlay.getCpuMipsRequested(host) / host.getTotalMipsCapacity() < getUnderUtilizationThreshold();
+    }
+
+    /**
+     * {@return the MIPS used by all VMs in a Host}, considering the VM placements and removals
+     * planned for the migration map being built.
+     * When a migration map is not being built, it's the same as {@link Host#getCpuMipsUtilization()}.
+     * @param host the Host to get the MIPS utilization
+     */
+    protected final double getPlannedCpuMipsUtilization(final Host host) {
+        return allocationOverlay.getCpuMipsUtilization(host);
+    }
+
     /**
      * {@return the total MIPS that is currently being used by all VMs inside the Host}
      * @param host the Host to get the total MIPS
@@ -618,51 +722,6 @@ public non-sealed abstract class VmAllocationPolicyMigrationAbstract
         return host.getVmList().stream().anyMatch(vm -> !vm.isInMigration());
     }
 
-    /**
-     * Saves the current map between a VM and the host where it is placed.
-     *
-     * @see #savedAllocation
-     */
-    private void saveAllocation() {
-        savedAllocation.clear();
-        for (final var host : getHostList()) {
-            for (final var vm : host.<VmAbstract>getVmList()) {
-                /* TODO: this VM loop has a quadratic wost-case complexity (when
-                    all Vms already in the VM list are migrating into this Host).
-                *  Instead of looping over the vmsMigratingIn list for every VM,
-                *  we could add a Host migratingIn attribute to the Vm.
-                * Then, for every VM on the Host, we check this VM attribute
-                * to see if the VM is migrating into the Host. */
-                if (!host.getVmsMigratingIn().contains(vm)) {
-                    savedAllocation.put(vm, host);
-                }
-            }
-        }
-    }
-
-    /**
-     * Restore VM allocation from the allocation history.
-     * TODO: The allocation map only needs to be restored because
-     * VMs are destroyed in order to assess a new VM placement.
-     * After fixing this issue, there will be no need to restore VM mapping.
-     * https://github.com/cloudsimplus/cloudsimplus/issues/94
-     *
-     * @see #savedAllocation
-     */
-    private void restoreAllocation() {
-        for (final var host : this.<HostAbstract>getHostList()) {
-            host.destroyAllVms();
-            host.reallocateMigratingInVms();
-        }
-
-        for (final var vm : savedAllocation.keySet()) {
-            final var host = savedAllocation.get(vm);
-            if (host.createTemporaryVm(vm).fully())
-                vm.setCreated(true);
-            else LOGGER.error("VmAllocationPolicy: Couldn't restore {} on {}", vm, host);
-        }
-    }
-
     /**
      * {@return the power consumption of a host after the supposed placement of a candidate VM,
      * or 0 if the power consumption could not be determined}
@@ -708,7 +767,7 @@ public non-sealed abstract class VmAllocationPolicyMigrationAbstract
             hostUtilizationMips += additionalMips + host.getTotalAllocatedMipsForVm(vm);
         }
 
-        return hostUtilizationMips;
+        return hostUtilizationMips + allocationOverlay.getAllocatedMipsDelta(host);
     }
 
     /**
@@ -734,6 +793,7 @@ public non-sealed abstract class VmAllocationPolicyMigrationAbstract
         }
 
         this.underUtilizationThreshold = underUtilizationThreshold;
+        invalidateHostLoadIndex();
     }
 
     @Override
@@ -95,6 +95,6 @@ public class VmAllocationPolicyMigrationBestFitStaticThreshold extends VmAllocat
     protected Optional<Host> findHostForVmInternal(final Vm vm, final Predicate<Host> predicate) {
         /* It's ignoring the super class intentionally to avoid the additional filtering performed there
          * and to apply a different method to select the Host to place the VM.*/
-        return getHostList().stream().filter(predicate).max(comparingDouble(Host::getCpuMipsUtilization));
+        return getHostList().stream().filter(predicate).max(comparingDouble(this::getPlannedCpuMipsUtilization));
     }
 }
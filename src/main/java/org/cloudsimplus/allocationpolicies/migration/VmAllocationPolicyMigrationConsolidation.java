@@ -0,0 +1,241 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.allocationpolicies.migration;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.cloudsimplus.distributions.ContinuousDistribution;
+import org.cloudsimplus.heuristics.VmConsolidationSimulatedAnnealing;
+import org.cloudsimplus.heuristics.VmConsolidationSolution;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.selectionpolicies.VmSelectionPolicy;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/// A [VmAllocationPolicyMigration] that periodically searches for a global consolidation
+/// of all VMs in the Datacenter, using a [VmConsolidationSimulatedAnnealing] local search heuristic,
+/// which minimizes the number of active Hosts, VM migrations and overloaded Hosts.
+///
+/// Between two [consolidations][#getConsolidationInterval()], the
+/// [static threshold][VmAllocationPolicyMigrationStaticThreshold] policy is used
+/// to migrate VMs from overloaded and underloaded Hosts.
+/// VMs in migration and Hosts that have failed are not considered for consolidation.
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+@Accessors
+public class VmAllocationPolicyMigrationConsolidation extends VmAllocationPolicyMigrationStaticThreshold {
+    /**
+     * The default interval (in seconds) between consolidations.
+     */
+    public static final double DEF_CONSOLIDATION_INTERVAL = 300;
+
+    /**
+     * The default initial temperature of the heuristic.
+     */
+    public static final double DEF_INITIAL_TEMPERATURE = 1;
+
+    /**
+     * The default temperature at which the heuristic stops.
+     */
+    public static final double DEF_COLD_TEMPERATURE = 0.001;
+
+    /**
+     * The default rate at which the heuristic temperature is cooled at each iteration.
+     */
+    public static final double DEF_COOLING_RATE = 0.01;
+
+    /**
+     * The pseudo-random number generator used by the heuristic.
+     */
+    @Getter @NonNull
+    private final ContinuousDistribution random;
+
+    /**
+     * The interval (in seconds) between consolidations.
+     */
+    @Getter @Setter
+    private double consolidationInterval;
+
+    /**
+     * The weights of each component of a consolidation cost.
+     */
+    @Getter @Setter @NonNull
+    private VmConsolidationSolution.Costs costs;
+
+    /**
+     * The initial temperature of the heuristic.
+     */
+    @Getter @Setter
+    private double initialTemperature;
+
+    /**
+     * The temperature at which the heuristic stops.
+     */
+    @Getter @Setter
+    private double coldTemperature;
+
+    /**
+     * The rate at which the heuristic temperature is cooled at each iteration.
+     */
+    @Getter @Setter
+    private double coolingRate;
+
+    /**
+     * The number of random moves evaluated to create each neighbor solution.
+     * @see VmConsolidationSimulatedAnnealing#getNeighborhoodSize()
+     */
+    @Getter @Setter
+    private int neighborhoodSize;
+
+    /**
+     * The last time a consolidation was performed.
+     */
+    @Getter
+    private double lastConsolidationTime;
+
+    /**
+     * Creates a VmAllocationPolicy with a {@link #DEF_OVER_UTILIZATION_THRESHOLD default over utilization threshold}.
+     *
+     * @param vmSelectionPolicy the {@link VmAllocationPolicyMigration#getVmSelectionPolicy() policy}
+     *                          that defines how VMs are selected for migration between consolidations
+     * @param random a pseudo-random number generator used by the heuristic
+     */
+    public VmAllocationPolicyMigrationConsolidation(final VmSelectionPolicy vmSelectionPolicy, final ContinuousDistribution random) {
+        this(vmSelectionPolicy, DEF_OVER_UTILIZATION_THRESHOLD, random);
+    }
+
+    /**
+     * Creates a VmAllocationPolicy.
+     *
+     * @param vmSelectionPolicy the {@link VmAllocationPolicyMigration#getVmSelectionPolicy() policy}
+     *                          that defines how VMs are selected for migration between consolidations
+     * @param overUtilizationThreshold {@link #setOverUtilizationThreshold(double) the over utilization threshold percent (between 0 and 1)}
+     * @param random a pseudo-random number generator used by the heuristic
+     */
+    public VmAllocationPolicyMigrationConsolidation(
+        final VmSelectionPolicy vmSelectionPolicy,
+        final double overUtilizationThreshold,
+        @NonNull final ContinuousDistribution random)
+    {
+        super(vmSelectionPolicy, overUtilizationThreshold);
+        this.random = random;
+        this.consolidationInterval = DEF_CONSOLIDATION_INTERVAL;
+        this.costs = VmConsolidationSolution.Costs.DEFAULT;
+        this.initialTemperature = DEF_INITIAL_TEMPERATURE;
+        this.coldTemperature = DEF_COLD_TEMPERATURE;
+        this.coolingRate = DEF_COOLING_RATE;
+        this.neighborhoodSize = VmConsolidationSimulatedAnnealing.DEF_NEIGHBORHOOD_SIZE;
+        this.lastConsolidationTime = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * {@inheritDoc}
+     * If the {@link #getConsolidationInterval() consolidation interval} has elapsed,
+     * it searches for a consolidation of all VMs. Otherwise, it just migrates VMs from
+     * overloaded and underloaded Hosts.
+     *
+     * @param vmList {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Map<Vm, Host> getOptimizedAllocationMap(final List<? extends Vm> vmList) {
+        final double time = getDatacenter().getSimulation().clock();
+        if (time - lastConsolidationTime < consolidationInterval) {
+            return super.getOptimizedAllocationMap(vmList);
+        }
+
+        lastConsolidationTime = time;
+        return consolidate();
+    }
+
+    /**
+     * Searches for a consolidation of all VMs which aren't in migration,
+     * into the Hosts which haven't failed.
+     * @return the VMs to migrate, mapped to their target Host
+     */
+    private Map<Vm, Host> consolidate() {
+        final List<Host> hostList = getHostList().stream().filter(host -> !host.isFailed()).toList();
+        final List<Vm> vmList = hostList.stream()
+                                        .flatMap(host -> host.<Vm>getVmList().stream())
+                                        .filter(vm -> !vm.isInMigration())
+                                        .toList();
+
+        final var heuristic = new VmConsolidationSimulatedAnnealing(initialTemperature, random);
+        heuristic.setVmList(vmList)
+                 .setHostList(hostList)
+                 .setOverUtilizationThreshold(getOverUtilizationThreshold(Host.NULL))
+                 .setCosts(costs)
+                 .setNeighborhoodSize(neighborhoodSize)
+                 .setColdTemperature(coldTemperature)
+                 .setCoolingRate(coolingRate);
+
+        final var solution = heuristic.solve();
+        final Map<Vm, Host> migrationMap = validateMigrationPlan(solution.getResult());
+
+        LOGGER.info(
+            "{}: {}: Consolidation found {} VM migrations, resulting in {} active and {} overloaded Hosts (from {} Hosts in {}).",
+            getDatacenter().getSimulation().clockStr(), getClass().getSimpleName(), migrationMap.size(),
+            solution.getActiveHosts(), solution.getOverloadedHosts(), hostList.size(), getDatacenter());
+        return migrationMap;
+    }
+
+    /**
+     * Checks if all migrations planned by the heuristic can be performed together.
+     * Migrations are placed in sequence into the {@link #getAllocationOverlay() allocation overlay},
+     * so that each one is checked considering the capacity reserved by the previous ones
+     * and the placement constraints between the migrated VMs.
+     * Since migrations may depend on each other, the entire plan is discarded if any of them cannot be performed.
+     *
+     * @param plannedMigrations the migrations planned by the heuristic
+     * @return the planned migrations if all of them can be performed; an empty map otherwise
+     */
+    private Map<Vm, Host> validateMigrationPlan(final Map<Vm, Host> plannedMigrations) {
+        final HostAllocationOverlay overlay = getAllocationOverlay();
+        try {
+            for (final var entry : plannedMigrations.entrySet()) {
+                final Vm vm = entry.getKey();
+                final Host targetHost = entry.getValue();
+                if (!overlay.isSuitableForVm(targetHost, vm)) {
+                    LOGGER.warn(
+                        "{}: {}: Consolidation discarded, since {} cannot be migrated to {} along with the other planned migrations.",
+                        getDatacenter().getSimulation().clockStr(), getClass().getSimpleName(), vm, targetHost);
+                    return new HashMap<>();
+                }
+
+                overlay.remove(vm);
+                overlay.place(vm, targetHost);
+            }
+        } finally {
+            overlay.clear();
+        }
+
+        return plannedMigrations;
+    }
+}
@@ -1,15 +1,30 @@
 package org.cloudsimplus.allocationpolicies.migration;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.cloudsimplus.allocationpolicies.VmAllocationPolicyAbstract;
+import org.cloudsimplus.datacenters.Datacenter;
 import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.listeners.HostUpdatesVmsProcessingEventInfo;
 import org.cloudsimplus.selectionpolicies.VmSelectionPolicy;
+import org.cloudsimplus.util.RollingWindowStatistics;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 /// An abstract class that is the base for implementation of [VM allocation policies][VmAllocationPolicyMigration]
 /// which use a dynamic over-utilization threshold.
 ///
+/// The CPU utilization of each Host is sampled (at most once per simulation time instant) into a rolling window
+/// when the Host processing is updated, so that implementations can compute
+/// the threshold from incrementally updated statistics
+/// (see [#getCpuUtilizationWindow(Host)]), instead of the entire utilization history.
+/// Hosts start being sampled when the policy is [bound to a Datacenter][#setDatacenter(Datacenter)]
+/// or when they are added to that Datacenter later on.
+///
 /// @author Manoel Campos da Silva Filho
 /// @since CloudSim Plus 9.0.0
 @Accessors @Getter @Setter
@@ -25,24 +40,126 @@ public non-sealed abstract class VmAllocationPolicyMigrationDynamicUpperThreshol
     @NonNull
     private VmAllocationPolicyMigration fallbackVmAllocationPolicy;
 
+    /**
+     * The default maximum number of CPU utilization samples kept for each Host.
+     * @see #setUtilizationWindowSize(int)
+     */
+    public static final int DEF_UTILIZATION_WINDOW_SIZE = 30;
+
+    /**
+     * The minimum number of CPU utilization samples required to compute the over-utilization threshold of a Host.
+     */
+    public static final int MIN_UTILIZATION_HISTORY_SIZE = 12;
+
+    /**
+     * The maximum number of CPU utilization samples kept for each Host.
+     */
+    @Setter(AccessLevel.NONE)
+    private int utilizationWindowSize = DEF_UTILIZATION_WINDOW_SIZE;
+
+    /**
+     * The CPU utilization window of each Host.
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private final Map<Host, HostUtilizationWindow> utilizationWindows = new IdentityHashMap<>();
+
+    /**
+     * The CPU utilization samples of a Host and the time the last one was taken.
+     */
+    private static final class HostUtilizationWindow {
+        private RollingWindowStatistics stats;
+        private double lastSampleTime = -1;
+
+        private HostUtilizationWindow(final int size) {
+            this.stats = new RollingWindowStatistics(size);
+        }
+
+        private void sample(final HostUpdatesVmsProcessingEventInfo info) {
+            final double time = info.getTime();
+            if (time > lastSampleTime) {
+                lastSampleTime = time;
+                stats.add(info.getHost().getCpuPercentUtilization());
+            }
+        }
+    }
+
     public VmAllocationPolicyMigrationDynamicUpperThresholdAbstract(final VmSelectionPolicy vmSelectionPolicy) {
         super(vmSelectionPolicy);
     }
 
     /**
-     * Checks if a host is over-utilized based on the CPU over utilization threshold computed using
-     * the statistical method defined in {@link #computeHostUtilizationMeasure(Host)}.
+     * {@inheritDoc}
+     * The CPU utilization of the Datacenter Hosts starts being sampled.
+     *
+     * @param datacenter {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public VmAllocationPolicyAbstract setDatacenter(final Datacenter datacenter) {
+        super.setDatacenter(datacenter);
+        /* The super class constructor sets a NULL Datacenter before this class fields are initialized. */
+        if (datacenter == Datacenter.NULL) {
+            return this;
+        }
+
+        datacenter.getHostList().forEach(this::addUtilizationWindow);
+        datacenter.addOnHostAvailableListener(info -> addUtilizationWindow(info.getHost()));
+        /* Hosts may be added to the Datacenter after the policy is bound to it,
+         * but just the ones added during simulation runtime notify the listener above. */
+        datacenter.getSimulation().addOnSimulationStartListener(info -> datacenter.getHostList().forEach(this::addUtilizationWindow));
+        return this;
+    }
+
+    /**
+     * Creates the CPU utilization window for a Host (if it doesn't have one yet)
+     * and starts sampling the Host CPU utilization when its processing is updated.
+     * @param host the Host to sample
+     */
+    private void addUtilizationWindow(final Host host) {
+        if (!utilizationWindows.containsKey(host)) {
+            final var window = new HostUtilizationWindow(utilizationWindowSize);
+            utilizationWindows.put(host, window);
+            host.addOnUpdateProcessingListener(window::sample);
+        }
+    }
+
+    /**
+     * Sets the maximum number of CPU utilization samples kept for each Host.
+     * Changing the size discards the samples already collected.
+     *
+     * @param utilizationWindowSize the window size to set
+     *                              (at least the {@link #MIN_UTILIZATION_HISTORY_SIZE minimum history size})
+     * @return this policy
+     */
+    public VmAllocationPolicyMigrationDynamicUpperThresholdAbstract setUtilizationWindowSize(final int utilizationWindowSize) {
+        if (utilizationWindowSize < MIN_UTILIZATION_HISTORY_SIZE) {
+            throw new IllegalArgumentException("utilizationWindowSize must be at least %d.".formatted(MIN_UTILIZATION_HISTORY_SIZE));
+        }
+
+        this.utilizationWindowSize = utilizationWindowSize;
+        utilizationWindows.values().forEach(window -> window.stats = new RollingWindowStatistics(utilizationWindowSize));
+        invalidateHostLoadIndex();
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     * If the over utilization threshold cannot be computed,
+     * the {@link #getFallbackVmAllocationPolicy() fallback policy} is used.
      *
      * @param host {@inheritDoc}
+     * @param cpuUsagePercent {@inheritDoc}
      * @return {@inheritDoc}
      */
     @Override
-    public boolean isOverloaded(final Host host) {
+    protected boolean isOverloaded(final Host host, final double cpuUsagePercent) {
         if (getOverUtilizationThreshold(host) == Double.MAX_VALUE) {
-            return getFallbackVmAllocationPolicy().isOverloaded(host);
+            return getFallbackVmAllocationPolicy() instanceof VmAllocationPolicyMigrationAbstract fallbackPolicy ?
+                fallbackPolicy.isOverloaded(host, cpuUsagePercent) :
+                getFallbackVmAllocationPolicy().isOverloaded(host);
         }
 
-        return super.isOverloaded(host);
+        return super.isOverloaded(host, cpuUsagePercent);
     }
 
     /**
@@ -63,6 +180,22 @@ public non-sealed abstract class VmAllocationPolicyMigrationDynamicUpperThreshol
         }
     }
 
+    /**
+     * Gets the rolling window of CPU utilization samples of a Host.
+     *
+     * @param host the Host to get its CPU utilization window
+     * @return the CPU utilization window of the Host
+     * @throws IllegalStateException when the window doesn't have the {@link #MIN_UTILIZATION_HISTORY_SIZE minimum number of samples}
+     */
+    protected final RollingWindowStatistics getCpuUtilizationWindow(final Host host) throws IllegalStateException {
+        final var window = utilizationWindows.get(host);
+        if (window == null || window.stats.getSize() < MIN_UTILIZATION_HISTORY_SIZE) {
+            throw new IllegalStateException("There is not enough CPU utilization history for %s.".formatted(host));
+        }
+
+        return window.stats;
+    }
+
     /**
      * Sets the safety parameter.
      *
@@ -75,6 +208,7 @@ public non-sealed abstract class VmAllocationPolicyMigrationDynamicUpperThreshol
         }
 
         this.safetyParameter = safetyParameter;
+        invalidateHostLoadIndex();
     }
 
     @Override
@@ -90,6 +224,7 @@ public non-sealed abstract class VmAllocationPolicyMigrationDynamicUpperThreshol
     @Override
     public final VmAllocationPolicyMigrationDynamicUpperThresholdAbstract setFallbackVmAllocationPolicy(final VmAllocationPolicyMigration fallbackVmAllocationPolicy) {
         this.fallbackVmAllocationPolicy = fallbackVmAllocationPolicy;
+        invalidateHostLoadIndex();
         return this;
     }
 }
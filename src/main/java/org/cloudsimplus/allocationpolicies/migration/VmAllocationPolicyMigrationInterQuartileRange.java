@@ -0,0 +1,79 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.allocationpolicies.migration;
+
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.selectionpolicies.VmSelectionPolicy;
+
+/// A [VmAllocationPolicyMigration] that uses the Inter-quartile Range (IQR)
+/// of the Host CPU utilization to compute a dynamic over-utilization threshold,
+/// defined as `1 - safetyParameter * IQR`.
+///
+/// The IQR is computed from a [rolling window][#getCpuUtilizationWindow(Host)]
+/// of the latest CPU utilization samples of each Host, which is incrementally updated.
+/// If there aren't enough samples yet, the [fallback policy][#getFallbackVmAllocationPolicy()] is used.
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+public class VmAllocationPolicyMigrationInterQuartileRange extends VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit {
+
+    /**
+     * Creates a VmAllocationPolicy with a {@link #getSafetyParameter() safety parameter} equals to 0
+     * and no {@link #getFallbackVmAllocationPolicy() fallback policy}.
+     *
+     * @param vmSelectionPolicy the {@link VmAllocationPolicyMigration#getVmSelectionPolicy() policy}
+     *                          that defines how VMs are selected for migration
+     */
+    public VmAllocationPolicyMigrationInterQuartileRange(final VmSelectionPolicy vmSelectionPolicy) {
+        super(vmSelectionPolicy);
+    }
+
+    /**
+     * Creates a VmAllocationPolicy.
+     *
+     * @param vmSelectionPolicy the {@link VmAllocationPolicyMigration#getVmSelectionPolicy() policy} that defines how VMs are selected for migration
+     * @param safetyParameter            {@link VmAllocationPolicyMigrationDynamicUpperThreshold#getSafetyParameter() the safety parameter}
+     * @param fallbackVmAllocationPolicy {@link VmAllocationPolicyMigrationDynamicUpperThreshold#getFallbackVmAllocationPolicy() the fallback VM allocation policy} to be used when
+     * the over utilization host detection doesn't have data to be computed
+     */
+    public VmAllocationPolicyMigrationInterQuartileRange(
+        final VmSelectionPolicy vmSelectionPolicy,
+        final double safetyParameter,
+        final VmAllocationPolicyMigration fallbackVmAllocationPolicy)
+    {
+        super(vmSelectionPolicy, safetyParameter, fallbackVmAllocationPolicy);
+    }
+
+    /**
+     * Computes the Inter-quartile Range (IQR) of the latest Host CPU utilization samples.
+     *
+     * @param host {@inheritDoc}
+     * @return the IQR of the Host CPU utilization
+     * @throws IllegalStateException {@inheritDoc}
+     */
+    @Override
+    public double computeHostUtilizationMeasure(final Host host) throws IllegalStateException {
+        return getCpuUtilizationWindow(host).iqr();
+    }
+}
@@ -30,6 +30,8 @@ final class VmAllocationPolicyMigrationNull implements VmAllocationPolicyMigrati
     }
     @Override public void deallocateHostForVm(Vm vm) {/**/}
     @Override public Optional<Host> findHostForVm(Vm vm) { return Optional.empty(); }
+    @Override public Optional<Host> searchHostForVm(Vm vm) { return Optional.empty(); }
+    @Override public boolean isHostSearchThreadSafe() { return false; }
     @Override public boolean isVmMigrationSupported() { return false; }
     @Override public int getHostCountForParallelSearch() { return 0; }
     @Override public VmAllocationPolicy setHostCountForParallelSearch(int hostCountForParallelSearch) { return this; }
@@ -90,6 +90,7 @@ public class VmAllocationPolicyMigrationStaticThreshold extends VmAllocationPoli
         }
 
         this.overUtilizationThreshold = overUtilizationThreshold;
+        invalidateHostLoadIndex();
     }
 
     /**
@@ -0,0 +1,214 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.brokers;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.listeners.CloudletVmEventInfo;
+import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmCost;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/// A logical customer (tenant) hosted by a [DatacenterBrokerPool].
+/// It submits VMs and Cloudlets through the pool (which is the actual [DatacenterBroker] entity)
+/// and keeps track of the VMs it submitted, providing per-tenant accounting.
+/// Cloudlets aren't kept by the tenant: just running totals are updated when they finish.
+/// Methods follow the names of the equivalent [DatacenterBroker] ones.
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+@Getter
+public final class BrokerTenant {
+    /** The tenant ID, which is its index in the pool. */
+    private final int id;
+
+    private final String name;
+
+    /** The pool hosting this tenant. */
+    private final DatacenterBrokerPool pool;
+
+    @Getter(AccessLevel.NONE)
+    private final List<Vm> vmList;
+
+    /**
+     * The number of Cloudlets submitted by this tenant.
+     */
+    private long submittedCloudletsNumber;
+
+    /**
+     * The number of Cloudlets of this tenant which have finished.
+     */
+    private long finishedCloudletsNumber;
+
+    /**
+     * The total length (in MI) executed by the finished Cloudlets of this tenant.
+     */
+    private long finishedLength;
+
+    /**
+     * A listener added to every Cloudlet submitted by this tenant,
+     * to update its totals when the Cloudlet finishes.
+     */
+    @Getter(AccessLevel.NONE)
+    private final EventListener<CloudletVmEventInfo> onCloudletFinishListener;
+
+    /**
+     * Index of the last VM selected from the {@link #vmList}
+     * to run some Cloudlet.
+     */
+    @Getter(AccessLevel.NONE)
+    private int lastSelectedVmIndex;
+
+    /**
+     * Creates a tenant.
+     * @param pool the pool hosting the tenant
+     * @param id the tenant ID
+     * @param name the tenant name
+     */
+    BrokerTenant(@NonNull final DatacenterBrokerPool pool, final int id, @NonNull final String name) {
+        this.pool = pool;
+        this.id = id;
+        this.name = name;
+        this.vmList = new ArrayList<>();
+        this.onCloudletFinishListener = this::onCloudletFinish;
+        this.lastSelectedVmIndex = -1;
+    }
+
+    /**
+     * Submits a list of VMs of this tenant to the pool.
+     * @param list the list of VMs to submit
+     * @return this tenant
+     * @see DatacenterBroker#submitVmList(List)
+     */
+    public BrokerTenant submitVmList(@NonNull final List<? extends Vm> list) {
+        return submitVmList(list, -1);
+    }
+
+    /**
+     * Submits a list of VMs of this tenant to the pool, with a given submission delay.
+     * @param list the list of VMs to submit
+     * @param submissionDelay the delay to submit the VMs (a negative value keeps the delay of each VM)
+     * @return this tenant
+     * @see DatacenterBroker#submitVmList(List, double)
+     */
+    public BrokerTenant submitVmList(@NonNull final List<? extends Vm> list, final double submissionDelay) {
+        vmList.addAll(list);
+        pool.registerVms(this, list);
+        pool.submitVmList(list, submissionDelay);
+        return this;
+    }
+
+    /**
+     * Submits a list of Cloudlets of this tenant to the pool.
+     * Cloudlets are just mapped to VMs of this tenant.
+     * @param list the list of Cloudlets to submit
+     * @return this tenant
+     * @see DatacenterBroker#submitCloudletList(List)
+     */
+    public BrokerTenant submitCloudletList(@NonNull final List<? extends Cloudlet> list) {
+        return submitCloudletList(list, -1);
+    }
+
+    /**
+     * Submits a list of Cloudlets of this tenant to the pool, with a given submission delay.
+     * Cloudlets are just mapped to VMs of this tenant.
+     * @param list the list of Cloudlets to submit
+     * @param submissionDelay the delay to submit the Cloudlets (a negative value keeps the delay of each Cloudlet)
+     * @return this tenant
+     * @see DatacenterBroker#submitCloudletList(List, double)
+     */
+    public BrokerTenant submitCloudletList(@NonNull final List<? extends Cloudlet> list, final double submissionDelay) {
+        for (final Cloudlet cloudlet : list) {
+            cloudlet.addOnFinishListener(onCloudletFinishListener);
+            pool.registerUnmappedCloudlet(this, cloudlet);
+        }
+
+        submittedCloudletsNumber += list.size();
+        pool.submitCloudletList(list, submissionDelay);
+        return this;
+    }
+
+    /**
+     * Updates the totals of this tenant when one of its Cloudlets finishes.
+     * @param info information about the finished Cloudlet
+     */
+    private void onCloudletFinish(final CloudletVmEventInfo info) {
+        finishedCloudletsNumber++;
+        finishedLength += info.getCloudlet().getFinishedLengthSoFar();
+    }
+
+    /**
+     * Cyclically selects the next created VM of this tenant to run a Cloudlet.
+     * @return the selected VM or {@link Vm#NULL} if the tenant has no created VM
+     */
+    Vm nextCreatedVm() {
+        for (int tries = 0; tries < vmList.size(); tries++) {
+            lastSelectedVmIndex = ++lastSelectedVmIndex % vmList.size();
+            final Vm vm = vmList.get(lastSelectedVmIndex);
+            if (vm.isCreated()) {
+                return vm;
+            }
+        }
+
+        return Vm.NULL;
+    }
+
+    /**
+     * {@return a read-only list of VMs submitted by this tenant}
+     */
+    public <T extends Vm> List<T> getVmList() {
+        return (List<T>) Collections.unmodifiableList(vmList);
+    }
+
+    /**
+     * {@return a new list of VMs of this tenant which are currently created}
+     * @see DatacenterBroker#getVmExecList()
+     */
+    public <T extends Vm> List<T> getVmExecList() {
+        return (List<T>) vmList.stream().filter(Vm::isCreated).toList();
+    }
+
+    /**
+     * {@return the total monetary cost ($) of the VMs of this tenant which were placed into some Host}
+     * @see VmCost#getTotalCost()
+     */
+    public double getTotalCost() {
+        return vmList.stream()
+                     .filter(vm -> vm.getHost() != Host.NULL)
+                     .mapToDouble(vm -> new VmCost(vm).getTotalCost())
+                     .sum();
+    }
+
+    @Override
+    public String toString() {
+        return "%s: Tenant %d%s".formatted(pool.getName(), id, name.isBlank() ? "" : " (" + name + ")");
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.brokers;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.cloudsimplus.cloudlets.Cloudlet;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/// A stream of Cloudlets submitted to a [DatacenterBroker] by [DatacenterBroker#submitCloudletStream(Iterator, double)],
+/// which are lazily pulled from an [Iterator] just before their submission time.
+/// This way, Cloudlets (such as those read from a trace file) don't need
+/// to be created and kept in memory from the beginning of the simulation.
+///
+/// The submission delay of each Cloudlet is relative to the time the stream was submitted,
+/// and Cloudlets must be returned by the iterator in non-decreasing order of submission delay.
+/// Cloudlets are pulled in batches of at most [#getMaxBatchSize()] Cloudlets.
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+final class CloudletStream {
+    /** The default maximum number of Cloudlets pulled from the stream at once. */
+    static final int DEF_MAX_BATCH_SIZE = 10_000;
+
+    private final Iterator<? extends Cloudlet> iterator;
+
+    /**
+     * How long (in seconds) before their submission time Cloudlets are pulled from the stream.
+     */
+    @Getter
+    private final double lookAhead;
+
+    /**
+     * The maximum number of Cloudlets pulled from the stream at once.
+     */
+    @Getter
+    private final int maxBatchSize;
+
+    /** The simulation time the stream was submitted, which submission delays are relative to. */
+    private final double submissionTime;
+
+    /** The next Cloudlet to be pulled, already read from the iterator (or null if there isn't one). */
+    private Cloudlet next;
+
+    /**
+     * Creates a Cloudlet stream.
+     * @param iterator the iterator to pull Cloudlets from
+     * @param lookAhead how long (in seconds) before their submission time Cloudlets are pulled from the stream
+     * @param maxBatchSize the maximum number of Cloudlets pulled from the stream at once
+     * @param submissionTime the simulation time the stream is being submitted
+     */
+    CloudletStream(
+        @NonNull final Iterator<? extends Cloudlet> iterator, final double lookAhead,
+        final int maxBatchSize, final double submissionTime)
+    {
+        if (lookAhead < 0) {
+            throw new IllegalArgumentException("lookAhead cannot be negative.");
+        }
+
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1.");
+        }
+
+        this.iterator = iterator;
+        this.lookAhead = lookAhead;
+        this.maxBatchSize = maxBatchSize;
+        this.submissionTime = submissionTime;
+        this.next = iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * {@return true if all Cloudlets were pulled from the stream, false otherwise}
+     */
+    boolean isFinished() {
+        return next == null;
+    }
+
+    /**
+     * Pulls the Cloudlets whose submission time is up to {@link #getLookAhead()} seconds from a given time.
+     * Their submission delay is changed to be relative to that time.
+     * @param time the current simulation time
+     * @return the list of pulled Cloudlets (which may be empty)
+     */
+    List<Cloudlet> pull(final double time) {
+        final var batch = new ArrayList<Cloudlet>();
+        while (next != null && batch.size() < maxBatchSize && getSubmissionTime(next) <= time + lookAhead) {
+            next.setSubmissionDelay(Math.max(0, getSubmissionTime(next) - time));
+            batch.add(next);
+            next = iterator.hasNext() ? iterator.next() : null;
+        }
+
+        return batch;
+    }
+
+    /**
+     * {@return the delay (from a given time) to pull the next Cloudlets from the stream}
+     * @param time the current simulation time
+     * @throws IllegalStateException if the stream is finished
+     */
+    double getNextPullDelay(final double time) {
+        if (next == null) {
+            throw new IllegalStateException("The Cloudlet stream is finished.");
+        }
+
+        return Math.max(0, getSubmissionTime(next) - lookAhead - time);
+    }
+
+    private double getSubmissionTime(final Cloudlet cloudlet) {
+        return submissionTime + Math.max(0, cloudlet.getSubmissionDelay());
+    }
+}
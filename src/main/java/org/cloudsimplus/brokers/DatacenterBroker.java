@@ -7,6 +7,7 @@
 package org.cloudsimplus.brokers;
 
 import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletArchive;
 import org.cloudsimplus.core.SimEntity;
 import org.cloudsimplus.core.Simulation;
 import org.cloudsimplus.datacenters.Datacenter;
@@ -20,9 +21,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Represents a broker acting on behalf of a cloud customer.
@@ -254,6 +257,39 @@ public sealed interface DatacenterBroker extends SimEntity
      */
     DatacenterBroker submitCloudletList(List<? extends Cloudlet> list, Vm vm, double submissionDelay);
 
+    /**
+     * Sends a stream of cloudlets to the broker, which are lazily pulled from a given {@link Iterator}
+     * just before their submission time, instead of being all created and submitted at once.
+     * That avoids keeping Cloudlets (such as the ones read from long trace files)
+     * in memory and in the simulation event queue long before they are needed.
+     *
+     * <p>The {@link Cloudlet#getSubmissionDelay() submission delay} of each Cloudlet is relative to
+     * the time the stream is submitted (instead of the time the Cloudlet is sent to a VM)
+     * and the iterator must return Cloudlets
+     * in non-decreasing order of submission delay.
+     * Pulled Cloudlets are submitted just like by {@link #submitCloudletList(List)}
+     * (if a {@link #setCloudletComparator(Comparator) Cloudlet comparator} is set,
+     * Cloudlets are just sorted inside each pulled batch),
+     * but they are not added to the {@link #getCloudletSubmittedList() submitted list}.</p>
+     *
+     * @param iterator the iterator to pull Cloudlets from
+     * @param lookAhead how long (in seconds) before their submission time Cloudlets are pulled from the iterator
+     * @return this broker instance
+     * @see #submitCloudletStream(Stream, double)
+     */
+    DatacenterBroker submitCloudletStream(Iterator<? extends Cloudlet> iterator, double lookAhead);
+
+    /**
+     * Sends a stream of cloudlets to the broker, which are lazily pulled from a given {@link Stream}
+     * just before their submission time.
+     *
+     * @param stream the stream to pull Cloudlets from
+     * @param lookAhead how long (in seconds) before their submission time Cloudlets are pulled from the stream
+     * @return this broker instance
+     * @see #submitCloudletStream(Iterator, double)
+     */
+    DatacenterBroker submitCloudletStream(Stream<? extends Cloudlet> stream, double lookAhead);
+
     /**
      * Sets the {@link BiFunction} that selects and returns a Datacenter
      * to place submitted VMs.
@@ -420,6 +456,8 @@ public sealed interface DatacenterBroker extends SimEntity
 
     /**
      * {@return the list of all submitted Cloudlets}
+     * Cloudlets pulled from a {@link #submitCloudletStream(Iterator, double) Cloudlet stream}
+     * are not included, so that they can be released after finishing.
      */
     List<Cloudlet> getCloudletSubmittedList();
 
@@ -480,4 +518,51 @@ public sealed interface DatacenterBroker extends SimEntity
      * @see #isBatchVmCreation()
      */
     DatacenterBroker setBatchVmCreation(boolean enable);
+
+    /**
+     * {@return true if batch Cloudlet submission is enabled; false otherwise}
+     * That indicates if waiting Cloudlets will be sent to a Datacenter one-by-one
+     * or in batch (in a single {@link org.cloudsimplus.core.CloudSimTag#CLOUDLET_SUBMIT} event
+     * carrying all Cloudlets to be submitted to the same Datacenter with the same delay).
+     * Batch submission reduces the number of events and Cloudlet processing updates
+     * when a large number of Cloudlets is submitted at once.
+     */
+    boolean isBatchCloudletSubmission();
+
+    /**
+     * Enables or disables batch Cloudlet submission.
+     * @param enable true of false to enable or disable
+     * @return this broker instance
+     * @see #isBatchCloudletSubmission()
+     */
+    DatacenterBroker setBatchCloudletSubmission(boolean enable);
+
+    /**
+     * {@return true if Cloudlet archival is enabled; false otherwise}
+     * When enabled, finished Cloudlets are stored into a compact {@link #getCloudletArchive() archive}
+     * instead of the {@link #getCloudletFinishedList() finished list}
+     * and are removed from the {@link #getCloudletSubmittedList() submitted}
+     * and {@link #getCloudletCreatedList() created} lists
+     * (as well as from the {@link org.cloudsimplus.schedulers.cloudlet.CloudletScheduler} of their VMs),
+     * so that Cloudlet objects can be released during long simulations.
+     * Therefore, such lists just keep unfinished Cloudlets and features relying
+     * on their size (such as a {@link org.cloudsimplus.autoscaling.HorizontalVmScaling})
+     * shouldn't be used with archival.
+     */
+    boolean isCloudletArchival();
+
+    /**
+     * Enables or disables Cloudlet archival.
+     * It must be set before Cloudlets finish, since already finished ones are not archived.
+     * @param enable true of false to enable or disable
+     * @return this broker instance
+     * @see #isCloudletArchival()
+     */
+    DatacenterBroker setCloudletArchival(boolean enable);
+
+    /**
+     * {@return the archive of finished Cloudlets}, which is just filled when {@link #isCloudletArchival() archival} is enabled
+     * @see org.cloudsimplus.builders.tables.CloudletArchiveTableBuilder
+     */
+    CloudletArchive getCloudletArchive();
 }
@@ -14,6 +14,7 @@ import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.cloudsimplus.autoscaling.VerticalVmScaling;
 import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletArchive;
 import org.cloudsimplus.cloudlets.CloudletSimple;
 import org.cloudsimplus.core.*;
 import org.cloudsimplus.core.events.CloudSimEvent;
@@ -23,6 +24,7 @@ import org.cloudsimplus.datacenters.TimeZoned;
 import org.cloudsimplus.listeners.DatacenterBrokerEventInfo;
 import org.cloudsimplus.listeners.EventInfo;
 import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.listeners.VmHostEventInfo;
 import org.cloudsimplus.schedulers.cloudlet.CloudletScheduler;
 import org.cloudsimplus.traces.google.GoogleTaskEventsTraceReader;
 import org.cloudsimplus.util.InvalidEventDataTypeException;
@@ -34,10 +36,18 @@ import org.cloudsimplus.vms.VmSimple;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * An abstract class for implementing {@link DatacenterBroker}s.
@@ -65,6 +75,54 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
 
     private boolean batchVmCreation;
 
+    private boolean batchCloudletSubmission;
+
+    /** @see #isCloudletArchival() */
+    private boolean cloudletArchival;
+
+    /** @see #getCloudletArchive() */
+    private final CloudletArchive cloudletArchive;
+
+    /**
+     * Archived Cloudlets still to be removed from the submitted and created lists.
+     * They are removed in bulk, to avoid the linear cost of removing each one from such lists.
+     * @see #removeArchivedCloudletsFromLists()
+     */
+    @Getter(AccessLevel.NONE)
+    private final Set<Cloudlet> archivedCloudletsToRemove;
+
+    /**
+     * The number of Cloudlets mapped to each created VM which haven't returned to the broker yet.
+     * @see #vmIdleList
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<Vm, Integer> vmRunningCloudlets;
+
+    /**
+     * Created VMs without running Cloudlets, in the order they became idle.
+     * When a Cloudlet returns, just such VMs are checked for destruction,
+     * instead of scanning all the {@link #getVmExecList() running VMs}.
+     * VMs with running Cloudlets check their own idleness when their processing is updated.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final List<Vm> vmIdleList;
+
+    /**
+     * The total number of Cloudlets mapped to created VMs which haven't returned to the broker yet
+     * (the sum of all {@link #vmRunningCloudlets} counters).
+     * It's the broker outstanding work, which enables checking if the broker may be shutdown
+     * just when such work finishes, instead of every time the processing of a VM is updated.
+     */
+    @Setter(AccessLevel.NONE)
+    private int runningCloudletsNumber;
+
+    /**
+     * A listener registered into every created VM to remove it from the {@link #vmRunningCloudlets}
+     * and {@link #vmIdleList} when the VM is destroyed.
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private final EventListener<VmHostEventInfo> onVmDestroyListener = this::onVmDestroy;
+
     /**
      * A List of registered event listeners for the onVmsCreatedListeners event.
      *
@@ -77,12 +135,24 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
 
     private final List<Vm> vmFailedList;
 
+    /**
+     * Lists whose elements are moved to other lists along their lifecycle
+     * (such as waiting, executing and created VMs/Cloudlets) are {@link IndexedList}s,
+     * so that elements are removed in constant time, while keeping their order.
+     */
     private final List<Vm> vmWaitingList;
 
     private final List<Vm> vmExecList;
 
     private final List<Vm> vmCreatedList;
 
+    /**
+     * An index of the {@link #getVmCreatedList() created VMs} by their expected number of free PEs,
+     * which is kept updated as Cloudlets are mapped to VMs and finish.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final VmFreePesIndex vmFreePesIndex;
+
     private final List<Cloudlet> cloudletWaitingList;
 
     private final List<Cloudlet> cloudletSubmittedList;
@@ -91,6 +161,13 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
 
     private final List<Cloudlet> cloudletCreatedList;
 
+    /**
+     * Cloudlet streams submitted by {@link #submitCloudletStream(Iterator, double)}
+     * which still have Cloudlets to be pulled.
+     */
+    @Getter(AccessLevel.NONE)
+    private final List<CloudletStream> cloudletStreams;
+
     @NonNull
     private Datacenter lastSelectedDc;
 
@@ -132,14 +209,31 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
     @Getter(AccessLevel.PROTECTED)
     private List<Datacenter> datacenterList;
 
+    /**
+     * The Datacenters ordered by their distance to each time zone VMs were requested to be placed
+     * (from the closest to the farthest one),
+     * when the {@link #isSelectClosestDatacenter() selection of the closest datacenter} is enabled.
+     * The first Datacenter is selected to place a VM and the next ones are the fallbacks
+     * when the previous Datacenter cannot place it.
+     * Since VMs usually share a few time zones, that avoids sorting the Datacenter list for every VM.
+     * It's cleared when the Datacenter list changes.
+     * @see #getDatacentersByDistance(Vm)
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<Double, List<Datacenter>> datacentersByTimeZone;
+
     /**
      * Indicates if the last time checked, there were waiting cloudlets or not.
      */
     @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
     private boolean wereThereWaitingCloudlets;
 
+    /**
+     * The ID of the last submitted Cloudlet, used as the base for IDs of new Cloudlets.
+     * The Cloudlet itself isn't kept, so that it can be released after it's {@link #isCloudletArchival() archived}.
+     */
     @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
-    private Cloudlet lastSubmittedCloudlet;
+    private long lastSubmittedCloudletId;
 
     @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
     private Vm lastSubmittedVm;
@@ -169,7 +263,7 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
         }
 
         this.onVmsCreatedListeners = new ArrayList<>();
-        this.lastSubmittedCloudlet = Cloudlet.NULL;
+        this.lastSubmittedCloudletId = Cloudlet.NULL.getId();
         this.lastSubmittedVm = Vm.NULL;
         this.lastSelectedVm = Vm.NULL;
         this.lastSelectedDc = Datacenter.NULL;
@@ -177,13 +271,20 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
 
         this.vmCreation = new VmCreation();
         this.vmFailedList = new ArrayList<>();
-        this.vmWaitingList = new ArrayList<>();
-        this.vmExecList = new ArrayList<>();
-        this.vmCreatedList = new ArrayList<>();
-        this.cloudletWaitingList = new ArrayList<>();
+        this.vmWaitingList = new IndexedList<>();
+        this.vmExecList = new IndexedList<>();
+        this.vmCreatedList = new IndexedList<>();
+        this.vmFreePesIndex = new VmFreePesIndex();
+        this.vmRunningCloudlets = new IdentityHashMap<>();
+        this.vmIdleList = new IndexedList<>();
+        this.cloudletWaitingList = new IndexedList<>();
         this.cloudletFinishedList = new ArrayList<>();
-        this.cloudletCreatedList = new ArrayList<>();
+        this.cloudletCreatedList = new IndexedList<>();
         this.cloudletSubmittedList = new ArrayList<>();
+        this.cloudletStreams = new ArrayList<>();
+        this.cloudletArchive = new CloudletArchive();
+        this.archivedCloudletsToRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.datacentersByTimeZone = new HashMap<>();
         setDatacenterList(new ArrayList<>());
 
         setDatacenterMapper(this::defaultDatacenterMapper);
@@ -196,6 +297,8 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
         this.selectClosestDatacenter = select;
         if(select){
             setDatacenterMapper(this::closestDatacenterMapper);
+            //The Datacenter list may have already been received
+            setDatacenterList(datacenterList);
         }
 
         return this;
@@ -280,6 +383,24 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
         return Simulation.setIdForEntitiesWithoutOne(list, lastSubmittedEntity);
     }
 
+    /**
+     * Defines IDs for Cloudlets that don't have one already assigned,
+     * following the ID of the last submitted Cloudlet.
+     * @param list the list of Cloudlets to define an ID
+     * @see Simulation#setIdForEntitiesWithoutOne(List, ChangeableId)
+     */
+    private void setIdForCloudletsWithoutOne(final List<? extends Cloudlet> list) {
+        //if the ID is a negative number lower than -1, it's set as -1 to start the first ID as 0
+        long id = Math.max(lastSubmittedCloudletId, -1);
+        for (final Cloudlet cloudlet : list) {
+            if (cloudlet.getId() < 0) {
+                cloudlet.setId(++id);
+            }
+        }
+
+        lastSubmittedCloudletId = list.getLast().getId();
+    }
+
     private void sortVmsIfComparatorIsSet(final List<? extends Vm> list) {
         if (vmComparator != null) {
             list.sort(vmComparator);
@@ -344,14 +465,32 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
      */
     @Override
     public DatacenterBroker submitCloudletList(final List<? extends Cloudlet> list) {
+        return submitCloudletList(list, false);
+    }
+
+    /**
+     * Submits a list of Cloudlets, which may be a batch pulled from a Cloudlet stream.
+     * Streamed Cloudlets are not kept into the {@link #getCloudletSubmittedList() submitted list},
+     * so that they can be released after finishing, and their submission is just logged at debug level,
+     * since a stream may be pulled many times.
+     *
+     * @param list the list of Cloudlets to submit
+     * @param streamed true if the list is a batch pulled from a Cloudlet stream, false otherwise
+     * @return this broker instance
+     * @see #submitCloudletStream(Iterator, double)
+     */
+    private DatacenterBroker submitCloudletList(final List<? extends Cloudlet> list, final boolean streamed) {
         if (list.isEmpty()) {
             return this;
         }
 
         sortCloudletsIfComparatorIsSet(list);
         configureEntities(list);
-        lastSubmittedCloudlet = setIdForEntitiesWithoutOne(list, lastSubmittedCloudlet);
-        cloudletSubmittedList.addAll(list);
+        setIdForCloudletsWithoutOne(list);
+        if (!streamed) {
+            cloudletSubmittedList.addAll(list);
+        }
+
         setSimulationForCloudletUtilizationModels(list);
         cloudletWaitingList.addAll(list);
         wereThereWaitingCloudlets = true;
@@ -360,16 +499,65 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
             return this;
         }
 
-        LOGGER.info(
-            "{}: {}: List of {} Cloudlets submitted to the broker during simulation execution.",
-            getSimulation().clockStr(), getName(), list.size());
+        if (streamed) {
+            LOGGER.debug(
+                "{}: {}: Batch of {} Cloudlets pulled from a stream and submitted to the broker.",
+                getSimulation().clockStr(), getName(), list.size());
+        } else {
+            LOGGER.info(
+                "{}: {}: List of {} Cloudlets submitted to the broker during simulation execution.",
+                getSimulation().clockStr(), getName(), list.size());
+            LOGGER.info("Cloudlets creation request sent to Datacenter.");
+        }
 
-        LOGGER.info("Cloudlets creation request sent to Datacenter.");
         requestDatacentersToCreateWaitingCloudlets();
 
         return this;
     }
 
+    @Override
+    public DatacenterBroker submitCloudletStream(@NonNull final Stream<? extends Cloudlet> stream, final double lookAhead) {
+        return submitCloudletStream(stream.iterator(), lookAhead);
+    }
+
+    @Override
+    public DatacenterBroker submitCloudletStream(final Iterator<? extends Cloudlet> iterator, final double lookAhead) {
+        final var stream = new CloudletStream(iterator, lookAhead, CloudletStream.DEF_MAX_BATCH_SIZE, getSimulation().clock());
+        submitCloudletList(stream.pull(getSimulation().clock()), true);
+        if (stream.isFinished()) {
+            return this;
+        }
+
+        cloudletStreams.add(stream);
+        if (isStarted()) {
+            scheduleCloudletStreamPull(stream);
+        }
+
+        return this;
+    }
+
+    private void scheduleCloudletStreamPull(final CloudletStream stream) {
+        schedule(stream.getNextPullDelay(getSimulation().clock()), CloudSimTag.CLOUDLET_STREAM_PULL, stream);
+    }
+
+    /**
+     * Pulls the next batch of Cloudlets from a stream submitted by {@link #submitCloudletStream(Iterator, double)}
+     * and schedules the next pull, if the stream is not finished.
+     * @param evt the event containing the stream
+     */
+    private boolean processCloudletStreamPull(final SimEvent evt) {
+        if (!(evt.getData() instanceof CloudletStream stream)) {
+            throw new InvalidEventDataTypeException(evt, "CLOUDLET_STREAM_PULL", "CloudletStream");
+        }
+
+        submitCloudletList(stream.pull(getSimulation().clock()), true);
+        if (stream.isFinished()) {
+            cloudletStreams.remove(stream);
+        } else scheduleCloudletStreamPull(stream);
+
+        return true;
+    }
+
     /**
      * Binds a list of Cloudlets to a given {@link Vm}, so that those Cloudlets will execute on that Vm.
      * If the {@link Vm} is {@link Vm#NULL}, the Cloudlets will not be bound.
@@ -458,6 +646,7 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
             case CloudSimTag.CLOUDLET_CANCEL -> processCloudletCancel(evt);
             case CloudSimTag.CLOUDLET_FINISH -> processCloudletFinish(evt);
             case CloudSimTag.CLOUDLET_FAIL -> processCloudletFail(evt);
+            case CloudSimTag.CLOUDLET_STREAM_PULL -> processCloudletStreamPull(evt);
             default -> false;
         };
     }
@@ -715,7 +904,7 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
      */
     private void requestCreationOfWaitingVmsToFallbackDatacenter() {
         this.lastSelectedDc = Datacenter.NULL;
-        if (vmWaitingList.isEmpty() || requestDatacenterToCreateWaitingVms(false, true)) {
+        if (vmWaitingList.isEmpty() || requestDatacenterToCreateWaitingVms(true, true)) {
             return;
         }
 
@@ -749,8 +938,8 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
      * <p>If it's trying a fallback datacenter and the {@link #selectClosestDatacenter} is enabled,
      * that means the function assigned to the {@link #datacenterMapper} is the
      * {@link #closestDatacenterMapper(Datacenter, Vm)}
-     * which has failed to find a suitable Datacenter for the VM.
-     * This way, it uses the {@link #defaultDatacenterMapper(Datacenter, Vm)} instead.
+     * which has selected a Datacenter that couldn't place the VM.
+     * This way, the next closest Datacenter to the VM is tried instead.
      * </p>
      *
      * @param isFallbackDatacenter true to indicate that a fallback Datacenter will be tried,
@@ -764,13 +953,15 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
         if(vmWaitingList.isEmpty())
             return false;
 
+        final Datacenter firstVmLastTriedDc = vmWaitingList.get(0).getLastTriedDatacenter();
         for (final var vm : vmWaitingList) {
+            final Datacenter lastTriedDc = vm.getLastTriedDatacenter();
             if(creationRetry) {
                 vm.setLastTriedDatacenter(Datacenter.NULL);
             }
 
             if(!batchVmCreation) {
-                this.lastSelectedDc = getLastSelectedDc(isFallbackDatacenter, vm);
+                this.lastSelectedDc = getLastSelectedDc(isFallbackDatacenter, vm, lastTriedDc);
                 vmCreation.incCreationRequests(requestSingleVmCreation(lastSelectedDc, isFallbackDatacenter, vm));
             }
         }
@@ -778,16 +969,23 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
         //Sends a single VM creation request to the first selected DC for a List of Vms
         if(batchVmCreation) {
             //In batch VM creation, sends all VMs to the same DC selected for the first VM
-            this.lastSelectedDc = getLastSelectedDc(isFallbackDatacenter, vmWaitingList.get(0));
+            this.lastSelectedDc = getLastSelectedDc(isFallbackDatacenter, vmWaitingList.get(0), firstVmLastTriedDc);
             vmCreation.incCreationRequests(requestVmCreation(lastSelectedDc, isFallbackDatacenter, vmWaitingList));
         }
 
         return lastSelectedDc != Datacenter.NULL;
     }
 
-    private Datacenter getLastSelectedDc(final boolean isFallbackDatacenter, final Vm vm) {
+    /**
+     * Selects a Datacenter to place a VM.
+     * @param isFallbackDatacenter true to indicate the Datacenter last tried for the VM couldn't place it
+     * @param vm the VM to place
+     * @param lastTriedDc the Datacenter last tried for the VM
+     * @return the selected Datacenter or {@link Datacenter#NULL} if no suitable Datacenter was found
+     */
+    private Datacenter getLastSelectedDc(final boolean isFallbackDatacenter, final Vm vm, final Datacenter lastTriedDc) {
         return isFallbackDatacenter && selectClosestDatacenter ?
-                    defaultDatacenterMapper(lastSelectedDc, vm) :
+                    nextClosestDatacenter(vm, lastTriedDc) :
                     datacenterMapper.apply(lastSelectedDc, vm);
     }
 
@@ -885,6 +1083,13 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
         vmWaitingList.remove(vm);
         vmExecList.add(vm);
         vmCreatedList.add(vm);
+        vmFreePesIndex.add(vm);
+        if (vmRunningCloudlets.putIfAbsent(vm, 0) == null) {
+            vmIdleList.add(vm);
+        }
+
+        vm.removeOnHostDeallocationListener(onVmDestroyListener);
+        vm.addOnHostDeallocationListener(onVmDestroyListener);
         notifyOnVmsCreatedListeners();
     }
 
@@ -895,8 +1100,15 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
      */
     private boolean processCloudletReturn(final SimEvent evt) {
         final var cloudlet = (Cloudlet) evt.getData();
-        cloudletFinishedList.add(cloudlet);
+        if (cloudletArchival) {
+            archiveCloudlet(cloudlet);
+        } else {
+            cloudletFinishedList.add(cloudlet);
+        }
+
         ((VmSimple) cloudlet.getVm()).addExpectedFreePesNumber(cloudlet.getPesNumber());
+        vmFreePesIndex.update(cloudlet.getVm());
+        decRunningCloudlets(cloudlet.getVm());
         final String lifeTime = cloudlet.getLifeTime() == Double.MAX_VALUE ? "" : " (after defined lifetime expired)";
         LOGGER.info(
             "{}: {}: {} finished{} in {} and returned to broker.",
@@ -908,10 +1120,105 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
             return true;
         }
 
-        requestVmDestructionAfterAllCloudletsFinished();
+        requestIdleVmsDestruction();
+        requestWaitingVmsCreation();
         return true;
     }
 
+    /**
+     * Increments the number of running Cloudlets of a VM, which then stops being idle.
+     * @param vm the VM a Cloudlet was mapped to
+     */
+    private void incRunningCloudlets(final Vm vm) {
+        runningCloudletsNumber++;
+        if (vmRunningCloudlets.merge(vm, 1, Integer::sum) == 1) {
+            vmIdleList.remove(vm);
+        }
+    }
+
+    /**
+     * Decrements the number of running Cloudlets of a VM, which becomes idle when no Cloudlet is left.
+     * When no Cloudlet is left in any VM, checks if the broker may be shutdown.
+     * @param vm the VM a Cloudlet has returned from
+     */
+    private void decRunningCloudlets(final Vm vm) {
+        final Integer runningCloudlets = vmRunningCloudlets.computeIfPresent(vm, (key, count) -> count - 1);
+        if (runningCloudlets == null) {
+            return;
+        }
+
+        if (runningCloudlets == 0) {
+            vmIdleList.add(vm);
+        }
+
+        if (--runningCloudletsNumber == 0) {
+            requestShutdownWhenIdle();
+        }
+    }
+
+    /**
+     * Removes a destroyed VM from the {@link #vmRunningCloudlets} and {@link #vmIdleList},
+     * discounting Cloudlets it was still running from the {@link #runningCloudletsNumber},
+     * then checks if the broker may be shutdown.
+     * Deallocations due to VM migration are ignored, since the VM keeps running on the target Host.
+     * @param info information about the VM deallocation from its Host
+     */
+    private void onVmDestroy(final VmHostEventInfo info) {
+        final Vm vm = info.getVm();
+        if (vm.isInMigration()) {
+            return;
+        }
+
+        vm.removeOnHostDeallocationListener(onVmDestroyListener);
+        final Integer runningCloudlets = vmRunningCloudlets.remove(vm);
+        if (runningCloudlets == null) {
+            return;
+        }
+
+        runningCloudletsNumber -= runningCloudlets;
+        if (runningCloudlets == 0) {
+            vmIdleList.remove(vm);
+        }
+
+        requestShutdownWhenIdle();
+    }
+
+    /**
+     * Requests the destruction of {@link #vmIdleList idle VMs}.
+     * Destroyed VMs are removed from such a list by {@link #onVmDestroy(VmHostEventInfo)}.
+     */
+    private void requestIdleVmsDestruction() {
+        for (int i = vmIdleList.size() - 1; i >= 0; i--) {
+            requestIdleVmDestruction(vmIdleList.get(i));
+        }
+    }
+
+    /**
+     * Stores a finished Cloudlet into the {@link #getCloudletArchive() archive}
+     * and removes it from the {@link org.cloudsimplus.schedulers.cloudlet.CloudletScheduler} of its VM,
+     * so that it can be released.
+     * @param cloudlet the Cloudlet to archive
+     */
+    private void archiveCloudlet(final Cloudlet cloudlet) {
+        cloudletArchive.add(cloudlet);
+        cloudlet.getVm().getCloudletScheduler().releaseReturnedCloudlet(cloudlet);
+        archivedCloudletsToRemove.add(cloudlet);
+        if (archivedCloudletsToRemove.size() * 2 >= Math.max(cloudletSubmittedList.size(), cloudletCreatedList.size())) {
+            removeArchivedCloudletsFromLists();
+        }
+    }
+
+    /**
+     * Removes archived Cloudlets from the submitted and created lists.
+     * Since that is just performed when Cloudlets to remove are at least half of the largest of such lists,
+     * the amortized cost of removing each Cloudlet is constant.
+     */
+    private void removeArchivedCloudletsFromLists() {
+        cloudletSubmittedList.removeIf(archivedCloudletsToRemove::contains);
+        cloudletCreatedList.removeIf(archivedCloudletsToRemove::contains);
+        archivedCloudletsToRemove.clear();
+    }
+
     /**
      * Request the destruction of VMs after all running cloudlets have finished and returned to the broker.
      * If there is no waiting Cloudlet, request all VMs to be destroyed.
@@ -921,6 +1228,13 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
             requestIdleVmDestruction(vmExecList.get(i));
         }
 
+        requestWaitingVmsCreation();
+    }
+
+    /**
+     * Requests the creation of waiting VMs if there are Cloudlets waiting for them.
+     */
+    private void requestWaitingVmsCreation() {
         if (cloudletWaitingList.isEmpty()) {
             return;
         }
@@ -953,7 +1267,6 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
             }
         }
 
-        requestShutdownWhenIdle();
         return this;
     }
 
@@ -1011,7 +1324,7 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
     }
 
     private boolean isBrokerIdle() {
-        return cloudletWaitingList.isEmpty() && vmWaitingList.isEmpty() && vmExecList.isEmpty();
+        return cloudletWaitingList.isEmpty() && cloudletStreams.isEmpty() && vmWaitingList.isEmpty() && vmExecList.isEmpty();
     }
 
     /**
@@ -1035,6 +1348,7 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
          * Cloudlets in such new list were removed just after the loop,
          * degrading performance in large scale simulations. */
         int createdCloudlets = 0;
+        final var submissionBatches = new LinkedHashMap<Datacenter, Map<Double, List<Cloudlet>>>();
         for (final var iterator = cloudletWaitingList.iterator(); iterator.hasNext(); ) {
             final CloudletSimple cloudlet = (CloudletSimple)iterator.next();
             if (!cloudlet.getLastTriedDatacenter().equals(Datacenter.NULL)) {
@@ -1042,29 +1356,72 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
             }
 
             //selects a VM for the given Cloudlet
-            lastSelectedVm = vmMapper.apply(cloudlet);
+            lastSelectedVm = selectVmForCloudlet(cloudlet);
             if (!lastSelectedVm.isCreated()) {
                 logPostponingCloudletExecution(cloudlet);
                 continue;
             }
 
             ((VmSimple) lastSelectedVm).removeExpectedFreePesNumber(cloudlet.getPesNumber());
+            vmFreePesIndex.update(lastSelectedVm);
 
             cloudlet.setVm(lastSelectedVm);
+            incRunningCloudlets(lastSelectedVm);
             logCloudletCreationRequest(cloudlet);
             final Datacenter dc = getDatacenter(lastSelectedVm);
             final double totalDelay = cloudlet.getSubmissionDelay() + getVmStartupDelay(cloudlet);
-            send(dc, totalDelay, CloudSimTag.CLOUDLET_SUBMIT, cloudlet);
+            if(batchCloudletSubmission)
+                addCloudletToSubmissionBatch(submissionBatches, dc, totalDelay, cloudlet);
+            else send(dc, totalDelay, CloudSimTag.CLOUDLET_SUBMIT, cloudlet);
             cloudlet.setLastTriedDatacenter(dc);
             cloudletCreatedList.add(cloudlet);
             iterator.remove();
             createdCloudlets++;
         }
 
+        sendCloudletSubmissionBatches(submissionBatches);
         allWaitingCloudletsSubmittedToVm(createdCloudlets);
         return createdCloudlets > 0;
     }
 
+    /**
+     * Adds a Cloudlet to the batch of Cloudlets to be submitted to a given Datacenter
+     * with a given delay, when {@link #isBatchCloudletSubmission() batch submission} is enabled.
+     *
+     * @param submissionBatches a map where each key is a Datacenter and each value is
+     *                          another map grouping the Cloudlets to be sent to that Datacenter by submission delay
+     * @param dc the Datacenter to submit the Cloudlet to
+     * @param delay the delay to send the Cloudlet to the Datacenter
+     * @param cloudlet the Cloudlet to add to the batch
+     * @see #sendCloudletSubmissionBatches(Map)
+     */
+    private static void addCloudletToSubmissionBatch(
+        final Map<Datacenter, Map<Double, List<Cloudlet>>> submissionBatches,
+        final Datacenter dc, final double delay, final Cloudlet cloudlet)
+    {
+        submissionBatches
+            .computeIfAbsent(dc, key -> new LinkedHashMap<>())
+            .computeIfAbsent(delay, key -> new ArrayList<>())
+            .add(cloudlet);
+    }
+
+    /**
+     * Sends a single {@link CloudSimTag#CLOUDLET_SUBMIT} event for each batch of Cloudlets
+     * to be submitted to the same Datacenter with the same delay.
+     * That avoids sending one event for each Cloudlet, which also makes the Datacenter
+     * schedule a single Cloudlet processing update for the entire batch.
+     *
+     * @param submissionBatches a map where each key is a Datacenter and each value is
+     *                          another map grouping the Cloudlets to be sent to that Datacenter by submission delay
+     */
+    private void sendCloudletSubmissionBatches(final Map<Datacenter, Map<Double, List<Cloudlet>>> submissionBatches) {
+        for (final var dcEntry : submissionBatches.entrySet()) {
+            for (final var delayEntry : dcEntry.getValue().entrySet()) {
+                send(dcEntry.getKey(), delayEntry.getKey(), CloudSimTag.CLOUDLET_SUBMIT, delayEntry.getValue());
+            }
+        }
+    }
+
     /**
      * {@return the startup delay (in seconds) of a VM running a given Cloudlet if the VM is booting up, or 0 if it's already running}
      * @param cloudlet the cloudlet to get the VM startup delay
@@ -1146,6 +1503,7 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
     public void startInternal() {
         LOGGER.info("{} is starting...", this);
         schedule(getSimulation().getCis(), 0, CloudSimTag.DC_LIST_REQUEST);
+        cloudletStreams.forEach(this::scheduleCloudletStreamPull);
     }
 
     @Override
@@ -1187,6 +1545,19 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
         return (List<T>) new ArrayList<>(cloudletFinishedList);
     }
 
+    /**
+     * Selects a VM to execute a given Cloudlet waiting to be created,
+     * using the current {@link #setVmMapper(Function) VM mapper}.
+     * Subclasses may override it to enforce restrictions which
+     * must hold whatever mapper is set.
+     *
+     * @param cloudlet the cloudlet that needs a VM to execute
+     * @return the selected Vm for the cloudlet or {@link Vm#NULL} if no suitable VM was found
+     */
+    protected Vm selectVmForCloudlet(final Cloudlet cloudlet) {
+        return vmMapper.apply(cloudlet);
+    }
+
     /**
      * Gets a Vm at a given index from the {@link #getVmExecList() list of created VMs}.
      *
@@ -1204,6 +1575,7 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
      */
     private void setDatacenterList(final List<Datacenter> datacenterList) {
         this.datacenterList = new ArrayList<>(datacenterList);
+        this.datacentersByTimeZone.clear();
         if(selectClosestDatacenter){
             this.datacenterList.sort(Comparator.comparingDouble(Datacenter::getTimeZone));
         }
@@ -1273,6 +1645,9 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
     /**
      * Selects the closest Datacenter to request the creating of waiting VMs, according to their timezone offset.
      * This policy is just used if the {@link #isSelectClosestDatacenter() selection of the closest datacenter} is enabled.
+     * The Datacenters ordered by distance to each time zone are computed just once,
+     * until the {@link #getDatacenterList() Datacenter list} changes.
+     * If the closest Datacenter cannot place a VM, the next closest ones are tried.
      *
      * @param lastDatacenter the last selected Datacenter
      * @param vm the VM trying to be created
@@ -1281,7 +1656,47 @@ public non-sealed abstract class DatacenterBrokerAbstract extends CloudSimEntity
      * @see #setSelectClosestDatacenter(boolean)
      */
     protected Datacenter closestDatacenterMapper(final Datacenter lastDatacenter, final Vm vm) {
-        return TimeZoned.closestDatacenter(vm, getDatacenterList());
+        if (getDatacenterList().isEmpty()) {
+            return TimeZoned.closestDatacenter(vm, getDatacenterList());
+        }
+
+        return getDatacentersByDistance(vm).get(0);
+    }
+
+    /**
+     * Selects the next closest Datacenter to a VM, after one that couldn't place it.
+     * @param vm the VM to place
+     * @param lastTriedDc the Datacenter that couldn't place the VM
+     *                    (or {@link Datacenter#NULL} to select the closest Datacenter)
+     * @return the next closest Datacenter or {@link Datacenter#NULL} if all Datacenters were tried
+     */
+    private Datacenter nextClosestDatacenter(final Vm vm, final Datacenter lastTriedDc) {
+        if (getDatacenterList().isEmpty()) {
+            return Datacenter.NULL;
+        }
+
+        final List<Datacenter> datacenters = getDatacentersByDistance(vm);
+        final int nextIndex = datacenters.indexOf(lastTriedDc) + 1;
+        return nextIndex < datacenters.size() ? datacenters.get(nextIndex) : Datacenter.NULL;
+    }
+
+    /**
+     * Gets the Datacenters ordered by their distance to the time zone of a VM,
+     * which is computed just once for each time zone, until the {@link #getDatacenterList() Datacenter list} changes.
+     * @param vm the VM to get the Datacenters ordered by distance
+     * @return the Datacenters from the closest to the farthest one
+     */
+    private List<Datacenter> getDatacentersByDistance(final Vm vm) {
+        return datacentersByTimeZone.computeIfAbsent(vm.getTimeZone(), timeZone -> {
+            final Datacenter closestDc = TimeZoned.closestDatacenter(vm, getDatacenterList());
+            final var datacenters = new ArrayList<Datacenter>(getDatacenterList().size());
+            datacenters.add(closestDc);
+            getDatacenterList().stream()
+                               .filter(dc -> dc != closestDc)
+                               .sorted(Comparator.comparingDouble(vm::distance))
+                               .forEach(datacenters::add);
+            return datacenters;
+        });
     }
 
     /**
@@ -27,8 +27,6 @@ import org.cloudsimplus.cloudlets.Cloudlet;
 import org.cloudsimplus.core.CloudSimPlus;
 import org.cloudsimplus.vms.Vm;
 
-import java.util.Comparator;
-
 /**
  * A {@link DatacenterBroker} that uses a <a href="https://en.wikipedia.org/wiki/Best-fit_bin_packing">Best Fit</a>
  * mapping between submitted cloudlets and VMs, trying to place a Cloudlet
@@ -36,6 +34,10 @@ import java.util.Comparator;
  * The Broker then places the submitted VMs at the first Datacenter found.
  * If there isn't capacity in that one, it will try other available ones.
  *
+ * <p>VMs are found in O(log N) time (where N is the number of created VMs),
+ * using an index of VMs by their {@link Vm#getExpectedFreePesNumber() expected number of free PEs}.
+ * Ties are broken by the order VMs were created.</p>
+ *
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Plus 4.3.8
  */
@@ -61,11 +63,7 @@ public class DatacenterBrokerBestFit extends DatacenterBrokerSimple {
             return cloudlet.getVm();
         }
 
-        final Vm mappedVm = getVmExecList()
-            .stream()
-            .filter(vm -> vm.getExpectedFreePesNumber() >= cloudlet.getPesNumber())
-            .min(Comparator.comparingLong(Vm::getExpectedFreePesNumber))
-            .orElse(Vm.NULL);
+        final Vm mappedVm = getVmFreePesIndex().findBestFit(cloudlet.getPesNumber());
 
         if (Vm.NULL.equals(mappedVm)) {
             LOGGER.warn("{}: {}: {} (PEs: {}) couldn't be mapped to any suitable VM.",
@@ -34,12 +34,17 @@ import org.cloudsimplus.vms.Vm;
  * The Broker then places the submitted VMs at the first Datacenter found.
  * If there isn't capacity in that one, it will try other available ones.
  *
+ * <p>VMs are checked in the order they were created, starting from the last selected one.
+ * The first suitable VM is found in O(log N) time (where N is the number of created VMs),
+ * using an index of VMs by their {@link Vm#getExpectedFreePesNumber() expected number of free PEs}.
+ * VMs which were destroyed are skipped.</p>
+ *
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Plus 4.6.0
  */
 public class DatacenterBrokerFirstFit extends DatacenterBrokerSimple {
     /**
-     * The index of the last Vm used to place a Cloudlet.
+     * The index (in the order VMs were created) of the last Vm used to place a Cloudlet.
      */
     private int lastVmIndex;
 
@@ -66,23 +71,14 @@ public class DatacenterBrokerFirstFit extends DatacenterBrokerSimple {
             return cloudlet.getVm();
         }
 
-        /* The for loop just defines the maximum number of Hosts to try.
-         * When a suitable Host is found, the method returns immediately. */
-        final int maxTries = getVmCreatedList().size();
-        for (int i = 0; i < maxTries; i++) {
-            final Vm vm = getVmCreatedList().get(lastVmIndex);
-            if (vm.getExpectedFreePesNumber() >= cloudlet.getPesNumber()) {
-                LOGGER.trace("{}: {}: {} (PEs: {}) mapped to {} (available PEs: {}, tot PEs: {})",
-                    getSimulation().clockStr(), getName(), cloudlet, cloudlet.getPesNumber(), vm,
-                    vm.getExpectedFreePesNumber(), vm.getFreePesNumber());
-                return vm;
-            }
-
-            /* If it gets here, the previous Vm doesn't have capacity to place the Cloudlet.
-             * Then, moves to the next Vm.
-             * If the end of the Vm list is reached, starts from the beginning,
-             * until the max number of tries.*/
-            lastVmIndex = ++lastVmIndex % getVmCreatedList().size();
+        final var index = getVmFreePesIndex();
+        final Vm vm = index.findFirstFit(cloudlet.getPesNumber(), lastVmIndex);
+        if (vm != Vm.NULL) {
+            lastVmIndex = index.getPosition(vm);
+            LOGGER.trace("{}: {}: {} (PEs: {}) mapped to {} (available PEs: {}, tot PEs: {})",
+                getSimulation().clockStr(), getName(), cloudlet, cloudlet.getPesNumber(), vm,
+                vm.getExpectedFreePesNumber(), vm.getFreePesNumber());
+            return vm;
         }
 
         LOGGER.warn("{}: {}: {} (PEs: {}) couldn't be mapped to any suitable VM.",
@@ -90,6 +86,4 @@ public class DatacenterBrokerFirstFit extends DatacenterBrokerSimple {
 
         return Vm.NULL;
     }
-
-
 }
@@ -24,6 +24,7 @@
 package org.cloudsimplus.brokers;
 
 import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletArchive;
 import org.cloudsimplus.core.SimEntity;
 import org.cloudsimplus.core.SimEntityNullBase;
 import org.cloudsimplus.datacenters.Datacenter;
@@ -34,9 +35,11 @@ import org.cloudsimplus.vms.Vm;
 
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * A class that implements the Null Object Design Pattern for {@link DatacenterBroker}
@@ -85,6 +88,11 @@ final class DatacenterBrokerNull implements DatacenterBroker, SimEntityNullBase
     @Override public Datacenter getLastSelectedDc() { return Datacenter.NULL; }
     @Override public boolean isBatchVmCreation() { return false; }
     @Override public DatacenterBroker setBatchVmCreation(boolean enable) { return this; }
+    @Override public boolean isBatchCloudletSubmission() { return false; }
+    @Override public DatacenterBroker setBatchCloudletSubmission(boolean enable) { return this; }
+    @Override public boolean isCloudletArchival() { return false; }
+    @Override public DatacenterBroker setCloudletArchival(boolean enable) { return this; }
+    @Override public CloudletArchive getCloudletArchive() { return new CloudletArchive(); }
     @Override public boolean isShutdownWhenIdle() { return false; }
     @Override public DatacenterBroker setShutdownWhenIdle(boolean shutdownWhenIdle) { return this; }
     @Override public DatacenterBroker setVmComparator(Comparator<Vm> comparator) { return this; }
@@ -94,6 +102,8 @@ final class DatacenterBrokerNull implements DatacenterBroker, SimEntityNullBase
     @Override public DatacenterBroker submitCloudletList(List<? extends Cloudlet> list, double submissionDelay) { return this; }
     @Override public DatacenterBroker submitCloudletList(List<? extends Cloudlet> list, Vm vm) { return this; }
     @Override public DatacenterBroker submitCloudletList(List<? extends Cloudlet> list, Vm vm, double submissionDelay) { return this; }
+    @Override public DatacenterBroker submitCloudletStream(Iterator<? extends Cloudlet> iterator, double lookAhead) { return this; }
+    @Override public DatacenterBroker submitCloudletStream(Stream<? extends Cloudlet> stream, double lookAhead) { return this; }
     @Override public DatacenterBroker submitVm(Vm vm) { return this; }
     @Override public DatacenterBroker submitVmList(List<? extends Vm> list) { return this; }
     @Override public DatacenterBroker submitVmList(List<? extends Vm> list, double submissionDelay) { return this; }
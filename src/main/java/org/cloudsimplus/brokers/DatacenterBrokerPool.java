@@ -0,0 +1,211 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.brokers;
+
+import lombok.NonNull;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/// A [DatacenterBroker] which hosts many logical customers ([BrokerTenant]s),
+/// instead of creating one broker entity for each customer.
+/// All tenants share the same broker lists, indexes and events,
+/// which drastically reduces the number of entities and events in simulations with thousands of customers.
+/// Since many tenants usually submit VMs and Cloudlets at the same time,
+/// batch VM creation and Cloudlet submission are enabled by default.
+///
+/// VMs and Cloudlets of each tenant are submitted through [BrokerTenant] methods.
+/// Cloudlets not bound to a VM are mapped to the tenant's VMs in a Round-Robin way.
+/// Whatever [VM mapper][#setVmMapper(java.util.function.Function)] is set,
+/// Cloudlets of a tenant just run on VMs of that tenant,
+/// while Cloudlets submitted directly to the pool just run on VMs submitted directly to the pool.
+/// If the mapper selects a VM of someone else, the default Round-Robin selection is used instead.
+/// Each tenant provides its own accounting, which is updated as its Cloudlets finish,
+/// so that neither the pool nor tenants keep Cloudlets after they are mapped to VMs
+/// (enabling them to be released when the pool [archives finished Cloudlets][#isCloudletArchival()]).
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+public class DatacenterBrokerPool extends DatacenterBrokerSimple {
+    private final List<BrokerTenant> tenantList;
+
+    /**
+     * The tenant which submitted each Cloudlet not mapped to a VM yet.
+     * Cloudlets are removed when mapped to one of their tenant's VMs.
+     */
+    private final Map<Cloudlet, BrokerTenant> unmappedCloudletTenants;
+
+    /**
+     * The tenant which submitted each VM.
+     * VMs submitted directly to the pool aren't included.
+     */
+    private final Map<Vm, BrokerTenant> vmTenants;
+
+    /**
+     * Index of the last VM selected from the {@link #getVmExecList() list of created VMs}
+     * to run some Cloudlet submitted directly to the pool.
+     */
+    private int lastSelectedPoolVmIndex;
+
+    /**
+     * Creates a broker pool.
+     *
+     * @param simulation the {@link CloudSimPlus} instance that represents the simulation the broker is related to
+     */
+    public DatacenterBrokerPool(final CloudSimPlus simulation) {
+        this(simulation, "");
+    }
+
+    /**
+     * Creates a broker pool giving a specific name.
+     *
+     * @param simulation the {@link CloudSimPlus} instance that represents the simulation the broker is related to
+     * @param name the broker pool name
+     */
+    public DatacenterBrokerPool(final CloudSimPlus simulation, final String name) {
+        super(simulation, name);
+        this.tenantList = new ArrayList<>();
+        this.unmappedCloudletTenants = new IdentityHashMap<>();
+        this.vmTenants = new IdentityHashMap<>();
+        this.lastSelectedPoolVmIndex = -1;
+        setBatchVmCreation(true);
+        setBatchCloudletSubmission(true);
+    }
+
+    /**
+     * Creates a tenant hosted by this pool.
+     * @param name the tenant name
+     * @return the new tenant
+     */
+    public BrokerTenant createTenant(@NonNull final String name) {
+        final var tenant = new BrokerTenant(this, tenantList.size(), name);
+        tenantList.add(tenant);
+        return tenant;
+    }
+
+    /**
+     * {@return a read-only list of tenants hosted by this pool}
+     */
+    public List<BrokerTenant> getTenantList() {
+        return Collections.unmodifiableList(tenantList);
+    }
+
+    /**
+     * Registers the tenant of a list of VMs,
+     * so that such VMs just run Cloudlets of that tenant.
+     * @param tenant the tenant submitting the VMs
+     * @param vmList the VMs being submitted
+     */
+    void registerVms(final BrokerTenant tenant, final List<? extends Vm> vmList) {
+        vmList.forEach(vm -> vmTenants.put(vm, tenant));
+    }
+
+    /**
+     * Registers the tenant of a Cloudlet,
+     * so that it can just be mapped to one of the tenant's VMs.
+     * @param tenant the tenant submitting the Cloudlet
+     * @param cloudlet the Cloudlet being submitted
+     */
+    void registerUnmappedCloudlet(final BrokerTenant tenant, final Cloudlet cloudlet) {
+        unmappedCloudletTenants.put(cloudlet, tenant);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If the selected VM doesn't belong to the tenant which submitted the Cloudlet
+     * (or to the pool itself, for Cloudlets submitted directly to it),
+     * the {@link #defaultVmMapper(Cloudlet) default selection} is used instead.</p>
+     *
+     * @param cloudlet {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected Vm selectVmForCloudlet(final Cloudlet cloudlet) {
+        final BrokerTenant tenant = unmappedCloudletTenants.get(cloudlet);
+        Vm vm = super.selectVmForCloudlet(cloudlet);
+        if (vm != Vm.NULL && vmTenants.get(vm) != tenant) {
+            LOGGER.warn(
+                "{}: {}: {} was selected to run {}, but it doesn't belong to {}. Selecting another VM.",
+                getSimulation().clockStr(), getName(), vm, cloudlet, tenant == null ? "the pool" : tenant);
+            vm = nextCreatedVm(tenant);
+        }
+
+        if (vm.isCreated()) {
+            unmappedCloudletTenants.remove(cloudlet);
+        }
+
+        return vm;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p><b>It applies a Round-Robin policy to cyclically select
+     * the next created VM of the tenant which submitted the Cloudlet
+     * (or the next created VM submitted directly to the pool,
+     * for Cloudlets submitted directly to it).</b></p>
+     *
+     * @param cloudlet {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected Vm defaultVmMapper(final Cloudlet cloudlet) {
+        return cloudlet.isBoundToVm() ? cloudlet.getVm() : nextCreatedVm(unmappedCloudletTenants.get(cloudlet));
+    }
+
+    /**
+     * Cyclically selects the next created VM of a given tenant to run a Cloudlet.
+     * @param tenant the tenant to select a VM from,
+     *               or null to select a VM submitted directly to the pool
+     * @return the selected VM or {@link Vm#NULL} if there is no such a created VM
+     */
+    private Vm nextCreatedVm(final BrokerTenant tenant) {
+        return tenant == null ? nextCreatedPoolVm() : tenant.nextCreatedVm();
+    }
+
+    /**
+     * Cyclically selects the next created VM submitted directly to the pool,
+     * skipping VMs of tenants.
+     * @return the selected VM or {@link Vm#NULL} if the pool has no such a created VM
+     */
+    private Vm nextCreatedPoolVm() {
+        final int vmsNumber = getVmExecList().size();
+        for (int tries = 0; tries < vmsNumber; tries++) {
+            lastSelectedPoolVmIndex = ++lastSelectedPoolVmIndex % vmsNumber;
+            final Vm vm = getVmFromCreatedList(lastSelectedPoolVmIndex);
+            if (!vmTenants.containsKey(vm)) {
+                return vm;
+            }
+        }
+
+        return Vm.NULL;
+    }
+}
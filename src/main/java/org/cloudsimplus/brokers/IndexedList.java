@@ -0,0 +1,330 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.brokers;
+
+import lombok.NonNull;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/// An insertion-ordered list of distinct elements, which keeps the position of each element in a map,
+/// so that adding, finding and removing an element takes `O(1)` (amortized).
+/// It's used by a [DatacenterBroker] to keep lists of VMs and Cloudlets,
+/// whose elements are constantly moved from one list to another as they change their state.
+///
+/// Elements are compared by identity (since their IDs may change after they are added)
+/// and adding an element which is already in the list has no effect
+/// (while setting it into another position is rejected).
+/// A removed element just leaves an empty slot, which keeps the position of other elements valid.
+/// Empty slots are discarded in a single pass (a compaction) when they reach half of the slots
+/// or when an element is accessed by its index.
+/// That way, iterating over the list, adding and removing elements never shift the remaining ones,
+/// while the order elements were added is kept.
+///
+/// @param <E> the type of elements in the list
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+final class IndexedList<E> extends AbstractList<E> implements RandomAccess {
+    /** Elements in the order they were added, where removed elements are replaced by null. */
+    private final List<E> slots;
+
+    /** The position of each element inside the {@link #slots}. */
+    private final Map<E, Integer> positions;
+
+    /** The number of empty slots (removed elements) in the {@link #slots}. */
+    private int emptySlots;
+
+    /**
+     * The number of times the list was compacted,
+     * which enables iterators to find their current slot after a compaction.
+     */
+    private int compactions;
+
+    /**
+     * Creates an empty list.
+     */
+    IndexedList() {
+        this.slots = new ArrayList<>();
+        this.positions = new IdentityHashMap<>();
+    }
+
+    @Override
+    public int size() {
+        return positions.size();
+    }
+
+    @Override
+    public boolean contains(final Object obj) {
+        return positions.containsKey(obj);
+    }
+
+    @Override
+    public int indexOf(final Object obj) {
+        if (!contains(obj)) {
+            return -1;
+        }
+
+        compact();
+        return positions.get(obj);
+    }
+
+    @Override
+    public int lastIndexOf(final Object obj) {
+        return indexOf(obj);
+    }
+
+    @Override
+    public E get(final int index) {
+        Objects.checkIndex(index, size());
+        compact();
+        return slots.get(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return true if the element was added, false if it was already in the list
+     */
+    @Override
+    public boolean add(@NonNull final E element) {
+        if (contains(element)) {
+            return false;
+        }
+
+        positions.put(element, slots.size());
+        slots.add(element);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Since it shifts subsequent elements, it takes `O(N)`.
+     * If the element is already in the list, it has no effect.
+     */
+    @Override
+    public void add(final int index, @NonNull final E element) {
+        Objects.checkIndex(index, size() + 1);
+        if (contains(element)) {
+            return;
+        }
+
+        compact();
+        slots.add(index, element);
+        updatePositionsFrom(index);
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Since elements are distinct, an element which is already in another position is rejected
+     * (therefore, elements cannot be swapped by setting them).
+     * @throws IllegalArgumentException if the element is already in another position of the list
+     */
+    @Override
+    public E set(final int index, @NonNull final E element) {
+        final E previous = get(index);
+        if (previous == element) {
+            return previous;
+        }
+
+        if (contains(element)) {
+            throw new IllegalArgumentException(
+                "The element is already at position %d of the list.".formatted(indexOf(element)));
+        }
+
+        positions.remove(previous);
+        slots.set(index, element);
+        positions.put(element, index);
+        return previous;
+    }
+
+    @Override
+    public boolean remove(final Object obj) {
+        if (!removeWithoutCompaction(obj)) {
+            return false;
+        }
+
+        if (emptySlots * 2 > slots.size()) {
+            compact();
+        }
+
+        return true;
+    }
+
+    @Override
+    public E remove(final int index) {
+        final E element = get(index);
+        remove(element);
+        return element;
+    }
+
+    /**
+     * Removes an element, leaving an empty slot in its place.
+     * @param obj the element to remove
+     * @return true if the element was removed, false if it was not in the list
+     */
+    private boolean removeWithoutCompaction(final Object obj) {
+        final Integer position = positions.remove(obj);
+        if (position == null) {
+            return false;
+        }
+
+        slots.set(position, null);
+        emptySlots++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean removeIf(@NonNull final Predicate<? super E> filter) {
+        boolean removed = false;
+        for (final E element : slots) {
+            if (element != null && filter.test(element)) {
+                removed |= removeWithoutCompaction(element);
+            }
+        }
+
+        compact();
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        slots.clear();
+        positions.clear();
+        emptySlots = 0;
+        modCount++;
+    }
+
+    @Override
+    public void sort(final Comparator<? super E> comparator) {
+        compact();
+        slots.sort(comparator);
+        updatePositionsFrom(0);
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The iterator skips empty slots and its {@link Iterator#remove()}
+     * doesn't shift the remaining elements.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            /** The slot of the next element to return. */
+            private int cursor = nextSlot(0);
+
+            /** The number of elements returned which were not removed, that is, the index of the next element. */
+            private int index;
+
+            /** The last element returned, or null if it was removed. */
+            private E last;
+
+            private int expectedModCount = modCount;
+
+            private int expectedCompactions = compactions;
+
+            @Override
+            public boolean hasNext() {
+                return index < size();
+            }
+
+            @Override
+            public E next() {
+                checkForComodification();
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                last = slots.get(cursor);
+                cursor = nextSlot(cursor + 1);
+                index++;
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+
+                checkForComodification();
+                removeWithoutCompaction(last);
+                last = null;
+                index--;
+                expectedModCount = modCount;
+            }
+
+            /**
+             * Checks if the list was structurally changed outside the iterator.
+             * Since a compaction (such as when an element is got by its index) doesn't change the list content,
+             * after that the iterator just moves to the slot of its next element.
+             */
+            private void checkForComodification() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+
+                if (compactions != expectedCompactions) {
+                    cursor = index;
+                    expectedCompactions = compactions;
+                }
+            }
+        };
+    }
+
+    /**
+     * {@return the first non-empty slot from a given one, or the number of slots if there is none}
+     * @param from the slot to start searching
+     */
+    private int nextSlot(final int from) {
+        int slot = from;
+        while (slot < slots.size() && slots.get(slot) == null) {
+            slot++;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Discards empty slots, moving the remaining elements to consecutive positions.
+     */
+    private void compact() {
+        if (emptySlots == 0) {
+            return;
+        }
+
+        slots.removeIf(Objects::isNull);
+        updatePositionsFrom(0);
+        emptySlots = 0;
+        compactions++;
+    }
+
+    private void updatePositionsFrom(final int index) {
+        for (int i = index; i < slots.size(); i++) {
+            positions.put(slots.get(i), i);
+        }
+    }
+}
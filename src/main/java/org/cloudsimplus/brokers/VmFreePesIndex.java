@@ -0,0 +1,262 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.brokers;
+
+import lombok.NonNull;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.*;
+
+/// An index of the VMs created by a [DatacenterBroker], by their
+/// [expected number of free PEs][Vm#getExpectedFreePesNumber()],
+/// which enables mapping a Cloudlet to a VM without checking every VM.
+/// VMs are indexed by:
+/// 1. their number of expected free PEs (using a sorted map), for best-fit queries;
+/// 2. their position in the index (the order they were added to it),
+///    using a segment tree which keeps the max number of expected free PEs in each range of positions,
+///    for first-fit queries.
+///
+/// This way, both best-fit and first-fit queries take `O(log N)`, where N is the number of indexed VMs.
+/// The broker must [update][#update(Vm)] the index whenever it changes the expected free PEs of a VM.
+/// VMs which are not created anymore (such as destroyed VMs) are lazily removed from the index
+/// when they are found by a query, until they are added again.
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+final class VmFreePesIndex {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The indexed VMs, where the position of each one is its index in this list. */
+    private final List<Vm> vmList;
+
+    /** The position of each VM inside the {@link #vmList}. */
+    private final Map<Vm, Integer> positions;
+
+    /** Indexed positions of VMs, grouped by their number of expected free PEs. */
+    private final NavigableMap<Long, NavigableSet<Integer>> buckets;
+
+    /**
+     * A segment tree where the leaf of each position has the number of expected free PEs of the VM in that position
+     * (or -1 if it's not indexed) and each internal node has the max value of its children.
+     * The root is at index 1 and the children of node {@code i} are at {@code 2i} and {@code 2i+1}.
+     */
+    private long[] tree;
+
+    /** The number of leaves in the {@link #tree}, which is a power of 2. */
+    private int capacity;
+
+    VmFreePesIndex() {
+        this.vmList = new ArrayList<>();
+        this.positions = new IdentityHashMap<>();
+        this.buckets = new TreeMap<>();
+        this.capacity = INITIAL_CAPACITY;
+        this.tree = newTree(capacity);
+    }
+
+    private static long[] newTree(final int capacity) {
+        final var tree = new long[2 * capacity];
+        Arrays.fill(tree, -1);
+        return tree;
+    }
+
+    /**
+     * Adds a VM to the end of the index, or just updates it if it was already added.
+     * @param vm the VM to add
+     */
+    void add(@NonNull final Vm vm) {
+        if (positions.containsKey(vm)) {
+            update(vm);
+            return;
+        }
+
+        final int position = vmList.size();
+        vmList.add(vm);
+        positions.put(vm, position);
+        if (position == capacity) {
+            grow();
+        }
+
+        reindex(position);
+    }
+
+    /**
+     * Doubles the {@link #tree} capacity, copying the leaves and rebuilding the internal nodes.
+     */
+    private void grow() {
+        final long[] oldTree = tree;
+        final int oldCapacity = capacity;
+        capacity *= 2;
+        tree = newTree(capacity);
+        System.arraycopy(oldTree, oldCapacity, tree, capacity, oldCapacity);
+        for (int node = capacity - 1; node > 0; node--) {
+            tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Notifies that the number of expected free PEs of a VM has changed,
+     * so that it's re-indexed. It has no effect if the VM was never added to the index.
+     * @param vm the changed VM
+     */
+    void update(final Vm vm) {
+        final Integer position = positions.get(vm);
+        if (position != null) {
+            reindex(position);
+        }
+    }
+
+    /**
+     * Updates the position of a VM inside the index,
+     * removing it if it's not created.
+     * @param position the VM position in the index
+     */
+    private void reindex(final int position) {
+        final Vm vm = vmList.get(position);
+        final long freePes = vm.isCreated() ? vm.getExpectedFreePesNumber() : -1;
+        final long indexedFreePes = tree[capacity + position];
+        if (freePes == indexedFreePes) {
+            return;
+        }
+
+        if (indexedFreePes >= 0) {
+            final var bucket = buckets.get(indexedFreePes);
+            bucket.remove(position);
+            if (bucket.isEmpty()) {
+                buckets.remove(indexedFreePes);
+            }
+        }
+
+        if (freePes >= 0) {
+            buckets.computeIfAbsent(freePes, pes -> new TreeSet<>()).add(position);
+        }
+
+        setLeaf(position, freePes);
+    }
+
+    private void setLeaf(final int position, final long value) {
+        int node = capacity + position;
+        tree[node] = value;
+        for (node /= 2; node > 0; node /= 2) {
+            tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Finds the VM with the fewest expected free PEs, which has at least a given number of them.
+     * Ties are broken by the VM position in the index.
+     * @param pesNumber the number of PEs required
+     * @return the VM found or {@link Vm#NULL} otherwise
+     */
+    Vm findBestFit(final long pesNumber) {
+        while (true) {
+            final var entry = buckets.ceilingEntry(pesNumber);
+            if (entry == null) {
+                return Vm.NULL;
+            }
+
+            final int position = entry.getValue().first();
+            if (isCreated(position)) {
+                return vmList.get(position);
+            }
+        }
+    }
+
+    /**
+     * Finds the first VM having at least a given number of expected free PEs,
+     * starting from a given position in the index and wrapping around to the beginning of it.
+     * @param pesNumber the number of PEs required
+     * @param startPosition the position of the first VM to check
+     * @return the VM found or {@link Vm#NULL} otherwise
+     */
+    Vm findFirstFit(final long pesNumber, final int startPosition) {
+        while (true) {
+            int position = findFirst(1, 0, capacity, startPosition, pesNumber);
+            if (position < 0) {
+                position = findFirst(1, 0, capacity, 0, pesNumber);
+            }
+
+            if (position < 0) {
+                return Vm.NULL;
+            }
+
+            if (isCreated(position)) {
+                return vmList.get(position);
+            }
+        }
+    }
+
+    /**
+     * Checks if the VM in a given position is still created,
+     * removing it from the index otherwise.
+     * @param position the VM position in the index
+     * @return true if the VM is created, false otherwise
+     */
+    private boolean isCreated(final int position) {
+        if (vmList.get(position).isCreated()) {
+            return true;
+        }
+
+        reindex(position);
+        return false;
+    }
+
+    /**
+     * Finds the first position, not before a given one, whose value is at least a given minimum,
+     * inside the range of positions covered by a tree node.
+     * @param node the tree node
+     * @param nodeStart the first position covered by the node (inclusive)
+     * @param nodeEnd the last position covered by the node (exclusive)
+     * @param fromPosition the first position to consider
+     * @param minValue the minimum value to find
+     * @return the position found or -1 if there isn't such a position
+     */
+    private int findFirst(final int node, final int nodeStart, final int nodeEnd, final int fromPosition, final long minValue) {
+        if (nodeEnd <= fromPosition || tree[node] < minValue) {
+            return -1;
+        }
+
+        if (nodeEnd - nodeStart == 1) {
+            return nodeStart;
+        }
+
+        final int middle = (nodeStart + nodeEnd) >>> 1;
+        final int position = findFirst(2 * node, nodeStart, middle, fromPosition, minValue);
+        return position >= 0 ? position : findFirst(2 * node + 1, middle, nodeEnd, fromPosition, minValue);
+    }
+
+    /**
+     * {@return the position of a VM in the index, or -1 if the VM was never added to it}
+     * @param vm the VM to get its position
+     */
+    int getPosition(final Vm vm) {
+        return positions.getOrDefault(vm, -1);
+    }
+
+    /**
+     * {@return the number of VMs ever added to the index}
+     */
+    int size() {
+        return vmList.size();
+    }
+}
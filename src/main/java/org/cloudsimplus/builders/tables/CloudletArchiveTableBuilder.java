@@ -0,0 +1,143 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.builders.tables;
+
+import lombok.Getter;
+import org.cloudsimplus.cloudlets.CloudletArchive;
+import org.cloudsimplus.cloudlets.CloudletArchive.Entry;
+
+import static java.util.Objects.requireNonNullElse;
+
+/**
+ * Builds a table for printing simulation results from a {@link CloudletArchive},
+ * with the same default columns as the {@link CloudletsTableBuilder}.
+ * New columns can be added dynamically using the {@code addColumn()} methods.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 9.0.0
+ */
+@Getter
+public class CloudletArchiveTableBuilder extends TableBuilderAbstract<Entry> {
+    /** Gets the values of the default columns from archived Cloudlets. */
+    private static final CloudletsTableBuilder.ColumnValues<Entry> ENTRY_VALUES = new CloudletsTableBuilder.ColumnValues<>() {
+        @Override public long id(Entry entry) { return entry.id(); }
+        @Override public String status(Entry entry) { return entry.status().name(); }
+        @Override public long datacenterId(Entry entry) { return entry.datacenterId(); }
+        @Override public long hostId(Entry entry) { return entry.hostId(); }
+        @Override public long hostPes(Entry entry) { return entry.hostPes(); }
+        @Override public long vmId(Entry entry) { return entry.vmId(); }
+        @Override public long vmPes(Entry entry) { return entry.vmPes(); }
+        @Override public long length(Entry entry) { return entry.length(); }
+        @Override public long finishedLength(Entry entry) { return entry.finishedLength(); }
+        @Override public long pesNumber(Entry entry) { return entry.pesNumber(); }
+        @Override public double startTime(Entry entry) { return entry.startTime(); }
+        @Override public double finishTime(Entry entry) { return entry.finishTime(); }
+        @Override public double totalExecutionTime(Entry entry) { return entry.totalExecutionTime(); }
+    };
+
+    /**
+     * The format for time columns.
+     */
+    private String timeFormat = "%.1f";
+
+    /**
+     * The format for ID columns.
+     */
+    private String idFormat = CloudletsTableBuilder.DEF_FORMAT;
+
+    /**
+     * The format for cloudlet length columns.
+     */
+    private String lengthFormat = CloudletsTableBuilder.DEF_FORMAT;
+
+    /**
+     * The format for columns indicating number of PEs.
+     */
+    private String peFormat = CloudletsTableBuilder.DEF_FORMAT;
+
+    /**
+     * Instantiates a builder to print the archived Cloudlets using the
+     * default {@link MarkdownTable}.
+     *
+     * @param archive the archive of Cloudlets to print
+     */
+    public CloudletArchiveTableBuilder(final CloudletArchive archive) {
+        super(archive.asList());
+    }
+
+    /**
+     * Instantiates a builder to print the archived Cloudlets using the given {@link Table}.
+     *
+     * @param archive the archive of Cloudlets to print
+     * @param table the {@link Table} used to build the table with the Cloudlets data
+     */
+    public CloudletArchiveTableBuilder(final CloudletArchive archive, final Table table) {
+        super(archive.asList(), table);
+    }
+
+    @Override
+    protected void createTableColumns() {
+        CloudletsTableBuilder.addDefaultColumns(this, ENTRY_VALUES, idFormat, peFormat, lengthFormat, timeFormat);
+    }
+
+    /**
+     * Sets the format for time columns.
+     * @param timeFormat the format to set
+     * @return this table builder
+     */
+    public CloudletArchiveTableBuilder setTimeFormat(final String timeFormat) {
+        this.timeFormat = requireNonNullElse(timeFormat, "");
+        return this;
+    }
+
+    /**
+     * Sets the format for cloudlet length columns.
+     * @param lengthFormat the format to set
+     * @return this table builder
+     */
+    public CloudletArchiveTableBuilder setLengthFormat(final String lengthFormat) {
+        this.lengthFormat = requireNonNullElse(lengthFormat, "");
+        return this;
+    }
+
+    /**
+     * Sets the format for ID columns.
+     * @param idFormat the format to set
+     * @return this table builder
+     */
+    public CloudletArchiveTableBuilder setIdFormat(final String idFormat) {
+        this.idFormat = requireNonNullElse(idFormat, "");
+        return this;
+    }
+
+    /**
+     * Sets the format for columns indicating number of PEs.
+     * @param peFormat the format to set
+     * @return this table builder
+     */
+    public CloudletArchiveTableBuilder setPeFormat(final String peFormat) {
+        this.peFormat = requireNonNullElse(peFormat, "");
+        return this;
+    }
+}
@@ -25,7 +25,6 @@ package org.cloudsimplus.builders.tables;
 
 import lombok.Getter;
 import org.cloudsimplus.cloudlets.Cloudlet;
-import org.cloudsimplus.core.Identifiable;
 
 import java.util.List;
 
@@ -52,6 +51,47 @@ public class CloudletsTableBuilder extends TableBuilderAbstract<Cloudlet> {
     private static final String ID = "ID";
     private static final String MI = "MI";
 
+    /**
+     * Gets the values of the default columns from objects holding Cloudlet results,
+     * so that tables built from different objects (such as {@link Cloudlet}s
+     * or {@link org.cloudsimplus.cloudlets.CloudletArchive.Entry archived Cloudlets})
+     * have the same columns.
+     * @param <T> the type of objects holding Cloudlet results
+     * @see #addDefaultColumns(TableBuilderAbstract, ColumnValues, String, String, String, String)
+     */
+    interface ColumnValues<T> {
+        long id(T object);
+        String status(T object);
+        long datacenterId(T object);
+        long hostId(T object);
+        long hostPes(T object);
+        long vmId(T object);
+        long vmPes(T object);
+        long length(T object);
+        long finishedLength(T object);
+        long pesNumber(T object);
+        double startTime(T object);
+        double finishTime(T object);
+        double totalExecutionTime(T object);
+    }
+
+    /** Gets the values of the default columns from {@link Cloudlet} objects. */
+    private static final ColumnValues<Cloudlet> CLOUDLET_VALUES = new ColumnValues<>() {
+        @Override public long id(Cloudlet cloudlet) { return cloudlet.getId(); }
+        @Override public String status(Cloudlet cloudlet) { return cloudlet.getStatus().name(); }
+        @Override public long datacenterId(Cloudlet cloudlet) { return cloudlet.getVm().getHost().getDatacenter().getId(); }
+        @Override public long hostId(Cloudlet cloudlet) { return cloudlet.getVm().getHost().getId(); }
+        @Override public long hostPes(Cloudlet cloudlet) { return cloudlet.getVm().getHost().getWorkingPesNumber(); }
+        @Override public long vmId(Cloudlet cloudlet) { return cloudlet.getVm().getId(); }
+        @Override public long vmPes(Cloudlet cloudlet) { return cloudlet.getVm().getPesNumber(); }
+        @Override public long length(Cloudlet cloudlet) { return cloudlet.getLength(); }
+        @Override public long finishedLength(Cloudlet cloudlet) { return cloudlet.getFinishedLengthSoFar(); }
+        @Override public long pesNumber(Cloudlet cloudlet) { return cloudlet.getPesNumber(); }
+        @Override public double startTime(Cloudlet cloudlet) { return cloudlet.getStartTime(); }
+        @Override public double finishTime(Cloudlet cloudlet) { return cloudlet.getFinishTime(); }
+        @Override public double totalExecutionTime(Cloudlet cloudlet) { return cloudlet.getTotalExecutionTime(); }
+    };
+
     /**
      * The format for time columns.
      */
@@ -96,26 +136,44 @@ public class CloudletsTableBuilder extends TableBuilderAbstract<Cloudlet> {
 
     @Override
     protected void createTableColumns() {
-        addColumn(getTable().newColumn("Cloudlet", ID), Identifiable::getId);
+        addDefaultColumns(this, CLOUDLET_VALUES, idFormat, peFormat, lengthFormat, timeFormat);
+    }
+
+    /**
+     * Adds the default columns of tables with Cloudlet results to a table builder.
+     * @param builder the table builder to add the columns
+     * @param values the object that gets the value of each column
+     * @param idFormat the format for ID columns
+     * @param peFormat the format for columns indicating number of PEs
+     * @param lengthFormat the format for cloudlet length columns
+     * @param timeFormat the format for time columns
+     * @param <T> the type of objects holding Cloudlet results
+     */
+    static <T> void addDefaultColumns(
+        final TableBuilderAbstract<T> builder, final ColumnValues<T> values,
+        final String idFormat, final String peFormat, final String lengthFormat, final String timeFormat)
+    {
+        final Table table = builder.getTable();
+        builder.addColumn(table.newColumn("Cloudlet", ID), values::id);
 
         // 1 extra space to ensure proper formatting
-        addColumn(getTable().newColumn(" Status") , cloudlet -> cloudlet.getStatus().name());
+        builder.addColumn(table.newColumn(" Status") , values::status);
 
-        addColumn(getTable().newColumn("DC", ID, idFormat), cloudlet -> cloudlet.getVm().getHost().getDatacenter().getId());
+        builder.addColumn(table.newColumn("DC", ID, idFormat), values::datacenterId);
 
-        addColumn(getTable().newColumn("Host", ID, idFormat), cloudlet -> cloudlet.getVm().getHost().getId());
-        addColumn(getTable().newColumn("Host PEs ", CPU_CORES, peFormat), cloudlet -> cloudlet.getVm().getHost().getWorkingPesNumber());
+        builder.addColumn(table.newColumn("Host", ID, idFormat), values::hostId);
+        builder.addColumn(table.newColumn("Host PEs ", CPU_CORES, peFormat), values::hostPes);
 
-        addColumn(getTable().newColumn("VM", ID, idFormat), cloudlet -> cloudlet.getVm().getId());
+        builder.addColumn(table.newColumn("VM", ID, idFormat), values::vmId);
 
         // 3 extra spaces to ensure proper formatting
-        addColumn(getTable().newColumn("   VM PEs", CPU_CORES, peFormat), cloudlet -> cloudlet.getVm().getPesNumber());
-        addColumn(getTable().newColumn("CloudletLen", MI, lengthFormat), Cloudlet::getLength);
-        addColumn(getTable().newColumn("FinishedLen", MI, lengthFormat), Cloudlet::getFinishedLengthSoFar);
-        addColumn(getTable().newColumn("CloudletPEs", CPU_CORES, peFormat), Cloudlet::getPesNumber);
-        addColumn(getTable().newColumn("StartTime", SECONDS, timeFormat), Cloudlet::getStartTime);
-        addColumn(getTable().newColumn("FinishTime", SECONDS, timeFormat), Cloudlet::getFinishTime);
-        addColumn(getTable().newColumn("ExecTime", SECONDS, timeFormat), Cloudlet::getTotalExecutionTime);
+        builder.addColumn(table.newColumn("   VM PEs", CPU_CORES, peFormat), values::vmPes);
+        builder.addColumn(table.newColumn("CloudletLen", MI, lengthFormat), values::length);
+        builder.addColumn(table.newColumn("FinishedLen", MI, lengthFormat), values::finishedLength);
+        builder.addColumn(table.newColumn("CloudletPEs", CPU_CORES, peFormat), values::pesNumber);
+        builder.addColumn(table.newColumn("StartTime", SECONDS, timeFormat), values::startTime);
+        builder.addColumn(table.newColumn("FinishTime", SECONDS, timeFormat), values::finishTime);
+        builder.addColumn(table.newColumn("ExecTime", SECONDS, timeFormat), values::totalExecutionTime);
     }
 
     /**
@@ -0,0 +1,186 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.cloudlets;
+
+import lombok.NonNull;
+import org.cloudsimplus.builders.tables.CloudletArchiveTableBuilder;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/// A compact, append-only archive of finished [Cloudlet]s,
+/// which keeps just the main results of each Cloudlet (IDs, length, status and times)
+/// so that the Cloudlet objects (and their VMs, utilization models, etc.) can be released
+/// during long simulations.
+///
+/// Data is stored in a columnar layout: each attribute is kept in a primitive array,
+/// split into chunks of [#CHUNK_SIZE] Cloudlets.
+/// That avoids an object per Cloudlet and copying the whole archive as it grows.
+/// Archived Cloudlets are accessed as [Entry] records, which are created on demand.
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+/// @see CloudletArchiveTableBuilder
+public final class CloudletArchive {
+    /** The number of Cloudlets in each chunk. */
+    public static final int CHUNK_SIZE = 4096;
+
+    private static final Cloudlet.Status[] STATUSES = Cloudlet.Status.values();
+
+    /**
+     * The data of an archived Cloudlet.
+     * @param id the Cloudlet ID
+     * @param status the Cloudlet status when it was archived
+     * @param datacenterId the ID of the Datacenter where the Cloudlet ran
+     * @param hostId the ID of the Host where the Cloudlet ran
+     * @param hostPes the number of working PEs of the Host when the Cloudlet was archived
+     * @param vmId the ID of the VM where the Cloudlet ran
+     * @param vmPes the number of PEs of the VM
+     * @param length the Cloudlet length (in MI)
+     * @param finishedLength the length the Cloudlet has executed (in MI)
+     * @param pesNumber the number of PEs required by the Cloudlet
+     * @param startTime the time the Cloudlet started running
+     * @param finishTime the time the Cloudlet finished
+     * @param totalExecutionTime the total time the Cloudlet was running
+     */
+    public record Entry(
+        long id, Cloudlet.Status status, long datacenterId, long hostId, long hostPes,
+        long vmId, long vmPes, long length, long finishedLength, long pesNumber,
+        double startTime, double finishTime, double totalExecutionTime)
+    {
+    }
+
+    /**
+     * A chunk of archived Cloudlets, with one primitive array for each attribute.
+     */
+    private static final class Chunk {
+        private final long[] id = new long[CHUNK_SIZE];
+        private final byte[] status = new byte[CHUNK_SIZE];
+        private final long[] datacenterId = new long[CHUNK_SIZE];
+        private final long[] hostId = new long[CHUNK_SIZE];
+        private final int[] hostPes = new int[CHUNK_SIZE];
+        private final long[] vmId = new long[CHUNK_SIZE];
+        private final long[] vmPes = new long[CHUNK_SIZE];
+        private final long[] length = new long[CHUNK_SIZE];
+        private final long[] finishedLength = new long[CHUNK_SIZE];
+        private final long[] pesNumber = new long[CHUNK_SIZE];
+        private final double[] startTime = new double[CHUNK_SIZE];
+        private final double[] finishTime = new double[CHUNK_SIZE];
+        private final double[] totalExecutionTime = new double[CHUNK_SIZE];
+    }
+
+    private final List<Chunk> chunks;
+
+    /** The number of archived Cloudlets. */
+    private int size;
+
+    /**
+     * Creates an empty archive.
+     */
+    public CloudletArchive() {
+        this.chunks = new ArrayList<>();
+    }
+
+    /**
+     * Archives the current data of a Cloudlet.
+     * @param cloudlet the Cloudlet to archive
+     */
+    public void add(@NonNull final Cloudlet cloudlet) {
+        if (size == chunks.size() * CHUNK_SIZE) {
+            chunks.add(new Chunk());
+        }
+
+        final Chunk chunk = chunks.getLast();
+        final int i = size % CHUNK_SIZE;
+        final Vm vm = cloudlet.getVm();
+        final Host host = vm.getHost();
+        chunk.id[i] = cloudlet.getId();
+        chunk.status[i] = (byte) cloudlet.getStatus().ordinal();
+        chunk.datacenterId[i] = host.getDatacenter().getId();
+        chunk.hostId[i] = host.getId();
+        chunk.hostPes[i] = host.getWorkingPesNumber();
+        chunk.vmId[i] = vm.getId();
+        chunk.vmPes[i] = vm.getPesNumber();
+        chunk.length[i] = cloudlet.getLength();
+        chunk.finishedLength[i] = cloudlet.getFinishedLengthSoFar();
+        chunk.pesNumber[i] = cloudlet.getPesNumber();
+        chunk.startTime[i] = cloudlet.getStartTime();
+        chunk.finishTime[i] = cloudlet.getFinishTime();
+        chunk.totalExecutionTime[i] = cloudlet.getTotalExecutionTime();
+        size++;
+    }
+
+    /**
+     * {@return the data of an archived Cloudlet}
+     * @param index the position of the Cloudlet in the archive (in the order Cloudlets were archived)
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public Entry get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index %d out of bounds for archive size %d".formatted(index, size));
+        }
+
+        final Chunk chunk = chunks.get(index / CHUNK_SIZE);
+        final int i = index % CHUNK_SIZE;
+        return new Entry(
+            chunk.id[i], STATUSES[chunk.status[i]], chunk.datacenterId[i], chunk.hostId[i], chunk.hostPes[i],
+            chunk.vmId[i], chunk.vmPes[i], chunk.length[i], chunk.finishedLength[i], chunk.pesNumber[i],
+            chunk.startTime[i], chunk.finishTime[i], chunk.totalExecutionTime[i]);
+    }
+
+    /**
+     * {@return the number of archived Cloudlets}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@return true if there is no archived Cloudlet, false otherwise}
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * {@return a read-only list view of the archived Cloudlets}
+     * Each {@link Entry} is created when it's accessed.
+     */
+    public List<Entry> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Entry get(final int index) {
+                return CloudletArchive.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
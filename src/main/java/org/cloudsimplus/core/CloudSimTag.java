@@ -20,6 +20,8 @@ import org.cloudsimplus.schedulers.cloudlet.CloudletScheduler;
 import org.cloudsimplus.traces.google.GoogleTaskEventsTraceReader;
 import org.cloudsimplus.vms.Vm;
 
+import java.util.Iterator;
+
 /**
  * Tags indicating a type of action that
  * needs to be undertaken by CloudSim entities when they receive or send events.
@@ -112,7 +114,8 @@ public class CloudSimTag{
      * Denotes the submission of a {@link Cloudlet}. This tag is normally used between
      * a {@link DatacenterBroker} and {@link Datacenter} entity.
      * When an event of this type is sent, the {@link SimEvent#getData()}
-     * must be a {@link Cloudlet} object.
+     * must be a {@link Cloudlet} object or a {@code List<Cloudlet>}
+     * (when {@link DatacenterBroker#isBatchCloudletSubmission() batch submission} is enabled).
      */
     public static final int CLOUDLET_SUBMIT = BASE + 16;
 
@@ -120,7 +123,8 @@ public class CloudSimTag{
      * Denotes a message indicating the submission of a {@link Cloudlet}, requiring an acknowledgement.
      * This tag is normally used between {@link DatacenterBroker} and {@link Datacenter} entity.
      * When an event of this type is sent, the {@link SimEvent#getData()}
-     * must be a {@link Cloudlet} object.
+     * must be a {@link Cloudlet} object or a {@code List<Cloudlet>}.
+     * In the latter case, a single acknowledgement is sent back carrying the list of submitted Cloudlets.
      */
     public static final int CLOUDLET_SUBMIT_ACK = BASE + 17;
 
@@ -234,6 +238,12 @@ public class CloudSimTag{
      */
     public static final int CLOUDLET_UPDATE_ATTRIBUTES = BASE + 27;
 
+    /**
+     * Denotes a {@link DatacenterBroker} request to itself to pull the next batch of Cloudlets
+     * from a stream submitted by {@link DatacenterBroker#submitCloudletStream(Iterator, double)}.
+     */
+    public static final int CLOUDLET_STREAM_PULL = BASE + 28;
+
     /**
      * Denotes a request to retry creating waiting {@link Vm}s from a {@link DatacenterBroker}.
      */
@@ -11,6 +11,7 @@ import org.cloudsimplus.allocationpolicies.VmAllocationPolicy;
 import org.cloudsimplus.allocationpolicies.VmAllocationPolicySimple;
 import org.cloudsimplus.allocationpolicies.migration.VmAllocationPolicyMigration;
 import org.cloudsimplus.autoscaling.VerticalVmScaling;
+import org.cloudsimplus.brokers.DatacenterBroker;
 import org.cloudsimplus.cloudlets.Cloudlet;
 import org.cloudsimplus.core.*;
 import org.cloudsimplus.core.events.PredicateType;
@@ -18,6 +19,7 @@ import org.cloudsimplus.core.events.SimEvent;
 import org.cloudsimplus.datacenters.DatacenterCharacteristics.Distribution;
 import org.cloudsimplus.faultinjection.HostFaultInjection;
 import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostAbstract;
 import org.cloudsimplus.hosts.HostSimple;
 import org.cloudsimplus.hosts.HostSuitability;
 import org.cloudsimplus.listeners.DatacenterVmMigrationEventInfo;
@@ -33,6 +35,7 @@ import org.cloudsimplus.util.InvalidEventDataTypeException;
 import org.cloudsimplus.util.MathUtil;
 import org.cloudsimplus.vms.Vm;
 import org.cloudsimplus.vms.VmAbstract;
+import org.cloudsimplus.vms.VmPlacementConstraint;
 
 import java.util.*;
 import java.util.function.Function;
@@ -416,11 +419,12 @@ public non-sealed class DatacenterSimple extends CloudSimEntity implements Datac
     }
 
     /**
-     * Processes the submission of a Cloudlet by a DatacenterBroker.
+     * Processes the submission of a Cloudlet (or a {@code List<Cloudlet>}) by a DatacenterBroker.
      * @param evt information about the event just happened
      * @param ack indicates if the event's sender expects to receive an acknowledgement
      * @return true if the event was processed, false otherwise
      */
+    @SuppressWarnings("unchecked")
     protected boolean processCloudletSubmit(final SimEvent evt, final boolean ack) {
         if (evt.getData() instanceof Cloudlet cloudlet){
             if (cloudlet.isFinished()) {
@@ -432,7 +436,11 @@ public non-sealed class DatacenterSimple extends CloudSimEntity implements Datac
             return true;
         }
 
-        throw new InvalidEventDataTypeException(evt, "CLOUDLET_SUBMIT Tags", Cloudlet.class.getName());
+        if (evt.getData() instanceof List<?> list && (list.isEmpty() || list.get(0) instanceof Cloudlet)) {
+            return submitCloudletListToVms((List<Cloudlet>) list, ack);
+        }
+
+        throw new InvalidEventDataTypeException(evt, "CLOUDLET_SUBMIT Tags", "Cloudlet or List<Cloudlet>");
     }
 
     /**
@@ -443,22 +451,82 @@ public non-sealed class DatacenterSimple extends CloudSimEntity implements Datac
      * receives the cloudlet submission
      */
     private void submitCloudletToVm(final Cloudlet cloudlet, final boolean ack) {
-        final double fileTransferTime = getDatacenterStorage().predictFileTransferTime(cloudlet.getRequiredFiles());
-
-        final var scheduler = cloudlet.getVm().getCloudletScheduler();
-        final double estimatedFinishTime = scheduler.cloudletSubmit(cloudlet, fileTransferTime);
+        final double estimatedFinishTime = submitCloudletToVmScheduler(cloudlet);
 
         // if this cloudlet is in the exec queue
-        if (estimatedFinishTime > 0.0 && !Double.isInfinite(estimatedFinishTime)) {
+        if (isCloudletInExecQueue(estimatedFinishTime)) {
             send(this,
                 getCloudletProcessingUpdateInterval(estimatedFinishTime),
                 CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING);
         }
 
-        ((CustomerEntityAbstract)cloudlet).setCreationTime();
         sendCloudletSubmitAckToBroker(cloudlet, ack);
     }
 
+    /**
+     * Submits a batch of Cloudlets (received in a single event) to be executed inside their VMs.
+     * Instead of scheduling a Cloudlet processing update for each submitted Cloudlet,
+     * a single update is scheduled for each distinct estimated finish time,
+     * so that Cloudlets finish exactly when they would if submitted one by one.
+     * If the Broker is waiting for an ACK, a single one is sent
+     * carrying the list of all submitted Cloudlets.
+     *
+     * @param cloudletList the list of cloudlets to the executed
+     * @param ack indicates if the Broker is waiting for an ACK after the Datacenter
+     * receives the cloudlets submission
+     * @return true if some Cloudlet was submitted, false otherwise
+     * @see DatacenterBroker#setBatchCloudletSubmission(boolean)
+     */
+    private boolean submitCloudletListToVms(final List<Cloudlet> cloudletList, final boolean ack) {
+        final var estimatedFinishTimes = new TreeSet<Double>();
+        final var submittedList = new ArrayList<Cloudlet>(cloudletList.size());
+        for (final Cloudlet cloudlet : cloudletList) {
+            if (cloudlet.isFinished()) {
+                notifyBrokerAboutAlreadyFinishedCloudlet(cloudlet, ack);
+                continue;
+            }
+
+            final double estimatedFinishTime = submitCloudletToVmScheduler(cloudlet);
+            if (isCloudletInExecQueue(estimatedFinishTime)) {
+                estimatedFinishTimes.add(estimatedFinishTime);
+            }
+
+            submittedList.add(cloudlet);
+        }
+
+        for (final double estimatedFinishTime : estimatedFinishTimes) {
+            send(this,
+                getCloudletProcessingUpdateInterval(estimatedFinishTime),
+                CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING);
+        }
+
+        if (ack && !submittedList.isEmpty()) {
+            sendNow(submittedList.get(0).getBroker(), CloudSimTag.CLOUDLET_SUBMIT_ACK, submittedList);
+        }
+
+        return !submittedList.isEmpty();
+    }
+
+    /**
+     * Submits a cloudlet to the {@link org.cloudsimplus.schedulers.cloudlet.CloudletScheduler} of its VM,
+     * without scheduling any Cloudlet processing update.
+     *
+     * @param cloudlet the cloudlet to the executed
+     * @return the Cloudlet's estimated finish time
+     */
+    private double submitCloudletToVmScheduler(final Cloudlet cloudlet) {
+        final double fileTransferTime = getDatacenterStorage().predictFileTransferTime(cloudlet.getRequiredFiles());
+
+        final var scheduler = cloudlet.getVm().getCloudletScheduler();
+        final double estimatedFinishTime = scheduler.cloudletSubmit(cloudlet, fileTransferTime);
+        ((CustomerEntityAbstract)cloudlet).setCreationTime();
+        return estimatedFinishTime;
+    }
+
+    private static boolean isCloudletInExecQueue(final double estimatedFinishTime) {
+        return estimatedFinishTime > 0.0 && !Double.isInfinite(estimatedFinishTime);
+    }
+
     /**
      * {@return the next time Cloudlets processing will be updated (a relative delay from the current simulation time)}
      * This is the minimum value between the {@link #getSchedulingInterval()} and the given time
@@ -659,6 +727,12 @@ public non-sealed class DatacenterSimple extends CloudSimEntity implements Datac
         //Updates processing of all Hosts to get their latest state before migrating VMs
         updateHostsProcessing();
 
+        /* The VM is just removed from the source Host if the target Host still meets its placement constraints.
+         * Otherwise, the VM would be lost (since constraints are checked again when the VM is placed into the target Host). */
+        if (!VmPlacementConstraint.isSatisfiedByAll(vm, targetHost)) {
+            return cancelVmMigration(vm, sourceHost, targetHost);
+        }
+
         //De-allocates the VM on the source Host (where it is migrating out)
         vmAllocationPolicy.deallocateHostForVm(vm);
 
@@ -691,6 +765,26 @@ public non-sealed class DatacenterSimple extends CloudSimEntity implements Datac
         return true;
     }
 
+    /**
+     * Cancels the migration of a VM, which is kept on its source Host.
+     * @param vm the migrating VM
+     * @param sourceHost the Host where the VM is running
+     * @param targetHost the Host the VM was migrating into
+     * @return always true to indicate the migration event was processed
+     */
+    private boolean cancelVmMigration(final Vm vm, final Host sourceHost, final Host targetHost) {
+        if (targetHost instanceof HostAbstract hostAbstract) {
+            hostAbstract.cancelMigratingInVm(vm);
+        } else targetHost.removeMigratingInVm(vm);
+
+        final var suitability = new HostSuitability(targetHost, vm, "placement constraints of %s not met by %s".formatted(vm, targetHost));
+        LOGGER.error(
+            "{}: {}: Migration of {} from {} to {} cancelled due to {}. The VM is kept on the source Host.",
+            getSimulation().clockStr(), this, vm, sourceHost, targetHost, suitability);
+        onVmMigrationFinishListeners.forEach(listener -> listener.update(DatacenterVmMigrationEventInfo.of(listener, vm, suitability)));
+        return true;
+    }
+
     /**
      * Checks if a submitted cloudlet has already finished.
      * If it is the case, the Datacenter notifies the Broker that
@@ -879,8 +973,13 @@ public non-sealed class DatacenterSimple extends CloudSimEntity implements Datac
             cloudlets.stream().map(Cloudlet::reset).forEach(c -> c.setVm(sourceVm).setBroker(sourceVm.getBroker()));
 
             final var targerDc = targetHost.getDatacenter();
+            final double submissionDelay = delay + getSimulation().getMinTimeBetweenEvents();
             // Request restarting executing the Cloudlets after the VM finishes non-live migration
-            cloudlets.forEach(c -> targerDc.schedule(delay + getSimulation().getMinTimeBetweenEvents(), CloudSimTag.CLOUDLET_SUBMIT, c));
+            if(!sourceVm.getBroker().isBatchCloudletSubmission()) {
+                cloudlets.forEach(c -> targerDc.schedule(submissionDelay, CloudSimTag.CLOUDLET_SUBMIT, c));
+            } else if(!cloudlets.isEmpty()) {
+                targerDc.schedule(submissionDelay, CloudSimTag.CLOUDLET_SUBMIT, cloudlets);
+            }
         }
     }
 
@@ -0,0 +1,471 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.cloudsimplus.brokers.DatacenterBrokerHeuristic;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.distributions.ContinuousDistribution;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/// A [Genetic Algorithm](https://en.wikipedia.org/wiki/Genetic_algorithm)
+/// to find a suboptimal mapping between a set of Cloudlets and VMs to reduce
+/// the number of idle or overloaded Vm PEs.
+/// It uses the same cost function of a [CloudletToVmMappingSolution],
+/// so it can replace a [CloudletToVmMappingSimulatedAnnealing] in a [DatacenterBrokerHeuristic].
+///
+/// Each individual (chromosome) is an `int[]` where the element at each index
+/// is the index of the VM (inside the [#getVmList() VM list]) assigned to the Cloudlet at the same index
+/// (inside the [#getCloudletList() Cloudlet list]).
+/// Each generation:
+/// 1. evaluates the cost of all individuals in parallel (in a [ForkJoinPool]);
+/// 2. keeps the best individual (elitism);
+/// 3. creates the other individuals by tournament selection,
+///    one-point crossover and random-reset mutation.
+///
+/// The population and offspring arrays are allocated once and swapped between generations,
+/// so that crossover and mutation don't allocate memory.
+/// Since random numbers are just generated sequentially (evaluation is the only parallel step),
+/// results for a given pseudo-random number generator seed don't depend on the number of threads.
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+@Accessors @Getter @Setter
+public class CloudletToVmMappingGeneticAlgorithm implements CloudletToVmMappingHeuristic {
+    /**
+     * The default number of individuals in each generation.
+     * @see #setPopulationSize(int)
+     */
+    public static final int DEF_POPULATION_SIZE = 50;
+
+    /**
+     * The default probability of creating an offspring by crossover.
+     * @see #setCrossoverRate(double)
+     */
+    public static final double DEF_CROSSOVER_RATE = 0.9;
+
+    /**
+     * The default probability of each gene to be mutated.
+     * @see #setMutationRate(double)
+     */
+    public static final double DEF_MUTATION_RATE = 0.01;
+
+    /**
+     * The default number of individuals competing to be selected as a parent.
+     * @see #setTournamentSize(int)
+     */
+    public static final int DEF_TOURNAMENT_SIZE = 2;
+
+    /**
+     * The default maximum number of generations.
+     * @see #setMaxGenerations(int)
+     */
+    public static final int DEF_MAX_GENERATIONS = 500;
+
+    /** A pseudo-random number generator. */
+    @Setter(AccessLevel.NONE)
+    private final ContinuousDistribution random;
+
+    @NonNull
+    private List<Vm> vmList;
+
+    @NonNull
+    private List<Cloudlet> cloudletList;
+
+    /** The number of individuals in each generation. */
+    private int populationSize;
+
+    /** The probability of creating an offspring by crossover (instead of copying a parent). */
+    @Setter(AccessLevel.NONE)
+    private double crossoverRate;
+
+    /** The probability of each gene (the VM of a Cloudlet) to be changed to a random VM. */
+    @Setter(AccessLevel.NONE)
+    private double mutationRate;
+
+    /** The number of random individuals competing to be selected as a parent. */
+    @Setter(AccessLevel.NONE)
+    private int tournamentSize;
+
+    /** The maximum number of generations. */
+    private int maxGenerations;
+
+    /** The maximum time to search for a solution (in seconds). */
+    private double maxSolveTime;
+
+    /** The pool where individuals are evaluated. */
+    @NonNull
+    private ForkJoinPool pool;
+
+    /** The number of generations created by the last {@link #solve()} call. */
+    @Setter(AccessLevel.NONE)
+    private int generations;
+
+    @Setter(AccessLevel.NONE)
+    private CloudletToVmMappingSolution bestSolutionSoFar;
+
+    @Setter(AccessLevel.NONE)
+    private CloudletToVmMappingSolution neighborSolution;
+
+    @Setter(AccessLevel.NONE)
+    private double solveTime;
+
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private long startTime;
+
+    /** The current generation, where each row is an individual. */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private int[][] population;
+
+    /** The next generation, which is swapped with the {@link #population} after being created. */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private int[][] offspring;
+
+    /** The cost of each individual in the {@link #population}. */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private double[] costs;
+
+    /**
+     * The number of PEs required by the Cloudlets assigned to each VM,
+     * for each individual being evaluated (so that individuals can be evaluated in parallel).
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private long[][] vmLoads;
+
+    /** @see #vmLoads */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private int[][] vmCloudlets;
+
+    /** The number of PEs of each Cloudlet and VM, cached to avoid getting them for every evaluation. */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private long[] cloudletPes, vmPes;
+
+    /**
+     * Creates a Genetic Algorithm for solving Cloudlets to VMs mapping.
+     * @param random a pseudo-random number generator
+     */
+    public CloudletToVmMappingGeneticAlgorithm(@NonNull final ContinuousDistribution random) {
+        this.random = random;
+        this.vmList = List.of();
+        this.cloudletList = List.of();
+        this.populationSize = DEF_POPULATION_SIZE;
+        this.crossoverRate = DEF_CROSSOVER_RATE;
+        this.mutationRate = DEF_MUTATION_RATE;
+        this.tournamentSize = DEF_TOURNAMENT_SIZE;
+        this.maxGenerations = DEF_MAX_GENERATIONS;
+        this.maxSolveTime = Double.MAX_VALUE;
+        this.pool = ForkJoinPool.commonPool();
+        this.bestSolutionSoFar = new CloudletToVmMappingSolution(this);
+        this.neighborSolution = bestSolutionSoFar;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return always 1, since every offspring replaces the previous generation
+     */
+    @Override
+    public double getAcceptanceProbability() {
+        return 1;
+    }
+
+    @Override
+    public int getRandomValue(final int maxValue) {
+        return HeuristicAbstract.getRandomValue(random, maxValue);
+    }
+
+    /**
+     * Sets the probability of creating an offspring by crossover (instead of copying a parent).
+     * @param crossoverRate the probability to set (between 0 and 1)
+     * @return this instance
+     */
+    public CloudletToVmMappingGeneticAlgorithm setCrossoverRate(final double crossoverRate) {
+        this.crossoverRate = validateRate(crossoverRate, "crossoverRate");
+        return this;
+    }
+
+    /**
+     * Sets the probability of each gene (the VM of a Cloudlet) to be changed to a random VM.
+     * @param mutationRate the probability to set (between 0 and 1)
+     * @return this instance
+     */
+    public CloudletToVmMappingGeneticAlgorithm setMutationRate(final double mutationRate) {
+        this.mutationRate = validateRate(mutationRate, "mutationRate");
+        return this;
+    }
+
+    private static double validateRate(final double rate, final String name) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("%s must be between 0 and 1.".formatted(name));
+        }
+
+        return rate;
+    }
+
+    /**
+     * Sets the number of random individuals competing to be selected as a parent.
+     * @param tournamentSize the value to set (at least 1)
+     * @return this instance
+     */
+    public CloudletToVmMappingGeneticAlgorithm setTournamentSize(final int tournamentSize) {
+        if (tournamentSize < 1) {
+            throw new IllegalArgumentException("tournamentSize must be at least 1.");
+        }
+
+        this.tournamentSize = tournamentSize;
+        return this;
+    }
+
+    @Override
+    public boolean isToStopSearch() {
+        return generations >= maxGenerations || (System.currentTimeMillis() - startTime) / 1000.0 >= maxSolveTime;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return a random solution
+     */
+    @Override
+    public CloudletToVmMappingSolution getInitialSolution() {
+        if (!isReadyToSolve()) {
+            return new CloudletToVmMappingSolution(this);
+        }
+
+        final int[] individual = new int[cloudletList.size()];
+        randomize(individual);
+        return createSolution(individual);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The neighbor has the VMs of two random Cloudlets swapped.
+     */
+    @Override
+    public CloudletToVmMappingSolution createNeighbor(@NonNull final CloudletToVmMappingSolution source) {
+        neighborSolution = new CloudletToVmMappingSolution(source, 0);
+        neighborSolution.swapVmsOfTwoRandomSelectedMapEntries();
+        return neighborSolution;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return the {@link #getPopulationSize() population size}
+     */
+    @Override
+    public int getSearchesByIteration() {
+        return populationSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     * It sets the {@link #getPopulationSize() population size}.
+     */
+    @Override
+    public Heuristic<CloudletToVmMappingSolution> setSearchesByIteration(final int numberOfNeighborhoodSearches) {
+        return setPopulationSize(numberOfNeighborhoodSearches);
+    }
+
+    /**
+     * Sets the number of individuals in each generation.
+     * @param populationSize the population size to set (at least 2)
+     * @return this instance
+     */
+    public CloudletToVmMappingGeneticAlgorithm setPopulationSize(final int populationSize) {
+        if (populationSize < 2) {
+            throw new IllegalArgumentException("The population size must be at least 2.");
+        }
+
+        this.populationSize = populationSize;
+        return this;
+    }
+
+    private boolean isReadyToSolve() {
+        return !cloudletList.isEmpty() && !vmList.isEmpty();
+    }
+
+    @Override
+    public CloudletToVmMappingSolution solve() {
+        startTime = System.currentTimeMillis();
+        generations = 0;
+        if (!isReadyToSolve()) {
+            bestSolutionSoFar = new CloudletToVmMappingSolution(this);
+            return bestSolutionSoFar;
+        }
+
+        createPopulation();
+        evaluatePopulation();
+        while (!isToStopSearch()) {
+            createOffspring();
+            final int[][] previous = population;
+            population = offspring;
+            offspring = previous;
+            evaluatePopulation();
+            generations++;
+        }
+
+        bestSolutionSoFar = createSolution(population[getBestIndividual()]);
+        solveTime = (System.currentTimeMillis() - startTime) / 1000.0;
+        return bestSolutionSoFar;
+    }
+
+    /**
+     * Allocates all arrays used during the search and creates a random population.
+     */
+    private void createPopulation() {
+        final int genes = cloudletList.size();
+        population = new int[populationSize][genes];
+        offspring = new int[populationSize][genes];
+        costs = new double[populationSize];
+        vmLoads = new long[populationSize][vmList.size()];
+        vmCloudlets = new int[populationSize][vmList.size()];
+        cloudletPes = cloudletList.stream().mapToLong(Cloudlet::getPesNumber).toArray();
+        vmPes = vmList.stream().mapToLong(Vm::getPesNumber).toArray();
+        for (final int[] individual : population) {
+            randomize(individual);
+        }
+    }
+
+    private void randomize(final int[] individual) {
+        for (int gene = 0; gene < individual.length; gene++) {
+            individual[gene] = getRandomValue(vmList.size());
+        }
+    }
+
+    /**
+     * Computes the cost of all individuals in parallel.
+     */
+    private void evaluatePopulation() {
+        pool.submit(() -> IntStream.range(0, populationSize).parallel().forEach(i -> costs[i] = computeCost(i))).join();
+    }
+
+    /**
+     * Computes the cost of an individual, which is the sum of the number of idle or overloaded PEs of VMs
+     * hosting some Cloudlet (as in {@link CloudletToVmMappingSolution#getVmCost(Vm, long)}).
+     * @param index the index of the individual in the population
+     * @return the individual cost
+     */
+    private double computeCost(final int index) {
+        final int[] individual = population[index];
+        final long[] loads = vmLoads[index];
+        final int[] cloudlets = vmCloudlets[index];
+        Arrays.fill(loads, 0);
+        Arrays.fill(cloudlets, 0);
+        for (int gene = 0; gene < individual.length; gene++) {
+            loads[individual[gene]] += cloudletPes[gene];
+            cloudlets[individual[gene]]++;
+        }
+
+        double cost = 0;
+        for (int vm = 0; vm < loads.length; vm++) {
+            if (cloudlets[vm] > 0) {
+                cost += Math.abs(vmPes[vm] - loads[vm]);
+            }
+        }
+
+        return cost;
+    }
+
+    /**
+     * {@return the index of the individual with the lowest cost} Ties are broken by the lowest index.
+     */
+    private int getBestIndividual() {
+        int best = 0;
+        for (int i = 1; i < populationSize; i++) {
+            if (costs[i] < costs[best]) {
+                best = i;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Creates the next generation into the {@link #offspring} array,
+     * keeping the best individual of the current generation at the first position.
+     */
+    private void createOffspring() {
+        final int genes = cloudletList.size();
+        System.arraycopy(population[getBestIndividual()], 0, offspring[0], 0, genes);
+        for (int i = 1; i < populationSize; i++) {
+            final int[] child = offspring[i];
+            final int[] parent1 = population[selectParent()];
+            if (HeuristicAbstract.getUniformValue(random) < crossoverRate) {
+                final int[] parent2 = population[selectParent()];
+                final int cut = getRandomValue(genes);
+                System.arraycopy(parent1, 0, child, 0, cut);
+                System.arraycopy(parent2, cut, child, cut, genes - cut);
+            } else {
+                System.arraycopy(parent1, 0, child, 0, genes);
+            }
+
+            mutate(child);
+        }
+    }
+
+    /**
+     * Selects a parent by tournament: the individual with the lowest cost among some random ones.
+     * @return the index of the selected individual
+     */
+    private int selectParent() {
+        int selected = getRandomValue(populationSize);
+        for (int i = 1; i < tournamentSize; i++) {
+            final int candidate = getRandomValue(populationSize);
+            if (costs[candidate] < costs[selected]) {
+                selected = candidate;
+            }
+        }
+
+        return selected;
+    }
+
+    private void mutate(final int[] individual) {
+        for (int gene = 0; gene < individual.length; gene++) {
+            if (HeuristicAbstract.getUniformValue(random) < mutationRate) {
+                individual[gene] = getRandomValue(vmList.size());
+            }
+        }
+    }
+
+    /**
+     * Creates a solution from an individual.
+     * @param individual the VM index for each Cloudlet
+     * @return the solution mapping each Cloudlet to its VM
+     */
+    private CloudletToVmMappingSolution createSolution(final int[] individual) {
+        final var solution = new CloudletToVmMappingSolution(this);
+        for (int gene = 0; gene < individual.length; gene++) {
+            solution.bindCloudletToVm(cloudletList.get(gene), vmList.get(individual[gene]));
+        }
+
+        return solution;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.cloudsimplus.brokers.DatacenterBrokerHeuristic;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.distributions.UniformDistr;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.List;
+
+/// A [ParallelTempering] heuristic for mapping Cloudlets to VMs,
+/// which runs multiple [CloudletToVmMappingSimulatedAnnealing] chains in parallel.
+/// It can be used by a [DatacenterBrokerHeuristic] just like a single simulated annealing.
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+@Getter
+public class CloudletToVmMappingParallelTempering
+    extends ParallelTempering<CloudletToVmMappingSolution, CloudletToVmMappingSimulatedAnnealing>
+    implements CloudletToVmMappingHeuristic
+{
+    private List<Vm> vmList;
+
+    private List<Cloudlet> cloudletList;
+
+    /**
+     * Creates a parallel tempering heuristic for mapping Cloudlets to VMs.
+     * @param chainsNumber the number of simulated annealing chains to run
+     * @param baseSeed the seed of the first chain (the seed of each chain is this seed plus the chain index)
+     */
+    public CloudletToVmMappingParallelTempering(final int chainsNumber, final long baseSeed) {
+        super(chainsNumber, baseSeed,
+              seed -> new CloudletToVmMappingSimulatedAnnealing(DEF_MAX_TEMPERATURE, new UniformDistr(0, 1, seed)));
+        this.vmList = List.of();
+        this.cloudletList = List.of();
+    }
+
+    /**
+     * {@inheritDoc}
+     * New chains use the current Cloudlet and VM lists.
+     * @param chainsNumber {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public CloudletToVmMappingParallelTempering setChainsNumber(final int chainsNumber) {
+        super.setChainsNumber(chainsNumber);
+        getChains().forEach(chain -> chain.setVmList(vmList).setCloudletList(cloudletList));
+        return this;
+    }
+
+    @Override
+    public CloudletToVmMappingHeuristic setCloudletList(@NonNull final List<Cloudlet> cloudletList) {
+        this.cloudletList = cloudletList;
+        getChains().forEach(chain -> chain.setCloudletList(cloudletList));
+        return this;
+    }
+
+    @Override
+    public CloudletToVmMappingHeuristic setVmList(@NonNull final List<Vm> vmList) {
+        this.vmList = vmList;
+        getChains().forEach(chain -> chain.setVmList(vmList));
+        return this;
+    }
+}
@@ -33,11 +33,18 @@ import org.cloudsimplus.resources.Pe;
 import org.cloudsimplus.vms.Vm;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /// A heuristic that uses [Simulated Annealing](http://en.wikipedia.org/wiki/Simulated_annealing)
 /// to find a suboptimal mapping between a set of Cloudlets and VMs to reduce
 /// the number of idle or overloaded Vm [Pe]s.
 ///
+/// Each search tries to swap the VMs of two random Cloudlets in the current solution.
+/// The cost change of a swap is computed (in constant time) before applying it,
+/// so that the swap is just applied (in place) if it's [accepted][#isMoveAccepted(double)].
+/// The current solution is just copied when it becomes the lowest-cost solution found so far,
+/// which is the one returned by [#solve()].
+///
 /// @author Manoel Campos da Silva Filho
 /// @since CloudSim Plus 1.0
 @Accessors
@@ -48,12 +55,18 @@ public class CloudletToVmMappingSimulatedAnnealing
     /**
      * Number of {@link CloudletToVmMappingSolution} created so far.
      * At the end of the simulations, it indicates the total number of solutions created.
+     * It's atomic since multiple heuristics may run in parallel
+     * (such as the chains of a {@link CloudletToVmMappingParallelTempering}).
      */
-    @Getter
-    private static int solutions = 0;
+    private static final AtomicInteger solutions = new AtomicInteger();
 
     private CloudletToVmMappingSolution initialSolution;
 
+    /**
+     * The solution the search is currently at, which is changed in place by accepted swaps.
+     */
+    private CloudletToVmMappingSolution currentSolution;
+
     @Getter @Setter @NonNull
     private List<Vm> vmList;
 
@@ -71,11 +84,18 @@ public class CloudletToVmMappingSimulatedAnnealing
     public CloudletToVmMappingSimulatedAnnealing(final double initialTemperature, final ContinuousDistribution random) {
         super(random, CloudletToVmMappingSolution.class);
 	    setCurrentTemperature(initialTemperature);
-        initialSolution = new CloudletToVmMappingSolution(this, ++solutions);
+        initialSolution = new CloudletToVmMappingSolution(this, solutions.incrementAndGet());
+    }
+
+    /**
+     * {@return the number of solutions created so far}
+     */
+    public static int getSolutions() {
+        return solutions.get();
     }
 
     private CloudletToVmMappingSolution generateRandomSolution() {
-        final var solution = new CloudletToVmMappingSolution(this, ++solutions);
+        final var solution = new CloudletToVmMappingSolution(this, solutions.incrementAndGet());
         cloudletList.forEach(cloudlet -> solution.bindCloudletToVm(cloudlet, getRandomVm()));
         return solution;
     }
@@ -105,10 +125,65 @@ public class CloudletToVmMappingSimulatedAnnealing
         return vmList.get(idx);
     }
 
+    /**
+     * {@inheritDoc}
+     * The neighbor is a copy of the source solution with the VMs of two random Cloudlets swapped.
+     *
+     * @param source {@inheritDoc}
+     * @return {@inheritDoc}
+     */
     @Override
     public CloudletToVmMappingSolution createNeighbor(final CloudletToVmMappingSolution source) {
-        final var clone = new CloudletToVmMappingSolution(source, ++solutions);
-        clone.swapVmsOfTwoRandomSelectedMapEntries();
-        return clone;
+        final var neighbor = new CloudletToVmMappingSolution(source, solutions.incrementAndGet());
+        neighbor.swapVmsOfTwoRandomSelectedMapEntries();
+        return neighbor;
+    }
+
+    @Override
+    void startSearch() {
+        super.startSearch();
+        currentSolution = new CloudletToVmMappingSolution(getBestSolutionSoFar(), solutions.incrementAndGet());
+        setNeighborSolution(currentSolution);
+    }
+
+    @Override
+    double getCurrentCost() {
+        return currentSolution == null ? super.getCurrentCost() : currentSolution.getCost();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Instead of creating a neighbor for each search, accepted swaps are applied to the current solution,
+     * which is copied as the best solution so far when its cost becomes lower than the best one.
+     */
+    @Override
+    void searchSolutionInNeighborhood() {
+        for (int i = 0; i < getSearchesByIteration(); i++) {
+            if (trySwap(currentSolution) && currentSolution.getCost() < getBestSolutionSoFar().getCost()) {
+                setBestSolutionSoFar(new CloudletToVmMappingSolution(currentSolution, solutions.incrementAndGet()));
+            }
+        }
+    }
+
+    /**
+     * Tries to swap the VMs of two random Cloudlets in a solution.
+     * The swap is just applied (in place) if it's {@link #isMoveAccepted(double) accepted}.
+     * @param solution the solution to change
+     * @return true if the swap was applied, false otherwise
+     */
+    boolean trySwap(final CloudletToVmMappingSolution solution) {
+        final int size = solution.getCloudletsNumber();
+        if (size < 2) {
+            return false;
+        }
+
+        final int first = getRandomValue(size);
+        final int second = getRandomValue(size);
+        if (!solution.isSwapChanging(first, second) || !isMoveAccepted(solution.getSwapCostDelta(first, second))) {
+            return false;
+        }
+
+        solution.swapVmsOfCloudlets(first, second);
+        return true;
     }
 }
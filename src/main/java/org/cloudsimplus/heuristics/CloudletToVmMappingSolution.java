@@ -31,8 +31,6 @@ import org.cloudsimplus.vms.Vm;
 import java.util.*;
 import java.util.stream.Collectors;
 
-import static java.util.stream.Collectors.groupingBy;
-
 /**
  * A possible solution for mapping a set of Cloudlets to a set of Vm's.
  * It represents a solution generated using a {@link Heuristic} implementation.
@@ -53,25 +51,52 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
     /** @see #getResult() */
     private final Map<Cloudlet, Vm> cloudletVmMap;
 
+    /**
+     * The Cloudlets in the {@link #cloudletVmMap}, in the order they were bound to a VM,
+     * which enables randomly selecting Cloudlets in constant time.
+     */
+    private final List<Cloudlet> cloudletList;
+
     /** The id used to identify the index of the solution inside the set of all solutions created. */
     @Getter
     private final int id;
 
     /**
-     * Indicates if the {@link #getCost()} has to be recomputed due to changes in {@link #cloudletVmMap}.
-     * When it is computed, its value is stored to be used
-     * in later calls until the map is changed again, so that improving performance.
+     * Indicates if the {@link #getCost()} has to be recomputed from scratch,
+     * since the {@link #cloudletVmMap} was changed in a way the {@link #vmLoads} couldn't be updated.
+     * Otherwise, the cost is incrementally updated whenever a Cloudlet is bound to another VM.
      */
     private boolean recomputeCost = true;
 
     /**
-     * The last computed cost value, since the
-     * last time the {@link #cloudletVmMap} was changed.
+     * The current cost of the solution, which is updated
+     * every time a Cloudlet is bound to another VM (if {@link #recomputeCost} is false).
      * @see #getCost()
      * @see #recomputeCost
      */
     private double lastCost;
 
+    /**
+     * The Cloudlets load of each VM in the {@link #cloudletVmMap},
+     * which enables computing just the cost change of VMs affected by a Cloudlet move.
+     */
+    private final Map<Vm, VmLoad> vmLoads;
+
+    /**
+     * The number of Cloudlets bound to a VM and the total number of PEs they require.
+     */
+    private static final class VmLoad {
+        private int cloudlets;
+        private long pes;
+
+        private VmLoad copy() {
+            final var load = new VmLoad();
+            load.cloudlets = cloudlets;
+            load.pes = pes;
+            return load;
+        }
+    }
+
     @Getter
     private final Heuristic heuristic;
 
@@ -82,7 +107,7 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      * @param heuristic the heuristic implementation used to configure the solution being created.
      */
     public CloudletToVmMappingSolution(final Heuristic heuristic){
-        this(heuristic, new HashMap<>(), 0);
+        this(heuristic, new HashMap<>(), new ArrayList<>(), 0);
     }
 
     /**
@@ -93,12 +118,17 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      * @param id unique solution id to identify the index of the solution inside the set of all solutions created
      */
     public CloudletToVmMappingSolution(final Heuristic heuristic, final int id){
-        this(heuristic, new HashMap<>(), id);
+        this(heuristic, new HashMap<>(), new ArrayList<>(), id);
     }
 
-    private CloudletToVmMappingSolution(@NonNull final Heuristic heuristic, @NonNull final Map<Cloudlet, Vm> cloudletVmMap, final int id){
+    private CloudletToVmMappingSolution(
+        @NonNull final Heuristic heuristic, @NonNull final Map<Cloudlet, Vm> cloudletVmMap,
+        @NonNull final List<Cloudlet> cloudletList, final int id)
+    {
         this.heuristic = heuristic;
         this.cloudletVmMap = cloudletVmMap;
+        this.cloudletList = cloudletList;
+        this.vmLoads = new HashMap<>();
         this.id = id;
     }
 
@@ -109,10 +139,12 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      * @param id unique solution id to identify the index of the solution inside the set of all solutions created
      */
     public CloudletToVmMappingSolution(@NonNull final CloudletToVmMappingSolution solution, final int id){
-        this(solution.heuristic, new HashMap<>(solution.cloudletVmMap), id);
+        this(solution.heuristic, new HashMap<>(solution.cloudletVmMap), new ArrayList<>(solution.cloudletList), id);
         this.recomputeCost = solution.recomputeCost;
         this.lastCost = solution.lastCost;
-        this.cloudletVmMap.putAll(solution.cloudletVmMap);
+        if (!recomputeCost) {
+            solution.vmLoads.forEach((vm, load) -> vmLoads.put(vm, load.copy()));
+        }
     }
 
     /**
@@ -122,33 +154,72 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      * @param vm the Vm to assign a cloudlet to
      */
     public void bindCloudletToVm(@NonNull final Cloudlet cloudlet, @NonNull final Vm vm){
-        cloudletVmMap.put(cloudlet, vm);
-        recomputeCost = true;
+        final Vm previousVm = cloudletVmMap.put(cloudlet, vm);
+        if (previousVm == null) {
+            cloudletList.add(cloudlet);
+        }
+
+        if (recomputeCost) {
+            return;
+        }
+
+        if (previousVm != null) {
+            removeCloudletLoad(previousVm, cloudlet);
+        }
+
+        addCloudletLoad(vm, cloudlet);
     }
 
-    private double computeCostOfAllVms() {
-        return groupCloudletsByVm()
-                .entrySet()
-                .stream()
-                .mapToDouble(this::getVmCost)
-                .sum();
+    /**
+     * Adds the load of a Cloudlet to a VM, updating the solution cost
+     * by the cost change of that VM only.
+     * @param vm the VM the Cloudlet was bound to
+     * @param cloudlet the Cloudlet bound to the VM
+     */
+    private void addCloudletLoad(final Vm vm, final Cloudlet cloudlet) {
+        final VmLoad load = vmLoads.computeIfAbsent(vm, key -> new VmLoad());
+        final double previousVmCost = load.cloudlets == 0 ? 0 : getVmCost(vm, load.pes);
+        load.cloudlets++;
+        load.pes += cloudlet.getPesNumber();
+        lastCost += getVmCost(vm, load.pes) - previousVmCost;
     }
 
     /**
-     * @return a Map of Cloudlets grouped by their VMs,
-     * where each key is a VM and the value is a List of Map Entries
-     * containing the Cloudlets running in that VM.
+     * Removes the load of a Cloudlet from a VM, updating the solution cost
+     * by the cost change of that VM only.
+     * A VM without Cloudlets doesn't add any cost.
+     * @param vm the VM the Cloudlet was bound to
+     * @param cloudlet the Cloudlet removed from the VM
      */
-    private Map<Vm, List<Map.Entry<Cloudlet, Vm>>> groupCloudletsByVm() {
-        return cloudletVmMap
-                .entrySet()
-                .stream()
-                .collect(groupingBy(Map.Entry::getValue));
+    private void removeCloudletLoad(final Vm vm, final Cloudlet cloudlet) {
+        final VmLoad load = vmLoads.get(vm);
+        final double previousVmCost = getVmCost(vm, load.pes);
+        load.cloudlets--;
+        load.pes -= cloudlet.getPesNumber();
+        if (load.cloudlets == 0) {
+            vmLoads.remove(vm);
+            lastCost -= previousVmCost;
+            return;
+        }
+
+        lastCost += getVmCost(vm, load.pes) - previousVmCost;
+    }
+
+    /**
+     * Recomputes the load of all VMs from the {@link #cloudletVmMap} and the cost of the entire mapping.
+     * @return the cost of the entire mapping
+     */
+    private double computeCostOfAllVms() {
+        vmLoads.clear();
+        lastCost = 0;
+        cloudletVmMap.forEach((cloudlet, vm) -> addCloudletLoad(vm, cloudlet));
+        return lastCost;
     }
 
     /**
      * {@inheritDoc}
-     * It computes the cost of the entire mapping between VMs and Cloudlets.
+     * It gets the cost of the entire mapping between VMs and Cloudlets,
+     * which is computed just once and then incrementally updated as Cloudlets are moved to other VMs.
      *
      * @return {@inheritDoc}
      */
@@ -202,7 +273,19 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      * @return the VM cost to host the Cloudlets
      */
     public double getVmCost(final Vm vm, final List<Cloudlet> cloudlets) {
-        return Math.abs(vm.getPesNumber() - getTotalCloudletsPes(cloudlets));
+        return getVmCost(vm, getTotalCloudletsPes(cloudlets));
+    }
+
+    /**
+     * Computes the cost of all Cloudlets hosted by a given Vm,
+     * based on the number of PEs from the VM that will be idle or overloaded.
+     *
+     * @param vm the VM to compute the cost to host some Cloudlets
+     * @param cloudletsPes the total number of PEs required by Cloudlets hosted by the VM
+     * @return the VM cost to host the Cloudlets
+     */
+    public double getVmCost(final Vm vm, final long cloudletsPes) {
+        return Math.abs(vm.getPesNumber() - cloudletsPes);
     }
 
     private List<Cloudlet> convertMapEntryListToCloudletList(final List<Map.Entry<Cloudlet, Vm>> entriesList) {
@@ -271,12 +354,29 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
             return false;
         }
 
+        final Cloudlet cloudlet0 = entries.get(0).getKey();
+        final Cloudlet cloudlet1 = entries.get(1).getKey();
         final Vm vm0 = entries.get(0).getValue();
         final Vm vm1 = entries.get(1).getValue();
         entries.get(0).setValue(vm1);
         entries.get(1).setValue(vm0);
 
-        return recomputeCost = true;
+        if (recomputeCost || vm0 == vm1) {
+            return true;
+        }
+
+        /* Entries may not belong to this solution's map.
+         * In such a case, the cost must be recomputed from scratch. */
+        if (cloudletVmMap.get(cloudlet0) != vm1 || cloudletVmMap.get(cloudlet1) != vm0) {
+            return recomputeCost = true;
+        }
+
+        //Just the 2 VMs whose Cloudlets were swapped have their cost changed
+        removeCloudletLoad(vm0, cloudlet0);
+        addCloudletLoad(vm1, cloudlet0);
+        removeCloudletLoad(vm1, cloudlet1);
+        addCloudletLoad(vm0, cloudlet1);
+        return true;
     }
 
     /**
@@ -292,7 +392,76 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      * @return true if the Cloudlet's VMs where swapped, false otherwise
      */
     boolean swapVmsOfTwoRandomSelectedMapEntries() {
-        return swapVmsOfTwoMapEntries(getRandomMapEntries());
+        final int size = cloudletList.size();
+        if (size < 2) {
+            return false;
+        }
+
+        final int first = heuristic.getRandomValue(size);
+        final int second = heuristic.getRandomValue(size);
+        if (first == second) {
+            return false;
+        }
+
+        swapVmsOfCloudlets(first, second);
+        return true;
+    }
+
+    /**
+     * {@return the number of Cloudlets mapped to VMs}
+     */
+    int getCloudletsNumber() {
+        return cloudletList.size();
+    }
+
+    /**
+     * Checks if swapping the VMs of two Cloudlets changes this solution,
+     * that is, if the Cloudlets are bound to different VMs.
+     * @param first the index of the first Cloudlet (in the order they were bound to VMs)
+     * @param second the index of the second Cloudlet
+     * @return true if the swap changes the solution, false otherwise
+     */
+    boolean isSwapChanging(final int first, final int second) {
+        return cloudletVmMap.get(cloudletList.get(first)) != cloudletVmMap.get(cloudletList.get(second));
+    }
+
+    /**
+     * Computes the cost change if the VMs of two Cloudlets were swapped, without changing this solution.
+     * It takes constant time, since just the 2 VMs whose Cloudlets would be swapped have their cost changed.
+     * @param first the index of the first Cloudlet (in the order they were bound to VMs)
+     * @param second the index of the second Cloudlet
+     * @return the cost change (a negative value means the swap reduces the cost)
+     * @see #swapVmsOfCloudlets(int, int)
+     */
+    double getSwapCostDelta(final int first, final int second) {
+        recomputeCostIfRequested();
+        final Cloudlet cloudlet0 = cloudletList.get(first);
+        final Cloudlet cloudlet1 = cloudletList.get(second);
+        final Vm vm0 = cloudletVmMap.get(cloudlet0);
+        final Vm vm1 = cloudletVmMap.get(cloudlet1);
+        if (vm0 == vm1) {
+            return 0;
+        }
+
+        final long pesDiff = cloudlet1.getPesNumber() - cloudlet0.getPesNumber();
+        final long pes0 = vmLoads.get(vm0).pes;
+        final long pes1 = vmLoads.get(vm1).pes;
+        return getVmCost(vm0, pes0 + pesDiff) - getVmCost(vm0, pes0) +
+               getVmCost(vm1, pes1 - pesDiff) - getVmCost(vm1, pes1);
+    }
+
+    /**
+     * Swaps the VMs of two Cloudlets, incrementally updating the solution cost.
+     * @param first the index of the first Cloudlet (in the order they were bound to VMs)
+     * @param second the index of the second Cloudlet
+     * @see #getSwapCostDelta(int, int)
+     */
+    void swapVmsOfCloudlets(final int first, final int second) {
+        final Cloudlet cloudlet0 = cloudletList.get(first);
+        final Cloudlet cloudlet1 = cloudletList.get(second);
+        final Vm vm0 = cloudletVmMap.get(cloudlet0);
+        bindCloudletToVm(cloudlet0, cloudletVmMap.get(cloudlet1));
+        bindCloudletToVm(cloudlet1, vm0);
     }
 
     /**
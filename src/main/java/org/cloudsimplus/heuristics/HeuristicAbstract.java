@@ -104,7 +104,18 @@ public abstract class HeuristicAbstract<S extends HeuristicSolution<?>>  impleme
 
 	@Override
 	public int getRandomValue(final int maxValue){
-		final double uniform = getRandom().sample();
+		return getRandomValue(getRandom(), maxValue);
+	}
+
+    /**
+     * Gets a random number between 0 (inclusive) and maxValue (exclusive)
+     * from a given pseudo-random number generator.
+     * @param random the pseudo-random number generator
+     * @param maxValue the max value to get a random number (exclusive)
+     * @return the random number
+     */
+    static int getRandomValue(final ContinuousDistribution random, final int maxValue){
+		final double uniform = random.sample();
 
         /* Always get an index between [0 and size[,
         regardless if the random number generator returns
@@ -112,10 +123,34 @@ public abstract class HeuristicAbstract<S extends HeuristicSolution<?>>  impleme
 		return (int)(uniform >= 1 ? uniform % maxValue : uniform * maxValue);
 	}
 
+    /**
+     * Gets a random number between 0 (inclusive) and 1 (exclusive)
+     * from the {@link #getRandom() pseudo-random number generator}.
+     * @return the random number
+     * @see #getUniformValue(ContinuousDistribution)
+     */
+    protected final double getUniformValue() {
+        return getUniformValue(random);
+    }
+
+    /**
+     * Gets a random number between 0 (inclusive) and 1 (exclusive)
+     * from a given pseudo-random number generator.
+     * Likewise {@link #getRandomValue(ContinuousDistribution, int)}, the generator may return
+     * values out of that interval, which are mapped into it (by taking just their fractional part).
+     * This way, the number can be compared to a probability.
+     * @param random the pseudo-random number generator
+     * @return the random number
+     */
+    static double getUniformValue(final ContinuousDistribution random){
+        final double value = random.sample();
+        return value - Math.floor(value);
+    }
+
 	@Override
 	public S solve() {
 		final long startTime = System.currentTimeMillis();
-		setBestSolutionSoFar(getInitialSolution());
+		startSearch();
 		while (!isToStopSearch()) {
             searchSolutionInNeighborhood();
             updateSystemState();
@@ -125,10 +160,22 @@ public abstract class HeuristicAbstract<S extends HeuristicSolution<?>>  impleme
 		return bestSolutionSoFar;
 	}
 
-    private void searchSolutionInNeighborhood() {
+    /**
+     * Starts the solution search from the {@link #getInitialSolution() initial solution}.
+     */
+    void startSearch() {
+        setBestSolutionSoFar(getInitialSolution());
+    }
+
+    /**
+     * Performs an iteration of the solution search,
+     * trying {@link #getSearchesByIteration() some} neighbors of the current solution.
+     */
+    void searchSolutionInNeighborhood() {
         for (int i = 0; i < searchesByIteration; i++) {
             setNeighborSolution(createNeighbor(bestSolutionSoFar));
-            if (getAcceptanceProbability() > getRandomValue(1)) {
+            // A worse neighbor is just accepted with the acceptance probability (Metropolis criterion)
+            if (getAcceptanceProbability() > getUniformValue()) {
                 setBestSolutionSoFar(neighborSolution);
             }
         }
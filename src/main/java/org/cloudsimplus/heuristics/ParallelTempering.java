@@ -0,0 +1,457 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.cloudsimplus.distributions.ContinuousDistribution;
+import org.cloudsimplus.distributions.UniformDistr;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongFunction;
+import java.util.stream.IntStream;
+
+/// Runs multiple [simulated annealing][SimulatedAnnealingAbstract] chains in parallel
+/// to find a suboptimal solution, using one of the following strategies:
+///
+/// - **[Parallel tempering](https://en.wikipedia.org/wiki/Parallel_tempering)** (replica exchange, the default):
+///   each chain runs at a fixed temperature from a geometric ladder between the
+///   [minimum][#getMinTemperature()] and [maximum][#getMaxTemperature()] temperatures.
+///   After every [exchange interval][#getExchangeInterval()], chains at adjacent temperatures
+///   randomly exchange their temperatures according to the Metropolis criterion,
+///   so that good solutions found by hot chains move to cold ones to be refined.
+/// - **Multi-start** (when [replica exchange][#isReplicaExchange()] is disabled):
+///   each chain is an independent simulated annealing starting at the maximum temperature
+///   and cooling at its own [cooling rate][SimulatedAnnealingAbstract#getCoolingRate()].
+///
+/// Chains are created by a factory function which receives a seed for each chain.
+/// Likewise the [org.cloudsimplus.testbeds.ExperimentRunner], the seed of each chain is the
+/// [base seed][#getBaseSeed()] plus the chain index, so that results are reproducible.
+/// Chains run in a [ForkJoinPool] between exchanges, and exchanges are performed sequentially.
+/// Since chains just exchange temperatures (not solutions), each one always uses its own
+/// pseudo-random number generator and results don't depend on the number of threads.
+/// Just a [wall-clock budget][#setMaxSolveTime(double)] makes results non-deterministic.
+///
+/// @param <S> the class of solutions the heuristic will deal with
+/// @param <H> the class of simulated annealing chains
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+@Getter @Setter
+public class ParallelTempering<S extends HeuristicSolution<?>, H extends SimulatedAnnealingAbstract<S>> implements Heuristic<S> {
+    /**
+     * The default temperature of the coldest chain.
+     * @see #setMinTemperature(double)
+     */
+    public static final double DEF_MIN_TEMPERATURE = 0.01;
+
+    /**
+     * The default temperature of the hottest chain.
+     * @see #setMaxTemperature(double)
+     */
+    public static final double DEF_MAX_TEMPERATURE = 1.0;
+
+    /**
+     * The default number of iterations each chain runs between replica exchanges.
+     * @see #setExchangeInterval(int)
+     */
+    public static final int DEF_EXCHANGE_INTERVAL = 10;
+
+    /**
+     * The default maximum number of rounds.
+     * @see #setMaxRounds(int)
+     */
+    public static final int DEF_MAX_ROUNDS = 1000;
+
+    /** The chains, where the position of each one is its index. */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private final List<H> chains;
+
+    /** A function which receives a seed and creates a chain using that seed. */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private final LongFunction<H> chainFactory;
+
+    /** The seed of the first chain. The seed of each chain is this seed plus the chain index. */
+    @Setter(AccessLevel.NONE)
+    private final long baseSeed;
+
+    /** The temperature of the coldest chain. */
+    @Setter(AccessLevel.NONE)
+    private double minTemperature;
+
+    /** The temperature of the hottest chain (or the initial temperature of each chain for multi-start). */
+    @Setter(AccessLevel.NONE)
+    private double maxTemperature;
+
+    /**
+     * The number of iterations each chain runs between replica exchanges.
+     * Each iteration tries {@link #getSearchesByIteration() some} neighbor solutions.
+     */
+    private int exchangeInterval;
+
+    /** The maximum number of rounds (where each chain runs {@link #getExchangeInterval()} iterations). */
+    private int maxRounds;
+
+    /** The maximum time to search for a solution (in seconds). */
+    private double maxSolveTime;
+
+    /** Indicates if chains exchange temperatures (parallel tempering) or run independently (multi-start). */
+    private boolean replicaExchange;
+
+    /** The pool where chains are run. */
+    @NonNull
+    private ForkJoinPool pool;
+
+    /** A pseudo-random number generator used to decide replica exchanges. */
+    @Setter(AccessLevel.NONE)
+    private final ContinuousDistribution random;
+
+    /** The index of the chain at each position of the temperature ladder (from the coldest to the hottest). */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private int[] ladder;
+
+    /** The number of rounds performed by the last {@link #solve()} call. */
+    @Setter(AccessLevel.NONE)
+    private int rounds;
+
+    /** The number of accepted replica exchanges in the last {@link #solve()} call. */
+    @Setter(AccessLevel.NONE)
+    private int acceptedExchanges;
+
+    /**
+     * The lowest-cost solution found by each chain in the current round,
+     * which is kept apart for each chain so that chains running in parallel don't share data.
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private final List<S> chainBestSolutions;
+
+    /** The lowest-cost solution found by all chains. */
+    @Setter(AccessLevel.NONE)
+    private S bestSolutionSoFar;
+
+    @Setter(AccessLevel.NONE)
+    private double solveTime;
+
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private long startTime;
+
+    /**
+     * Creates a parallel tempering heuristic.
+     * @param chainsNumber the number of chains to run
+     * @param baseSeed the seed of the first chain
+     * @param chainFactory a function which receives a seed and creates a chain using that seed
+     */
+    public ParallelTempering(final int chainsNumber, final long baseSeed, @NonNull final LongFunction<H> chainFactory) {
+        validateChainsNumber(chainsNumber);
+        this.baseSeed = baseSeed;
+        this.chainFactory = chainFactory;
+        this.chains = new ArrayList<>(chainsNumber);
+        for (int i = 0; i < chainsNumber; i++) {
+            chains.add(chainFactory.apply(baseSeed + i));
+        }
+
+        this.random = new UniformDistr(0, 1, baseSeed + chainsNumber);
+        this.minTemperature = DEF_MIN_TEMPERATURE;
+        this.maxTemperature = DEF_MAX_TEMPERATURE;
+        this.exchangeInterval = DEF_EXCHANGE_INTERVAL;
+        this.maxRounds = DEF_MAX_ROUNDS;
+        this.maxSolveTime = Double.MAX_VALUE;
+        this.replicaExchange = true;
+        this.pool = ForkJoinPool.commonPool();
+        this.ladder = new int[0];
+        this.chainBestSolutions = new ArrayList<>(Collections.nCopies(chainsNumber, null));
+        this.bestSolutionSoFar = chains.getFirst().getBestSolutionSoFar();
+    }
+
+    private static void validateChainsNumber(final int chainsNumber) {
+        if (chainsNumber <= 0) {
+            throw new IllegalArgumentException("The number of chains must be greater than zero.");
+        }
+    }
+
+    /**
+     * {@return the number of chains to run}
+     */
+    public int getChainsNumber() {
+        return chains.size();
+    }
+
+    /**
+     * Sets the number of chains to run.
+     * Chains are removed from (or added to) the end of the chain list,
+     * so that the remaining chains keep their configuration.
+     * New chains are created by the chain factory given to the constructor,
+     * using the same number of {@link #getSearchesByIteration() searches by iteration} as the other chains.
+     * @param chainsNumber the number of chains to set (greater than zero)
+     * @return this heuristic
+     */
+    public ParallelTempering<S, H> setChainsNumber(final int chainsNumber) {
+        validateChainsNumber(chainsNumber);
+        final int searchesByIteration = getSearchesByIteration();
+        while (chains.size() > chainsNumber) {
+            chains.removeLast();
+            chainBestSolutions.removeLast();
+        }
+
+        while (chains.size() < chainsNumber) {
+            final H chain = chainFactory.apply(baseSeed + chains.size());
+            chain.setSearchesByIteration(searchesByIteration);
+            chains.add(chain);
+            chainBestSolutions.add(null);
+        }
+
+        return this;
+    }
+
+    /**
+     * Sets the temperature of the coldest chain.
+     * @param minTemperature the temperature to set (greater than zero and not greater than the {@link #getMaxTemperature() max temperature})
+     * @return this heuristic
+     */
+    public ParallelTempering<S, H> setMinTemperature(final double minTemperature) {
+        if (minTemperature <= 0) {
+            throw new IllegalArgumentException("minTemperature must be greater than zero.");
+        }
+
+        if (minTemperature > maxTemperature) {
+            throw new IllegalArgumentException("minTemperature cannot be greater than maxTemperature (%s).".formatted(maxTemperature));
+        }
+
+        this.minTemperature = minTemperature;
+        return this;
+    }
+
+    /**
+     * Sets the temperature of the hottest chain (or the initial temperature of each chain for multi-start).
+     * @param maxTemperature the temperature to set (not lower than the {@link #getMinTemperature() min temperature})
+     * @return this heuristic
+     */
+    public ParallelTempering<S, H> setMaxTemperature(final double maxTemperature) {
+        if (maxTemperature < minTemperature) {
+            throw new IllegalArgumentException("maxTemperature cannot be lower than minTemperature (%s).".formatted(minTemperature));
+        }
+
+        this.maxTemperature = maxTemperature;
+        return this;
+    }
+
+    /**
+     * {@return a read-only list of chains}, which can be used to configure them.
+     */
+    public List<H> getChains() {
+        return Collections.unmodifiableList(chains);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return the probability of accepting a replica exchange between the coldest chain and the next one
+     *         (or 1 if there is just one chain or the search hasn't started)
+     */
+    @Override
+    public double getAcceptanceProbability() {
+        return ladder.length < 2 ? 1 : getExchangeProbability(0);
+    }
+
+    @Override
+    public int getRandomValue(final int maxValue) {
+        return HeuristicAbstract.getRandomValue(random, maxValue);
+    }
+
+    @Override
+    public boolean isToStopSearch() {
+        return rounds >= maxRounds ||
+               (System.currentTimeMillis() - startTime) / 1000.0 >= maxSolveTime ||
+               (!replicaExchange && chains.stream().allMatch(Heuristic::isToStopSearch));
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return the initial solution of the first chain
+     */
+    @Override
+    public S getInitialSolution() {
+        return chains.getFirst().getInitialSolution();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return the last neighbor solution of the coldest chain
+     */
+    @Override
+    public S getNeighborSolution() {
+        return getColdestChain().getNeighborSolution();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The neighbor is created by the coldest chain.
+     */
+    @Override
+    public S createNeighbor(final S source) {
+        return getColdestChain().createNeighbor(source);
+    }
+
+    private H getColdestChain() {
+        return chains.get(ladder.length == 0 ? 0 : ladder[0]);
+    }
+
+    @Override
+    public int getSearchesByIteration() {
+        return chains.getFirst().getSearchesByIteration();
+    }
+
+    @Override
+    public Heuristic<S> setSearchesByIteration(final int numberOfNeighborhoodSearches) {
+        chains.forEach(chain -> chain.setSearchesByIteration(numberOfNeighborhoodSearches));
+        return this;
+    }
+
+    @Override
+    public S solve() {
+        startTime = System.currentTimeMillis();
+        rounds = 0;
+        acceptedExchanges = 0;
+        createTemperatureLadder();
+        for (int i = 0; i < chains.size(); i++) {
+            chains.get(i).startSearch();
+            chainBestSolutions.set(i, chains.get(i).getBestSolutionSoFar());
+        }
+
+        bestSolutionSoFar = chainBestSolutions.getFirst();
+        updateBestSolution();
+
+        while (!isToStopSearch()) {
+            pool.submit(() -> IntStream.range(0, chains.size()).parallel().forEach(this::searchInChain)).join();
+            updateBestSolution();
+            if (replicaExchange) {
+                exchangeReplicas(rounds % 2);
+            }
+
+            rounds++;
+        }
+
+        solveTime = (System.currentTimeMillis() - startTime) / 1000.0;
+        return bestSolutionSoFar;
+    }
+
+    /**
+     * Sets the initial temperature of each chain.
+     * For parallel tempering, the chain at each ladder position has a temperature
+     * in a geometric progression from the min to the max temperature.
+     * For multi-start, all chains start at the max temperature.
+     */
+    private void createTemperatureLadder() {
+        ladder = new int[chains.size()];
+        for (int i = 0; i < chains.size(); i++) {
+            ladder[i] = i;
+            chains.get(i).setCurrentTemperature(replicaExchange ? getLadderTemperature(i) : maxTemperature);
+        }
+    }
+
+    private double getLadderTemperature(final int position) {
+        if (chains.size() == 1) {
+            return maxTemperature;
+        }
+
+        return minTemperature * Math.pow(maxTemperature / minTemperature, position / (chains.size() - 1.0));
+    }
+
+    /**
+     * Runs the iterations of a chain for one round, keeping the lowest-cost solution it finds.
+     * In multi-start, the chain is cooled after each iteration, likewise a regular simulated annealing.
+     * @param index the index of the chain to run
+     */
+    private void searchInChain(final int index) {
+        final H chain = chains.get(index);
+        for (int i = 0; i < exchangeInterval && !isMultiStartChainCold(chain); i++) {
+            chain.searchSolutionInNeighborhood();
+            if (!replicaExchange) {
+                chain.updateSystemState();
+            }
+
+            final S solution = chain.getBestSolutionSoFar();
+            if (solution.getCost() < chainBestSolutions.get(index).getCost()) {
+                chainBestSolutions.set(index, solution);
+            }
+        }
+    }
+
+    private boolean isMultiStartChainCold(final H chain) {
+        return !replicaExchange && chain.isToStopSearch();
+    }
+
+    /**
+     * Updates the best solution if some chain has found a solution with lower cost.
+     * Ties are kept with the previous best solution or the lowest chain index.
+     */
+    private void updateBestSolution() {
+        for (final S solution : chainBestSolutions) {
+            if (solution.getCost() < bestSolutionSoFar.getCost()) {
+                bestSolutionSoFar = solution;
+            }
+        }
+    }
+
+    /**
+     * Tries to exchange the temperatures of chains at adjacent positions in the ladder.
+     * @param firstPosition the first ladder position to try an exchange (0 or 1),
+     *                      alternating between rounds so that all adjacent pairs are tried
+     */
+    private void exchangeReplicas(final int firstPosition) {
+        for (int pos = firstPosition; pos + 1 < ladder.length; pos += 2) {
+            if (HeuristicAbstract.getUniformValue(random) < getExchangeProbability(pos)) {
+                final H colder = chains.get(ladder[pos]);
+                final H hotter = chains.get(ladder[pos + 1]);
+                final double colderTemperature = colder.getCurrentTemperature();
+                colder.setCurrentTemperature(hotter.getCurrentTemperature());
+                hotter.setCurrentTemperature(colderTemperature);
+
+                final int chain = ladder[pos];
+                ladder[pos] = ladder[pos + 1];
+                ladder[pos + 1] = chain;
+                acceptedExchanges++;
+            }
+        }
+    }
+
+    /**
+     * Computes the probability of exchanging the temperatures of the chains
+     * at a given ladder position and the next one, according to the Metropolis criterion.
+     * It considers the solution each chain is currently at (not the best one it has found),
+     * so that a chain whose current solution has a lower cost is always moved to the colder temperature.
+     * @param position the ladder position of the colder chain
+     * @return the exchange probability
+     */
+    private double getExchangeProbability(final int position) {
+        final H colder = chains.get(ladder[position]);
+        final H hotter = chains.get(ladder[position + 1]);
+        final double betaDiff = 1 / colder.getCurrentTemperature() - 1 / hotter.getCurrentTemperature();
+        final double costDiff = colder.getCurrentCost() - hotter.getCurrentCost();
+        return Math.min(1, Math.exp(betaDiff * costDiff));
+    }
+}
@@ -117,6 +117,29 @@ public abstract class SimulatedAnnealingAbstract<S extends HeuristicSolution<?>>
                / (boltzmannConstant * currentTemperature));
     }
 
+    /**
+     * Checks if a move that changes the cost of the current solution by a given amount
+     * is accepted, according to the Boltzmann distribution
+     * (moves which don't make the solution worse are always accepted).
+     * It enables evaluating a move before creating a neighbor solution,
+     * so that rejected moves don't require copying the current solution.
+     * @param costDelta the cost change of the move
+     * @return true if the move is accepted, false otherwise
+     * @see #getAcceptanceProbability()
+     */
+    protected final boolean isMoveAccepted(final double costDelta) {
+        return costDelta <= 0 || getUniformValue() < Math.exp(-costDelta / currentTemperature);
+    }
+
+    /**
+     * {@return the cost of the solution the search is currently at}
+     * The default search keeps the current solution as the {@link #getBestSolutionSoFar() best solution so far},
+     * but subclasses may keep the lowest-cost solution found apart from the current one.
+     */
+    double getCurrentCost() {
+        return getBestSolutionSoFar().getCost();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -0,0 +1,208 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.cloudsimplus.distributions.ContinuousDistribution;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.List;
+
+/// A heuristic that uses [Simulated Annealing](http://en.wikipedia.org/wiki/Simulated_annealing)
+/// to find a suboptimal consolidation of VMs into Hosts, minimizing the number of active Hosts,
+/// VM migrations and overloaded Hosts (see [VmConsolidationSolution]).
+///
+/// Each neighbor solution is got by sampling a [number of random moves][#getNeighborhoodSize()]
+/// (a VM and a target Host), evaluating the cost change of all of them
+/// (which is computed in constant time, without changing the current solution)
+/// and taking the one which improves the solution the most.
+/// If such a move makes the solution worse, it's accepted according to the
+/// [Boltzmann distribution][#getAcceptanceProbability()]. Otherwise, the current solution is kept.
+/// Ties are broken by the sampling order.
+///
+/// The [#solve()] method returns the lowest cost solution found during the entire search.
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+@Accessors
+public class VmConsolidationSimulatedAnnealing extends SimulatedAnnealingAbstract<VmConsolidationSolution> {
+    /**
+     * The default number of random moves evaluated to create each neighbor solution.
+     */
+    public static final int DEF_NEIGHBORHOOD_SIZE = 64;
+
+    /**
+     * The VMs to consolidate (which must have been created into some Host of the {@link #getHostList() Host list}).
+     */
+    @Getter @Setter @NonNull
+    private List<Vm> vmList;
+
+    /**
+     * The Hosts where VMs can be placed.
+     */
+    @Getter @Setter @NonNull
+    private List<Host> hostList;
+
+    /**
+     * The CPU utilization percentage (between 0 and 1) above which a Host is overloaded.
+     */
+    @Getter @Setter
+    private double overUtilizationThreshold;
+
+    /**
+     * The weights of each component of a solution cost.
+     */
+    @Getter @Setter @NonNull
+    private VmConsolidationSolution.Costs costs;
+
+    /**
+     * The number of random moves evaluated to create each neighbor solution.
+     */
+    @Getter
+    private int neighborhoodSize;
+
+    private VmConsolidationSolution initialSolution;
+
+    /** The lowest cost solution found so far. */
+    private VmConsolidationSolution lowestCostSolution;
+
+    /**
+     * Creates a Simulated Annealing Heuristic for consolidating VMs into Hosts.
+     *
+     * @param initialTemperature the system initial temperature
+     * @param random a pseudo-random number generator
+     * @see #setColdTemperature(double)
+     * @see #setCoolingRate(double)
+     */
+    public VmConsolidationSimulatedAnnealing(final double initialTemperature, final ContinuousDistribution random) {
+        super(random, VmConsolidationSolution.class);
+        setCurrentTemperature(initialTemperature);
+        this.vmList = List.of();
+        this.hostList = List.of();
+        this.overUtilizationThreshold = 1;
+        this.costs = VmConsolidationSolution.Costs.DEFAULT;
+        this.neighborhoodSize = DEF_NEIGHBORHOOD_SIZE;
+    }
+
+    /**
+     * Sets the number of random moves evaluated to create each neighbor solution.
+     * @param neighborhoodSize the value to set (at least 1)
+     * @return this heuristic
+     */
+    public VmConsolidationSimulatedAnnealing setNeighborhoodSize(final int neighborhoodSize) {
+        if (neighborhoodSize < 1) {
+            throw new IllegalArgumentException("neighborhoodSize must be at least 1.");
+        }
+
+        this.neighborhoodSize = neighborhoodSize;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     * It's the current placement of the VMs.
+     * @return {@inheritDoc}
+     */
+    @Override
+    public VmConsolidationSolution getInitialSolution() {
+        if (initialSolution == null) {
+            initialSolution = new VmConsolidationSolution(this, vmList, hostList, overUtilizationThreshold, costs);
+        }
+
+        return initialSolution;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return the lowest cost solution found during the search
+     */
+    @Override
+    public VmConsolidationSolution solve() {
+        lowestCostSolution = getInitialSolution();
+        super.solve();
+        setBestSolutionSoFar(lowestCostSolution);
+        return lowestCostSolution;
+    }
+
+    @Override
+    public VmConsolidationSolution createNeighbor(final VmConsolidationSolution source) {
+        if (source.getVmCount() == 0 || source.getHostCount() < 2) {
+            return source;
+        }
+
+        final int[] vms = new int[neighborhoodSize];
+        final int[] hosts = new int[neighborhoodSize];
+        for (int i = 0; i < neighborhoodSize; i++) {
+            vms[i] = getRandomValue(source.getVmCount());
+            hosts[i] = getRandomValue(source.getHostCount());
+        }
+
+        Move best = new Move(0, source.getMoveCostDelta(vms[0], hosts[0]));
+        for (int i = 1; i < neighborhoodSize; i++) {
+            final var move = new Move(i, source.getMoveCostDelta(vms[i], hosts[i]));
+            if (move.compareTo(best) < 0) {
+                best = move;
+            }
+        }
+
+        if (best.costDelta() == Double.POSITIVE_INFINITY || !isMoveAccepted(best.costDelta())) {
+            return source;
+        }
+
+        final var neighbor = new VmConsolidationSolution(source);
+        neighbor.move(vms[best.index()], hosts[best.index()]);
+        if (neighbor.getCost() < lowestCostSolution.getCost()) {
+            lowestCostSolution = neighbor;
+        }
+
+        return neighbor;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Moves are accepted or rejected when the {@link #createNeighbor(VmConsolidationSolution) neighbor is created}.
+     * @return always 1, so that the created neighbor is taken
+     */
+    @Override
+    public double getAcceptanceProbability() {
+        return 1;
+    }
+
+    /**
+     * A candidate move, ordered by its cost change and then by the order it was sampled.
+     * @param index the order the move was sampled
+     * @param costDelta the cost change of the move
+     */
+    private record Move(int index, double costDelta) implements Comparable<Move> {
+        @Override
+        public int compareTo(final Move other) {
+            final int comparison = Double.compare(costDelta, other.costDelta);
+            return comparison == 0 ? Integer.compare(index, other.index) : comparison;
+        }
+    }
+}
@@ -0,0 +1,428 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.*;
+
+/// A possible solution for consolidating a set of VMs into a set of Hosts,
+/// which is used by a [VmConsolidationSimulatedAnnealing] heuristic.
+/// The cost of a solution is a weighted sum (see [Costs]) of:
+/// - the number of active Hosts (those with some VM);
+/// - the number of VMs to be migrated from their current Host;
+/// - the number of overloaded Hosts (whose CPU utilization is above a given threshold),
+///   representing SLA violations.
+///
+/// The solution keeps the Host of each VM and the aggregated demand of the VMs in each Host
+/// in primitive arrays, so that the cost change of moving a VM to another Host
+/// (see [#getMoveCostDelta(int, int)]) is computed in constant time, instead of
+/// re-evaluating the entire solution. That also enables evaluating multiple moves in parallel,
+/// since evaluating a move doesn't change the solution.
+///
+/// A VM can be moved to a Host other than its current one only if the Host has enough
+/// free resources (PEs, MIPS, RAM, bandwidth and storage) for it, without considering the resources
+/// that will be released by VMs migrating out of that Host
+/// (since those VMs are still there until their migration finishes).
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+public class VmConsolidationSolution implements HeuristicSolution<Map<Vm, Host>> {
+    /**
+     * The weight of each component of a solution cost.
+     * @param activeHost the cost of each active Host
+     * @param migration the cost of each VM migration
+     * @param overloadedHost the cost of each overloaded Host
+     */
+    public record Costs(double activeHost, double migration, double overloadedHost) {
+        /**
+         * Default weights, where a migration is worth it if it enables turning off a Host
+         * and avoiding overloaded Hosts has priority over turning off Hosts.
+         */
+        public static final Costs DEFAULT = new Costs(1, 0.1, 10);
+    }
+
+    /** The resources (dimensions) considered when checking if a VM fits into a Host. */
+    private static final int PES = 0, MIPS = 1, RAM = 2, BW = 3, STORAGE = 4, DIMENSIONS = 5;
+
+    @Getter
+    private final Heuristic heuristic;
+
+    /** The data shared by all solutions for the same VMs and Hosts, which is never changed. */
+    private final Instance instance;
+
+    /** The index of the Host of each VM. */
+    private final int[] vmHosts;
+
+    /**
+     * The resources used by VMs moved into each Host, for each {@link #DIMENSIONS dimension}.
+     * VMs moved back to their current Host are not counted.
+     */
+    private final double[][] incoming;
+
+    /** The MIPS used by the VMs in each Host. */
+    private final double[] usedMips;
+
+    /** The number of VMs in each Host. */
+    private final int[] vmCount;
+
+    private int activeHosts;
+    private int migrations;
+    private int overloadedHosts;
+
+    /**
+     * The VMs and Hosts of the problem, with their current placement, demands and capacities.
+     */
+    private static final class Instance {
+        private final List<Vm> vmList;
+        private final List<Host> hostList;
+        private final Costs costs;
+
+        /** The index of the current Host of each VM. */
+        private final int[] currentHosts;
+
+        /** The capacity of each VM, for each {@link #DIMENSIONS dimension}. */
+        private final double[][] demand;
+
+        /** The MIPS each VM is currently using. */
+        private final double[] vmUsedMips;
+
+        /** The free capacity of each Host, for each {@link #DIMENSIONS dimension}. */
+        private final double[][] free;
+
+        /** The MIPS above which each Host is overloaded. */
+        private final double[] overloadMips;
+
+        private Instance(
+            final List<? extends Vm> vmList, final List<? extends Host> hostList,
+            final double overUtilizationThreshold, final Costs costs)
+        {
+            this.vmList = List.copyOf(vmList);
+            this.hostList = List.copyOf(hostList);
+            this.costs = costs;
+
+            final var hostIndexes = new IdentityHashMap<Host, Integer>(hostList.size());
+            this.free = new double[hostList.size()][];
+            this.overloadMips = new double[hostList.size()];
+            for (int i = 0; i < hostList.size(); i++) {
+                final Host host = hostList.get(i);
+                hostIndexes.put(host, i);
+                free[i] = new double[]{
+                    host.getFreePesNumber(), host.getTotalAvailableMips(), host.getRam().getAvailableResource(),
+                    host.getBw().getAvailableResource(), host.getStorage().getAvailableResource()};
+                overloadMips[i] = overUtilizationThreshold * host.getTotalMipsCapacity();
+            }
+
+            this.currentHosts = new int[vmList.size()];
+            this.demand = new double[vmList.size()][];
+            this.vmUsedMips = new double[vmList.size()];
+            for (int i = 0; i < vmList.size(); i++) {
+                final Vm vm = vmList.get(i);
+                final Integer hostIndex = hostIndexes.get(vm.getHost());
+                if (hostIndex == null) {
+                    throw new IllegalArgumentException("The Host of %s is not in the Host list.".formatted(vm));
+                }
+
+                currentHosts[i] = hostIndex;
+                demand[i] = new double[]{
+                    vm.getPesNumber(), vm.getTotalMipsCapacity(), vm.getRam().getCapacity(),
+                    vm.getBw().getCapacity(), vm.getStorage().getCapacity()};
+                vmUsedMips[i] = vm.getTotalCpuMipsUtilization();
+            }
+        }
+    }
+
+    /**
+     * Creates an empty solution.
+     * @param heuristic the heuristic that generated this solution
+     */
+    public VmConsolidationSolution(final Heuristic heuristic) {
+        this(heuristic, List.of(), List.of(), 1, Costs.DEFAULT);
+    }
+
+    /**
+     * Creates a solution where every VM is in its current Host.
+     *
+     * @param heuristic the heuristic that generated this solution
+     * @param vmList the VMs to consolidate (which must have been created into some Host of the Host list)
+     * @param hostList the Hosts where VMs can be placed
+     * @param overUtilizationThreshold the CPU utilization percentage (between 0 and 1) above which a Host is overloaded
+     * @param costs the weights of each component of the solution cost
+     */
+    public VmConsolidationSolution(
+        @NonNull final Heuristic heuristic,
+        @NonNull final List<? extends Vm> vmList,
+        @NonNull final List<? extends Host> hostList,
+        final double overUtilizationThreshold,
+        @NonNull final Costs costs)
+    {
+        this.heuristic = heuristic;
+        this.instance = new Instance(vmList, hostList, overUtilizationThreshold, costs);
+        this.vmHosts = instance.currentHosts.clone();
+        this.incoming = new double[hostList.size()][DIMENSIONS];
+        this.usedMips = new double[hostList.size()];
+        this.vmCount = new int[hostList.size()];
+        for (int vm = 0; vm < vmHosts.length; vm++) {
+            usedMips[vmHosts[vm]] += instance.vmUsedMips[vm];
+            vmCount[vmHosts[vm]]++;
+        }
+
+        recomputeCost();
+    }
+
+    /**
+     * Clones a given solution.
+     * @param source the solution to be cloned
+     */
+    public VmConsolidationSolution(@NonNull final VmConsolidationSolution source) {
+        this.heuristic = source.heuristic;
+        this.instance = source.instance;
+        this.vmHosts = source.vmHosts.clone();
+        this.incoming = new double[source.incoming.length][];
+        for (int host = 0; host < incoming.length; host++) {
+            incoming[host] = source.incoming[host].clone();
+        }
+
+        this.usedMips = source.usedMips.clone();
+        this.vmCount = source.vmCount.clone();
+        this.activeHosts = source.activeHosts;
+        this.migrations = source.migrations;
+        this.overloadedHosts = source.overloadedHosts;
+    }
+
+    /**
+     * Recomputes the cost components from the VM placement.
+     */
+    private void recomputeCost() {
+        activeHosts = 0;
+        overloadedHosts = 0;
+        for (int host = 0; host < vmCount.length; host++) {
+            activeHosts += vmCount[host] > 0 ? 1 : 0;
+            overloadedHosts += isOverloaded(host, usedMips[host]) ? 1 : 0;
+        }
+
+        migrations = 0;
+        for (int vm = 0; vm < vmHosts.length; vm++) {
+            migrations += vmHosts[vm] == instance.currentHosts[vm] ? 0 : 1;
+        }
+    }
+
+    private boolean isOverloaded(final int host, final double usedMips) {
+        return usedMips > instance.overloadMips[host];
+    }
+
+    /**
+     * {@return the number of VMs in the solution}
+     */
+    public int getVmCount() {
+        return vmHosts.length;
+    }
+
+    /**
+     * {@return the number of Hosts in the solution}
+     */
+    public int getHostCount() {
+        return vmCount.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     * It's updated incrementally as VMs are moved.
+     * @return {@inheritDoc}
+     */
+    @Override
+    public double getCost() {
+        final Costs costs = instance.costs;
+        return costs.activeHost() * activeHosts + costs.migration() * migrations + costs.overloadedHost() * overloadedHosts;
+    }
+
+    /**
+     * Gets the solution cost, optionally recomputing it from the entire VM placement.
+     * @param forceRecompute indicate if the cost has to be recomputed anyway
+     * @return the solution cost
+     * @see #getCost()
+     */
+    public double getCost(final boolean forceRecompute) {
+        if (forceRecompute) {
+            recomputeCost();
+        }
+
+        return getCost();
+    }
+
+    /**
+     * Checks if a VM fits into a Host other than its current one,
+     * considering the VMs already moved into that Host.
+     * @param vm the index of the VM
+     * @param host the index of the Host
+     * @return true if the VM fits into the Host, false otherwise
+     */
+    private boolean fits(final int vm, final int host) {
+        if (host == instance.currentHosts[vm]) {
+            return true;
+        }
+
+        for (int dimension = 0; dimension < DIMENSIONS; dimension++) {
+            if (incoming[host][dimension] + instance.demand[vm][dimension] > instance.free[host][dimension]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Computes the change in the solution cost if a VM is moved to a given Host,
+     * without changing the solution. It's computed in constant time.
+     *
+     * @param vm the index of the VM to move
+     * @param host the index of the target Host
+     * @return the cost change (a negative value means the solution gets better),
+     * or {@link Double#POSITIVE_INFINITY} if the VM is already in that Host or doesn't fit into it
+     */
+    public double getMoveCostDelta(final int vm, final int host) {
+        final int source = vmHosts[vm];
+        if (source == host || !fits(vm, host)) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        final int current = instance.currentHosts[vm];
+        final double vmMips = instance.vmUsedMips[vm];
+        final int activeDelta = (vmCount[source] == 1 ? -1 : 0) + (vmCount[host] == 0 ? 1 : 0);
+        final int migrationDelta = (host == current ? -1 : 0) + (source == current ? 1 : 0);
+        final int overloadedDelta =
+            overloadedDelta(source, usedMips[source], usedMips[source] - vmMips) +
+            overloadedDelta(host, usedMips[host], usedMips[host] + vmMips);
+
+        final Costs costs = instance.costs;
+        return costs.activeHost() * activeDelta + costs.migration() * migrationDelta + costs.overloadedHost() * overloadedDelta;
+    }
+
+    private int overloadedDelta(final int host, final double usedMipsBefore, final double usedMipsAfter) {
+        return (isOverloaded(host, usedMipsAfter) ? 1 : 0) - (isOverloaded(host, usedMipsBefore) ? 1 : 0);
+    }
+
+    /**
+     * Moves a VM to a given Host, incrementally updating the solution cost.
+     * @param vm the index of the VM to move
+     * @param host the index of the target Host
+     * @throws IllegalArgumentException if the VM doesn't fit into the Host
+     */
+    public void move(final int vm, final int host) {
+        final int source = vmHosts[vm];
+        if (source == host) {
+            return;
+        }
+
+        if (!fits(vm, host)) {
+            throw new IllegalArgumentException("VM %d doesn't fit into Host %d.".formatted(vm, host));
+        }
+
+        final int current = instance.currentHosts[vm];
+        final double vmMips = instance.vmUsedMips[vm];
+        overloadedHosts += overloadedDelta(source, usedMips[source], usedMips[source] - vmMips) +
+                           overloadedDelta(host, usedMips[host], usedMips[host] + vmMips);
+        activeHosts += (vmCount[source] == 1 ? -1 : 0) + (vmCount[host] == 0 ? 1 : 0);
+        migrations += (host == current ? -1 : 0) + (source == current ? 1 : 0);
+
+        updateIncoming(vm, source, -1);
+        updateIncoming(vm, host, 1);
+        usedMips[source] -= vmMips;
+        usedMips[host] += vmMips;
+        vmCount[source]--;
+        vmCount[host]++;
+        vmHosts[vm] = host;
+    }
+
+    private void updateIncoming(final int vm, final int host, final int sign) {
+        if (host == instance.currentHosts[vm]) {
+            return;
+        }
+
+        for (int dimension = 0; dimension < DIMENSIONS; dimension++) {
+            incoming[host][dimension] += sign * instance.demand[vm][dimension];
+        }
+    }
+
+    /**
+     * {@return the number of Hosts with some VM}
+     */
+    public int getActiveHosts() {
+        return activeHosts;
+    }
+
+    /**
+     * {@return the number of VMs placed into a Host other than their current one}
+     */
+    public int getMigrations() {
+        return migrations;
+    }
+
+    /**
+     * {@return the number of Hosts whose CPU utilization is above the over-utilization threshold}
+     */
+    public int getOverloadedHosts() {
+        return overloadedHosts;
+    }
+
+    /**
+     * Compares this solution with another given one, based on the solution cost.
+     * The current object is considered to be:
+     * - equal to the given object if they have the same cost;
+     * - greater than the given object if it has a lower cost;
+     * - lower than the given object if it has a higher cost;
+     *
+     * @param solution the solution to compare this instance to
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int compareTo(@NonNull final HeuristicSolution solution) {
+        final double diff = this.getCost() - solution.getCost();
+        if (Math.abs(diff) <= CloudletToVmMappingSolution.MIN_DIFF) {
+            return 0;
+        }
+
+        return diff > 0 ? -1 : 1;
+    }
+
+    /**
+     * {@return the VMs to migrate, mapped to their target Host}
+     * VMs which remain in their current Host are not included.
+     * Migrations follow the order of the VM list given to create the solution.
+     */
+    @Override
+    public Map<Vm, Host> getResult() {
+        final var migrationMap = new LinkedHashMap<Vm, Host>();
+        for (int vm = 0; vm < vmHosts.length; vm++) {
+            if (vmHosts[vm] != instance.currentHosts[vm]) {
+                migrationMap.put(instance.vmList.get(vm), instance.hostList.get(vmHosts[vm]));
+            }
+        }
+
+        return migrationMap;
+    }
+}
@@ -1,5 +1,6 @@
 package org.cloudsimplus.hosts;
 
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
@@ -18,13 +19,13 @@ import org.cloudsimplus.provisioners.ResourceProvisionerSimple;
 import org.cloudsimplus.resources.*;
 import org.cloudsimplus.schedulers.MipsShare;
 import org.cloudsimplus.schedulers.vm.VmScheduler;
+import org.cloudsimplus.schedulers.vm.VmSchedulerAbstract;
 import org.cloudsimplus.schedulers.vm.VmSchedulerSpaceShared;
 import org.cloudsimplus.util.BytesConversion;
 import org.cloudsimplus.util.TimeUtil;
 import org.cloudsimplus.vms.*;
 
 import java.util.*;
-import java.util.function.Predicate;
 
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
@@ -167,6 +168,27 @@ public non-sealed abstract class HostAbstract extends ExecDelayableAbstract impl
     @Getter
     private int failedPesNumber;
 
+    /**
+     * A map where each key is a {@link Pe.Status} and each value is a {@link BitSet}
+     * indicating which {@link Pe}s are in that status,
+     * where each bit index is the position of the PE inside the {@link #peList}.
+     * PE statuses are changed just by the Host (as well as the number of PEs in each status),
+     * so that the bitsets always match {@link Pe#getStatus()}.
+     *
+     * <p>It enables getting the PEs in a given status or changing the status
+     * of a number of PEs without checking the status of every PE,
+     * which is expensive for many-core Hosts.</p>
+     */
+    private final Map<Pe.Status, BitSet> peStatusBitsets = new EnumMap<>(Pe.Status.class);
+
+    /**
+     * The index this Host belongs to (if any), which must be updated
+     * when the Host capacity or state changes.
+     * @see #updateCapacityIndex()
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private HostCapacityIndex capacityIndex;
+
     public HostAbstract(
         final ResourceProvisioner ramProvisioner,
         final ResourceProvisioner bwProvisioner,
@@ -297,6 +319,7 @@ public non-sealed abstract class HostAbstract extends ExecDelayableAbstract impl
         final var suitability = createVmInternal(vm);
         if (suitability.fully()) {
             ((VmAbstract)vm).setHost(this);
+            updatePlacementConstraints(vm);
             if(isStartupDelayed())
                 LOGGER.info(
                     "{}: {}: {} is booting up in {} and it's expected to be ready in {} seconds.",
@@ -411,6 +434,17 @@ public non-sealed abstract class HostAbstract extends ExecDelayableAbstract impl
      * @see #isLazySuitabilityEvaluation()
      */
     private HostSuitability isSuitableForVm(final Vm vm, final boolean inMigration, final boolean showFailureLog) {
+        // Constraints are checked in constant time, so they are checked first to discard Hosts early
+        if (!VmPlacementConstraint.isSatisfiedByAll(vm, this)) {
+            if (showFailureLog) {
+                LOGGER.error(
+                    "{}: {}: Allocation of {} to {} failed due to its placement constraints.",
+                    simulation.clockStr(), getClass().getSimpleName(), vm, this);
+            }
+
+            return new HostSuitability(this, vm, "placement constraints of %s not met by %s".formatted(vm, this));
+        }
+
         final var suitability = new HostSuitability(this, vm);
 
         suitability.setForStorage(disk.isAmountAvailable(vm.getStorage()));
@@ -508,6 +542,7 @@ public non-sealed abstract class HostAbstract extends ExecDelayableAbstract impl
         }
 
         this.active = activate;
+        updateCapacityIndex();
         ((DatacenterSimple) datacenter).updateActiveHostsNumber(this);
         activationChangeInProgress = false;
         notifyStartupOrShutdown(activate, wasActive);
@@ -579,6 +614,8 @@ public non-sealed abstract class HostAbstract extends ExecDelayableAbstract impl
     public void destroyVmInternal(@NonNull final Vm vm) {
         deallocateResourcesOfVm(vm);
         vmList.remove(vm);
+        updatePlacementConstraints(vm);
+        invalidateVmSchedulerAllocatedMips();
         vm.getBroker().getVmExecList().remove(vm);
         vm.setFinishTime(getSimulation().clock());
     }
@@ -589,6 +626,11 @@ public non-sealed abstract class HostAbstract extends ExecDelayableAbstract impl
      * @param vm the VM to deallocate resources from
      */
     protected void deallocateResourcesOfVm(final Vm vm) {
+        releaseResourcesOfVm(vm);
+        ((VmAbstract)vm).setCreated(false);
+    }
+
+    private void releaseResourcesOfVm(final Vm vm) {
         final var peProvisioner = getPeList().get(0).getPeProvisioner();
 
         ramProvisioner.deallocateResourceForVm(vm);
@@ -596,7 +638,6 @@ public non-sealed abstract class HostAbstract extends ExecDelayableAbstract impl
         vmScheduler.deallocatePesFromVm(vm);
         peProvisioner.deallocateResourceForVm(vm);
         disk.getStorage().deallocateResource(vm.getStorage());
-        ((VmAbstract)vm).setCreated(false);
     }
 
     /**
@@ -605,9 +646,11 @@ public non-sealed abstract class HostAbstract extends ExecDelayableAbstract impl
     public void destroyAllVms() {
         for (final Vm vm : vmList) {
             deallocateResourcesOfVm(vm);
+            updatePlacementConstraints(vm);
         }
 
         vmList.clear();
+        invalidateVmSchedulerAllocatedMips();
     }
 
     @Override
@@ -808,6 +851,11 @@ public non-sealed abstract class HostAbstract extends ExecDelayableAbstract impl
             pe.setStatus(Pe.Status.FREE);
         }
 
+        for (final var status : Pe.Status.values()) {
+            peStatusBitsets.put(status, new BitSet(peList.size()));
+        }
+        peStatusBitsets.get(Pe.Status.FREE).set(0, peList.size());
+
         failedPesNumber = 0;
         busyPesNumber = 0;
         freePesNumber = peList.size();
@@ -826,6 +874,7 @@ public non-sealed abstract class HostAbstract extends ExecDelayableAbstract impl
 
     protected void addVmToList(@NonNull final Vm vm) {
         vmList.add(vm);
+        invalidateVmSchedulerAllocatedMips();
     }
 
     protected void addVmToCreatedList(@NonNull final Vm vm) {
@@ -845,6 +894,7 @@ public non-sealed abstract class HostAbstract extends ExecDelayableAbstract impl
             this.active = false;
         }
 
+        updateCapacityIndex();
         return true;
     }
 
@@ -857,13 +907,104 @@ public non-sealed abstract class HostAbstract extends ExecDelayableAbstract impl
     public final void setPeStatus(final List<Pe> peList, final Pe.Status newStatus) {
         /* For performance reasons, stores the number of free and failed PEs
         instead of iterating over the PE list every time to find out. */
-        for (final Pe pe : peList) {
-            updatePeStatus(pe, newStatus);
+        if (peList == this.peList) {
+            for (int i = 0; i < peList.size(); i++) {
+                updatePeStatus(i, newStatus);
+            }
+        } else {
+            for (final Pe pe : peList) {
+                updatePeStatus(getPeIndex(pe), newStatus);
+            }
         }
+
+        updateCapacityIndex();
     }
 
-    private void updatePeStatus(final Pe pe, final Pe.Status newStatus) {
+    /**
+     * Sets the status of a given number of {@link Pe}s that currently are in a given status,
+     * following the order of the {@link #getPeList() PE list}.
+     * The PEs are selected from the {@link #peStatusBitsets} without checking the status of every PE.
+     *
+     * @param currentStatus the current status of the PEs to be changed
+     * @param pesNumber     the number of PEs to have the status changed
+     * @param newStatus     the new status
+     * @return the number of PEs that actually had the status changed
+     * (which may be lower than the requested number if there aren't enough PEs in the current status)
+     */
+    public final long setPeStatus(final Pe.Status currentStatus, final long pesNumber, final Pe.Status newStatus) {
+        if (pesNumber <= 0 || currentStatus == newStatus) {
+            return 0;
+        }
+
+        final BitSet bitset = peStatusBitsets.get(currentStatus);
+        long changed = 0;
+        for (int i = bitset.nextSetBit(0); i >= 0 && changed < pesNumber; i = bitset.nextSetBit(i + 1)) {
+            updatePeStatus(i, newStatus);
+            changed++;
+        }
+
+        updateCapacityIndex();
+        return changed;
+    }
+
+    /**
+     * {@return the position of a Pe inside the {@link #peList}}
+     * Since PE IDs are usually sequential, tries to use the ID as the position,
+     * before searching the PE inside the list.
+     * @param pe the PE to get its position
+     */
+    private int getPeIndex(final Pe pe) {
+        final long id = pe.getId();
+        if (id >= 0 && id < peList.size() && peList.get((int) id) == pe) {
+            return (int) id;
+        }
+
+        final int index = peList.indexOf(pe);
+        if (index < 0) {
+            throw new IllegalArgumentException("%s doesn't belong to %s".formatted(pe, this));
+        }
+
+        return index;
+    }
+
+    /**
+     * Updates the index of the placement constraints of a VM, after it's created or destroyed into this Host.
+     * @param vm the created or destroyed VM
+     */
+    private static void updatePlacementConstraints(final Vm vm) {
+        for (final VmPlacementConstraint constraint : vm.getPlacementConstraints()) {
+            constraint.update(vm);
+        }
+    }
+
+    /**
+     * Updates the index of the placement constraints of a VM, after it starts or finishes migrating into a Host.
+     * @param vm the migrating VM
+     * @param targetHost the Host the VM is migrating into, or {@link Host#NULL} if the migration has finished
+     */
+    private static void updatePlacementConstraintsMigrationTarget(final Vm vm, final Host targetHost) {
+        for (final VmPlacementConstraint constraint : vm.getPlacementConstraints()) {
+            constraint.updateMigrationTarget(vm, targetHost);
+        }
+    }
+
+    /**
+     * Notifies the {@link HostCapacityIndex} this Host belongs to (if any) that it must be re-indexed,
+     * after its number of free PEs, available MIPS or active/failed state has changed.
+     * It's called internally when such attributes change,
+     * therefore it usually doesn't need to be called by researchers.
+     */
+    public final void updateCapacityIndex() {
+        if (capacityIndex != null) {
+            capacityIndex.update(this);
+        }
+    }
+
+    private void updatePeStatus(final int peIndex, final Pe.Status newStatus) {
+        final Pe pe = peList.get(peIndex);
         if (pe.getStatus() != newStatus) {
+            peStatusBitsets.get(pe.getStatus()).clear(peIndex);
+            peStatusBitsets.get(newStatus).set(peIndex);
             updatePeStatusCount(pe.getStatus(), false);
             updatePeStatusCount(newStatus, true);
             pe.setStatus(newStatus);
@@ -935,6 +1076,7 @@ public non-sealed abstract class HostAbstract extends ExecDelayableAbstract impl
         }
 
         if (allocateResourcesForVm(vm, true).fully()) {
+            updatePlacementConstraintsMigrationTarget(vm, this);
             ((VmSimple) vm).updateMigrationStartListeners(this);
 
             updateProcessing(simulation.clock());
@@ -951,6 +1093,23 @@ public non-sealed abstract class HostAbstract extends ExecDelayableAbstract impl
         vmsMigratingIn.remove(vm);
         vmList.remove(vm);
         vm.setInMigration(false);
+        updatePlacementConstraintsMigrationTarget(vm, Host.NULL);
+        invalidateVmSchedulerAllocatedMips();
+    }
+
+    /**
+     * Cancels the migration of a VM into this Host, releasing the resources reserved for it.
+     * The VM keeps running into its current Host.
+     * @param vm the VM migrating into this Host
+     */
+    public void cancelMigratingInVm(@NonNull final Vm vm) {
+        if (!vmsMigratingIn.contains(vm)) {
+            return;
+        }
+
+        removeMigratingInVm(vm);
+        releaseResourcesOfVm(vm);
+        vm.getHost().removeVmMigratingOut(vm);
     }
 
     @Override
@@ -960,14 +1119,27 @@ public non-sealed abstract class HostAbstract extends ExecDelayableAbstract impl
 
     @Override
     public boolean addVmMigratingOut(@NonNull final Vm vm) {
+        invalidateVmSchedulerAllocatedMips();
         return this.vmsMigratingOut.add(vm);
     }
 
     @Override
     public boolean removeVmMigratingOut(@NonNull final Vm vm) {
+        invalidateVmSchedulerAllocatedMips();
         return this.vmsMigratingOut.remove(vm);
     }
 
+    /**
+     * Notifies the {@link #getVmScheduler() VmScheduler} that the VMs placed into
+     * or migrating into/out of this Host have changed, so that the total
+     * MIPS allocated to VMs is computed again when requested.
+     */
+    private void invalidateVmSchedulerAllocatedMips() {
+        if (vmScheduler instanceof VmSchedulerAbstract scheduler) {
+            scheduler.invalidateTotalAllocatedMips();
+        }
+    }
+
     @Override
     public final void setDatacenter(@NonNull final Datacenter datacenter) {
         if (!Datacenter.NULL.equals(this.datacenter)) {
@@ -1017,21 +1189,42 @@ public non-sealed abstract class HostAbstract extends ExecDelayableAbstract impl
 
     @Override
     public List<Pe> getWorkingPeList() {
-        return getFilteredPeList(Pe::isWorking);
+        if (failedPesNumber == 0) {
+            return new ArrayList<>(peList);
+        }
+
+        final BitSet failedPes = peStatusBitsets.get(Pe.Status.FAILED);
+        final var workingPeList = new ArrayList<Pe>(workingPesNumber);
+        for (int i = failedPes.nextClearBit(0); i < peList.size(); i = failedPes.nextClearBit(i + 1)) {
+            workingPeList.add(peList.get(i));
+        }
+
+        return workingPeList;
     }
 
     @Override
     public List<Pe> getBusyPeList() {
-        return getFilteredPeList(Pe::isBusy);
+        return getFilteredPeList(Pe.Status.BUSY);
     }
 
     @Override
     public List<Pe> getFreePeList() {
-        return getFilteredPeList(Pe::isFree);
+        return getFilteredPeList(Pe.Status.FREE);
     }
 
-    private List<Pe> getFilteredPeList(final Predicate<Pe> status) {
-        return peList.stream().filter(status).collect(toList());
+    /**
+     * {@return a new list of PEs in a given status}
+     * PEs are got from the {@link #peStatusBitsets} instead of checking the status of every PE.
+     * @param status the status of the PEs to get
+     */
+    private List<Pe> getFilteredPeList(final Pe.Status status) {
+        final BitSet bitset = peStatusBitsets.get(status);
+        final var filteredPeList = new ArrayList<Pe>(bitset.cardinality());
+        for (int i = bitset.nextSetBit(0); i >= 0; i = bitset.nextSetBit(i + 1)) {
+            filteredPeList.add(peList.get(i));
+        }
+
+        return filteredPeList;
     }
 
     @Override
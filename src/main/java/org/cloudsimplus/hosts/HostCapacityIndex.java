@@ -0,0 +1,385 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.hosts;
+
+import lombok.NonNull;
+import org.cloudsimplus.allocationpolicies.VmAllocationPolicy;
+import org.cloudsimplus.schedulers.vm.VmSchedulerSpaceShared;
+import org.cloudsimplus.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/// A multi-level bucket index of [Host]s, which enables a [VmAllocationPolicy]
+/// to find a suitable Host for a [Vm] without checking every Host.
+/// Hosts are indexed by:
+/// 1. their active state;
+/// 2. their number of free PEs (using a sorted map);
+/// 3. their position in the Host list given to create the index.
+///
+/// Hosts which cannot place any VM (failed Hosts or Hosts with no available MIPS)
+/// are left out of the index until they have some capacity again.
+/// Buckets are visited in the order of free PEs, so that best-fit and worst-fit queries
+/// get Hosts in the same order as sorting them by that number.
+/// Hosts from such buckets are checked linearly with [Host#isSuitableForVm(Vm)],
+/// until one having enough of the other resources (such as MIPS, RAM or bandwidth) is found.
+///
+/// When all indexed Hosts use a [VmSchedulerSpaceShared], which requires the PEs of a VM
+/// to be free, such queries seek (in logarithmic time) to the first bucket of Hosts
+/// having at least the number of PEs required by the VM, skipping all Hosts with fewer free PEs.
+/// Therefore, a query is only as fast as a seek when the number of free PEs is the bottleneck.
+/// Other schedulers (such as the [VmSchedulerTimeShared]) may place a VM into PEs already
+/// used by other VMs, as long as there are enough available MIPS.
+/// In such a case, no bucket is skipped.
+/// First-fit queries just skip Hosts that cannot place any VM.
+///
+/// A [HostAbstract] notifies the index whenever its number of free PEs,
+/// available MIPS or active/failed state changes.
+/// Changed Hosts are then incrementally re-indexed at the next query.
+/// Queries may be performed concurrently, as long as Hosts are not changing meanwhile.
+/// A Host belongs to at most one index at a time (the last one it was added to).
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+public final class HostCapacityIndex {
+    /** The indexed Hosts, where the position of each one is its index in this list. */
+    private final List<Host> hostList;
+
+    /** The position of each Host inside the {@link #hostList}. */
+    private final Map<Host, Integer> positions;
+
+    /**
+     * Indexed positions of active Hosts, grouped by their number of free PEs
+     * (according to the value stored in {@link #indexedFreePes}).
+     */
+    private final NavigableMap<Long, NavigableSet<Integer>> activeBuckets;
+
+    /** @see #activeBuckets */
+    private final NavigableMap<Long, NavigableSet<Integer>> inactiveBuckets;
+
+    /** All indexed positions (either active or inactive Hosts), used for first-fit queries. */
+    private final NavigableSet<Integer> indexedPositions;
+
+    /** The number of free PEs of each indexed Host when it was last updated into the index. */
+    private final long[] indexedFreePes;
+
+    /** The active state of each indexed Host when it was last updated into the index. */
+    private final boolean[] indexedActive;
+
+    /**
+     * Indicates if the VmScheduler of each indexed Host requires the PEs of a VM to be free,
+     * when the Host was last updated into the index.
+     * @see #isFreePesRequired(Host)
+     */
+    private final boolean[] indexedFreePesRequired;
+
+    /**
+     * The number of indexed Hosts whose VmScheduler doesn't require the PEs of a VM to be free.
+     * When there is any such Host, queries cannot skip buckets with fewer free PEs than required by a VM.
+     */
+    private int freePesNotRequiredHosts;
+
+    /**
+     * Positions of Hosts whose capacity or state has changed since they were last indexed.
+     * Such Hosts are just re-indexed at the next query, since a Host may change multiple times
+     * while a VM is being placed/removed and its available MIPS are just consistent after that.
+     */
+    private final List<Integer> changedPositions;
+
+    /** @see #changedPositions */
+    private final boolean[] changed;
+
+    /**
+     * A lock that enables queries to iterate over the index concurrently,
+     * while re-indexing changed Hosts requires exclusive access.
+     */
+    private final ReadWriteLock lock;
+
+    /**
+     * Creates an index for a list of Hosts.
+     * @param hostList the list of Hosts to index
+     */
+    public HostCapacityIndex(@NonNull final List<? extends Host> hostList) {
+        this.hostList = List.copyOf(hostList);
+        this.positions = new IdentityHashMap<>(hostList.size());
+        this.activeBuckets = new TreeMap<>();
+        this.inactiveBuckets = new TreeMap<>();
+        this.indexedPositions = new TreeSet<>();
+        this.indexedFreePes = new long[hostList.size()];
+        this.indexedActive = new boolean[hostList.size()];
+        this.indexedFreePesRequired = new boolean[hostList.size()];
+        this.changedPositions = new ArrayList<>();
+        this.changed = new boolean[hostList.size()];
+        this.lock = new ReentrantReadWriteLock();
+
+        for (int i = 0; i < this.hostList.size(); i++) {
+            final Host host = this.hostList.get(i);
+            positions.put(host, i);
+            if (host instanceof HostAbstract hostAbstract) {
+                hostAbstract.setCapacityIndex(this);
+            }
+
+            reindex(i, host);
+        }
+    }
+
+    /**
+     * Notifies that the number of free PEs, available MIPS or active/failed state of a Host has changed,
+     * so that it must be re-indexed before the next query.
+     * @param host the changed Host
+     */
+    void update(final Host host) {
+        final Integer position = positions.get(host);
+        if (position == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (!changed[position]) {
+                changed[position] = true;
+                changedPositions.add(position);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Performs a query after re-indexing all Hosts which have changed since the last query.
+     * Since re-indexing is the only change performed by queries, it holds the write lock,
+     * which is then downgraded to a read lock, so that other queries can run concurrently.
+     * @param query the query to perform
+     * @return the query result
+     */
+    private <T> T query(final Supplier<T> query) {
+        lock.writeLock().lock();
+        try {
+            reindexChangedHosts();
+            lock.readLock().lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Re-indexes all Hosts which have changed since the last query.
+     */
+    private void reindexChangedHosts() {
+        for (final int position : changedPositions) {
+            changed[position] = false;
+            reindex(position, hostList.get(position));
+        }
+
+        changedPositions.clear();
+    }
+
+    /**
+     * Updates the position of a Host inside the index.
+     * @param position the Host position in the indexed list
+     * @param host the Host to update
+     */
+    private void reindex(final int position, final Host host) {
+        final boolean wasIndexed = indexedPositions.contains(position);
+        final boolean indexable = !host.isFailed() && host.getVmScheduler().getTotalAvailableMips() > 0;
+        if (wasIndexed && indexable &&
+            indexedFreePes[position] == host.getFreePesNumber() && indexedActive[position] == host.isActive() &&
+            indexedFreePesRequired[position] == isFreePesRequired(host))
+        {
+            return;
+        }
+
+        if (wasIndexed) {
+            remove(position);
+        }
+
+        if (indexable) {
+            add(position, host);
+        }
+    }
+
+    private void add(final int position, final Host host) {
+        indexedFreePes[position] = host.getFreePesNumber();
+        indexedActive[position] = host.isActive();
+        indexedFreePesRequired[position] = isFreePesRequired(host);
+        if (!indexedFreePesRequired[position]) {
+            freePesNotRequiredHosts++;
+        }
+
+        getBuckets(indexedActive[position])
+            .computeIfAbsent(indexedFreePes[position], freePes -> new TreeSet<>())
+            .add(position);
+        indexedPositions.add(position);
+    }
+
+    private void remove(final int position) {
+        final var buckets = getBuckets(indexedActive[position]);
+        final var bucket = buckets.get(indexedFreePes[position]);
+        bucket.remove(position);
+        if (bucket.isEmpty()) {
+            buckets.remove(indexedFreePes[position]);
+        }
+
+        if (!indexedFreePesRequired[position]) {
+            freePesNotRequiredHosts--;
+        }
+
+        indexedPositions.remove(position);
+    }
+
+    /**
+     * {@return true if the VmScheduler of a Host just places VMs into free PEs, false otherwise}
+     * @param host the Host to check
+     */
+    private static boolean isFreePesRequired(final Host host) {
+        return host.getVmScheduler() instanceof VmSchedulerSpaceShared;
+    }
+
+    /**
+     * {@return the minimum number of free PEs a Host must have to be able to place a VM}
+     * It's just the number of PEs of the VM when all indexed Hosts {@link #isFreePesRequired(Host) require free PEs}.
+     * Otherwise, it's zero, since a Host without free PEs may place the VM.
+     * @param vm the VM to get the minimum number of free PEs for
+     */
+    private long getMinFreePes(final Vm vm) {
+        return freePesNotRequiredHosts == 0 ? vm.getPesNumber() : 0;
+    }
+
+    private NavigableMap<Long, NavigableSet<Integer>> getBuckets(final boolean active) {
+        return active ? activeBuckets : inactiveBuckets;
+    }
+
+    /**
+     * Finds the suitable Host for a VM having the fewest free PEs, giving priority to active Hosts.
+     * Ties are broken by the Host position in the indexed list.
+     * @param vm the VM to find a Host for
+     * @return an {@link Optional} containing the Host found or an empty {@link Optional} otherwise
+     */
+    public Optional<Host> findBestFit(final Vm vm) {
+        return query(() -> {
+            final long pes = getMinFreePes(vm);
+            return findSuitableHostInBuckets(vm, activeBuckets.tailMap(pes, true).values())
+                .or(() -> findSuitableHostInBuckets(vm, inactiveBuckets.tailMap(pes, true).values()));
+        });
+    }
+
+    /**
+     * Finds the suitable Host for a VM having the most free PEs, giving priority to active Hosts.
+     * Ties are broken by the Host position in the indexed list.
+     * @param vm the VM to find a Host for
+     * @return an {@link Optional} containing the Host found or an empty {@link Optional} otherwise
+     */
+    public Optional<Host> findWorstFit(final Vm vm) {
+        return query(() -> {
+            final long pes = getMinFreePes(vm);
+            return findSuitableHostInBuckets(vm, activeBuckets.tailMap(pes, true).descendingMap().values())
+                .or(() -> findSuitableHostInBuckets(vm, inactiveBuckets.tailMap(pes, true).descendingMap().values()));
+        });
+    }
+
+    /**
+     * Finds the first suitable Host for a VM, starting from a given position
+     * in the indexed list and wrapping around to the beginning of that list.
+     * @param vm the VM to find a Host for
+     * @param startPosition the position of the first Host to check
+     * @return an {@link Optional} containing the Host found or an empty {@link Optional} otherwise
+     */
+    public Optional<Host> findFirstFit(final Vm vm, final int startPosition) {
+        return query(() ->
+            findSuitableHost(vm, indexedPositions.tailSet(startPosition, true))
+                .or(() -> findSuitableHost(vm, indexedPositions.headSet(startPosition, false))));
+    }
+
+    /**
+     * Checks if some indexed Host may place a VM, according to its number of free PEs.
+     * It enables skipping the entire index when no Host has enough free PEs for the VM.
+     * If some Host {@link #isFreePesRequired(Host) doesn't require free PEs}, it just checks if some Host is indexed.
+     * @param vm the VM to check
+     * @return true if some indexed Host may place the VM, false if none of them can
+     */
+    public boolean mayPlace(final Vm vm) {
+        return query(() -> {
+            final long maxActive = activeBuckets.isEmpty() ? -1 : activeBuckets.lastKey();
+            final long maxInactive = inactiveBuckets.isEmpty() ? -1 : inactiveBuckets.lastKey();
+            return Math.max(maxActive, maxInactive) >= getMinFreePes(vm);
+        });
+    }
+
+    private Optional<Host> findSuitableHostInBuckets(final Vm vm, final Collection<NavigableSet<Integer>> buckets) {
+        for (final var bucket : buckets) {
+            final var optionalHost = findSuitableHost(vm, bucket);
+            if (optionalHost.isPresent()) {
+                return optionalHost;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private Optional<Host> findSuitableHost(final Vm vm, final NavigableSet<Integer> positions) {
+        for (final int position : positions) {
+            final Host host = hostList.get(position);
+            if (host.isSuitableForVm(vm)) {
+                return Optional.of(host);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * {@return the position of a Host in the indexed list, or -1 if the Host is not in the index}
+     * @param host the Host to get its position
+     */
+    public int getPosition(final Host host) {
+        return positions.getOrDefault(host, -1);
+    }
+
+    /**
+     * {@return the number of Hosts in the index} Failed Hosts and those without available MIPS are also included.
+     */
+    public int size() {
+        return hostList.size();
+    }
+
+    /**
+     * Checks if the index was created for a given Host list.
+     * Since Hosts are usually just added to the end of a Datacenter Host list,
+     * it just checks the list size and the last Host, avoiding iterating over the entire list.
+     * @param hostList the list to check
+     * @return true if the index was created for the given list, false otherwise
+     */
+    public boolean isIndexing(final List<? extends Host> hostList) {
+        return hostList.size() == size() && (hostList.isEmpty() || hostList.get(size() - 1) == this.hostList.get(size() - 1));
+    }
+}
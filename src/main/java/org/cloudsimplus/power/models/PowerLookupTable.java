@@ -0,0 +1,163 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.power.models;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.cloudsimplus.util.MathUtil;
+
+/// A table with the power consumption (in Watts) of a [PowerModelHost] precomputed
+/// for equally spaced CPU utilization percentages, so that the power for any utilization
+/// is got in constant time, by linear interpolation between the two closest entries.
+///
+/// The table starts with a given resolution (number of intervals between 0% and 100% of utilization)
+/// and is refined (doubling the resolution) until the interpolation error at the middle
+/// of every interval is within a given bound. If the bound isn't met at the [#MAX_RESOLUTION],
+/// the table isn't created. The achieved error is available by [#getMaxError()].
+///
+/// A [PowerModelHostSpec] is piecewise constant (it gets the power of the spec entry closest to a utilization),
+/// so linear interpolation can't represent it within a small error, whatever the resolution.
+/// Its table just stores the power specs and gets the closest entry (as the model does), being exact.
+///
+/// Since a table doesn't depend on any Host, it can (and should) be shared by the
+/// [PowerModelHostLookup] of all Hosts with the same power model specification,
+/// avoiding computing and storing the same table for each Host.
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+public final class PowerLookupTable {
+    /**
+     * The maximum number of intervals a table is refined to, in order to meet the error bound.
+     */
+    public static final int MAX_RESOLUTION = 1 << 16;
+
+    /**
+     * The power (in Watts) for each utilization percentage {@code i / resolution}, where {@code i} is the array index.
+     */
+    private final double[] power;
+
+    /**
+     * The number of intervals between 0% and 100% of CPU utilization.
+     */
+    @Getter
+    private final int resolution;
+
+    /**
+     * The maximum error (in Watts) found between the table and the source power model.
+     */
+    @Getter
+    private final double maxError;
+
+    /**
+     * Indicates if the power is got from the table entry closest to a utilization,
+     * instead of interpolated between the two closest entries.
+     * It's used for piecewise-constant power models.
+     */
+    private final boolean nearestEntry;
+
+    /**
+     * Creates a table for a power model.
+     * @param model the power model to compute the table from
+     *              (which isn't required to be attached to a Host)
+     * @param resolution the initial number of intervals between 0% and 100% of CPU utilization
+     *                   (ignored for a {@link PowerModelHostSpec}, whose table has one entry for each spec)
+     * @param errorBound the maximum error (in Watts) accepted between the table and the power model
+     * @throws IllegalArgumentException if the error bound isn't met at the {@link #MAX_RESOLUTION}
+     */
+    public PowerLookupTable(@NonNull final PowerModelHost model, final int resolution, final double errorBound) {
+        if (resolution < 1) {
+            throw new IllegalArgumentException("resolution must be at least 1.");
+        }
+        MathUtil.nonNegative(errorBound, "errorBound");
+
+        if (model instanceof PowerModelHostSpec spec) {
+            this.power = spec.getPowerSpecs().clone();
+            this.resolution = power.length - 1;
+            this.maxError = 0;
+            this.nearestEntry = true;
+            return;
+        }
+
+        int currentResolution = resolution;
+        double[] currentPower = computePower(model, currentResolution);
+        double currentError = computeMaxError(model, currentPower);
+        while (currentError > errorBound && currentResolution < MAX_RESOLUTION) {
+            currentResolution = Math.min(currentResolution * 2, MAX_RESOLUTION);
+            currentPower = computePower(model, currentResolution);
+            currentError = computeMaxError(model, currentPower);
+        }
+
+        if (currentError > errorBound) {
+            final var msg = "The power model cannot be interpolated within an error of %s W. The error with %d intervals is %s W."
+                .formatted(errorBound, currentResolution, currentError);
+            throw new IllegalArgumentException(msg);
+        }
+
+        this.resolution = currentResolution;
+        this.power = currentPower;
+        this.maxError = currentError;
+        this.nearestEntry = false;
+    }
+
+    private static double[] computePower(final PowerModelHost model, final int resolution) {
+        final double[] power = new double[resolution + 1];
+        for (int i = 0; i <= resolution; i++) {
+            power[i] = model.getPower(i / (double) resolution);
+        }
+
+        return power;
+    }
+
+    /**
+     * {@return the maximum error between the interpolated power and the power model} It's computed at the middle of each interval.
+     * @param model the power model the table was computed from
+     * @param power the table
+     */
+    private static double computeMaxError(final PowerModelHost model, final double[] power) {
+        final int resolution = power.length - 1;
+        double maxError = 0;
+        for (int i = 0; i < resolution; i++) {
+            final double interpolated = (power[i] + power[i + 1]) / 2;
+            maxError = Math.max(maxError, Math.abs(model.getPower((i + 0.5) / resolution) - interpolated));
+        }
+
+        return maxError;
+    }
+
+    /**
+     * Gets the power consumption for a given CPU utilization, interpolated from the table
+     * (or got from the closest entry, for a piecewise-constant power model).
+     * @param utilizationFraction the utilization percentage (between [0 and 1]) of the host.
+     * @return the power supply in Watts (W)
+     */
+    public double getPower(final double utilizationFraction) {
+        final double position = utilizationFraction * resolution;
+        if (nearestEntry) {
+            return power[(int) Math.clamp(Math.round(position), 0, resolution)];
+        }
+
+        final int index = Math.clamp((long) position, 0, resolution - 1);
+        return power[index] + (power[index + 1] - power[index]) * (position - index);
+    }
+}
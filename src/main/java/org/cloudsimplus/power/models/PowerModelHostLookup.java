@@ -0,0 +1,84 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.power.models;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.cloudsimplus.power.PowerMeasurement;
+
+/// A power model that gets the power consumption of a Host from a [PowerLookupTable],
+/// in constant time, instead of computing it from a possibly more expensive power model.
+/// That speeds up power-aware VM placement, which gets the power consumption
+/// of every candidate Host for each VM.
+///
+/// The same table is expected to be shared by all Hosts with the same power model,
+/// such as the one below, which interpolates a non-linear model with an error up to 0.5 W:
+///
+/// ```java
+/// final var table = new PowerLookupTable(nonLinearPowerModel, 100, 0.5);
+/// hostList.forEach(host -> host.setPowerModel(new PowerModelHostLookup(table)));
+/// ```
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+@Getter
+public class PowerModelHostLookup extends PowerModelHostAbstract {
+    /**
+     * The table which the power consumption is got from.
+     */
+    private final PowerLookupTable table;
+
+    /**
+     * Instantiates a {@link PowerModelHostLookup} that gets the power consumption from a given table.
+     * @param table the table to get the power consumption from
+     */
+    public PowerModelHostLookup(@NonNull final PowerLookupTable table) {
+        super();
+        this.table = table;
+    }
+
+    /**
+     * {@inheritDoc}
+     * An inactive Host doesn't consume power.
+     * The Host CPU utilization is clamped to [0, 1], so that the power isn't extrapolated from the table
+     * when the utilization slightly exceeds the Host capacity due to rounding errors.
+     * @return {@inheritDoc}
+     */
+    @Override
+    public PowerMeasurement getPowerMeasurement() {
+        final var host = getHost();
+        if(!host.isActive()){
+            return new PowerMeasurement();
+        }
+
+        final double staticPower = table.getPower(0);
+        final double usageFraction = Math.clamp(host.getCpuMipsUtilization() / host.getTotalMipsCapacity(), 0.0, 1.0);
+        return new PowerMeasurement(staticPower, table.getPower(usageFraction) - staticPower);
+    }
+
+    @Override
+    protected double getPowerInternal(final double utilizationFraction) {
+        return table.getPower(utilizationFraction);
+    }
+}
@@ -70,16 +70,24 @@ public class PowerModelHostSpec extends PowerModelHostAbstract {
     @Override
     public PowerMeasurement getPowerMeasurement() {
         final double utilizationFraction = getHost().getCpuMipsUtilization() / getHost().getTotalMipsCapacity();
-        final int utilizationIndex = (int) Math.round(utilizationFraction * powerSpecs.length);
-        final double powerUsage = powerSpecs[utilizationIndex];
+        final double powerUsage = powerSpecs[utilizationIndex(utilizationFraction)];
         final double staticPower = powerSpecs[0];
         return new PowerMeasurement(staticPower, powerUsage - staticPower);
     }
 
     @Override
     protected double getPowerInternal(final double utilizationFraction) {
-        final int utilizationIndex = (int) Math.round(utilizationFraction * powerSpecs.length);
-        return powerSpecs[utilizationIndex];
+        return powerSpecs[utilizationIndex(utilizationFraction)];
+    }
+
+    /**
+     * {@return the index of the {@link #powerSpecs} entry closest to a given CPU utilization}
+     * Since the first entry is for 0% and the last one for 100% of utilization,
+     * there are {@code length - 1} intervals between entries.
+     * @param utilizationFraction the utilization percentage (between [0 and 1]) of the host.
+     */
+    private int utilizationIndex(final double utilizationFraction) {
+        return (int) Math.round(utilizationFraction * (powerSpecs.length - 1));
     }
 
     /// Creates a PowerModelHostSpec instance reading the power consumption
@@ -290,6 +290,16 @@ public sealed interface CloudletScheduler
      */
 	void addCloudletToReturnedList(Cloudlet cloudlet);
 
+    /**
+     * Removes a finished Cloudlet, which was already returned to its {@link DatacenterBroker},
+     * from the lists of this scheduler, so that the Cloudlet object can be released
+     * (for instance, when it's archived by the broker).
+     * After that, the Cloudlet won't be in the {@link #getCloudletFinishedList() finished list} anymore.
+     * @param cloudlet the Cloudlet to be removed
+     * @see DatacenterBroker#setCloudletArchival(boolean)
+     */
+    void releaseReturnedCloudlet(Cloudlet cloudlet);
+
     /**
      * Clears the internal state of the scheduler
      */
@@ -1191,6 +1191,15 @@ public abstract non-sealed class CloudletSchedulerAbstract implements CloudletSc
         this.cloudletReturnedList.add(cloudlet);
     }
 
+    @Override
+    public void releaseReturnedCloudlet(@NonNull final Cloudlet cloudlet) {
+        /* When Cloudlets are released as soon as they return to the broker,
+         * the finished list just has the few ones whose return is still in progress. */
+        if (cloudletReturnedList.remove(cloudlet)) {
+            cloudletFinishedList.removeIf(cle -> cle.getCloudlet() == cloudlet);
+        }
+    }
+
     @Override
     public void deallocatePesFromVm(final long pesToRemove) {
         final long removedPes = currentMipsShare.remove(pesToRemove);
@@ -0,0 +1,164 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.schedulers.cloudlet;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletExecution;
+import org.cloudsimplus.schedulers.MipsShare;
+
+import java.io.Serial;
+import java.util.List;
+
+/// A [CloudletScheduler] that co-schedules groups of [Cloudlets][Cloudlet] (gangs)
+/// spread across different VMs, so that all Cloudlets from a gang run during the same time slices.
+/// The schedulers of all VMs running gang members must share the same [GangSchedulingCoordinator],
+/// which defines the gangs and the time slot that is active at each time.
+///
+/// Inside a time slot, Cloudlets run in a space-shared manner:
+/// each one uses its required PEs exclusively.
+/// When a time slice expires, running Cloudlets whose gang is not in the next active slot
+/// are preempted and moved to the waiting list, while the waiting Cloudlets
+/// of gangs in that slot start executing.
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+/// @see GangSchedulingCoordinator
+public final class CloudletSchedulerGang extends CloudletSchedulerSpaceShared {
+    @Serial
+    private static final long serialVersionUID = -3563981473853474262L;
+
+    /**
+     * The coordinator shared by the schedulers of all VMs running gang members.
+     */
+    @Getter
+    private final GangSchedulingCoordinator coordinator;
+
+    /**
+     * Creates a gang scheduler.
+     * @param coordinator the coordinator shared by the schedulers of all VMs running gang members
+     */
+    public CloudletSchedulerGang(@NonNull final GangSchedulingCoordinator coordinator) {
+        super();
+        this.coordinator = coordinator;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The returned time is limited to the time remaining for the active time slot to expire,
+     * even if the Cloudlet was added to the waiting list.
+     * This way, Cloudlets processing is updated when that slot must be switched,
+     * enabling Cloudlets in the next slot to start executing.
+     *
+     * @param cle {@inheritDoc}
+     * @param fileTransferTime {@inheritDoc}
+     * @return the Cloudlet expected finish time or the time remaining for the active time slot to expire,
+     * whichever is lower; or 0 if the Cloudlet is in the waiting list and there is no other time slot to switch to
+     */
+    @Override
+    protected double cloudletSubmitInternal(final CloudletExecution cle, final double fileTransferTime) {
+        final double currentTime = getVm().getSimulation().clock();
+        coordinator.place(cle.getCloudlet(), currentTime);
+        final double estimatedFinishTime = super.cloudletSubmitInternal(cle, fileTransferTime);
+        final double remainingTimeSlice = coordinator.getRemainingTimeSlice(currentTime);
+        if (estimatedFinishTime > 0) {
+            return Math.min(estimatedFinishTime, remainingTimeSlice);
+        }
+
+        return remainingTimeSlice == Double.MAX_VALUE ? estimatedFinishTime : remainingTimeSlice;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @param currentTime {@inheritDoc}
+     * @param mipsShare {@inheritDoc}
+     * @return the minimum between the next Cloudlet finish time
+     * and the time remaining for the active time slot to expire
+     * (or the minimum time between events, if some gang has finished and its time slot must be released)
+     */
+    @Override
+    public double updateProcessing(final double currentTime, final MipsShare mipsShare) {
+        coordinator.releaseFinishedGangs(currentTime);
+        double nextSimulationDelay = super.updateProcessing(currentTime, mipsShare);
+        if (!isEmpty()) {
+            /* Gangs finished in a previous update round may have released their time slot,
+             * activating another one whose Cloudlets can start right away. */
+            if (!getCloudletWaitingList().isEmpty()) {
+                nextSimulationDelay = Math.min(nextSimulationDelay, moveNextCloudletsFromWaitingToExecList(currentTime));
+            }
+
+            nextSimulationDelay = Math.min(nextSimulationDelay, coordinator.getRemainingTimeSlice(currentTime));
+        }
+
+        /* The time slots of gangs finished in this round are just released in the next one.
+         * It's requested right away (even if this VM is empty, since gangs from other VMs may be waiting),
+         * so that the next time slot doesn't wait for the current time slice to expire. */
+        if (coordinator.hasFinishedGangs()) {
+            nextSimulationDelay = Math.min(nextSimulationDelay, getVm().getSimulation().getMinTimeBetweenEvents());
+        }
+
+        return nextSimulationDelay;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Before moving Cloudlets of the active time slot from the waiting list,
+     * preempts the running Cloudlets that are not in that slot.
+     *
+     * @param currentTime {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected double moveNextCloudletsFromWaitingToExecList(final double currentTime) {
+        final List<CloudletExecution> preemptedCloudlets =
+            getCloudletExecList()
+                .stream()
+                .filter(cle -> !cle.getCloudlet().isFinished())
+                .filter(cle -> !coordinator.isActive(cle.getCloudlet(), currentTime))
+                .toList();
+
+        preemptedCloudlets.forEach(cle -> addCloudletToWaitingList(removeCloudletFromExecList(cle)));
+        return super.moveNextCloudletsFromWaitingToExecList(currentTime);
+    }
+
+    @Override
+    protected void cloudletFinish(final CloudletExecution cle) {
+        super.cloudletFinish(cle);
+        coordinator.finish(cle.getCloudlet(), getVm().getSimulation().clock());
+    }
+
+    /**
+     * {@inheritDoc}
+     * A Cloudlet can execute only when its gang is in the active time slot
+     * and there are enough free PEs.
+     *
+     * @param cle {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected boolean canExecuteCloudletInternal(final CloudletExecution cle) {
+        return coordinator.isActive(cle.getCloudlet(), getVm().getSimulation().clock()) && super.canExecuteCloudletInternal(cle);
+    }
+}
@@ -71,6 +71,7 @@ final class CloudletSchedulerNull implements CloudletScheduler {
     }
     @Override public long getFreePes() { return 0; }
     @Override public void addCloudletToReturnedList(Cloudlet cloudlet) {/**/}
+    @Override public void releaseReturnedCloudlet(Cloudlet cloudlet) {/**/}
     @Override public List<CloudletExecution> getCloudletFinishedList() { return Collections.emptyList(); }
     @Override public boolean isEmpty() { return false; }
     @Override public List<CloudletExecution> getCloudletWaitingList() { return Collections.emptyList(); }
@@ -0,0 +1,275 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.schedulers.cloudlet;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.network.NetworkCloudlet;
+import org.cloudsimplus.schedulers.cloudlet.OusterhoutMatrix.Gang;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/// Coordinates the [CloudletSchedulerGang] instances of a set of [Vm]s,
+/// co-scheduling groups of [Cloudlets][Cloudlet] (gangs) across those VMs.
+/// That is useful for tightly coupled parallel jobs, such as MPI-style [NetworkCloudlet]s
+/// spread across VMs, which usually progress only when all their tasks are running.
+///
+/// Gangs are placed into an [Ousterhout matrix][OusterhoutMatrix],
+/// where each row is a time slot and each column is a VM.
+/// Time slots are executed in a round-robin fashion, each one during a [#getTimeSlice()].
+/// Only the Cloudlets of gangs in the active time slot are allowed to run.
+/// A gang keeps its slot until all its Cloudlets finish,
+/// therefore the PEs used by gang members that finish earlier remain idle
+/// while stragglers are still running, exposing the throughput loss they cause.
+/// The slot of a finished gang is just released after the schedulers of all VMs
+/// are updated for the time the gang finished,
+/// so that all of them see the same time slots during such an update round.
+///
+/// Cloudlets not added to any gang are scheduled as single-member gangs.
+/// The same coordinator instance must be shared by the schedulers of all VMs running gang members.
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+/// @see CloudletSchedulerGang
+public final class GangSchedulingCoordinator {
+    /**
+     * A tolerance (in seconds) to consider a time slice has ended,
+     * avoiding floating point errors when computing the simulation clock.
+     */
+    private static final double TIME_TOLERANCE = 0.00001;
+
+    /**
+     * The amount of time (in seconds) each time slot (matrix row) executes
+     * before the next one is activated.
+     */
+    @Getter
+    private final double timeSlice;
+
+    private final OusterhoutMatrix matrix;
+
+    /**
+     * The gang of each Cloudlet.
+     * Since Cloudlet IDs (used by equals/hashCode) may be just defined when Cloudlets are submitted,
+     * they are compared by identity.
+     */
+    private final Map<Cloudlet, Gang> gangs;
+
+    /** The index of the matrix row currently allowed to execute. */
+    private int activeRowIndex;
+
+    /** The simulation time the time slice of the {@link #activeRowIndex} started. */
+    private double sliceStartTime;
+
+    /**
+     * Gangs that have finished but whose time slots are just released
+     * when the processing of VMs is updated for a time after the {@link #finishedGangsTime}.
+     */
+    private final List<Gang> finishedGangs;
+
+    /** The simulation time the {@link #finishedGangs} have finished. */
+    private double finishedGangsTime;
+
+    /**
+     * Creates a gang scheduling coordinator.
+     * @param timeSlice the amount of time (in seconds) each time slot executes
+     *                  before the next one is activated
+     */
+    public GangSchedulingCoordinator(final double timeSlice) {
+        if (timeSlice <= 0) {
+            throw new IllegalArgumentException("Time slice must be greater than zero.");
+        }
+
+        this.timeSlice = timeSlice;
+        this.matrix = new OusterhoutMatrix();
+        this.gangs = new IdentityHashMap<>();
+        this.finishedGangs = new ArrayList<>();
+    }
+
+    /**
+     * Adds a gang of Cloudlets that must be co-scheduled.
+     * The gang is placed into a time slot when its first Cloudlet is submitted to a VM,
+     * therefore all its Cloudlets must be bound to VMs by that time.
+     *
+     * @param cloudlets the Cloudlets of the gang
+     * @return this coordinator
+     * @throws IllegalStateException when some Cloudlet already belongs to a gang
+     */
+    public GangSchedulingCoordinator addGang(@NonNull final List<? extends Cloudlet> cloudlets) {
+        final var gang = new Gang(List.copyOf(cloudlets));
+        for (final Cloudlet cloudlet : cloudlets) {
+            if (gangs.putIfAbsent(cloudlet, gang) != null) {
+                throw new IllegalStateException(cloudlet + " already belongs to a gang.");
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Places the gang of a Cloudlet into a time slot, if it wasn't placed yet.
+     * @param cloudlet the Cloudlet being submitted
+     * @param time the current simulation time
+     */
+    void place(final Cloudlet cloudlet, final double time) {
+        releaseFinishedGangs(time);
+        final Gang gang = gangs.computeIfAbsent(cloudlet, key -> new Gang(List.of(key)));
+        if (gang.getRow() == null && !gang.isFinished()) {
+            updateActiveRow(time);
+            matrix.place(gang);
+        }
+    }
+
+    /**
+     * Checks if a Cloudlet is allowed to execute at a given time,
+     * i.e., if its gang is in the active time slot.
+     * @param cloudlet the Cloudlet to check
+     * @param time the current simulation time
+     * @return true if the Cloudlet can execute, false otherwise
+     */
+    boolean isActive(final Cloudlet cloudlet, final double time) {
+        final Gang gang = gangs.get(cloudlet);
+        if (gang == null || gang.getRow() == null) {
+            return false;
+        }
+
+        releaseFinishedGangs(time);
+        updateActiveRow(time);
+        return matrix.getRow(activeRowIndex) == gang.getRow();
+    }
+
+    /**
+     * Notifies that a Cloudlet has finished.
+     * When all gang members have finished, the time slot of the gang
+     * is just released when the processing of VMs is updated for a later time
+     * (see {@link #releaseFinishedGangs(double)}).
+     * This way, gang members on other VMs being updated at the same time
+     * see the same time slots.
+     * @param cloudlet the finished Cloudlet
+     * @param time the current simulation time
+     */
+    void finish(final Cloudlet cloudlet, final double time) {
+        releaseFinishedGangs(time);
+        final Gang gang = gangs.get(cloudlet);
+        if (gang == null || !gang.isFinished() || finishedGangs.contains(gang)) {
+            return;
+        }
+
+        finishedGangs.add(gang);
+        finishedGangsTime = time;
+    }
+
+    /**
+     * @return true if some gangs have finished but their time slots were not released yet, false otherwise
+     */
+    boolean hasFinishedGangs() {
+        return !finishedGangs.isEmpty();
+    }
+
+    /**
+     * Releases the time slots of the gangs that finished before a given time,
+     * which means the update round at the time such gangs finished is over.
+     * @param time the current simulation time
+     */
+    void releaseFinishedGangs(final double time) {
+        if (finishedGangs.isEmpty() || time <= finishedGangsTime) {
+            return;
+        }
+
+        for (final Gang gang : finishedGangs) {
+            release(gang);
+        }
+
+        finishedGangs.clear();
+    }
+
+    /**
+     * Releases the time slot of a finished gang.
+     * @param gang the gang to release
+     */
+    private void release(final Gang gang) {
+        gang.getCloudlets().forEach(gangs::remove);
+        final int removedRowIndex = matrix.remove(gang);
+        if (removedRowIndex < 0) {
+            return;
+        }
+
+        if (removedRowIndex < activeRowIndex) {
+            activeRowIndex--;
+        } else if (removedRowIndex == activeRowIndex) {
+            // The next time slot starts from the time the gang finished, with an entire time slice
+            activeRowIndex = matrix.getRowsNumber() == 0 ? 0 : activeRowIndex % matrix.getRowsNumber();
+            sliceStartTime = finishedGangsTime;
+        }
+    }
+
+    /**
+     * Gets the time remaining for the active time slot to be switched.
+     * @param time the current simulation time
+     * @return the remaining time (in seconds) or {@link Double#MAX_VALUE}
+     * if there is at most one time slot (so that no switch is required)
+     */
+    double getRemainingTimeSlice(final double time) {
+        releaseFinishedGangs(time);
+        updateActiveRow(time);
+        if (matrix.getRowsNumber() <= 1) {
+            return Double.MAX_VALUE;
+        }
+
+        return sliceStartTime + timeSlice - time;
+    }
+
+    /**
+     * Activates the time slot that must be executing at a given time.
+     * Since the active slot depends only on the time,
+     * all schedulers get the same active slot at the same time,
+     * regardless of the order they are updated.
+     * @param time the current simulation time
+     */
+    private void updateActiveRow(final double time) {
+        final int rows = matrix.getRowsNumber();
+        if (rows <= 1) {
+            activeRowIndex = 0;
+            sliceStartTime = time;
+            return;
+        }
+
+        final long elapsedSlices = (long) ((time - sliceStartTime + TIME_TOLERANCE) / timeSlice);
+        if (elapsedSlices > 0) {
+            activeRowIndex = (int) ((activeRowIndex + elapsedSlices) % rows);
+            sliceStartTime += elapsedSlices * timeSlice;
+        }
+    }
+
+    /**
+     * @return the number of time slots (rows in the Ousterhout matrix) currently in use
+     */
+    public int getTimeSlotsNumber() {
+        return matrix.getRowsNumber();
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.schedulers.cloudlet;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/// An [Ousterhout matrix](https://doi.org/10.1109/ICDCS.1982.10) used for gang scheduling,
+/// where each row is a time slot and each column is a [Vm].
+/// Each cell stores the number of VM PEs used by the gangs placed into that time slot.
+/// All [Cloudlets][Cloudlet] from a gang are placed into the same row,
+/// so that they are executed at the same time (during the same time slice).
+///
+/// Cells are stored as a `long` array for each row, indexed by the column of each VM,
+/// so that checking if a gang fits into a row just requires
+/// reading one array position for each gang member.
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+/// @see GangSchedulingCoordinator
+final class OusterhoutMatrix {
+    /**
+     * A time slot (row) in the matrix.
+     */
+    static final class Row {
+        /** The number of PEs used by gang members in each VM column. */
+        private long[] usedPes;
+        private final List<Gang> gangs = new ArrayList<>();
+
+        private Row(final int columns) {
+            this.usedPes = new long[columns];
+        }
+
+        /**
+         * @return true if there is no gang placed in this row, false otherwise
+         */
+        boolean isEmpty() {
+            return gangs.isEmpty();
+        }
+
+        private long getUsedPes(final int column) {
+            return column < usedPes.length ? usedPes[column] : 0;
+        }
+
+        private void addUsedPes(final int column, final long pes) {
+            if (column >= usedPes.length) {
+                usedPes = Arrays.copyOf(usedPes, column + 1);
+            }
+
+            usedPes[column] += pes;
+        }
+    }
+
+    /**
+     * A group of Cloudlets that must be co-scheduled.
+     */
+    static final class Gang {
+        private final List<Cloudlet> cloudlets;
+        private Row row;
+
+        Gang(final List<Cloudlet> cloudlets) {
+            this.cloudlets = cloudlets;
+        }
+
+        /**
+         * @return the row where the gang is placed or null if it wasn't placed yet
+         */
+        Row getRow() {
+            return row;
+        }
+
+        List<Cloudlet> getCloudlets() {
+            return cloudlets;
+        }
+
+        /**
+         * @return true if all gang Cloudlets have finished (successfully or not), false otherwise
+         */
+        boolean isFinished() {
+            return cloudlets.stream().allMatch(Gang::isCloudletFinished);
+        }
+
+        private static boolean isCloudletFinished(final Cloudlet cloudlet) {
+            return switch (cloudlet.getStatus()) {
+                case SUCCESS, FAILED, CANCELED, FAILED_RESOURCE_UNAVAILABLE -> true;
+                default -> false;
+            };
+        }
+    }
+
+    /** The column index of each VM. */
+    private final Map<Vm, Integer> columns = new HashMap<>();
+    private final List<Row> rows = new ArrayList<>();
+
+    /**
+     * Places a gang into the first row having enough free PEs
+     * in the VMs of all gang members. If no row fits the gang, a new one is created.
+     * @param gang the gang to place
+     * @return the index of the row where the gang was placed
+     */
+    int place(final Gang gang) {
+        final List<Cloudlet> cloudlets = gang.getCloudlets();
+        final int[] gangColumns = new int[cloudlets.size()];
+        for (int i = 0; i < gangColumns.length; i++) {
+            gangColumns[i] = getColumn(cloudlets.get(i).getVm());
+        }
+
+        int rowIndex = 0;
+        while (rowIndex < rows.size() && !fits(rows.get(rowIndex), cloudlets, gangColumns)) {
+            rowIndex++;
+        }
+
+        if (rowIndex == rows.size()) {
+            rows.add(new Row(columns.size()));
+        }
+
+        final Row row = rows.get(rowIndex);
+        for (int i = 0; i < gangColumns.length; i++) {
+            row.addUsedPes(gangColumns[i], cloudlets.get(i).getPesNumber());
+        }
+
+        row.gangs.add(gang);
+        gang.row = row;
+        return rowIndex;
+    }
+
+    /**
+     * Checks if a gang fits into a row.
+     * The PEs required by gang members running on the same VM are accumulated.
+     *
+     * @param row the row to check
+     * @param cloudlets the gang members
+     * @param gangColumns the column of each gang member
+     * @return true if the gang fits into the row, false otherwise
+     */
+    private boolean fits(final Row row, final List<Cloudlet> cloudlets, final int[] gangColumns) {
+        for (int i = 0; i < gangColumns.length; i++) {
+            long requiredPes = row.getUsedPes(gangColumns[i]);
+            for (int j = 0; j < gangColumns.length; j++) {
+                if (gangColumns[j] == gangColumns[i]) {
+                    requiredPes += cloudlets.get(j).getPesNumber();
+                }
+            }
+
+            if (requiredPes > cloudlets.get(i).getVm().getPesNumber()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes a gang from its row. The row is also removed if it becomes empty.
+     * @param gang the gang to remove
+     * @return the index of the row removed from the matrix or -1 if the row wasn't removed
+     */
+    int remove(final Gang gang) {
+        final Row row = gang.row;
+        if (row == null || !row.gangs.remove(gang)) {
+            return -1;
+        }
+
+        gang.row = null;
+        final List<Cloudlet> cloudlets = gang.getCloudlets();
+        for (final Cloudlet cloudlet : cloudlets) {
+            row.addUsedPes(getColumn(cloudlet.getVm()), -cloudlet.getPesNumber());
+        }
+
+        if (!row.isEmpty()) {
+            return -1;
+        }
+
+        final int index = rows.indexOf(row);
+        rows.remove(index);
+        return index;
+    }
+
+    private int getColumn(final Vm vm) {
+        return columns.computeIfAbsent(vm, key -> columns.size());
+    }
+
+    /**
+     * @param index the index of the row to get
+     * @return the row at the given index
+     */
+    Row getRow(final int index) {
+        return rows.get(index);
+    }
+
+    /**
+     * @return the number of rows (time slots) in the matrix
+     */
+    int getRowsNumber() {
+        return rows.size();
+    }
+}
@@ -6,9 +6,12 @@
  */
 package org.cloudsimplus.schedulers.vm;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostAbstract;
+import org.cloudsimplus.hosts.HostCapacityIndex;
 import org.cloudsimplus.hosts.HostSimple;
 import org.cloudsimplus.resources.Pe;
 import org.cloudsimplus.schedulers.MipsShare;
@@ -18,8 +21,6 @@ import org.cloudsimplus.vms.VmSimple;
 import java.util.List;
 import java.util.stream.Stream;
 
-import static java.util.stream.Collectors.toList;
-
 /**
  * An abstract class for implementation of {@link VmScheduler}s.
  *
@@ -33,6 +34,19 @@ public abstract non-sealed class VmSchedulerAbstract implements VmScheduler {
     private Host host;
     private final double vmMigrationCpuOverhead;
 
+    /**
+     * The total MIPS used by VMs placed into or migrating into the Host (including migration overhead),
+     * or {@link Double#NaN} if some allocation has changed since the last time it was computed.
+     * It avoids iterating over all Host VMs every time the available MIPS is requested,
+     * such as when checking if the Host is suitable for a VM or computing its CPU utilization.
+     * It's volatile since Hosts may be checked concurrently (while VMs are not being placed).
+     * In such a case, concurrent threads may just compute the same value.
+     * @see #getTotalAvailableMips()
+     * @see #invalidateTotalAllocatedMips()
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile double totalAllocatedMips;
+
     /**
      * Creates a VmScheduler, defining a CPU overhead for VM migration.
      * @param vmMigrationCpuOverhead the percentage of Host's CPU usage increase when a
@@ -45,6 +59,7 @@ public abstract non-sealed class VmSchedulerAbstract implements VmScheduler {
 
         setHost(Host.NULL);
         this.vmMigrationCpuOverhead = vmMigrationCpuOverhead;
+        this.totalAllocatedMips = Double.NaN;
     }
 
     @Override
@@ -83,7 +98,9 @@ public abstract non-sealed class VmSchedulerAbstract implements VmScheduler {
         }
 
         ((VmSimple)vm).setRequestedMips(new MipsShare(requestedMips));
-        if(allocatePesForVmInternal(vm, requestedMips)) {
+        final boolean allocated = allocatePesForVmInternal(vm, requestedMips);
+        invalidateTotalAllocatedMips();
+        if(allocated) {
             updateHostPesStatusToBusy(vm);
             return true;
         }
@@ -97,22 +114,17 @@ public abstract non-sealed class VmSchedulerAbstract implements VmScheduler {
      * @param vm the VM to set the status of its used physical PEs
      * */
     private void updateHostPesStatusToBusy(final Vm vm) {
-        updateHostPesStatus(host.getFreePeList(), vm.getPesNumber(), Pe.Status.BUSY);
+        updateHostPesStatus(Pe.Status.FREE, vm.getPesNumber(), Pe.Status.BUSY);
     }
 
     /**
      * Sets the status of physical PEs from a Host used by a given VM.
-     * @param peList the list of physical PEs from which the corresponding virtual PEs will have the status changed
+     * @param currentStatus the current status of the physical PEs to have the status changed
      * @param vPesNumber the number of Virtual PEs that correspond to the number of physical PEs to have their status changed
      * @param newStatus the new status to set
      */
-    private void updateHostPesStatus(final List<Pe> peList, final long vPesNumber, final Pe.Status newStatus) {
-        if(vPesNumber <= 0) {
-            return;
-        }
-
-        final var selectedPesList = peList.stream().limit(vPesNumber).collect(toList());
-        ((HostSimple)host).setPeStatus(selectedPesList, newStatus);
+    private void updateHostPesStatus(final Pe.Status currentStatus, final long vPesNumber, final Pe.Status newStatus) {
+        ((HostSimple)host).setPeStatus(currentStatus, vPesNumber, newStatus);
     }
 
     protected abstract boolean allocatePesForVmInternal(Vm vm, MipsShare mipsShareRequested);
@@ -129,6 +141,7 @@ public abstract non-sealed class VmSchedulerAbstract implements VmScheduler {
         }
 
         final long removedPes = deallocatePesFromVmInternal(vm, pesToRemove);
+        invalidateTotalAllocatedMips();
         updateHostUsedPesToFree(removedPes);
     }
 
@@ -138,7 +151,7 @@ public abstract non-sealed class VmSchedulerAbstract implements VmScheduler {
      * @param removedPes number of PEs actually removed from the destroyed VM
      */
     private void updateHostUsedPesToFree(final long removedPes) {
-        updateHostPesStatus(host.getBusyPeList(), removedPes, Pe.Status.FREE);
+        updateHostPesStatus(Pe.Status.BUSY, removedPes, Pe.Status.FREE);
     }
 
     /**
@@ -194,7 +207,8 @@ public abstract non-sealed class VmSchedulerAbstract implements VmScheduler {
      *       heterogeneous PEs.
      */
     public long getPeCapacity() {
-        return getWorkingPeList().isEmpty() ? 0 : getWorkingPeList().get(0).getCapacity();
+        final List<Pe> workingPeList = getWorkingPeList();
+        return workingPeList.isEmpty() ? 0 : workingPeList.get(0).getCapacity();
     }
 
     /**
@@ -209,16 +223,41 @@ public abstract non-sealed class VmSchedulerAbstract implements VmScheduler {
         return ((VmSimple)vm).getRequestedMips();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The total MIPS used by VMs is just computed again after some
+     * VM allocation has changed. Otherwise, a previously computed value is used.</p>
+     *
+     * @return {@inheritDoc}
+     */
     @Override
     public double getTotalAvailableMips() {
-        final var vmStream = Stream.concat(host.getVmList().stream(), host.getVmsMigratingIn().stream());
-        final double allocatedMips =
-                vmStream
-                    .map(vm -> (VmSimple)vm)
-                    .mapToDouble(this::actualVmTotalRequestedMips)
-                    .sum();
-
-        return host.getTotalMipsCapacity() - allocatedMips;
+        if (Double.isNaN(totalAllocatedMips)) {
+            final var vmStream = Stream.concat(host.getVmList().stream(), host.getVmsMigratingIn().stream());
+            totalAllocatedMips =
+                    vmStream
+                        .map(vm -> (VmSimple)vm)
+                        .mapToDouble(this::actualVmTotalRequestedMips)
+                        .sum();
+        }
+
+        return host.getTotalMipsCapacity() - totalAllocatedMips;
+    }
+
+    /**
+     * Indicates that the MIPS allocated to some VM, or the list of VMs placed into or migrating into/out of the Host,
+     * has changed. This way, the total MIPS used by VMs must be computed again
+     * the next time {@link #getTotalAvailableMips()} is called.
+     * Allocation and deallocation of PEs performed by this scheduler already call this method.
+     * It must be called by the {@link Host} when its VMs change without passing through the scheduler.
+     * Since the available MIPS may have changed, it also updates the Host inside its {@link HostCapacityIndex}.
+     */
+    public void invalidateTotalAllocatedMips() {
+        this.totalAllocatedMips = Double.NaN;
+        if (host instanceof HostAbstract hostAbstract) {
+            hostAbstract.updateCapacityIndex();
+        }
     }
 
     /**
@@ -298,6 +337,7 @@ public abstract non-sealed class VmSchedulerAbstract implements VmScheduler {
         }
 
         this.host = host;
+        invalidateTotalAllocatedMips();
         return this;
     }
 
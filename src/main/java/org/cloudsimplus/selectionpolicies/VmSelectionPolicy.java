@@ -11,6 +11,7 @@ package org.cloudsimplus.selectionpolicies;
 import org.cloudsimplus.hosts.Host;
 import org.cloudsimplus.vms.Vm;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -33,4 +34,22 @@ public interface VmSelectionPolicy {
      *         or empty Optional if there is not Vm to migrate
      */
     Optional<Vm> getVmToMigrate(Host host);
+
+    /**
+     * Gets a VM to migrate from a given Host, among a list of candidate VMs from that Host.
+     * It enables selecting VMs one by one (excluding the previously selected ones from the candidates)
+     * without actually removing them from the Host.
+     *
+     * <p>The default implementation just accepts the VM selected by {@link #getVmToMigrate(Host)}
+     * if it is in the candidate list. Implementations should override it
+     * to actually select among the candidates.</p>
+     *
+     * @param host the Host to get a Vm to migrate from
+     * @param candidateVms the VMs from the Host that can be selected
+     * @return a {@link Optional} containing the selected vm to migrate;
+     *         or empty Optional if there is not Vm to migrate
+     */
+    default Optional<Vm> getVmToMigrate(final Host host, final List<Vm> candidateVms) {
+        return getVmToMigrate(host).filter(candidateVms::contains);
+    }
 }
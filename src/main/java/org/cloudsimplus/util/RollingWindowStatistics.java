@@ -0,0 +1,336 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.util;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/// Computes statistics over the last `n` values of a series (a rolling window),
+/// updating them incrementally as each value is added, instead of
+/// recomputing them from the entire window every time.
+///
+/// Values are kept in a primitive ring buffer (in arrival order)
+/// and in a primitive sorted array (in ascending order).
+/// This way:
+/// - the [median][#median()] and [quantiles][#quantile(double)] are read in constant time;
+/// - the [Median Absolute Deviation (MAD)][#mad()] is computed in `O(log n)`,
+///   as the k-th smallest element of two sorted sequences
+///   (the deviations of values below and above the median);
+/// - the [linear regression][#slope()] of values over their position in the window
+///   (0 for the oldest one) is kept by running sums, updated in constant time.
+///   Such sums are recomputed from the window each time the ring buffer wraps around,
+///   to avoid accumulating floating-point errors in long simulations.
+///
+/// Adding a value just replaces the oldest one in the sorted array,
+/// which takes `O(log n)` comparisons plus a primitive array copy.
+///
+/// **This class is not thread-safe.**
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+/// @see MathUtil#mad(double...)
+/// @see MathUtil#iqr(double...)
+public final class RollingWindowStatistics {
+    /** The values in arrival order, where {@link #head} is the position of the oldest one. */
+    private final double[] ring;
+
+    /** The values in ascending order. */
+    private final double[] sorted;
+
+    private int head;
+
+    /**
+     * The number of values in the window.
+     */
+    @Getter
+    private int size;
+
+    /* Running sums for the linear regression, where x is the position of each value in the window. */
+    private double sumX;
+    private double sumY;
+    private double sumXY;
+    private double sumXX;
+
+    /**
+     * Creates a rolling window.
+     * @param capacity the maximum number of values in the window
+     */
+    public RollingWindowStatistics(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Rolling window capacity must be greater than 0.");
+        }
+
+        this.ring = new double[capacity];
+        this.sorted = new double[capacity];
+    }
+
+    /**
+     * {@return the maximum number of values in the window}
+     */
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * {@return true if the window has reached its capacity, false otherwise}
+     */
+    public boolean isFull() {
+        return size == ring.length;
+    }
+
+    /**
+     * Adds a value to the window, removing the oldest one if the window is full.
+     * @param value the value to add
+     */
+    public void add(final double value) {
+        if (isFull()) {
+            final double oldest = ring[head];
+            replaceSorted(oldest, value);
+            ring[head] = value;
+            head = (head + 1) % ring.length;
+            if (head == 0) {
+                recomputeRegressionSums();
+                return;
+            }
+
+            shiftRegressionSums(oldest);
+            addToRegressionSums(size - 1, value);
+            return;
+        }
+
+        insertSorted(value);
+        ring[(head + size) % ring.length] = value;
+        addToRegressionSums(size++, value);
+    }
+
+    private void addToRegressionSums(final double x, final double y) {
+        sumX += x;
+        sumY += y;
+        sumXY += x * y;
+        sumXX += x * x;
+    }
+
+    /**
+     * Removes the oldest value (at position 0) from the regression sums
+     * and moves the other values one position back.
+     * @param oldest the oldest value
+     */
+    private void shiftRegressionSums(final double oldest) {
+        sumY -= oldest;
+        final int remaining = size - 1;
+        sumXX += remaining - 2 * sumX;
+        sumXY -= sumY;
+        sumX -= remaining;
+    }
+
+    private void recomputeRegressionSums() {
+        sumX = sumY = sumXY = sumXX = 0;
+        for (int x = 0; x < size; x++) {
+            addToRegressionSums(x, ring[(head + x) % ring.length]);
+        }
+    }
+
+    /**
+     * Inserts a value into the {@link #sorted} array, when it isn't full yet.
+     * @param value the value to insert
+     */
+    private void insertSorted(final double value) {
+        final int index = insertionIndex(0, size, value);
+        System.arraycopy(sorted, index, sorted, index + 1, size - index);
+        sorted[index] = value;
+    }
+
+    /**
+     * Replaces a value in the {@link #sorted} array by another one,
+     * just shifting the values between the positions of the old and the new one.
+     * @param oldValue the value to remove
+     * @param newValue the value to insert
+     */
+    private void replaceSorted(final double oldValue, final double newValue) {
+        int index = Arrays.binarySearch(sorted, 0, size, oldValue);
+        if (newValue > oldValue) {
+            final int target = insertionIndex(index, size, newValue) - 1;
+            System.arraycopy(sorted, index + 1, sorted, index, target - index);
+            index = target;
+        } else if (newValue < oldValue) {
+            final int target = insertionIndex(0, index, newValue);
+            System.arraycopy(sorted, target, sorted, target + 1, index - target);
+            index = target;
+        }
+
+        sorted[index] = newValue;
+    }
+
+    /**
+     * {@return the position where a value must be inserted into a range of the {@link #sorted} array}
+     * @param fromIndex the first position of the range (inclusive)
+     * @param toIndex the last position of the range (exclusive)
+     * @param value the value to insert
+     */
+    private int insertionIndex(final int fromIndex, final int toIndex, final double value) {
+        final int index = Arrays.binarySearch(sorted, fromIndex, toIndex, value);
+        return index < 0 ? -(index + 1) : index;
+    }
+
+    /**
+     * {@return the median of the values in the window, or 0 if the window is empty}
+     */
+    public double median() {
+        if (size == 0) {
+            return 0;
+        }
+
+        final int middle = size / 2;
+        return size % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    /**
+     * Gets a quantile of the values in the window,
+     * using the same estimation as {@link MathUtil#iqr(double...)}
+     * (the value at the rounded position {@code p * (n + 1)}).
+     *
+     * @param p the quantile to get (between 0 and 1)
+     * @return the quantile value, or 0 if the window is empty
+     */
+    public double quantile(final double p) {
+        if (size == 0) {
+            return 0;
+        }
+
+        final int index = (int) Math.round(p * (size + 1)) - 1;
+        return sorted[Math.clamp(index, 0, size - 1)];
+    }
+
+    /**
+     * {@return the Inter-quartile Range (IQR) of the values in the window, or 0 if the window is empty}
+     * @see MathUtil#iqr(double...)
+     */
+    public double iqr() {
+        return quantile(0.75) - quantile(0.25);
+    }
+
+    /**
+     * {@return the Median Absolute Deviation (MAD) of the values in the window, or 0 if the window is empty}
+     * @see MathUtil#mad(double...)
+     */
+    public double mad() {
+        if (size == 0) {
+            return 0;
+        }
+
+        final int middle = size / 2;
+        return size % 2 == 1 ?
+                 kthSmallestDeviation(middle + 1, median()) :
+                (kthSmallestDeviation(middle, median()) + kthSmallestDeviation(middle + 1, median())) / 2;
+    }
+
+    /**
+     * Gets the k-th smallest absolute deviation from the median.
+     * The deviations of the values below the median (in descending order of value)
+     * and above it (in ascending order of value) are two ascending sequences,
+     * so that the k-th smallest deviation is found by binary search over the two sequences.
+     *
+     * @param k the position of the deviation to get (starting at 1)
+     * @param median the median of the window
+     * @return the k-th smallest deviation
+     */
+    private double kthSmallestDeviation(final int k, final double median) {
+        // First position of the upper sequence. Values before it belong to the lower sequence.
+        final int split = insertionIndex(0, size, median);
+        final int lowerSize = split;
+        final int upperSize = size - split;
+
+        // Binary search for how many deviations are taken from the lower sequence
+        int low = Math.max(0, k - upperSize);
+        int high = Math.min(k, lowerSize);
+        while (low < high) {
+            final int fromLower = (low + high) / 2;
+            final int fromUpper = k - fromLower;
+            if (lowerDeviation(split, fromLower, median) < upperDeviation(split, fromUpper - 1, median)) {
+                low = fromLower + 1;
+            } else high = fromLower;
+        }
+
+        final int fromLower = low;
+        final int fromUpper = k - fromLower;
+        final double lastLower = fromLower > 0 ? lowerDeviation(split, fromLower - 1, median) : Double.NEGATIVE_INFINITY;
+        final double lastUpper = fromUpper > 0 ? upperDeviation(split, fromUpper - 1, median) : Double.NEGATIVE_INFINITY;
+        return Math.max(lastLower, lastUpper);
+    }
+
+    /**
+     * {@return the i-th smallest deviation of the values below the median}
+     * @param split the first position of the values not below the median
+     * @param i the position in the deviation sequence (starting at 0)
+     * @param median the median of the window
+     */
+    private double lowerDeviation(final int split, final int i, final double median) {
+        return median - sorted[split - 1 - i];
+    }
+
+    /**
+     * {@return the i-th smallest deviation of the values not below the median}
+     * @param split the first position of the values not below the median
+     * @param i the position in the deviation sequence (starting at 0)
+     * @param median the median of the window
+     */
+    private double upperDeviation(final int split, final int i, final double median) {
+        return sorted[split + i] - median;
+    }
+
+    /**
+     * {@return the slope of the linear regression of the values in the window over their position,
+     * or 0 if there are less than 2 values}
+     */
+    public double slope() {
+        if (size < 2) {
+            return 0;
+        }
+
+        final double denominator = size * sumXX - sumX * sumX;
+        return denominator == 0 ? 0 : (size * sumXY - sumX * sumY) / denominator;
+    }
+
+    /**
+     * {@return the value predicted by the linear regression of the values in the window
+     * for the next value to be added, or 0 if the window is empty}
+     */
+    public double predictNext() {
+        if (size == 0) {
+            return 0;
+        }
+
+        final double slope = slope();
+        final double intercept = (sumY - slope * sumX) / size;
+        return intercept + slope * size;
+    }
+
+    /**
+     * {@return the mean of the values in the window, or 0 if the window is empty}
+     */
+    public double mean() {
+        return size == 0 ? 0 : sumY / size;
+    }
+}
@@ -8,12 +8,15 @@
 
 package org.cloudsimplus.utilizationmodels;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.cloudsimplus.core.Simulation;
 
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * An abstract class to implement {@link UtilizationModel}s.
  * @author Manoel Campos da Silva Filho
@@ -35,13 +38,55 @@ public abstract non-sealed class UtilizationModelAbstract implements Utilization
     @Setter
     private boolean overCapacityRequestAllowed;
 
+    /**
+     * Indicates if the last utilization value computed by {@link #getUtilizationInternal(double)}
+     * is cached, so that subsequent calls to {@link #getUtilization(double)} for the same time
+     * don't compute the utilization again.
+     * Cloudlet schedulers request the utilization of the same model several times
+     * at the same simulation time, which may be expensive for some models.
+     * The cache is enabled by default.
+     * @see #getUtilizationCacheHits()
+     * @see #getUtilizationCacheMisses()
+     */
+    @Setter
+    private boolean utilizationCacheEnabled;
+
+    /** @see #getUtilizationCacheHits() */
+    @Getter(AccessLevel.NONE)
+    private final LongAdder utilizationCacheHits;
+
+    /** @see #getUtilizationCacheMisses() */
+    @Getter(AccessLevel.NONE)
+    private final LongAdder utilizationCacheMisses;
+
+    /**
+     * The last utilization computed by {@link #getUtilizationInternal(double)} and the time it was computed for
+     * (or null if it was never computed or the cache was invalidated).
+     * The time and value are kept in a single immutable object,
+     * so that the cache can be read concurrently (for instance, by parallel Host searches)
+     * without ever pairing the value for a time with another time.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile CachedUtilization cachedUtilization;
+
+    /**
+     * A utilization computed for a given time.
+     * @param time the time the utilization was computed for
+     * @param utilization the computed utilization
+     */
+    private record CachedUtilization(double time, double utilization) { }
+
     public UtilizationModelAbstract(){
         this(Unit.PERCENTAGE);
     }
 
     public UtilizationModelAbstract(@NonNull final Unit unit){
         this.simulation = Simulation.NULL;
+        this.utilizationCacheEnabled = true;
+        this.utilizationCacheHits = new LongAdder();
+        this.utilizationCacheMisses = new LongAdder();
         this.setUnit(unit);
+        invalidateUtilizationCache();
     }
 
     /**
@@ -63,10 +108,80 @@ public abstract non-sealed class UtilizationModelAbstract implements Utilization
             throw new IllegalArgumentException("Time cannot be negative.");
         }
 
-        final double requested = getUtilizationInternal(time);
+        final double requested = getCachedUtilization(time);
         return unit == Unit.ABSOLUTE || overCapacityRequestAllowed ? requested : Math.min(requested, 1);
     }
 
+    /**
+     * {@return the utilization for a given time} If it was already computed
+     * for such a time and the cache is enabled, returns the cached value;
+     * otherwise, calls {@link #getUtilizationInternal(double)} and caches the result.
+     * @param time the time to get the resource usage
+     * @see #isUtilizationCacheable()
+     */
+    private double getCachedUtilization(final double time) {
+        if (!utilizationCacheEnabled || !isUtilizationCacheable()) {
+            return getUtilizationInternal(time);
+        }
+
+        final CachedUtilization cached = cachedUtilization;
+        if (cached != null && time == cached.time()) {
+            utilizationCacheHits.increment();
+            return cached.utilization();
+        }
+
+        utilizationCacheMisses.increment();
+        final double utilization = getUtilizationInternal(time);
+        cachedUtilization = new CachedUtilization(time, utilization);
+        return utilization;
+    }
+
+    /**
+     * Checks if the utilization computed for a given time can be cached,
+     * according to the current model configuration.
+     * Models returning different values for the same time
+     * (such as randomly generated utilization) must override this method to return false.
+     * @return true if the utilization can be cached, false otherwise
+     */
+    protected boolean isUtilizationCacheable() {
+        return true;
+    }
+
+    /**
+     * Clears the cached utilization, so that the next call to {@link #getUtilization(double)}
+     * computes it again. Subclasses must call this method when some attribute
+     * that changes the utilization for an already computed time is updated.
+     */
+    protected final void invalidateUtilizationCache() {
+        this.cachedUtilization = null;
+    }
+
+    /**
+     * {@return the number of times {@link #getUtilization(double)} returned
+     * the cached utilization for the requested time}
+     */
+    public long getUtilizationCacheHits() {
+        return utilizationCacheHits.sum();
+    }
+
+    /**
+     * {@return the number of times {@link #getUtilization(double)} had to
+     * compute the utilization for the requested time}
+     */
+    public long getUtilizationCacheMisses() {
+        return utilizationCacheMisses.sum();
+    }
+
+    /**
+     * {@return the percentage of calls to {@link #getUtilization(double)} that were answered from the cache}
+     * It's a value in scale from 0 to 1, or 0 if the utilization was never requested.
+     */
+    public double getUtilizationCacheHitRate() {
+        final long hits = getUtilizationCacheHits();
+        final long total = hits + getUtilizationCacheMisses();
+        return total == 0 ? 0 : hits / (double) total;
+    }
+
     protected abstract double getUtilizationInternal(double time);
 
     /**
@@ -463,5 +463,6 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
         }
 
         this.schedulingInterval = schedulingInterval;
+        invalidateUtilizationCache();
     }
 }
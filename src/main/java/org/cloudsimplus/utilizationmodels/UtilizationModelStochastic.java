@@ -208,6 +208,15 @@ public class UtilizationModelStochastic extends UtilizationModelAbstract {
         return utilization;
     }
 
+    /**
+     * {@inheritDoc}
+     * @return false if {@link #isAlwaysGenNewRandUtilization()} is enabled, true otherwise
+     */
+    @Override
+    protected boolean isUtilizationCacheable() {
+        return !alwaysGenNewRandUtilization;
+    }
+
     private Double getOrGenerateUtilization(final double time) {
         if(time > this.maxPreviousTime || alwaysGenNewRandUtilization){
             return generateUtilization(time);
@@ -74,6 +74,13 @@ public sealed interface Vm
      */
     VmGroup getGroup();
 
+    /**
+     * {@return the placement constraints (affinity and anti-affinity rules) this Vm must meet}
+     * A VM is added to a constraint when the constraint is created.
+     * @see VmPlacementConstraint
+     */
+    List<VmPlacementConstraint> getPlacementConstraints();
+
     /**
      * Adds a VM state history entry.
      *
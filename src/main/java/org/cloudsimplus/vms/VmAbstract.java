@@ -1,5 +1,6 @@
 package org.cloudsimplus.vms;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -99,6 +100,14 @@ public non-sealed abstract class VmAbstract extends CustomerEntityAbstract imple
     private VerticalVmScaling peVerticalScaling;
     private VmResourceStats cpuUtilizationStats;
 
+    /** @see #getPlacementConstraints() */
+    @Getter(AccessLevel.NONE)
+    private final List<VmPlacementConstraint> placementConstraints = new ArrayList<>(0);
+
+    /** A read-only view of {@link #placementConstraints}, to avoid creating one at every Host suitability check. */
+    @Getter(AccessLevel.NONE)
+    private final List<VmPlacementConstraint> placementConstraintsView = Collections.unmodifiableList(placementConstraints);
+
     /**
      * A copy constructor that creates a VM based on the configuration of another one.
      * The created VM will have the same MIPS capacity, number of PEs,
@@ -865,6 +874,22 @@ public non-sealed abstract class VmAbstract extends CustomerEntityAbstract imple
         return this;
     }
 
+    @Override
+    public List<VmPlacementConstraint> getPlacementConstraints() {
+        return placementConstraintsView;
+    }
+
+    /**
+     * Adds a constraint this VM is a member of.
+     * @param constraint the constraint to add
+     */
+    void addPlacementConstraint(final VmPlacementConstraint constraint) {
+        placementConstraints.add(constraint);
+        if (group != null) {
+            group.invalidatePlacementConstraints();
+        }
+    }
+
     public Vm setGroup(final VmGroup group) {
         this.group = group;
         return this;
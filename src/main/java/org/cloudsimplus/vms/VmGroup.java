@@ -53,6 +53,13 @@ public class VmGroup extends VmSimple {
     @Getter
     private final List<Vm> vmList;
 
+    /**
+     * The placement constraints of all VMs inside the group,
+     * or null if they must be collected again (since some VM had a constraint added).
+     * @see #getPlacementConstraints()
+     */
+    private List<VmPlacementConstraint> placementConstraints;
+
     /**
      * Creates a VmGroup for a List of VMs.
      * @param vmList the List of VMs to create the group
@@ -105,6 +112,28 @@ public class VmGroup extends VmSimple {
         setId(id);
     }
 
+    /**
+     * {@inheritDoc}
+     * They are the constraints of all VMs inside the group.
+     * @return {@inheritDoc}
+     */
+    @Override
+    public List<VmPlacementConstraint> getPlacementConstraints() {
+        if (placementConstraints == null) {
+            placementConstraints = vmList.stream().flatMap(vm -> vm.getPlacementConstraints().stream()).distinct().toList();
+        }
+
+        return placementConstraints;
+    }
+
+    /**
+     * Makes the {@link #getPlacementConstraints() placement constraints} of the group to be collected again,
+     * after a constraint is added to some VM inside it.
+     */
+    void invalidatePlacementConstraints() {
+        placementConstraints = null;
+    }
+
     @Override
     public double getHostCpuUtilization(final double time) {
         return vmList.stream().mapToDouble(vm -> vm.getHostCpuUtilization(time)).sum();
@@ -213,6 +213,7 @@ final class VmNull implements Vm {
     @Override public String getDescription() { return ""; }
     @Override public Vm setDescription(String description) { return this; }
     @Override public VmGroup getGroup() { return null; }
+    @Override public List<VmPlacementConstraint> getPlacementConstraints() { return List.of(); }
     @Override public double getTimeZone() { return Integer.MAX_VALUE; }
     @Override public Vm setTimeZone(double timeZone) { return this; }
     @Override public List<ResourceManageable> getResources() { return Collections.emptyList(); }
@@ -0,0 +1,434 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.vms;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.network.NetworkHost;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/// A placement constraint for a set of [Vm]s (affinity or anti-affinity rule),
+/// which restricts the [Host]s each VM can be placed into, according to where the other VMs are.
+/// Constraints are created by the static factory methods, such as [#antiAffinity(List)],
+/// and are automatically added to the [placement constraints][Vm#getPlacementConstraints()] of each VM.
+///
+/// Any Host checks the constraints of a VM before checking its resources
+/// (see [Host#isSuitableForVm(Vm)]), so that Hosts not meeting the constraints
+/// are discarded by any VmAllocationPolicy.
+/// To make such a check constant time, the constraint keeps an index of the number of VMs
+/// in each Host (and rack), which is updated by Hosts when VMs are created, destroyed or start migrating.
+/// A member VM is counted into every Host it occupies:
+/// - the Host where it's placed;
+/// - the Host it's migrating into (until the migration finishes);
+/// - the Host a VmAllocationPolicy has planned to migrate it to (while a migration map is being built).
+///
+/// A [VmGroup] cannot be a member of a constraint, but the VMs inside it can.
+/// When a VmGroup is checked, the constraints of all its VMs are checked.
+///
+/// @author Manoel Campos da Silva Filho
+/// @since CloudSim Plus 9.0.0
+public final class VmPlacementConstraint {
+    /**
+     * The types of placement constraints.
+     */
+    public enum Type {
+        /** All VMs must be placed into the same Host. */
+        SAME_HOST,
+
+        /** Each VM must be placed into a different Host. */
+        DIFFERENT_HOST,
+
+        /** All VMs must be placed into the same rack. */
+        SAME_RACK,
+
+        /**
+         * VMs must be spread across (at least) a given number of distinct Hosts
+         * (or all the VMs, if they are fewer than that number of Hosts),
+         * with at most {@code ceil(number of VMs / number of Hosts)} VMs in each Host.
+         * A VM is just placed into a Host already having other VMs if the remaining VMs
+         * can still be placed into enough distinct Hosts.
+         */
+        SPREAD
+    }
+
+    /**
+     * The Hosts a member VM is counted into.
+     * Each attribute is {@link Host#NULL} when the VM doesn't occupy a Host for that reason.
+     */
+    private static final class Occupancy {
+        /** The Host where the VM is placed. */
+        private Host host = Host.NULL;
+
+        /** The Host the VM is migrating into. */
+        private Host migrationTarget = Host.NULL;
+
+        /** The Host a VmAllocationPolicy has planned to migrate the VM to. */
+        private Host plannedTarget = Host.NULL;
+
+        private boolean isEmpty() {
+            return host == Host.NULL && migrationTarget == Host.NULL && plannedTarget == Host.NULL;
+        }
+
+        private boolean occupies(final Host host) {
+            return this.host == host || migrationTarget == host || plannedTarget == host;
+        }
+
+        /**
+         * {@return the distinct Hosts the VM is counted into}
+         */
+        private List<Host> getHosts() {
+            final var hosts = new ArrayList<Host>(3);
+            for (final Host candidate : new Host[]{host, migrationTarget, plannedTarget}) {
+                if (candidate != Host.NULL && !hosts.contains(candidate)) {
+                    hosts.add(candidate);
+                }
+            }
+
+            return hosts;
+        }
+    }
+
+    /**
+     * The type of this constraint.
+     */
+    @Getter
+    private final Type type;
+
+    /**
+     * The VMs which this constraint applies to.
+     */
+    @Getter
+    private final List<Vm> vmList;
+
+    /**
+     * The maximum number of VMs in the same Host, or {@link Integer#MAX_VALUE} if there is no such a limit.
+     */
+    private final int maxVmsPerHost;
+
+    /**
+     * The minimum number of distinct Hosts the VMs must be placed into, or 1 if there is no such a limit.
+     */
+    private final int minHosts;
+
+    /**
+     * A function that gets the rack of a Host, which is used by {@link Type#SAME_RACK} constraints.
+     */
+    private final Function<Host, Object> rackFunction;
+
+    /** The member VMs, for constant-time membership checks. */
+    private final Set<Vm> members;
+
+    /** The Hosts each member VM is counted into. Only VMs occupying some Host are included. */
+    private final Map<Vm, Occupancy> occupancies;
+
+    /** The number of member VMs counted into each Host. */
+    private final Map<Host, Integer> hostCounts;
+
+    /** The number of member VMs counted into each rack. */
+    private final Map<Object, Integer> rackCounts;
+
+    private VmPlacementConstraint(
+        final Type type, final List<? extends Vm> vmList,
+        final int maxVmsPerHost, final int minHosts, final Function<Host, Object> rackFunction)
+    {
+        this.type = type;
+        this.vmList = List.copyOf(vmList);
+        this.maxVmsPerHost = maxVmsPerHost;
+        this.minHosts = minHosts;
+        this.rackFunction = rackFunction;
+        this.members = Collections.newSetFromMap(new IdentityHashMap<>(vmList.size()));
+        this.occupancies = new IdentityHashMap<>(vmList.size());
+        this.hostCounts = new IdentityHashMap<>();
+        this.rackCounts = new HashMap<>();
+        for (final Vm vm : this.vmList) {
+            if (vm instanceof VmGroup) {
+                throw new IllegalArgumentException("A VmGroup cannot be a member of a placement constraint. Add the VMs inside it instead.");
+            }
+
+            members.add(vm);
+            ((VmAbstract) vm).addPlacementConstraint(this);
+            update(vm);
+        }
+    }
+
+    /**
+     * Creates a constraint where all given VMs must be placed into the same Host.
+     * @param vmList the VMs the constraint applies to
+     * @return the new constraint
+     */
+    public static VmPlacementConstraint affinity(@NonNull final List<? extends Vm> vmList) {
+        return new VmPlacementConstraint(Type.SAME_HOST, vmList, Integer.MAX_VALUE, 1, VmPlacementConstraint::defaultRack);
+    }
+
+    /**
+     * Creates a constraint where each given VM must be placed into a different Host.
+     * @param vmList the VMs the constraint applies to
+     * @return the new constraint
+     */
+    public static VmPlacementConstraint antiAffinity(@NonNull final List<? extends Vm> vmList) {
+        return new VmPlacementConstraint(Type.DIFFERENT_HOST, vmList, 1, 1, VmPlacementConstraint::defaultRack);
+    }
+
+    /**
+     * Creates a constraint where all given VMs must be placed into the same rack.
+     * The rack of a {@link NetworkHost} is the switch it's connected to.
+     * Any other Host is considered a rack by itself.
+     * @param vmList the VMs the constraint applies to
+     * @return the new constraint
+     * @see #rackAffinity(List, Function)
+     */
+    public static VmPlacementConstraint rackAffinity(@NonNull final List<? extends Vm> vmList) {
+        return rackAffinity(vmList, VmPlacementConstraint::defaultRack);
+    }
+
+    /**
+     * Creates a constraint where all given VMs must be placed into the same rack.
+     * @param vmList the VMs the constraint applies to
+     * @param rackFunction a function that gets the rack of a Host,
+     *                     which can be any object identifying the rack (according to its equals/hashCode methods)
+     * @return the new constraint
+     */
+    public static VmPlacementConstraint rackAffinity(
+        @NonNull final List<? extends Vm> vmList,
+        @NonNull final Function<Host, Object> rackFunction)
+    {
+        return new VmPlacementConstraint(Type.SAME_RACK, vmList, Integer.MAX_VALUE, 1, rackFunction);
+    }
+
+    /**
+     * Creates a constraint where the given VMs must be spread across (at least) a given number of distinct Hosts.
+     * @param vmList the VMs the constraint applies to
+     * @param hosts the minimum number of Hosts to spread the VMs
+     *              (if there are fewer VMs than that, each VM must be placed into a different Host)
+     * @return the new constraint
+     * @see Type#SPREAD
+     */
+    public static VmPlacementConstraint spread(@NonNull final List<? extends Vm> vmList, final int hosts) {
+        if (hosts < 1) {
+            throw new IllegalArgumentException("The number of Hosts to spread VMs must be at least 1.");
+        }
+
+        final int maxVmsPerHost = Math.max(1, (vmList.size() + hosts - 1) / hosts);
+        final int minHosts = Math.min(hosts, vmList.size());
+        return new VmPlacementConstraint(Type.SPREAD, vmList, maxVmsPerHost, minHosts, VmPlacementConstraint::defaultRack);
+    }
+
+    private static Object defaultRack(final Host host) {
+        return host instanceof NetworkHost networkHost && networkHost.getEdgeSwitch() != null ? networkHost.getEdgeSwitch() : host;
+    }
+
+    /**
+     * Updates the index of this constraint with the current placement of a member VM:
+     * the VM is counted into its Host if it's created, or removed from such a Host otherwise.
+     * It's called by Hosts when a VM is created or destroyed and has no effect
+     * if the VM placement didn't change since the last call.
+     * @param vm the VM to update
+     */
+    public void update(@NonNull final Vm vm) {
+        final Host host = vm.isCreated() ? vm.getHost() : Host.NULL;
+        final Occupancy occupancy = occupancies.get(vm);
+        if (occupancy == null ? host != Host.NULL : occupancy.host != host) {
+            change(vm, changed -> changed.host = host);
+        }
+    }
+
+    /**
+     * Updates the index of this constraint with the Host a member VM is migrating into,
+     * so that the VM is counted there during the migration (besides its current Host).
+     * It's called by Hosts when a VM starts or finishes migrating into them.
+     * @param vm the VM to update
+     * @param targetHost the Host the VM is migrating into, or {@link Host#NULL} if the VM is not migrating anymore
+     */
+    public void updateMigrationTarget(@NonNull final Vm vm, @NonNull final Host targetHost) {
+        change(vm, occupancy -> occupancy.migrationTarget = targetHost);
+    }
+
+    /**
+     * Updates the index of this constraint with the Host a member VM is planned to be migrated to,
+     * so that other VMs are checked considering such a placement.
+     * It's used by VmAllocationPolicies while building a migration map
+     * and every planned Host must be reset after that.
+     * @param vm the VM to update
+     * @param plannedHost the Host the VM is planned to be migrated to, or {@link Host#NULL} to cancel the planning
+     */
+    public void updatePlannedTarget(@NonNull final Vm vm, @NonNull final Host plannedHost) {
+        change(vm, occupancy -> occupancy.plannedTarget = plannedHost);
+    }
+
+    /**
+     * Changes the Hosts a member VM is counted into, updating the Host and rack counts.
+     * @param vm the VM to change
+     * @param change a function that changes the VM occupancy
+     */
+    private void change(final Vm vm, final Consumer<Occupancy> change) {
+        if (!members.contains(vm)) {
+            return;
+        }
+
+        final Occupancy occupancy = occupancies.computeIfAbsent(vm, key -> new Occupancy());
+        count(occupancy, -1);
+        change.accept(occupancy);
+        count(occupancy, 1);
+        if (occupancy.isEmpty()) {
+            occupancies.remove(vm);
+        }
+    }
+
+    /**
+     * Adds (or removes) a VM occupancy to the Host and rack counts.
+     * A VM counted in multiple Hosts of the same rack is counted just once in such a rack.
+     * @param occupancy the VM occupancy
+     * @param increment 1 to add the occupancy to the counts, -1 to remove it
+     */
+    private void count(final Occupancy occupancy, final int increment) {
+        final var racks = new HashSet<>(3);
+        for (final Host host : occupancy.getHosts()) {
+            add(hostCounts, host, increment);
+            final Object rack = rackFunction.apply(host);
+            if (racks.add(rack)) {
+                add(rackCounts, rack, increment);
+            }
+        }
+    }
+
+    private static <K> void add(final Map<K, Integer> counts, final K key, final int increment) {
+        counts.merge(key, increment, (count, inc) -> count + inc == 0 ? null : count + inc);
+    }
+
+    /**
+     * Checks if a VM (or all VMs inside a {@link VmGroup}) can be placed into a Host
+     * without violating this constraint, considering every Host the other member VMs are counted into.
+     * @param vm the VM (or VmGroup) to check
+     * @param host the candidate Host
+     * @return true if the constraint is satisfied, false otherwise
+     */
+    public boolean isSatisfiedBy(@NonNull final Vm vm, @NonNull final Host host) {
+        final List<Vm> candidates = vm instanceof VmGroup group ? group.getVmList() : List.of(vm);
+        int placing = 0;
+        int placedOnHost = 0;
+        int placedOnRack = 0;
+        int placed = 0;
+        /* The number of candidate VMs counted into each Host,
+         * to compute the Hosts used just by other member VMs (created only if some candidate is counted somewhere). */
+        Map<Host, Integer> candidateHostCounts = null;
+        final Object rack = type == Type.SAME_RACK ? rackFunction.apply(host) : null;
+        for (final Vm candidate : candidates) {
+            if (!members.contains(candidate)) {
+                continue;
+            }
+
+            placing++;
+            final Occupancy occupancy = occupancies.get(candidate);
+            if (occupancy != null) {
+                placed++;
+                placedOnHost += occupancy.occupies(host) ? 1 : 0;
+                placedOnRack += rack != null && isOnRack(occupancy, rack) ? 1 : 0;
+                if (type == Type.SPREAD) {
+                    candidateHostCounts = candidateHostCounts == null ? new IdentityHashMap<>() : candidateHostCounts;
+                    for (final Host candidateHost : occupancy.getHosts()) {
+                        candidateHostCounts.merge(candidateHost, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+
+        if (placing == 0) {
+            return true;
+        }
+
+        // The other member VMs (not the ones being checked)
+        final int others = occupancies.size() - placed;
+        final int othersOnHost = hostCounts.getOrDefault(host, 0) - placedOnHost;
+        return switch (type) {
+            case SAME_HOST -> othersOnHost == others;
+            case SAME_RACK -> rackCounts.getOrDefault(rack, 0) - placedOnRack == others;
+            case DIFFERENT_HOST -> othersOnHost + placing <= maxVmsPerHost;
+            case SPREAD -> othersOnHost + placing <= maxVmsPerHost && isSpreadReachable(host, others, placing, othersOnHost, candidateHostCounts);
+        };
+    }
+
+    private boolean isOnRack(final Occupancy occupancy, final Object rack) {
+        for (final Host occupied : occupancy.getHosts()) {
+            if (rack.equals(rackFunction.apply(occupied))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if the {@link #minHosts minimum number of distinct Hosts} can still be reached
+     * after placing VMs into a Host.
+     * @param host the candidate Host
+     * @param others the number of other member VMs counted into some Host
+     * @param placing the number of member VMs being placed
+     * @param othersOnHost the number of other member VMs counted into the candidate Host
+     * @param candidateHostCounts the number of VMs being placed which are currently counted into each Host
+     *                            (or null if none of them is counted anywhere)
+     * @return true if the remaining VMs can still be placed into enough distinct Hosts, false otherwise
+     */
+    private boolean isSpreadReachable(
+        final Host host, final int others, final int placing,
+        final int othersOnHost, final Map<Host, Integer> candidateHostCounts)
+    {
+        // Hosts where only the VMs being placed are counted are not used by the other VMs
+        int hostsUsedByOthers = hostCounts.size();
+        if (candidateHostCounts != null) {
+            for (final var entry : candidateHostCounts.entrySet()) {
+                hostsUsedByOthers -= hostCounts.getOrDefault(entry.getKey(), 0).equals(entry.getValue()) ? 1 : 0;
+            }
+        }
+
+        final int usedHosts = hostsUsedByOthers + (othersOnHost == 0 ? 1 : 0);
+        final int remainingVms = Math.max(0, members.size() - others - placing);
+        return usedHosts + remainingVms >= minHosts;
+    }
+
+    /**
+     * Checks if a VM (or all VMs inside a {@link VmGroup}) can be placed into a Host
+     * without violating any of its placement constraints.
+     * @param vm the VM (or VmGroup) to check
+     * @param host the candidate Host
+     * @return true if all constraints are satisfied (or the VM has no constraints), false otherwise
+     */
+    public static boolean isSatisfiedByAll(@NonNull final Vm vm, @NonNull final Host host) {
+        for (final VmPlacementConstraint constraint : vm.getPlacementConstraints()) {
+            if (!constraint.isSatisfiedBy(vm, host)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "%s constraint for %d VMs".formatted(type, vmList.size());
+    }
+}
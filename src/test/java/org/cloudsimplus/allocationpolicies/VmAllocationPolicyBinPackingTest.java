@@ -0,0 +1,79 @@
+package org.cloudsimplus.allocationpolicies;
+
+import org.cloudsimplus.allocationpolicies.VmAllocationPolicyBinPacking.Heuristic;
+import org.cloudsimplus.core.Simulation;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostSimpleTest;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class VmAllocationPolicyBinPackingTest {
+    private static final int HOST_MIPS = 1000;
+
+    private static VmAllocationPolicyBinPacking createPolicy(final Heuristic heuristic, final int... pesByHost) {
+        final List<Host> hosts = new ArrayList<>(pesByHost.length);
+        for (int i = 0; i < pesByHost.length; i++) {
+            hosts.add(HostSimpleTest.createHostSimple(i, pesByHost[i], HOST_MIPS, 10_000, 100_000, 10_000));
+        }
+
+        final var policy = new VmAllocationPolicyBinPacking(heuristic);
+        policy.setDatacenter(new DatacenterSimple(Simulation.NULL, hosts));
+        return policy;
+    }
+
+    /**
+     * VMs are placed from the largest to the smallest one, each one into the Host that fits it best.
+     * If they were placed in the submission order, the 1-PE VM would take the 2-PE Host.
+     */
+    @Test
+    void batchBestFitDecreasingPlacesLargestVmsFirst() {
+        final var policy = createPolicy(Heuristic.BEST_FIT_DECREASING, 4, 2, 6);
+        final List<Host> hosts = policy.getHostList();
+        final Vm vm1 = VmTestUtil.createVm(0, HOST_MIPS, 1);
+        final Vm vm2 = VmTestUtil.createVm(1, HOST_MIPS, 2);
+        final Vm vm4 = VmTestUtil.createVm(2, HOST_MIPS, 4);
+        final Vm vm5 = VmTestUtil.createVm(3, HOST_MIPS, 5);
+
+        policy.allocateHostForVm(List.of(vm1, vm2, vm4, vm5)).forEach(suitability -> assertTrue(suitability.fully()));
+        assertSame(hosts.get(0), vm4.getHost());
+        assertSame(hosts.get(1), vm2.getHost());
+        assertSame(hosts.get(2), vm5.getHost());
+        assertSame(hosts.get(2), vm1.getHost());
+    }
+
+    /**
+     * Demands are normalized by each Host capacity,
+     * so the VM takes a larger share of the smaller Host, increasing the dot product.
+     */
+    @Test
+    void dotProductSelectsHostWithLargestNormalizedAlignment() {
+        final var policy = createPolicy(Heuristic.DOT_PRODUCT, 4, 2, 6);
+        final Vm vm = VmTestUtil.createVm(0, HOST_MIPS, 2);
+        assertTrue(policy.allocateHostForVm(vm).fully());
+        assertSame(policy.getHostList().get(1), vm.getHost());
+    }
+
+    @Test
+    void firstFitDecreasingSelectsFirstSuitableHost() {
+        final var policy = createPolicy(Heuristic.FIRST_FIT_DECREASING, 4, 2, 6);
+        final Vm vm = VmTestUtil.createVm(0, HOST_MIPS, 5);
+        assertTrue(policy.allocateHostForVm(vm).fully());
+        assertSame(policy.getHostList().get(2), vm.getHost());
+    }
+
+    @Test
+    void vmIsNotPlacedWhenNoHostIsSuitable() {
+        final var policy = createPolicy(Heuristic.L2_NORM, 4, 2);
+        assertFalse(policy.allocateHostForVm(VmTestUtil.createVm(0, HOST_MIPS, 5)).fully());
+    }
+}
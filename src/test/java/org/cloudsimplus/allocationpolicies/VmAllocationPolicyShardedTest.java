@@ -0,0 +1,107 @@
+package org.cloudsimplus.allocationpolicies;
+
+import org.cloudsimplus.allocationpolicies.VmAllocationPolicySharded.HostSelection;
+import org.cloudsimplus.core.Simulation;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostSimpleTest;
+import org.cloudsimplus.schedulers.cloudlet.CloudletScheduler;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class VmAllocationPolicyShardedTest {
+    private static final int HOST_MIPS = 1000;
+    private static final int CELL_SIZE = 2;
+
+    private static VmAllocationPolicySharded createPolicy(final HostSelection hostSelection, final int... pesByHost) {
+        final List<Host> hosts = new ArrayList<>(pesByHost.length);
+        for (int i = 0; i < pesByHost.length; i++) {
+            hosts.add(HostSimpleTest.createHostSimple(i, pesByHost[i], HOST_MIPS, 100_000, 100_000, 100_000));
+        }
+
+        final var policy = new VmAllocationPolicySharded(CELL_SIZE, hostSelection);
+        policy.setDatacenter(new DatacenterSimple(Simulation.NULL, hosts));
+        return policy;
+    }
+
+    private static Vm allocate(final VmAllocationPolicy policy, final int id, final int pes) {
+        final Vm vm = VmTestUtil.createVm(id, HOST_MIPS, pes);
+        assertTrue(policy.allocateHostForVm(vm).fully());
+        return vm;
+    }
+
+    @Test
+    void hostsArePartitionedIntoCellsByTheirIds() {
+        final var policy = createPolicy(HostSelection.BEST_FIT, 2, 2, 2, 2, 2);
+        assertEquals(3, policy.getCellCount());
+    }
+
+    @Test
+    void cellIsFilledUpBeforeTheNextOne() {
+        final var policy = createPolicy(HostSelection.WORST_FIT, 2, 2, 2, 2);
+        final List<Host> hosts = policy.getHostList();
+        final List<Host> selectedHosts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            selectedHosts.add(allocate(policy, i, 1).getHost());
+        }
+
+        assertEquals(List.of(hosts.get(0), hosts.get(1), hosts.get(0), hosts.get(1), hosts.get(2)), selectedHosts);
+    }
+
+    @Test
+    void cellWithoutEnoughFreePesIsSkipped() {
+        final var policy = createPolicy(HostSelection.BEST_FIT, 2, 2, 6, 4);
+        final Vm vm = allocate(policy, 0, 4);
+        assertSame(policy.getHostList().get(3), vm.getHost());
+    }
+
+    @Test
+    void firstFitResumesFromTheLastSelectedHostInTheCell() {
+        final var policy = createPolicy(HostSelection.FIRST_FIT, 2, 2);
+        final List<Host> hosts = policy.getHostList();
+        assertSame(hosts.get(0), allocate(policy, 0, 2).getHost());
+        assertSame(hosts.get(1), allocate(policy, 1, 1).getHost());
+        assertSame(hosts.get(1), allocate(policy, 2, 1).getHost());
+    }
+
+    @Test
+    void timeSharedCellWithoutFreePesIsNotSkipped() {
+        final var policy = createPolicy(HostSelection.BEST_FIT, 2);
+        final Host host = policy.getHostList().getFirst();
+        assertTrue(policy.allocateHostForVm(VmTestUtil.createVm(0, HOST_MIPS / 2.0, 2, 1, 1, 1, CloudletScheduler.NULL)).fully());
+        assertEquals(0, host.getFreePesNumber());
+
+        final Vm vm = VmTestUtil.createVm(1, HOST_MIPS / 2.0, 2, 1, 1, 1, CloudletScheduler.NULL);
+        assertTrue(policy.allocateHostForVm(vm).fully());
+        assertSame(host, vm.getHost());
+    }
+
+    @Test
+    void searchingHostDoesNotChangeTheCellToStartFrom() {
+        final var policy = createPolicy(HostSelection.FIRST_FIT, 1, 1, 2, 2);
+        final List<Host> hosts = policy.getHostList();
+        assertSame(hosts.get(0), allocate(policy, 0, 1).getHost());
+        assertSame(hosts.get(2), policy.searchHostForVm(VmTestUtil.createVm(1, HOST_MIPS, 2)).orElseThrow());
+        assertSame(hosts.get(1), allocate(policy, 2, 1).getHost());
+    }
+
+    @Test
+    void vmIsNotPlacedWhenNoHostIsSuitable() {
+        final var policy = createPolicy(HostSelection.BEST_FIT, 2, 2, 4);
+        assertFalse(policy.allocateHostForVm(VmTestUtil.createVm(0, HOST_MIPS, 5)).fully());
+    }
+
+    @Test
+    void invalidCellSize() {
+        assertThrows(IllegalArgumentException.class, () -> new VmAllocationPolicySharded(0, HostSelection.BEST_FIT));
+    }
+}
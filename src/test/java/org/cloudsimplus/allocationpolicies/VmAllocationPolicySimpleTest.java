@@ -10,10 +10,8 @@ import org.cloudsimplus.vms.VmTestUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -55,6 +53,55 @@ public class VmAllocationPolicySimpleTest {
         return policy;
     }
 
+    @Test
+    public void searchHostForVmDoesNotActivateHost() {
+        policy.getHostList().forEach(host -> host.setActive(false));
+        final Vm vm = VmTestUtil.createVm(0, 1000, 2);
+
+        final Host host = policy.searchHostForVm(vm).orElseThrow();
+        assertFalse(host.isActive());
+        assertSame(host, policy.findHostForVm(vm).orElseThrow());
+        assertTrue(host.isActive());
+    }
+
+    @Test
+    public void timeSharedHostWithoutFreePesIsFoundWhenItHasEnoughMips() {
+        final var policy = createVmAllocationPolicy(2);
+        final Host host = policy.getHostList().getFirst();
+        assertTrue(host.createVm(VmTestUtil.createVm(0, HOST_MIPS / 2.0, 2, 1, 1, 1, CloudletScheduler.NULL)).fully());
+        assertEquals(0, host.getFreePesNumber());
+
+        assertSame(host, policy.findHostForVm(VmTestUtil.createVm(1, HOST_MIPS / 2.0, 2, 1, 1, 1, CloudletScheduler.NULL)).orElseThrow());
+    }
+
+    @Test
+    public void hostSearchIsNotThreadSafeWithCustomFunction() {
+        assertTrue(policy.isHostSearchThreadSafe());
+        policy.setFindHostForVmFunction((policy, vm) -> policy.getHostList().stream().findFirst());
+        assertFalse(policy.isHostSearchThreadSafe());
+    }
+
+    @Test
+    public void concurrentHostSearchFindsTheSameHostsAsSequentialSearch() {
+        final var random = new Random(100);
+        final int[] freePesByHost = IntStream.range(0, 100).map(i -> 1 + random.nextInt(8)).toArray();
+        final var policy = createVmAllocationPolicy(freePesByHost);
+        policy.setHostCountForParallelSearch(1);
+        assertTrue(policy.isHostSearchThreadSafe());
+
+        final List<Vm> vmList = IntStream.range(0, 200)
+            .mapToObj(i -> (Vm) VmTestUtil.createVm(i, HOST_MIPS / 2.0, 1 + random.nextInt(4), 1, 1, 1, CloudletScheduler.NULL))
+            .toList();
+        for (int round = 0; round < 5; round++) {
+            // Changes some Hosts, so that concurrent searches start by re-indexing them
+            vmList.subList(round * 10, round * 10 + 10).forEach(policy::allocateHostForVm);
+
+            final var concurrentResult = vmList.parallelStream().map(policy::searchHostForVm).toList();
+            final var sequentialResult = vmList.stream().map(policy::searchHostForVm).toList();
+            assertEquals(sequentialResult, concurrentResult);
+        }
+    }
+
     @Test
     public void allocateHostForVmWhenOneVmIsGivenAllocateHostWithLessUsedPesToIt() {
         final Vm vm = VmTestUtil.createVm(0, 1000, 2);
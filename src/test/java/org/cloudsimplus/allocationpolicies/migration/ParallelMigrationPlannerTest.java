@@ -0,0 +1,172 @@
+package org.cloudsimplus.allocationpolicies.migration;
+
+import org.cloudsimplus.allocationpolicies.VmAllocationPolicyBestFit;
+import org.cloudsimplus.core.Simulation;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostSimpleTest;
+import org.cloudsimplus.schedulers.cloudlet.CloudletScheduler;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmTestUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class ParallelMigrationPlannerTest {
+    private static final int HOSTS = 50;
+    private static final int VMS = 200;
+
+    private List<Host> hostList;
+    private List<Vm> vmList;
+
+    /** The number of free PEs of each Host, considering the VMs placed so far. */
+    private Map<Host, Long> freePes;
+
+    /** The placement of each VM, in the order the VMs were placed. */
+    private Map<Vm, Host> placements;
+
+    @BeforeEach
+    void setUp() {
+        final var random = new Random(HOSTS);
+        hostList = IntStream.range(0, HOSTS).mapToObj(i -> (Host) HostSimpleTest.createHostSimple(i, 4 + random.nextInt(8))).toList();
+        vmList = IntStream.range(0, VMS).mapToObj(i -> (Vm) VmTestUtil.createVm(i, 1 + random.nextInt(4))).toList();
+        reset();
+    }
+
+    private void reset() {
+        freePes = new IdentityHashMap<>();
+        hostList.forEach(host -> freePes.put(host, host.getPesNumber()));
+        placements = new LinkedHashMap<>();
+    }
+
+    private void place(final Vm vm, final Host host) {
+        freePes.merge(host, -vm.getPesNumber(), Long::sum);
+        placements.put(vm, host);
+    }
+
+    private Optional<Host> findFirstFit(final Vm vm) {
+        return hostList.stream().filter(host -> freePes.get(host) >= vm.getPesNumber()).findFirst();
+    }
+
+    /**
+     * Selects the Host with the fewest free PEs which fits the VM,
+     * so that most VMs select the same Host.
+     */
+    private Optional<Host> findBestFit(final Vm vm) {
+        return hostList.stream()
+                       .filter(host -> freePes.get(host) >= vm.getPesNumber())
+                       .min(Comparator.comparingLong(host -> freePes.get(host)));
+    }
+
+    private Map<Vm, Host> planSequentially(final Function<Vm, Optional<Host>> finder) {
+        reset();
+        vmList.forEach(vm -> finder.apply(vm).ifPresent(host -> place(vm, host)));
+        return placements;
+    }
+
+    private Map<Vm, Host> planInParallel(final Function<Vm, Optional<Host>> finder) {
+        reset();
+        new ParallelMigrationPlanner(finder, this::place).plan(vmList);
+        return placements;
+    }
+
+    @Test
+    void firstFitPlacementIsTheSameAsSequentialPlacement() {
+        final var expected = planSequentially(this::findFirstFit);
+        assertEquals(expected, planInParallel(this::findFirstFit));
+    }
+
+    /**
+     * Selects the first Host which fits the VM, starting from a different Host for each VM,
+     * so that most VMs select different Hosts.
+     */
+    private Optional<Host> findSpreadFirstFit(final Vm vm) {
+        return IntStream.range(0, HOSTS)
+                        .mapToObj(i -> hostList.get((int) ((vm.getId() + i) % HOSTS)))
+                        .filter(host -> freePes.get(host) >= vm.getPesNumber())
+                        .findFirst();
+    }
+
+    @Test
+    void nonConflictingPlacementIsPerformedInParallelRounds() {
+        final var vms = vmList.subList(0, HOSTS + HOSTS / 2);
+        reset();
+        vms.forEach(vm -> findSpreadFirstFit(vm).ifPresent(host -> place(vm, host)));
+        final var expected = Map.copyOf(placements);
+
+        reset();
+        final var searchesBeforeFirstPlacement = new AtomicInteger();
+        final Function<Vm, Optional<Host>> finder = vm -> {
+            if (placements.isEmpty()) {
+                searchesBeforeFirstPlacement.incrementAndGet();
+            }
+            return findSpreadFirstFit(vm);
+        };
+        new ParallelMigrationPlanner(finder, this::place).plan(vms);
+
+        // All VMs are searched in the first round, before any of them is placed
+        assertEquals(vms.size(), searchesBeforeFirstPlacement.get());
+        // Deferred VMs are placed later, but into the same Hosts
+        assertEquals(expected, placements);
+    }
+
+    @Test
+    void conflictingPlacementIsConsistentAndDeterministic() {
+        final var expected = planInParallel(this::findBestFit);
+        assertTrue(freePes.values().stream().allMatch(free -> free >= 0), "Some Host has more PEs allocated than its capacity");
+        vmList.stream()
+              .filter(vm -> !expected.containsKey(vm))
+              .forEach(vm -> assertTrue(findBestFit(vm).isEmpty(), vm + " was not placed, but there is a Host for it"));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(List.copyOf(expected.entrySet()), List.copyOf(planInParallel(this::findBestFit).entrySet()));
+        }
+    }
+
+    /**
+     * Plans the placement of VMs using the Host search of a real {@link VmAllocationPolicyBestFit},
+     * which is called concurrently. VMs are actually created into the selected Hosts.
+     * @return a map where each key is the ID of a placed VM and each value is the ID of the selected Host
+     */
+    private Map<Long, Long> planWithBestFitPolicy() {
+        final var random = new Random(HOSTS);
+        final var hosts = IntStream.range(0, HOSTS).mapToObj(i -> (Host) HostSimpleTest.createHostSimple(i, 4 + random.nextInt(8))).toList();
+        final var vms = IntStream.range(0, VMS)
+            .mapToObj(i -> (Vm) VmTestUtil.createVm(i, 1000, 1 + random.nextInt(4), 1, 1, 1, CloudletScheduler.NULL))
+            .toList();
+
+        final var policy = new VmAllocationPolicyBestFit();
+        policy.setDatacenter(new DatacenterSimple(Simulation.NULL, new ArrayList<>(hosts)));
+        policy.setHostCountForParallelSearch(1);
+        assertTrue(policy.isHostSearchThreadSafe());
+
+        final var placedVms = new ArrayList<Vm>();
+        new ParallelMigrationPlanner(policy::searchHostForVm, (vm, host) -> {
+            assertTrue(host.createVm(vm).fully());
+            placedVms.add(vm);
+        }).plan(vms);
+
+        vms.stream()
+           .filter(vm -> !placedVms.contains(vm))
+           .forEach(vm -> assertTrue(policy.searchHostForVm(vm).isEmpty(), vm + " was not placed, but there is a Host for it"));
+        return placedVms.stream().collect(Collectors.toMap(Vm::getId, vm -> vm.getHost().getId()));
+    }
+
+    @Test
+    void bestFitPolicyPlacementIsConsistentAndDeterministic() {
+        final var expected = planWithBestFitPolicy();
+        assertFalse(expected.isEmpty());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(expected, planWithBestFitPolicy());
+        }
+    }
+}
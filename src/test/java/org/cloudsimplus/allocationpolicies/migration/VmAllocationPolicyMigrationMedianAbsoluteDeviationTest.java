@@ -0,0 +1,86 @@
+package org.cloudsimplus.allocationpolicies.migration;
+
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.selectionpolicies.VmSelectionPolicyMinimumUtilization;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.cloudsimplus.allocationpolicies.migration.VmAllocationPolicyMigrationDynamicUpperThresholdAbstract.MIN_UTILIZATION_HISTORY_SIZE;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class VmAllocationPolicyMigrationMedianAbsoluteDeviationTest {
+    private final Host host = new HostSimple(16_000, 100_000, 1_000_000, new ArrayList<>(List.of(new PeSimple(1000))));
+    private VmAllocationPolicyMigrationMedianAbsoluteDeviation policy;
+
+    /** The simulation clock the Host sees when its processing is updated. */
+    private double clock;
+
+    @BeforeEach
+    void setUp() {
+        policy = new VmAllocationPolicyMigrationMedianAbsoluteDeviation(new VmSelectionPolicyMinimumUtilization());
+    }
+
+    @Test
+    void hostsAreSampledJustAfterPolicyIsBoundToDatacenter() {
+        new DatacenterSimple(new CloudSimPlus(), List.of(host), policy);
+        assertThrows(IllegalStateException.class, () -> policy.getCpuUtilizationWindow(host));
+
+        updateHostProcessing(MIN_UTILIZATION_HISTORY_SIZE, 1);
+        assertEquals(MIN_UTILIZATION_HISTORY_SIZE, policy.getCpuUtilizationWindow(host).getSize());
+    }
+
+    @Test
+    void hostsAreSampledOnSubSecondTicks() {
+        new DatacenterSimple(new CloudSimPlus(), List.of(host), policy);
+        updateHostProcessing(MIN_UTILIZATION_HISTORY_SIZE, 0.1);
+        assertEquals(MIN_UTILIZATION_HISTORY_SIZE, policy.getCpuUtilizationWindow(host).getSize());
+    }
+
+    @Test
+    void hostIsSampledOncePerTick() {
+        new DatacenterSimple(new CloudSimPlus(), List.of(host), policy);
+        updateHostProcessing(MIN_UTILIZATION_HISTORY_SIZE, 1);
+        updateHostProcessing(1, 0);
+        assertEquals(MIN_UTILIZATION_HISTORY_SIZE, policy.getCpuUtilizationWindow(host).getSize());
+    }
+
+    @Test
+    void utilizationWindowKeepsJustTheConfiguredNumberOfSamples() {
+        final int windowSize = MIN_UTILIZATION_HISTORY_SIZE + 1;
+        policy.setUtilizationWindowSize(windowSize);
+        new DatacenterSimple(new CloudSimPlus(), List.of(host), policy);
+        updateHostProcessing(windowSize * 2, 1);
+        assertEquals(windowSize, policy.getCpuUtilizationWindow(host).getSize());
+    }
+
+    @Test
+    void utilizationWindowSmallerThanMinHistorySizeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> policy.setUtilizationWindowSize(MIN_UTILIZATION_HISTORY_SIZE - 1));
+    }
+
+    /**
+     * Updates the Host processing a given number of times, advancing the simulation clock between each update.
+     * @param times the number of updates
+     * @param interval the time to advance the clock before each update
+     */
+    private void updateHostProcessing(final int times, final double interval) {
+        final var simulation = Mockito.mock(CloudSimPlus.class);
+        Mockito.when(simulation.clock()).thenAnswer(invocation -> clock);
+        host.setSimulation(simulation);
+        for (int i = 0; i < times; i++) {
+            clock += interval;
+            host.updateProcessing(clock);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.cloudsimplus.allocationpolicies.migration;
+
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.selectionpolicies.VmSelectionPolicyMinimumUtilization;
+import org.cloudsimplus.utilizationmodels.UtilizationModelDynamic;
+import org.cloudsimplus.utilizationmodels.UtilizationModelFull;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class VmAllocationPolicyMigrationStaticThresholdTest {
+    private static final int MIPS = 1000;
+    private static final int HOSTS = 2;
+    private static final long RAM = 16_000;
+    private static final long VM_RAM = 1000;
+
+    private List<Host> hostList = IntStream.range(0, HOSTS).mapToObj(i -> createHost(RAM)).toList();
+    private final List<Host> migrationTargets = new ArrayList<>();
+
+    /**
+     * Host 0 is underloaded (25% of CPU requested by a 1-PE VM), while Host 1 isn't (50%, by a 2-PE VM),
+     * so the VM from Host 0 must be migrated to Host 1, which won't be overloaded after that.
+     */
+    @Test
+    void vmFromUnderloadedHostIsMigratedToNotUnderloadedHost() {
+        final List<Vm> vmList = List.of(createVm(1), createVm(2));
+        runSimulation(vmList, 0, 1);
+        assertEquals(List.of(hostList.get(1)), migrationTargets);
+    }
+
+    /**
+     * Host 0 is overloaded (100% of CPU used by two 2-PE VMs),
+     * so just one VM must be migrated to take it out of the overload state.
+     */
+    @Test
+    void justEnoughVmsAreMigratedFromOverloadedHost() {
+        final List<Vm> vmList = List.of(createVm(2), createVm(2));
+        runSimulation(vmList, 0, 0);
+        assertEquals(1, migrationTargets.size());
+        assertSame(hostList.get(1), migrationTargets.getFirst());
+    }
+
+    /**
+     * Hosts 0 and 1 are overloaded (100% of CPU used by two 2-PE VMs each),
+     * so one VM must be migrated from each one.
+     * The policy always selects the last Host, which just has RAM for one of such VMs.
+     * Therefore, the other VM must be migrated to Host 2, the only other Host
+     * that won't be overloaded after that.
+     */
+    @Test
+    void vmNotFittingTheSelectedHostAnymoreIsMigratedToAnotherHost() {
+        hostList = List.of(createHost(RAM), createHost(RAM), createHost(RAM), createHost(VM_RAM * 3 / 2));
+        final List<Vm> vmList = List.of(createVm(2), createVm(2), createVm(2), createVm(2));
+        runSimulation(vmList, 0, 0, 1, 1);
+        assertEquals(2, migrationTargets.size());
+        assertEquals(Set.of(hostList.get(2), hostList.get(3)), Set.copyOf(migrationTargets));
+    }
+
+    /**
+     * Runs a simulation where each VM runs a Cloudlet using all its CPU.
+     * @param vmList the VMs to create
+     * @param hostIndexes the index of the Host to initially place each VM.
+     *                    When a VM is migrated, it's always placed into the last Host.
+     */
+    private void runSimulation(final List<Vm> vmList, final int... hostIndexes) {
+        final var simulation = new CloudSimPlus();
+        final var policy = new VmAllocationPolicyMigrationBestFitStaticThreshold(
+            new VmSelectionPolicyMinimumUtilization(), 0.8,
+            (allocationPolicy, vm) -> Optional.of(hostList.get(vm.isCreated() ? hostList.size() - 1 : hostIndexes[(int) vm.getId()])));
+        new DatacenterSimple(simulation, hostList, policy).setSchedulingInterval(1);
+
+        final var broker = new DatacenterBrokerSimple(simulation);
+        vmList.forEach(vm -> vm.addOnMigrationFinishListener(info -> migrationTargets.add(info.getHost())));
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(
+            vmList.stream()
+                  .map(vm -> new CloudletSimple(100_000, (int) vm.getPesNumber(), new UtilizationModelFull())
+                                .setUtilizationModelRam(new UtilizationModelDynamic(0.1))
+                                .setUtilizationModelBw(new UtilizationModelDynamic(0.1))
+                                .setVm(vm))
+                  .toList());
+        simulation.terminateAt(20);
+        simulation.start();
+    }
+
+    private static Host createHost(final long ram) {
+        final var peList = IntStream.range(0, 4).mapToObj(i -> new PeSimple(MIPS)).toList();
+        return new HostSimple(ram, 100_000, 1_000_000, new ArrayList<>(peList));
+    }
+
+    private static Vm createVm(final int pes) {
+        return new VmSimple(MIPS, pes).setRam(VM_RAM).setBw(1000).setSize(1000);
+    }
+}
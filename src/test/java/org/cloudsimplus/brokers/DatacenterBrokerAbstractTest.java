@@ -0,0 +1,45 @@
+package org.cloudsimplus.brokers;
+
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class DatacenterBrokerAbstractTest {
+    private static final int MIPS = 1000;
+    private static final long CLOUDLET_LENGTH = 10_000;
+
+    @Test
+    void vmsDestroyedWhileRunningCloudletsAreNotTrackedAnymore() {
+        final var simulation = new CloudSimPlus();
+        new DatacenterSimple(simulation, List.of(new HostSimple(4096, 10_000, 1_000_000, List.of(new PeSimple(MIPS)))))
+            .setSchedulingInterval(1);
+
+        final var broker = new DatacenterBrokerSimple(simulation);
+        final var vm = new VmSimple(MIPS, 1).setRam(512).setBw(1000).setSize(1000);
+        // The VM is destroyed before its Cloudlet finishes, which then returns to the broker after that
+        vm.setLifeTime(CLOUDLET_LENGTH / MIPS / 2.0);
+        final var cloudlet = new CloudletSimple(CLOUDLET_LENGTH, 1).setSizes(300);
+        cloudlet.setVm(vm);
+
+        broker.submitVmList(List.of(vm));
+        broker.submitCloudletList(List.of(cloudlet));
+        simulation.start();
+
+        assertTrue(vm.isFinished());
+        assertTrue(cloudlet.getFinishedLengthSoFar() < CLOUDLET_LENGTH);
+        assertTrue(broker.getVmIdleList().isEmpty());
+        assertEquals(0, broker.getRunningCloudletsNumber());
+        assertFalse(broker.isAlive());
+    }
+}
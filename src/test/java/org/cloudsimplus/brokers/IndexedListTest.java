@@ -0,0 +1,102 @@
+package org.cloudsimplus.brokers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class IndexedListTest {
+    @Test
+    void keepsInsertionOrderAfterRemovals() {
+        final var list = createList(10);
+        list.remove(Integer.valueOf(3));
+        list.remove(Integer.valueOf(7));
+        assertEquals(List.of(0, 1, 2, 4, 5, 6, 8, 9), new ArrayList<>(list));
+        assertEquals(8, list.size());
+        assertEquals(4, list.get(3));
+        assertEquals(5, list.indexOf(6));
+        assertFalse(list.contains(3));
+    }
+
+    @Test
+    void ignoresDuplicates() {
+        final var list = createList(3);
+        assertFalse(list.add(list.get(1)));
+        assertEquals(3, list.size());
+    }
+
+    @Test
+    void setRejectsElementInAnotherPosition() {
+        final var list = createList(3);
+        assertThrows(IllegalArgumentException.class, () -> list.set(0, list.get(2)));
+        assertEquals(List.of(0, 1, 2), new ArrayList<>(list));
+        assertEquals(2, list.indexOf(2));
+    }
+
+    @Test
+    void setReplacesElement() {
+        final var list = createList(3);
+        assertEquals(1, list.set(1, 10));
+        assertEquals(List.of(0, 10, 2), new ArrayList<>(list));
+        assertEquals(1, list.indexOf(10));
+        assertFalse(list.contains(1));
+    }
+
+    @Test
+    void iteratorRemovesElements() {
+        final var list = createList(10);
+        for (final var iterator = list.iterator(); iterator.hasNext(); ) {
+            if (iterator.next() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(List.of(1, 3, 5, 7, 9), new ArrayList<>(list));
+    }
+
+    @Test
+    void iteratorContinuesAfterCompaction() {
+        final var list = createList(6);
+        final var visited = new ArrayList<Integer>();
+        for (final var iterator = list.iterator(); iterator.hasNext(); ) {
+            final Integer value = iterator.next();
+            visited.add(value);
+            if (value < 3) {
+                iterator.remove();
+                // Getting an element by its index compacts the list while it's being iterated
+                list.get(0);
+            }
+        }
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), visited);
+        assertEquals(List.of(3, 4, 5), new ArrayList<>(list));
+    }
+
+    @Test
+    void sortAndRemoveIfUpdatePositions() {
+        final var list = createList(6);
+        list.sort(Comparator.reverseOrder());
+        assertTrue(list.removeIf(value -> value == 4));
+        assertEquals(List.of(5, 3, 2, 1, 0), new ArrayList<>(list));
+        assertEquals(1, list.indexOf(3));
+        assertTrue(list.remove(Integer.valueOf(3)));
+        assertEquals(List.of(5, 2, 1, 0), new ArrayList<>(list));
+    }
+
+    /**
+     * Creates a list of small Integers, which are cached when boxed.
+     * This way, they can be found by the list (which compares elements by identity).
+     */
+    private static IndexedList<Integer> createList(final int size) {
+        final var list = new IndexedList<Integer>();
+        IntStream.range(0, size).forEach(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,100 @@
+package org.cloudsimplus.brokers;
+
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.cloudsimplus.vms.VmTestUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class VmFreePesIndexTest {
+    private static final int VMS = 40;
+
+    private List<VmSimple> vmList;
+    private VmFreePesIndex index;
+
+    /**
+     * Creates more VMs than the initial index capacity, so that it has to grow.
+     */
+    @BeforeEach
+    void setUp() {
+        final var random = new Random(VMS);
+        vmList = IntStream.range(0, VMS).mapToObj(i -> VmTestUtil.createVm(i, 1 + random.nextInt(8))).toList();
+        index = new VmFreePesIndex();
+        vmList.forEach(vm -> {
+            vm.setCreated(true);
+            index.add(vm);
+        });
+    }
+
+    private void removeExpectedFreePes(final VmSimple vm, final long pes) {
+        vm.removeExpectedFreePesNumber(pes);
+        index.update(vm);
+    }
+
+    private Vm bestFitByScan(final long pes) {
+        return vmList.stream()
+                     .filter(Vm::isCreated)
+                     .filter(vm -> vm.getExpectedFreePesNumber() >= pes)
+                     .min(Comparator.comparingLong(Vm::getExpectedFreePesNumber))
+                     .map(Vm.class::cast)
+                     .orElse(Vm.NULL);
+    }
+
+    private Vm firstFitByScan(final long pes, final int startPosition) {
+        for (int i = 0; i < VMS; i++) {
+            final Vm vm = vmList.get((startPosition + i) % VMS);
+            if (vm.isCreated() && vm.getExpectedFreePesNumber() >= pes) {
+                return vm;
+            }
+        }
+
+        return Vm.NULL;
+    }
+
+    @Test
+    void queriesMatchTheOnesScanningAllVms() {
+        final var random = new Random(0);
+        for (int i = 0; i < 500; i++) {
+            final VmSimple vm = vmList.get(random.nextInt(VMS));
+            if (random.nextBoolean()) {
+                removeExpectedFreePes(vm, random.nextInt(3));
+            } else {
+                vm.addExpectedFreePesNumber(random.nextInt(3));
+                index.update(vm);
+            }
+
+            final long pes = 1 + random.nextInt(8);
+            final int start = random.nextInt(VMS);
+            assertSame(bestFitByScan(pes), index.findBestFit(pes));
+            assertSame(firstFitByScan(pes, start), index.findFirstFit(pes, start));
+        }
+    }
+
+    @Test
+    void vmsNotCreatedAreSkipped() {
+        final long pes = vmList.getFirst().getPesNumber();
+        vmList.stream().filter(vm -> vm.getPesNumber() >= pes).forEach(vm -> vm.setCreated(false));
+        assertSame(Vm.NULL, index.findFirstFit(pes, 0));
+        vmList.getFirst().setCreated(true);
+        index.add(vmList.getFirst());
+        assertSame(vmList.getFirst(), index.findFirstFit(pes, 1));
+        assertSame(vmList.getFirst(), index.findBestFit(pes));
+    }
+
+    @Test
+    void vmIsJustAddedOnce() {
+        index.add(vmList.getFirst());
+        assertEquals(VMS, index.size());
+        assertEquals(0, index.getPosition(vmList.getFirst()));
+    }
+}
@@ -0,0 +1,113 @@
+package org.cloudsimplus.heuristics;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletTestUtil;
+import org.cloudsimplus.distributions.UniformDistr;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class CloudletToVmMappingGeneticAlgorithmTest {
+    private static final int VMS = 8;
+    private static final int CLOUDLETS = 40;
+    private static final long SEED = 1;
+
+    private final List<Vm> vmList = createVms();
+    private final List<Cloudlet> cloudletList = createCloudlets();
+
+    @Test
+    void solutionIsNotWorseThanInitialSolution() {
+        final var heuristic = createHeuristic();
+        final double initialCost = heuristic.getInitialSolution().getCost();
+
+        final var solution = heuristic.solve();
+        assertEquals(CLOUDLETS, solution.getResult().size());
+        assertTrue(solution.getCost() <= initialCost);
+        assertEquals(solution.getCost(true), solution.getCost());
+        assertEquals(CloudletToVmMappingGeneticAlgorithm.DEF_MAX_GENERATIONS, heuristic.getGenerations());
+        assertSame(solution, heuristic.getBestSolutionSoFar());
+    }
+
+    @Test
+    void sameSeedGivesSameSolution() {
+        final var solution1 = createHeuristic().solve();
+        final var solution2 = createHeuristic().solve();
+        assertEquals(solution1.getCost(), solution2.getCost());
+        assertEquals(toIdMap(solution1), toIdMap(solution2));
+    }
+
+    @Test
+    void solveWithoutVmsGivesEmptySolution() {
+        final var heuristic = new CloudletToVmMappingGeneticAlgorithm(new UniformDistr(0, 1, SEED));
+        heuristic.setCloudletList(cloudletList);
+        assertTrue(heuristic.solve().getResult().isEmpty());
+    }
+
+    @Test
+    void populationSizeMustBeAtLeastTwo() {
+        final var heuristic = createHeuristic();
+        assertThrows(IllegalArgumentException.class, () -> heuristic.setSearchesByIteration(1));
+        heuristic.setSearchesByIteration(10);
+        assertEquals(10, heuristic.getPopulationSize());
+    }
+
+    @Test
+    void ratesMustBeBetweenZeroAndOne() {
+        final var heuristic = createHeuristic();
+        assertThrows(IllegalArgumentException.class, () -> heuristic.setCrossoverRate(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> heuristic.setCrossoverRate(1.1));
+        assertThrows(IllegalArgumentException.class, () -> heuristic.setMutationRate(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> heuristic.setMutationRate(1.1));
+        heuristic.setCrossoverRate(0).setMutationRate(1);
+        assertEquals(0, heuristic.getCrossoverRate());
+        assertEquals(1, heuristic.getMutationRate());
+    }
+
+    @Test
+    void tournamentSizeMustBeAtLeastOne() {
+        final var heuristic = createHeuristic();
+        assertThrows(IllegalArgumentException.class, () -> heuristic.setTournamentSize(0));
+        heuristic.setTournamentSize(1);
+        assertEquals(1, heuristic.getTournamentSize());
+    }
+
+    private CloudletToVmMappingGeneticAlgorithm createHeuristic() {
+        final var heuristic = new CloudletToVmMappingGeneticAlgorithm(new UniformDistr(0, 1, SEED));
+        heuristic.setVmList(vmList).setCloudletList(cloudletList);
+        return heuristic;
+    }
+
+    private static Map<Long, Long> toIdMap(final CloudletToVmMappingSolution solution) {
+        final var map = new TreeMap<Long, Long>();
+        solution.getResult().forEach((cloudlet, vm) -> map.put(cloudlet.getId(), vm.getId()));
+        return map;
+    }
+
+    private static List<Vm> createVms() {
+        final var list = new ArrayList<Vm>();
+        for (int i = 0; i < VMS; i++) {
+            list.add(VmTestUtil.createVm(i, 1000, i % 4 + 1));
+        }
+
+        return list;
+    }
+
+    private static List<Cloudlet> createCloudlets() {
+        final var list = new ArrayList<Cloudlet>();
+        for (int i = 0; i < CLOUDLETS; i++) {
+            list.add(CloudletTestUtil.createCloudlet(i, 1000, i % 2 + 1));
+        }
+
+        return list;
+    }
+}
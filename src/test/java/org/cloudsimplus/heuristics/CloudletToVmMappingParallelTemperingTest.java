@@ -0,0 +1,193 @@
+package org.cloudsimplus.heuristics;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletTestUtil;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class CloudletToVmMappingParallelTemperingTest {
+    private static final int VMS = 8;
+    private static final int CLOUDLETS = 40;
+    private static final int CHAINS = 4;
+    private static final long SEED = 1;
+
+    private final List<Vm> vmList = createVms();
+    private final List<Cloudlet> cloudletList = createCloudlets();
+
+    @Test
+    void solveRunsAllRoundsExchangingReplicas() {
+        final var heuristic = createHeuristic();
+        final var solution = heuristic.solve();
+        assertEquals(CLOUDLETS, solution.getResult().size());
+        assertEquals(ParallelTempering.DEF_MAX_ROUNDS, heuristic.getRounds());
+        assertTrue(heuristic.getAcceptedExchanges() > 0);
+    }
+
+    @Test
+    void temperingFindsLowerCostThanSingleChainWithTheSameBudget() {
+        final var vms = createFittingVms();
+        final var cloudlets = createFittingCloudlets(vms);
+
+        final var tempering = new CloudletToVmMappingParallelTempering(CHAINS, SEED);
+        tempering.setVmList(vms).setCloudletList(cloudlets);
+        final double temperingCost = tempering.solve().getCost();
+
+        // A single chain at the coldest temperature, trying as many neighbors as all tempering chains together
+        final var singleChain = new CloudletToVmMappingParallelTempering(1, SEED);
+        singleChain.setVmList(vms).setCloudletList(cloudlets);
+        singleChain.setMaxTemperature(ParallelTempering.DEF_MIN_TEMPERATURE).setMaxRounds(CHAINS * ParallelTempering.DEF_MAX_ROUNDS);
+        final double singleChainCost = singleChain.solve().getCost();
+
+        assertTrue(temperingCost < singleChainCost, "tempering: %.0f single chain: %.0f".formatted(temperingCost, singleChainCost));
+    }
+
+    @Test
+    void sameSeedGivesSameSolution() {
+        final var solution1 = createHeuristic().solve();
+        final var solution2 = createHeuristic().solve();
+        assertEquals(solution1.getCost(), solution2.getCost());
+        assertEquals(toIdMap(solution1), toIdMap(solution2));
+    }
+
+    @Test
+    void multiStartStopsWhenAllChainsAreCold() {
+        final var heuristic = createHeuristic();
+        heuristic.setReplicaExchange(false);
+        heuristic.getChains().forEach(chain -> chain.setColdTemperature(0.1).setCoolingRate(0.1));
+
+        final var solution = heuristic.solve();
+        assertEquals(CLOUDLETS, solution.getResult().size());
+        assertTrue(heuristic.getRounds() < ParallelTempering.DEF_MAX_ROUNDS);
+        assertEquals(0, heuristic.getAcceptedExchanges());
+    }
+
+    @Test
+    void exchangesAreDecidedFromTheCurrentCostOfChains() {
+        final var vms = createFittingVms();
+        final var heuristic = new CloudletToVmMappingParallelTempering(2, SEED);
+        heuristic.setVmList(vms).setCloudletList(createFittingCloudlets(vms));
+        heuristic.setMaxTemperature(20).setMinTemperature(10).setMaxRounds(1);
+        heuristic.solve();
+
+        final var chains = heuristic.getChains().stream()
+            .sorted(Comparator.comparingDouble(CloudletToVmMappingSimulatedAnnealing::getCurrentTemperature))
+            .toList();
+        final var colder = chains.get(0);
+        final var hotter = chains.get(1);
+        // The hotter chain has moved away from the best solution it found, which is better than the current colder one
+        assertTrue(hotter.getBestSolutionSoFar().getCost() < colder.getCurrentCost());
+        assertTrue(hotter.getCurrentCost() > colder.getCurrentCost());
+
+        final double betaDiff = 1 / colder.getCurrentTemperature() - 1 / hotter.getCurrentTemperature();
+        final double expected = Math.exp(betaDiff * (colder.getCurrentCost() - hotter.getCurrentCost()));
+        assertEquals(expected, heuristic.getAcceptanceProbability(), 1e-9);
+        assertTrue(heuristic.getAcceptanceProbability() < 1);
+    }
+
+    @Test
+    void invalidTemperaturesAreRejected() {
+        final var heuristic = createHeuristic();
+        assertThrows(IllegalArgumentException.class, () -> heuristic.setMinTemperature(0));
+        assertThrows(IllegalArgumentException.class, () -> heuristic.setMinTemperature(-1));
+        assertThrows(IllegalArgumentException.class, () -> heuristic.setMinTemperature(ParallelTempering.DEF_MAX_TEMPERATURE * 2));
+        assertThrows(IllegalArgumentException.class, () -> heuristic.setMaxTemperature(ParallelTempering.DEF_MIN_TEMPERATURE / 2));
+        assertEquals(ParallelTempering.DEF_MIN_TEMPERATURE, heuristic.getMinTemperature());
+        assertEquals(ParallelTempering.DEF_MAX_TEMPERATURE, heuristic.getMaxTemperature());
+    }
+
+    @Test
+    void invalidChainsNumberIsRejected() {
+        final var heuristic = createHeuristic();
+        assertThrows(IllegalArgumentException.class, () -> heuristic.setChainsNumber(0));
+        assertThrows(IllegalArgumentException.class, () -> heuristic.setChainsNumber(-1));
+        assertThrows(IllegalArgumentException.class, () -> new CloudletToVmMappingParallelTempering(0, SEED));
+        assertEquals(CHAINS, heuristic.getChainsNumber());
+    }
+
+    /**
+     * Chains added after creating the heuristic must use its Cloudlet and VM lists,
+     * and the ones kept must be the first chains.
+     */
+    @Test
+    void changingChainsNumberKeepsFirstChainsAndConfiguresNewOnes() {
+        final var heuristic = createHeuristic();
+        final var firstChain = heuristic.getChains().getFirst();
+        heuristic.setChainsNumber(CHAINS - 1).setChainsNumber(CHAINS + 2);
+
+        assertEquals(CHAINS + 2, heuristic.getChains().size());
+        assertSame(firstChain, heuristic.getChains().getFirst());
+        heuristic.getChains().forEach(chain -> assertSame(cloudletList, chain.getCloudletList()));
+        assertEquals(CLOUDLETS, heuristic.solve().getResult().size());
+    }
+
+    private CloudletToVmMappingParallelTempering createHeuristic() {
+        final var heuristic = new CloudletToVmMappingParallelTempering(CHAINS, SEED);
+        heuristic.setVmList(vmList).setCloudletList(cloudletList);
+        return heuristic;
+    }
+
+    /**
+     * {@return VMs with 1 to 4 PEs}
+     * @see #createFittingCloudlets(List)
+     */
+    private static List<Vm> createFittingVms() {
+        final var vms = new ArrayList<Vm>();
+        for (int i = 0; i < 12; i++) {
+            vms.add(VmTestUtil.createVm(i, 1000, i % 4 + 1));
+        }
+
+        return vms;
+    }
+
+    /**
+     * {@return Cloudlets with 1 to 3 PEs fitting exactly into a list of VMs} The optimal cost is zero.
+     * @param vms the VMs to fit the Cloudlets into
+     */
+    private static List<Cloudlet> createFittingCloudlets(final List<Vm> vms) {
+        int freePes = (int) vms.stream().mapToLong(Vm::getPesNumber).sum();
+        final var cloudlets = new ArrayList<Cloudlet>();
+        for (int i = 0; freePes > 0; i++) {
+            final int pes = Math.min(freePes, i % 3 + 1);
+            cloudlets.add(CloudletTestUtil.createCloudlet(i, 1000, pes));
+            freePes -= pes;
+        }
+
+        return cloudlets;
+    }
+
+    private static Map<Long, Long> toIdMap(final CloudletToVmMappingSolution solution) {
+        final var map = new TreeMap<Long, Long>();
+        solution.getResult().forEach((cloudlet, vm) -> map.put(cloudlet.getId(), vm.getId()));
+        return map;
+    }
+
+    private static List<Vm> createVms() {
+        final var list = new ArrayList<Vm>();
+        for (int i = 0; i < VMS; i++) {
+            list.add(VmTestUtil.createVm(i, 1000, i % 4 + 1));
+        }
+
+        return list;
+    }
+
+    private static List<Cloudlet> createCloudlets() {
+        final var list = new ArrayList<Cloudlet>();
+        for (int i = 0; i < CLOUDLETS; i++) {
+            list.add(CloudletTestUtil.createCloudlet(i, 1000, i % 2 + 1));
+        }
+
+        return list;
+    }
+}
@@ -25,11 +25,13 @@ package org.cloudsimplus.heuristics;
 
 import org.cloudsimplus.cloudlets.Cloudlet;
 import org.cloudsimplus.cloudlets.CloudletTestUtil;
+import org.cloudsimplus.distributions.UniformDistr;
 import org.cloudsimplus.vms.Vm;
 import org.cloudsimplus.vms.VmTestUtil;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Map;
 
 import static java.util.AbstractMap.SimpleEntry;
@@ -175,4 +177,126 @@ public class CloudletToVmMappingSolutionTest {
                 swappedVmsEntries.get(1).getValue().getId());
         assertEquals(swappedVmsEntries, originalEntries, msg);
     }
+
+    @Test
+    public void testIncrementalCostAfterSwapsEqualsRecomputedCost() {
+        final var heuristic = createHeuristicWithVmsOfDifferentPes();
+        var solution = heuristic.getInitialSolution();
+        for (int i = 0; i < 200; i++) {
+            solution = heuristic.createNeighbor(solution);
+            final double incrementalCost = solution.getCost();
+            assertEquals(solution.getCost(true), incrementalCost);
+        }
+    }
+
+    private static CloudletToVmMappingSimulatedAnnealing createHeuristicWithVmsOfDifferentPes() {
+        final var vmList = new ArrayList<Vm>();
+        for (int i = 0; i < 5; i++) {
+            vmList.add(VmTestUtil.createVm(i, 1000, i + 1));
+        }
+
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < 30; i++) {
+            cloudletList.add(CloudletTestUtil.createCloudlet(i, 1000, i % 3 + 1));
+        }
+
+        final var heuristic = new CloudletToVmMappingSimulatedAnnealing(1, new UniformDistr(0, 1, 1));
+        heuristic.setVmList(vmList).setCloudletList(cloudletList);
+        return heuristic;
+    }
+
+    @Test
+    public void testSwapCostDeltaEqualsCostChangeAfterSwap() {
+        final var solution = createHeuristicWithVmsOfDifferentPes().getInitialSolution();
+        for (int i = 0; i < solution.getCloudletsNumber(); i++) {
+            final int second = (i * 7 + 3) % solution.getCloudletsNumber();
+            final double delta = solution.getSwapCostDelta(i, second);
+            final var neighbor = new CloudletToVmMappingSolution(solution, 0);
+            neighbor.swapVmsOfCloudlets(i, second);
+            assertEquals(solution.getCost() + delta, neighbor.getCost(true), 0.0001);
+        }
+    }
+
+    /**
+     * Checks that the cost of each search iteration doesn't depend on the number of Cloudlets
+     * when a move is rejected: since every swap makes an optimal solution worse,
+     * swaps must not be applied (or solutions created) at a cold temperature.
+     */
+    @Test
+    public void testRejectedMovesDoNotChangeSolution() {
+        final int cloudlets = 10_000;
+        final var solution = createOptimalSolution(cloudlets);
+        final var heuristic = new CloudletToVmMappingSimulatedAnnealing(0.0001, new UniformDistr(0, 1, 1));
+        final int solutions = CloudletToVmMappingSimulatedAnnealing.getSolutions();
+        for (int i = 0; i < cloudlets * 10; i++) {
+            assertFalse(heuristic.trySwap(solution));
+        }
+
+        assertEquals(0, solution.getCost());
+        assertEquals(solutions, CloudletToVmMappingSimulatedAnnealing.getSolutions());
+    }
+
+    /**
+     * Checks that accepted moves (at a hot temperature) are applied in place, without creating solutions.
+     */
+    @Test
+    public void testAcceptedMovesChangeSolutionInPlace() {
+        final var solution = createOptimalSolution(100);
+        final var heuristic = new CloudletToVmMappingSimulatedAnnealing(Double.MAX_VALUE, new UniformDistr(0, 1, 1));
+        final int solutions = CloudletToVmMappingSimulatedAnnealing.getSolutions();
+        int accepted = 0;
+        for (int i = 0; i < 100; i++) {
+            accepted += heuristic.trySwap(solution) ? 1 : 0;
+            assertEquals(solution.getCost(true), solution.getCost(), 0.0001);
+        }
+
+        assertTrue(accepted > 0);
+        assertTrue(solution.getCost() > 0);
+        assertEquals(solutions, CloudletToVmMappingSimulatedAnnealing.getSolutions());
+    }
+
+    /**
+     * Creates a solution where each Cloudlet perfectly fits a VM with a distinct number of PEs,
+     * so that the solution cost is 0 and any swap makes it worse.
+     * @param cloudlets the number of Cloudlets (and VMs)
+     * @return the solution
+     */
+    private static CloudletToVmMappingSolution createOptimalSolution(final int cloudlets) {
+        final var solution = new CloudletToVmMappingSolution(Heuristic.NULL);
+        for (int i = 0; i < cloudlets; i++) {
+            solution.bindCloudletToVm(CloudletTestUtil.createCloudlet(i, 1000, i + 1), VmTestUtil.createVm(i, 1000, i + 1));
+        }
+
+        return solution;
+    }
+
+    @Test
+    public void testSolveKeepsInitialSolutionAndReturnsLowestCostSolution() {
+        final var heuristic = createHeuristicWithVmsOfDifferentPes();
+        heuristic.setColdTemperature(0.01).setCoolingRate(0.05).setSearchesByIteration(10);
+        final var initialSolution = heuristic.getInitialSolution();
+        final Map<Cloudlet, Vm> initialResult = new HashMap<>(initialSolution.getResult());
+        final double initialCost = initialSolution.getCost();
+
+        final var solution = heuristic.solve();
+        assertEquals(initialResult, initialSolution.getResult());
+        assertEquals(initialCost, initialSolution.getCost());
+        assertTrue(solution.getCost() <= initialCost);
+        assertEquals(solution.getCost(true), solution.getCost(), 0.0001);
+    }
+
+    @Test
+    public void testIncrementalCostAfterRebindingCloudlet() {
+        final var solution = createSolutionWithOneVmForEachCloudlet(3, 2);
+        assertEquals(0, solution.getCost());
+
+        final var result = solution.getResult();
+        final Cloudlet cloudlet = result.keySet().iterator().next();
+        final Vm otherVm = result.entrySet().stream().filter(entry -> entry.getKey() != cloudlet).findFirst().orElseThrow().getValue();
+        solution.bindCloudletToVm(cloudlet, otherVm);
+
+        //The previous VM becomes empty (with no cost) and the other one is overloaded by 2 PEs
+        assertEquals(2, solution.getCost());
+        assertEquals(2, solution.getCost(true));
+    }
 }
@@ -0,0 +1,101 @@
+package org.cloudsimplus.heuristics;
+
+import org.cloudsimplus.distributions.UniformDistr;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostSimpleTest;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmTestUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class VmConsolidationSimulatedAnnealingTest {
+    private static final int HOSTS = 6;
+    private static final int HOST_PES = 4;
+    private static final int MIPS = 1000;
+
+    private List<Host> hostList;
+    private List<Vm> vmList;
+
+    /**
+     * Creates Hosts with a single VM each, which can be consolidated into 2 Hosts.
+     */
+    @BeforeEach
+    void setUp() {
+        hostList = IntStream.range(0, HOSTS).mapToObj(i -> (Host) HostSimpleTest.createHostSimple(i, HOST_PES, MIPS, 10_000, 100_000, 100_000)).toList();
+        vmList = IntStream.range(0, HOSTS).mapToObj(i -> (Vm) VmTestUtil.createVm(i, MIPS, 1)).toList();
+        IntStream.range(0, HOSTS).forEach(i -> assertTrue(hostList.get(i).createVm(vmList.get(i)).fully()));
+    }
+
+    private VmConsolidationSolution newSolution() {
+        return new VmConsolidationSolution(Heuristic.NULL, vmList, hostList, 1, VmConsolidationSolution.Costs.DEFAULT);
+    }
+
+    @Test
+    void initialSolutionIsTheCurrentPlacement() {
+        final var solution = newSolution();
+        assertAll(
+            () -> assertEquals(HOSTS, solution.getActiveHosts()),
+            () -> assertEquals(0, solution.getMigrations()),
+            () -> assertEquals(0, solution.getOverloadedHosts()),
+            () -> assertTrue(solution.getResult().isEmpty())
+        );
+    }
+
+    @Test
+    void moveCostDeltaIsInfiniteWhenVmDoesntFit() {
+        final var solution = newSolution();
+        for (int vm = 1; vm < HOST_PES; vm++) {
+            solution.move(vm, 0);
+        }
+
+        assertEquals(Double.POSITIVE_INFINITY, solution.getMoveCostDelta(HOST_PES, 0));
+        assertEquals(Double.POSITIVE_INFINITY, solution.getMoveCostDelta(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> solution.move(HOST_PES, 0));
+    }
+
+    @Test
+    void incrementalCostMatchesTheRecomputedOne() {
+        final var random = new Random(HOSTS);
+        final var solution = newSolution();
+        for (int i = 0; i < 200; i++) {
+            final int vm = random.nextInt(HOSTS);
+            final int host = random.nextInt(HOSTS);
+            final double delta = solution.getMoveCostDelta(vm, host);
+            if (delta == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+
+            final double expected = solution.getCost() + delta;
+            solution.move(vm, host);
+            assertEquals(expected, solution.getCost(), 1e-9);
+            assertEquals(expected, new VmConsolidationSolution(solution).getCost(true), 1e-9);
+        }
+    }
+
+    @Test
+    void underloadedHostsAreConsolidated() {
+        final var heuristic = new VmConsolidationSimulatedAnnealing(1, new UniformDistr(0, 1, HOSTS));
+        heuristic.setVmList(vmList)
+                 .setHostList(hostList)
+                 .setNeighborhoodSize(16)
+                 .setColdTemperature(0.01)
+                 .setCoolingRate(0.05);
+
+        final var solution = heuristic.solve();
+        assertAll(
+            () -> assertEquals(HOSTS / HOST_PES + 1, solution.getActiveHosts()),
+            () -> assertEquals(0, solution.getOverloadedHosts()),
+            () -> assertEquals(solution.getMigrations(), solution.getResult().size()),
+            () -> assertSame(solution, heuristic.getBestSolutionSoFar())
+        );
+    }
+}
@@ -0,0 +1,115 @@
+package org.cloudsimplus.hosts;
+
+import org.cloudsimplus.schedulers.cloudlet.CloudletScheduler;
+import org.cloudsimplus.schedulers.vm.VmSchedulerSpaceShared;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmTestUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class HostCapacityIndexTest {
+    private static final int MIPS = 1000;
+    private List<HostSimple> hostList;
+    private HostCapacityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        hostList = List.of(
+            HostSimpleTest.createHostSimple(0, 4),
+            HostSimpleTest.createHostSimple(1, 2),
+            HostSimpleTest.createHostSimple(2, 6),
+            HostSimpleTest.createHostSimple(3, 2));
+        index = new HostCapacityIndex(hostList);
+    }
+
+    @Test
+    void findBestFitReturnsFirstHostWithFewestFreePes() {
+        assertEquals(Optional.of(hostList.get(1)), index.findBestFit(VmTestUtil.createVm(0, MIPS, 2)));
+        assertEquals(Optional.of(hostList.get(0)), index.findBestFit(VmTestUtil.createVm(1, MIPS, 3)));
+    }
+
+    @Test
+    void findWorstFitReturnsHostWithMostFreePes() {
+        assertEquals(Optional.of(hostList.get(2)), index.findWorstFit(VmTestUtil.createVm(0, MIPS, 2)));
+    }
+
+    @Test
+    void findFirstFitWrapsAroundFromStartPosition() {
+        final Vm vm = VmTestUtil.createVm(0, MIPS, 5);
+        assertEquals(Optional.of(hostList.get(2)), index.findFirstFit(vm, 3));
+        assertEquals(Optional.empty(), index.findFirstFit(VmTestUtil.createVm(1, MIPS, 7), 0));
+    }
+
+    @Test
+    void hostIsReindexedAfterVmCreation() {
+        final Host host = hostList.get(1);
+        assertTrue(host.createVm(VmTestUtil.createVm(0, MIPS, 2)).fully());
+        assertEquals(Optional.of(hostList.get(3)), index.findBestFit(VmTestUtil.createVm(1, MIPS, 2)));
+    }
+
+    @Test
+    void hostsWithFewerFreePesThanRequiredAreNotChecked() {
+        hostList.forEach(host -> host.setVmScheduler(new VmSchedulerSpaceShared()));
+        final List<Host> checkedHosts = new ArrayList<>();
+        final List<HostSimple> spiedHostList = hostList.stream().map(host -> spy(host)).toList();
+        spiedHostList.forEach(host ->
+            doAnswer(invocation -> {
+                checkedHosts.add(host);
+                return invocation.callRealMethod();
+            }).when(host).isSuitableForVm(any(Vm.class)));
+
+        final var spiedIndex = new HostCapacityIndex(spiedHostList);
+        assertEquals(Optional.of(spiedHostList.get(0)), spiedIndex.findBestFit(VmTestUtil.createVm(0, MIPS, 3)));
+        assertEquals(List.of(spiedHostList.get(0)), checkedHosts);
+
+        checkedHosts.clear();
+        assertEquals(Optional.empty(), spiedIndex.findWorstFit(VmTestUtil.createVm(1, MIPS, 7)));
+        assertTrue(checkedHosts.isEmpty());
+    }
+
+    @Test
+    void timeSharedHostWithoutFreePesIsFoundWhenItHasEnoughMips() {
+        final Host host = hostList.get(1);
+        final double halfPeMips = host.getPeList().getFirst().getCapacity() / 2.0;
+        assertTrue(host.createVm(createSmallVm(0, halfPeMips, 2)).fully());
+        assertEquals(0, host.getFreePesNumber());
+
+        /* Other Hosts are filled up, so that the time-shared Host without free PEs is the only one
+         * with enough available MIPS for the VM. */
+        for (final int i : new int[]{0, 2, 3}) {
+            final Host other = hostList.get(i);
+            assertTrue(other.createVm(createSmallVm(i + 1, halfPeMips * 2, (int) other.getPesNumber())).fully());
+        }
+
+        final Vm vm = createSmallVm(5, halfPeMips, 2);
+        assertTrue(host.isSuitableForVm(vm));
+        assertEquals(Optional.of(host), index.findBestFit(vm));
+        assertEquals(Optional.of(host), index.findWorstFit(vm));
+    }
+
+    @Test
+    void failedHostIsNotFound() {
+        hostList.get(2).setFailed(true);
+        assertEquals(Optional.of(hostList.get(0)), index.findWorstFit(VmTestUtil.createVm(0, MIPS, 2)));
+    }
+
+    /**
+     * {@return a VM requiring just a small amount of RAM, bandwidth and storage},
+     * so that multiple VMs fit into a Host and just the CPU capacity matters.
+     */
+    private static Vm createSmallVm(final int id, final double mips, final int pes) {
+        return VmTestUtil.createVm(id, mips, pes, 1, 1, 1, CloudletScheduler.NULL);
+    }
+}
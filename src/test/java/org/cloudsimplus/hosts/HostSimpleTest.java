@@ -58,6 +58,7 @@ public class HostSimpleTest {
 
     private static final int PES = 2;
     private static final double MIPS = 2000;
+    private static final double VM_MIPS = MIPS / 2;
 
     private HostSimple host;
 
@@ -306,6 +307,91 @@ public class HostSimpleTest {
         assertFalse(host.getVmsMigratingIn().contains(vm));
     }
 
+    @Test
+    public void availableMipsAfterAllocatingAndDeallocatingPes() {
+        final Vm vm = createVmWithHalfOfHostPeMips(0);
+        final VmScheduler scheduler = host.getVmScheduler();
+        host.addVmToList(vm);
+        assertEquals(MIPS * PES, scheduler.getTotalAvailableMips());
+
+        scheduler.allocatePesForVm(vm);
+        assertEquals(MIPS * PES - VM_MIPS, scheduler.getTotalAvailableMips());
+
+        scheduler.deallocatePesFromVm(vm);
+        assertEquals(MIPS * PES, scheduler.getTotalAvailableMips());
+    }
+
+    @Test
+    public void availableMipsAfterCreatingAndDestroyingVm() {
+        final Vm vm = createVmWithHalfOfHostPeMips(0);
+        final VmScheduler scheduler = host.getVmScheduler();
+        assertEquals(MIPS * PES, scheduler.getTotalAvailableMips());
+
+        assertTrue(host.createVm(vm).fully());
+        assertEquals(MIPS * PES - VM_MIPS, scheduler.getTotalAvailableMips());
+
+        host.destroyVm(vm);
+        assertEquals(MIPS * PES, scheduler.getTotalAvailableMips());
+    }
+
+    @Test
+    public void availableMipsAfterDestroyingAllVms() {
+        final VmScheduler scheduler = host.getVmScheduler();
+        assertTrue(host.createVm(createVmWithHalfOfHostPeMips(0)).fully());
+        assertTrue(host.createVm(createVmWithHalfOfHostPeMips(1)).fully());
+        assertEquals(MIPS * PES - VM_MIPS * 2, scheduler.getTotalAvailableMips());
+
+        host.destroyAllVms();
+        assertEquals(MIPS * PES, scheduler.getTotalAvailableMips());
+    }
+
+    /**
+     * While a VM is migrating in, just the CPU migration overhead is allocated to it.
+     * The available MIPS computed from the VMs migrating in must be updated
+     * when the migration starts and finishes.
+     */
+    @Test
+    public void availableMipsAfterMigratingVmIn() {
+        final VmSimple vm = createVmWithHalfOfHostPeMips(0);
+        final VmScheduler scheduler = host.getVmScheduler();
+        assertEquals(MIPS * PES, scheduler.getTotalAvailableMips());
+
+        assertTrue(host.addMigratingInVm(vm));
+        assertEquals(MIPS * PES - VM_MIPS, scheduler.getTotalAvailableMips());
+
+        host.removeMigratingInVm(vm);
+        assertEquals(MIPS * PES, scheduler.getTotalAvailableMips());
+    }
+
+    /**
+     * While a VM is migrating out, the MIPS allocated to it is just a fraction of
+     * the MIPS the Host actually uses (the rest is the CPU migration overhead).
+     * The available MIPS computed from the VMs migrating out must be updated
+     * when the migration starts and finishes.
+     */
+    @Test
+    public void availableMipsAfterMigratingVmOut() {
+        final VmSimple vm = createVmWithHalfOfHostPeMips(0);
+        final VmScheduler scheduler = host.getVmScheduler();
+        assertTrue(host.createVm(vm).fully());
+        final double availableMips = MIPS * PES - VM_MIPS;
+        assertEquals(availableMips, scheduler.getTotalAvailableMips());
+
+        host.addVmMigratingOut(vm);
+        final double usedMipsDuringMigration = VM_MIPS / scheduler.getMaxCpuUsagePercentDuringOutMigration();
+        assertEquals(MIPS * PES - usedMipsDuringMigration, scheduler.getTotalAvailableMips(), 0.001);
+
+        host.removeVmMigratingOut(vm);
+        assertEquals(availableMips, scheduler.getTotalAvailableMips());
+    }
+
+    private VmSimple createVmWithHalfOfHostPeMips(final int id) {
+        return VmTestUtil.createVm(
+            id, VM_MIPS, 1, RAM / 4, BW / 4, A_QUARTER_STORAGE,
+            new CloudletSchedulerTimeShared(),
+            b -> Mockito.when(b.requestIdleVmDestruction(Mockito.any())).thenReturn(b));
+    }
+
     @Test
     public void testIsSuitableForVm() {
         final VmSimple vm0 = VmTestUtil.createVm(0, MIPS, 2, RAM, BW, HALF_STORAGE, new CloudletSchedulerTimeShared());
@@ -415,6 +501,33 @@ public class HostSimpleTest {
         assertEquals(pesNumber, host.getPesNumber());
     }
 
+    @Test
+    public void testSetPeStatusByCurrentStatus() {
+        final HostSimple host = createHostSimple(0, 4);
+        assertEquals(2, host.setPeStatus(Pe.Status.FREE, 2, Pe.Status.BUSY));
+        assertEquals(host.getPeList().subList(0, 2), host.getBusyPeList());
+        assertEquals(host.getPeList().subList(2, 4), host.getFreePeList());
+
+        host.setPeStatus(List.of(host.getPeList().get(2)), Pe.Status.FAILED);
+        assertEquals(1, host.setPeStatus(Pe.Status.FREE, 2, Pe.Status.BUSY));
+        assertEquals(3, host.getBusyPesNumber());
+        assertEquals(0, host.getFreePesNumber());
+        assertEquals(3, host.getWorkingPeList().size());
+        assertFalse(host.getWorkingPeList().contains(host.getPeList().get(2)));
+    }
+
+    @Test
+    public void testSetPeStatusOfPesWhoseIdsAreNotTheirPositions() {
+        final List<Pe> peList = IntStream.range(0, 3).mapToObj(i -> (Pe) new PeSimple(10 - i, 1000, new PeProvisionerSimple())).toList();
+        final var host = new HostSimple(RAM, BW, STORAGE, peList);
+
+        host.setPeStatus(List.of(peList.get(1)), Pe.Status.BUSY);
+        assertEquals(List.of(peList.get(1)), host.getBusyPeList());
+        assertEquals(List.of(peList.get(0), peList.get(2)), host.getFreePeList());
+        assertEquals(1, host.setPeStatus(Pe.Status.BUSY, 2, Pe.Status.FREE));
+        assertEquals(peList, host.getFreePeList());
+    }
+
     @Test
     public void testGetBwCapacity() {
         assertEquals(BW, createHostSimple(0, 1).getBw().getCapacity());
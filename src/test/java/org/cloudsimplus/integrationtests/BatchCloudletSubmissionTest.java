@@ -0,0 +1,82 @@
+package org.cloudsimplus.integrationtests;
+
+import org.cloudsimplus.brokers.DatacenterBroker;
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.Pe;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that submitting Cloudlets in batch to a Datacenter
+ * (see {@link DatacenterBroker#setBatchCloudletSubmission(boolean)})
+ * produces the same results as submitting them one-by-one.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class BatchCloudletSubmissionTest {
+    private static final int HOSTS = 2;
+    private static final int VMS = 4;
+    private static final int CLOUDLETS = 20;
+    private static final int MIPS = 1000;
+
+    @Test
+    public void batchSubmissionFinishesCloudletsAsSingleSubmission() {
+        final var singleList = runSimulation(false);
+        final var batchList = runSimulation(true);
+
+        assertEquals(CLOUDLETS, batchList.size());
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final Cloudlet single = singleList.get(i);
+            final Cloudlet batch = batchList.get(i);
+            assertEquals(single.getVm().getId(), batch.getVm().getId());
+            assertEquals(single.getStartTime(), batch.getStartTime());
+            assertEquals(single.getFinishTime(), batch.getFinishTime());
+        }
+    }
+
+    private static List<Cloudlet> runSimulation(final boolean batch) {
+        final var simulation = new CloudSimPlus();
+        final var hostList = IntStream.range(0, HOSTS).mapToObj(i -> createHost()).toList();
+        new DatacenterSimple(simulation, hostList);
+
+        final var broker = new DatacenterBrokerSimple(simulation);
+        broker.setBatchCloudletSubmission(batch);
+
+        final var vmList = new ArrayList<Vm>();
+        for (int i = 0; i < VMS; i++) {
+            vmList.add(new VmSimple(MIPS, 2).setRam(512).setBw(1000).setSize(10_000));
+        }
+
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < CLOUDLETS; i++) {
+            cloudletList.add(new CloudletSimple(10_000L * (i % 3 + 1), 1).setSizes(300));
+        }
+
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+        simulation.start();
+
+        final List<Cloudlet> finishedList = broker.getCloudletFinishedList();
+        finishedList.sort(Comparator.comparingLong(Cloudlet::getId));
+        return finishedList;
+    }
+
+    private static HostSimple createHost() {
+        final List<Pe> peList = IntStream.range(0, 4).mapToObj(i -> (Pe)new PeSimple(MIPS)).toList();
+        return new HostSimple(4096, 10_000, 1_000_000, peList);
+    }
+}
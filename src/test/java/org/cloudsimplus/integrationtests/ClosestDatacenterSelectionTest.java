@@ -0,0 +1,90 @@
+package org.cloudsimplus.integrationtests;
+
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.Datacenter;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.Pe;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks that VMs are placed into the Datacenter closest to their time zone
+ * when {@link org.cloudsimplus.brokers.DatacenterBroker#setSelectClosestDatacenter(boolean)} is enabled,
+ * including VMs sharing the same time zone.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class ClosestDatacenterSelectionTest {
+    private static final double[] DC_TIME_ZONES = {9, -5, 1};
+    private static final double[] VM_TIME_ZONES = {-4, 2, 8, -4, 2, 8, 0.5};
+    /** Index of the Datacenter (inside {@link #DC_TIME_ZONES}) closest to each VM. */
+    private static final int[] EXPECTED_DCS = {1, 2, 0, 1, 2, 0, 2};
+
+    @Test
+    public void vmsArePlacedIntoClosestDatacenter() {
+        final var simulation = new CloudSimPlus();
+        final var datacenterList = new ArrayList<Datacenter>();
+        for (final double timeZone : DC_TIME_ZONES) {
+            final var hostList = IntStream.range(0, 4).mapToObj(i -> createHost()).toList();
+            datacenterList.add(new DatacenterSimple(simulation, hostList).setTimeZone(timeZone));
+        }
+
+        final var broker = new DatacenterBrokerSimple(simulation).setSelectClosestDatacenter(true);
+        final var vmList = new ArrayList<Vm>();
+        for (final double timeZone : VM_TIME_ZONES) {
+            vmList.add(new VmSimple(1000, 1).setRam(512).setBw(1000).setSize(1000).setTimeZone(timeZone));
+        }
+
+        broker.submitVmList(vmList);
+        simulation.terminateAt(1);
+        simulation.start();
+
+        for (int i = 0; i < vmList.size(); i++) {
+            final Vm vm = vmList.get(i);
+            assertSame(datacenterList.get(EXPECTED_DCS[i]), vm.getHost().getDatacenter(), vm.toString());
+        }
+    }
+
+    @Test
+    public void vmIsPlacedIntoNextClosestDatacenterWhenClosestOneIsFull() {
+        final var simulation = new CloudSimPlus();
+        final var datacenterList = new ArrayList<Datacenter>();
+        for (final double timeZone : DC_TIME_ZONES) {
+            // The Datacenter closest to the VMs (at time zone -5) has room for just one of them
+            final int hosts = timeZone == -5 ? 1 : 4;
+            final var hostList = IntStream.range(0, hosts).mapToObj(i -> createHost()).toList();
+            datacenterList.add(new DatacenterSimple(simulation, hostList).setTimeZone(timeZone));
+        }
+
+        final var broker = new DatacenterBrokerSimple(simulation).setSelectClosestDatacenter(true);
+        final var vmList = new ArrayList<Vm>();
+        for (int i = 0; i < 2; i++) {
+            vmList.add(new VmSimple(1000, 4).setRam(512).setBw(1000).setSize(1000).setTimeZone(-4));
+        }
+
+        broker.submitVmList(vmList);
+        simulation.terminateAt(1);
+        simulation.start();
+
+        // The Datacenter at time zone 1 is closer to the VMs than the one at time zone 9
+        final var closestDcs = List.of(datacenterList.get(1), datacenterList.get(2));
+        assertEquals(closestDcs, vmList.stream().map(vm -> vm.getHost().getDatacenter()).sorted(Comparator.comparingDouble(Datacenter::getTimeZone)).toList());
+    }
+
+    private static HostSimple createHost() {
+        final List<Pe> peList = IntStream.range(0, 4).mapToObj(i -> (Pe)new PeSimple(1000)).toList();
+        return new HostSimple(4096, 10_000, 1_000_000, peList);
+    }
+}
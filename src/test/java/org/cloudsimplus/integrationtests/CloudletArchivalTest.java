@@ -0,0 +1,136 @@
+package org.cloudsimplus.integrationtests;
+
+import org.cloudsimplus.brokers.DatacenterBroker;
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.builders.tables.CloudletArchiveTableBuilder;
+import org.cloudsimplus.builders.tables.CsvTable;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletArchive;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.Pe;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that enabling {@link DatacenterBroker#setCloudletArchival(boolean) Cloudlet archival}
+ * keeps the same results of finished Cloudlets, while releasing them from broker lists.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class CloudletArchivalTest {
+    private static final int HOSTS = 2;
+    private static final int VMS = 4;
+    private static final int CLOUDLETS = 50;
+    private static final int MIPS = 1000;
+
+    @Test
+    public void archivedCloudletsHaveSameResultsAsFinishedList() {
+        final var finishedList = runSimulation(false).getCloudletFinishedList();
+        finishedList.sort(Comparator.comparingLong(Cloudlet::getId));
+
+        final var archive = runSimulation(true).getCloudletArchive();
+        final var entries = new ArrayList<>(archive.asList());
+        entries.sort(Comparator.comparingLong(CloudletArchive.Entry::id));
+
+        assertEquals(CLOUDLETS, entries.size());
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final Cloudlet cloudlet = finishedList.get(i);
+            final CloudletArchive.Entry entry = entries.get(i);
+            assertEquals(cloudlet.getId(), entry.id());
+            assertEquals(cloudlet.getStatus(), entry.status());
+            assertEquals(cloudlet.getVm().getId(), entry.vmId());
+            assertEquals(cloudlet.getVm().getHost().getId(), entry.hostId());
+            assertEquals(cloudlet.getFinishedLengthSoFar(), entry.finishedLength());
+            assertEquals(cloudlet.getStartTime(), entry.startTime());
+            assertEquals(cloudlet.getFinishTime(), entry.finishTime());
+        }
+    }
+
+    @Test
+    public void archivalReleasesFinishedCloudletsFromBrokerLists() {
+        final var broker = runSimulation(true);
+        assertTrue(broker.getCloudletFinishedList().isEmpty());
+        assertTrue(broker.getCloudletSubmittedList().size() < CLOUDLETS);
+        assertTrue(broker.getCloudletCreatedList().size() < CLOUDLETS);
+        assertTrue(broker.getCloudletSubmittedList().stream().noneMatch(Cloudlet::isFinished));
+    }
+
+    @Test
+    public void archivedCloudletsAreReleasedFromVmSchedulers() {
+        final var references = new ArrayList<WeakReference<Cloudlet>>();
+        final var broker = runSimulation(true, references);
+        broker.getVmCreatedList().forEach(vm -> assertTrue(vm.getCloudletScheduler().getCloudletFinishedList().isEmpty(), vm.toString()));
+
+        // The simulation objects are still reachable, but archived Cloudlets must not be
+        for (int i = 0; i < 10 && references.stream().anyMatch(ref -> ref.get() != null); i++) {
+            System.gc();
+        }
+
+        assertEquals(0, references.stream().filter(ref -> ref.get() != null).count());
+        assertEquals(CLOUDLETS, broker.getCloudletArchive().size());
+    }
+
+    @Test
+    public void archiveTableHasOneRowForEachCloudlet() {
+        final var output = new ByteArrayOutputStream();
+        final var table = new CsvTable();
+        table.setPrintStream(new PrintStream(output));
+        new CloudletArchiveTableBuilder(runSimulation(true).getCloudletArchive(), table).build();
+
+        final long dataRows = output.toString().lines().filter(line -> line.contains(Cloudlet.Status.SUCCESS.name())).count();
+        assertEquals(CLOUDLETS, dataRows);
+    }
+
+    private static DatacenterBroker runSimulation(final boolean archival) {
+        return runSimulation(archival, new ArrayList<>());
+    }
+
+    /**
+     * Runs a simulation without keeping strong references to the created Cloudlets.
+     * @param archival true to enable Cloudlet archival
+     * @param references a list to add weak references to the created Cloudlets
+     * @return the broker
+     */
+    private static DatacenterBroker runSimulation(final boolean archival, final List<WeakReference<Cloudlet>> references) {
+        final var simulation = new CloudSimPlus();
+        final var hostList = IntStream.range(0, HOSTS).mapToObj(i -> createHost()).toList();
+        new DatacenterSimple(simulation, hostList);
+
+        final var broker = new DatacenterBrokerSimple(simulation).setCloudletArchival(archival);
+        final var vmList = new ArrayList<Vm>();
+        for (int i = 0; i < VMS; i++) {
+            vmList.add(new VmSimple(MIPS, 2).setRam(512).setBw(1000).setSize(10_000));
+        }
+
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < CLOUDLETS; i++) {
+            cloudletList.add(new CloudletSimple(10_000L * (i % 3 + 1), 1).setSizes(300));
+        }
+
+        cloudletList.forEach(cloudlet -> references.add(new WeakReference<>(cloudlet)));
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+        simulation.start();
+        return broker;
+    }
+
+    private static HostSimple createHost() {
+        final List<Pe> peList = IntStream.range(0, 4).mapToObj(i -> (Pe)new PeSimple(MIPS)).toList();
+        return new HostSimple(4096, 10_000, 1_000_000, peList);
+    }
+}
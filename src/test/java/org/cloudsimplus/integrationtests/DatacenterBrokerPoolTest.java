@@ -0,0 +1,178 @@
+package org.cloudsimplus.integrationtests;
+
+import org.cloudsimplus.brokers.BrokerTenant;
+import org.cloudsimplus.brokers.DatacenterBrokerPool;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.Pe;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that many tenants hosted by a single {@link DatacenterBrokerPool}
+ * just run their Cloudlets on their own VMs.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class DatacenterBrokerPoolTest {
+    private static final int TENANTS = 5;
+    private static final int VMS_BY_TENANT = 2;
+    private static final int CLOUDLETS_BY_TENANT = 6;
+    private static final int MIPS = 1000;
+
+    @Test
+    public void tenantsRunCloudletsOnTheirOwnVms() {
+        final var simulation = new CloudSimPlus();
+        final var pool = createPool(simulation);
+        final var cloudletsByTenant = submitTenants(pool);
+
+        simulation.start();
+
+        assertTenantsRunCloudletsOnTheirOwnVms(pool, cloudletsByTenant);
+    }
+
+    /**
+     * Even a custom VM mapper selecting VMs of other tenants
+     * must not make a tenant run Cloudlets on VMs of someone else.
+     */
+    @Test
+    public void tenantsRunCloudletsOnTheirOwnVmsWithCustomVmMapper() {
+        final var simulation = new CloudSimPlus();
+        final var pool = createPool(simulation);
+        pool.setVmMapper(cloudlet -> pool.getVmExecList().getFirst());
+        final var cloudletsByTenant = submitTenants(pool);
+
+        simulation.start();
+
+        assertTenantsRunCloudletsOnTheirOwnVms(pool, cloudletsByTenant);
+    }
+
+    /**
+     * Cloudlets submitted directly to the pool must just run on VMs submitted directly to the pool.
+     */
+    @Test
+    public void cloudletsSubmittedToThePoolDoNotRunOnTenantVms() {
+        final var simulation = new CloudSimPlus();
+        final var pool = createPool(simulation);
+        final var cloudletsByTenant = submitTenants(pool);
+        final List<Vm> poolVmList = createVms();
+        final List<Cloudlet> poolCloudletList = createCloudlets();
+        pool.submitVmList(poolVmList);
+        pool.submitCloudletList(poolCloudletList);
+
+        simulation.start();
+
+        assertTenantsRunCloudletsOnTheirOwnVms(pool, cloudletsByTenant, CLOUDLETS_BY_TENANT);
+        for (final Cloudlet cloudlet : poolCloudletList) {
+            assertTrue(poolVmList.contains(cloudlet.getVm()), cloudlet.toString());
+        }
+    }
+
+    /**
+     * Creates {@link #TENANTS} tenants, each one submitting its VMs and Cloudlets.
+     * @param pool the pool to create the tenants
+     * @return the list of Cloudlets of each tenant (where the index is the tenant ID)
+     */
+    private static List<List<Cloudlet>> submitTenants(final DatacenterBrokerPool pool) {
+        final var cloudletsByTenant = new ArrayList<List<Cloudlet>>();
+        for (int i = 0; i < TENANTS; i++) {
+            final BrokerTenant tenant = pool.createTenant("Customer " + i);
+            final List<Cloudlet> cloudletList = createCloudlets();
+            tenant.submitVmList(createVms());
+            tenant.submitCloudletList(cloudletList);
+            cloudletsByTenant.add(cloudletList);
+        }
+
+        return cloudletsByTenant;
+    }
+
+    private static void assertTenantsRunCloudletsOnTheirOwnVms(
+        final DatacenterBrokerPool pool, final List<List<Cloudlet>> cloudletsByTenant)
+    {
+        assertTenantsRunCloudletsOnTheirOwnVms(pool, cloudletsByTenant, 0);
+    }
+
+    /**
+     * Checks that all Cloudlets have finished, and that tenants ran their Cloudlets on their own VMs.
+     * @param pool the pool hosting the tenants
+     * @param cloudletsByTenant the list of Cloudlets of each tenant (where the index is the tenant ID)
+     * @param poolCloudlets the number of Cloudlets submitted directly to the pool
+     */
+    private static void assertTenantsRunCloudletsOnTheirOwnVms(
+        final DatacenterBrokerPool pool, final List<List<Cloudlet>> cloudletsByTenant, final int poolCloudlets)
+    {
+        assertEquals(TENANTS * CLOUDLETS_BY_TENANT + poolCloudlets, pool.getCloudletFinishedList().size());
+        for (final BrokerTenant tenant : pool.getTenantList()) {
+            assertEquals(CLOUDLETS_BY_TENANT, tenant.getSubmittedCloudletsNumber(), tenant.toString());
+            assertEquals(CLOUDLETS_BY_TENANT, tenant.getFinishedCloudletsNumber(), tenant.toString());
+            final List<Cloudlet> cloudletList = cloudletsByTenant.get(tenant.getId());
+            for (final Cloudlet cloudlet : cloudletList) {
+                assertTrue(tenant.getVmList().contains(cloudlet.getVm()), cloudlet.toString());
+            }
+
+            final long expectedLength = cloudletList.stream().mapToLong(Cloudlet::getLength).sum();
+            assertEquals(expectedLength, tenant.getFinishedLength());
+        }
+    }
+
+    /**
+     * When the pool archives finished Cloudlets, tenants must still account for them,
+     * without keeping the Cloudlets.
+     */
+    @Test
+    public void tenantsAccountArchivedCloudlets() {
+        final var simulation = new CloudSimPlus();
+        final var pool = createPool(simulation);
+        pool.setCloudletArchival(true);
+        final BrokerTenant tenant = pool.createTenant("Customer");
+        tenant.submitVmList(createVms());
+        tenant.submitCloudletList(createCloudlets());
+
+        simulation.start();
+
+        assertTrue(pool.getCloudletFinishedList().isEmpty());
+        assertEquals(CLOUDLETS_BY_TENANT, pool.getCloudletArchive().size());
+        assertEquals(CLOUDLETS_BY_TENANT, tenant.getFinishedCloudletsNumber());
+        assertTrue(tenant.getFinishedLength() > 0);
+    }
+
+    private static DatacenterBrokerPool createPool(final CloudSimPlus simulation) {
+        final var hostList = IntStream.range(0, 4).mapToObj(i -> createHost()).toList();
+        new DatacenterSimple(simulation, hostList);
+        return new DatacenterBrokerPool(simulation);
+    }
+
+    private static List<Vm> createVms() {
+        final var vmList = new ArrayList<Vm>();
+        for (int i = 0; i < VMS_BY_TENANT; i++) {
+            vmList.add(new VmSimple(MIPS, 1).setRam(256).setBw(100).setSize(1000));
+        }
+
+        return vmList;
+    }
+
+    private static List<Cloudlet> createCloudlets() {
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < CLOUDLETS_BY_TENANT; i++) {
+            cloudletList.add(new CloudletSimple(5_000L * (i % 3 + 1), 1).setSizes(300));
+        }
+
+        return cloudletList;
+    }
+
+    private static HostSimple createHost() {
+        final List<Pe> peList = IntStream.range(0, 4).mapToObj(i -> (Pe)new PeSimple(MIPS)).toList();
+        return new HostSimple(4096, 10_000, 1_000_000, peList);
+    }
+}
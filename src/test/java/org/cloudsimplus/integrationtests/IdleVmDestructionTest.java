@@ -0,0 +1,63 @@
+package org.cloudsimplus.integrationtests;
+
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.Pe;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that VMs are destroyed as soon as they become idle,
+ * while other VMs of the same broker are still running Cloudlets.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class IdleVmDestructionTest {
+    private static final int VMS = 4;
+    private static final int MIPS = 1000;
+    private static final long CLOUDLET_LENGTH = 10_000;
+    private static final double DESTRUCTION_DELAY = 1;
+    private static final double TIME_DELTA = 0.2;
+
+    @Test
+    public void idleVmsAreDestroyedWhenTheirLastCloudletFinishes() {
+        final var simulation = new CloudSimPlus();
+        final List<Pe> peList = IntStream.range(0, VMS).mapToObj(i -> (Pe)new PeSimple(MIPS)).toList();
+        new DatacenterSimple(simulation, List.of(new HostSimple(4096, 10_000, 1_000_000, peList)));
+
+        final var broker = new DatacenterBrokerSimple(simulation).setVmDestructionDelay(DESTRUCTION_DELAY);
+        final var vmList = new ArrayList<Vm>();
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < VMS; i++) {
+            final var vm = new VmSimple(MIPS, 1).setRam(512).setBw(1000).setSize(1000);
+            vmList.add(vm);
+            // Each VM runs a Cloudlet that takes i+1 times longer than the first one
+            final var cloudlet = new CloudletSimple(CLOUDLET_LENGTH * (i + 1), 1).setSizes(300);
+            cloudlet.setVm(vm);
+            cloudletList.add(cloudlet);
+        }
+
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+        simulation.start();
+
+        for (int i = 0; i < VMS; i++) {
+            final Cloudlet cloudlet = cloudletList.get(i);
+            final Vm vm = vmList.get(i);
+            assertTrue(cloudlet.isFinished());
+            assertEquals(cloudlet.getFinishTime() + DESTRUCTION_DELAY, vm.getFinishTime(), TIME_DELTA, vm.toString());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.cloudsimplus.integrationtests;
+
+import org.cloudsimplus.brokers.DatacenterBroker;
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.Pe;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that submitting Cloudlets as a stream
+ * (see {@link DatacenterBroker#submitCloudletStream(Iterator, double)})
+ * produces the same results as submitting them as a list,
+ * while Cloudlets are just pulled close to their submission time.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class StreamCloudletSubmissionTest {
+    private static final int HOSTS = 2;
+    private static final int VMS = 4;
+    private static final int CLOUDLETS = 20;
+    private static final int MIPS = 1000;
+    private static final double SUBMISSION_INTERVAL = 5;
+    private static final double LOOK_AHEAD = 2;
+
+    /**
+     * The submission delay of Cloudlets in a list is counted from the time VMs are created,
+     * while for a stream it's counted from the time the stream is submitted.
+     * Since Cloudlets arrive at slightly different times, processing updates
+     * (and therefore finish times) may also slightly differ.
+     */
+    private static final double TIME_DELTA = 0.2;
+
+    @Test
+    public void streamSubmissionFinishesCloudletsAsListSubmission() {
+        final var listFinished = runSimulation(false);
+        final var streamFinished = runSimulation(true);
+
+        assertEquals(CLOUDLETS, streamFinished.size());
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final Cloudlet fromList = listFinished.get(i);
+            final Cloudlet fromStream = streamFinished.get(i);
+            assertEquals(fromList.getVm().getId(), fromStream.getVm().getId());
+            assertEquals(fromList.getStartTime(), fromStream.getStartTime(), TIME_DELTA);
+            assertEquals(fromList.getTotalExecutionTime(), fromStream.getTotalExecutionTime(), TIME_DELTA);
+        }
+    }
+
+    private static List<Cloudlet> runSimulation(final boolean stream) {
+        final var simulation = new CloudSimPlus();
+        final var hostList = IntStream.range(0, HOSTS).mapToObj(i -> createHost()).toList();
+        new DatacenterSimple(simulation, hostList);
+
+        final var broker = new DatacenterBrokerSimple(simulation);
+        final var vmList = new ArrayList<Vm>();
+        for (int i = 0; i < VMS; i++) {
+            vmList.add(new VmSimple(MIPS, 2).setRam(512).setBw(1000).setSize(10_000));
+        }
+
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final var cloudlet = new CloudletSimple(10_000L * (i % 3 + 1), 1).setSizes(300);
+            cloudlet.setSubmissionDelay(i * SUBMISSION_INTERVAL);
+            cloudletList.add(cloudlet);
+        }
+
+        broker.submitVmList(vmList);
+        if (stream) {
+            broker.submitCloudletStream(pullTimeCheckingIterator(simulation, cloudletList), LOOK_AHEAD);
+        } else broker.submitCloudletList(cloudletList);
+
+        simulation.start();
+        assertEquals(stream, broker.getCloudletSubmittedList().isEmpty());
+
+        final List<Cloudlet> finishedList = broker.getCloudletFinishedList();
+        finishedList.sort(Comparator.comparingLong(Cloudlet::getId));
+        return finishedList;
+    }
+
+    /**
+     * {@return an iterator which checks that each Cloudlet is just pulled close to its submission time}
+     */
+    private static Iterator<Cloudlet> pullTimeCheckingIterator(final CloudSimPlus simulation, final List<Cloudlet> cloudletList) {
+        final var iterator = cloudletList.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Cloudlet next() {
+                final Cloudlet cloudlet = iterator.next();
+                /* The iterator reads one Cloudlet ahead of the ones already pulled,
+                 * so the previous Cloudlet must be due when the next one is read. */
+                final double previousSubmissionTime = cloudlet.getSubmissionDelay() - SUBMISSION_INTERVAL;
+                assertTrue(
+                    simulation.clock() >= previousSubmissionTime - LOOK_AHEAD,
+                    "%s read at %.2f, too early".formatted(cloudlet, simulation.clock()));
+                return cloudlet;
+            }
+        };
+    }
+
+    private static HostSimple createHost() {
+        final List<Pe> peList = IntStream.range(0, 4).mapToObj(i -> (Pe)new PeSimple(MIPS)).toList();
+        return new HostSimple(4096, 10_000, 1_000_000, peList);
+    }
+}
@@ -0,0 +1,82 @@
+package org.cloudsimplus.integrationtests;
+
+import org.cloudsimplus.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.listeners.DatacenterVmMigrationEventInfo;
+import org.cloudsimplus.resources.Pe;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmPlacementConstraint;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that VMs having an anti-affinity constraint, which are requested to migrate into the same Host,
+ * are not placed together and are not lost when the migration of one of them cannot be performed.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class VmMigrationPlacementConstraintTest {
+    private static final int HOSTS = 3;
+    private static final int MIPS = 1000;
+    private static final long CLOUDLET_LENGTH = 100_000;
+
+    @Test
+    public void antiAffineVmsMigratingIntoTheSameHostAreNotLost() {
+        final var simulation = new CloudSimPlus();
+        final var hostList = IntStream.range(0, HOSTS).mapToObj(i -> createHost()).toList();
+        // Each VM is initially placed into the Host having the same index as the VM id
+        final var allocationPolicy = new VmAllocationPolicySimple((policy, vm) -> Optional.of(hostList.get((int) vm.getId())));
+        final var datacenter = new DatacenterSimple(simulation, hostList, allocationPolicy);
+
+        final var broker = new DatacenterBrokerSimple(simulation);
+        final List<Vm> vmList = IntStream.range(0, 2).mapToObj(i -> new VmSimple(MIPS, 1).setRam(512).setBw(1000).setSize(1000)).toList();
+        VmPlacementConstraint.antiAffinity(vmList);
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (final Vm vm : vmList) {
+            final var cloudlet = new CloudletSimple(CLOUDLET_LENGTH, 1).setSizes(300);
+            cloudlet.setVm(vm);
+            cloudletList.add(cloudlet);
+        }
+
+        final Host targetHost = hostList.get(HOSTS - 1);
+        // Both VMs are requested to migrate into the same Host as soon as they are created
+        broker.addOnVmsCreatedListener(info -> vmList.forEach(vm -> datacenter.requestVmMigration(vm, targetHost)));
+
+        final var migrations = new ArrayList<DatacenterVmMigrationEventInfo>();
+        final var hostsAfterMigration = new ArrayList<Host>();
+        datacenter.addOnVmMigrationFinishListener(info -> {
+            migrations.add(info);
+            vmList.forEach(vm -> hostsAfterMigration.add(vm.getHost()));
+        });
+
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+        simulation.start();
+
+        // The second VM migration must not even start, since the first VM is already migrating into the target Host
+        assertEquals(1, migrations.size());
+        assertTrue(migrations.get(0).isMigrationSuccessful());
+        assertSame(vmList.get(0), migrations.get(0).getVm());
+        assertEquals(List.of(targetHost, hostList.get(1)), hostsAfterMigration);
+        cloudletList.forEach(cloudlet -> assertTrue(cloudlet.isFinished(), cloudlet.toString()));
+    }
+
+    private static Host createHost() {
+        final List<Pe> peList = IntStream.range(0, 2).mapToObj(i -> (Pe) new PeSimple(MIPS)).toList();
+        return new HostSimple(4096, 10_000, 1_000_000, peList);
+    }
+}
@@ -0,0 +1,118 @@
+package org.cloudsimplus.power.models;
+
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.power.PowerMeasurement;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class PowerLookupTableTest {
+    private static final double STATIC_POWER = 100;
+    private static final double MAX_POWER = 250;
+
+    /**
+     * A non-linear power model, which cannot be exactly represented by linear interpolation.
+     */
+    private static PowerModelHost newSqrtPowerModel() {
+        return new PowerModelHostAbstract() {
+            @Override
+            protected double getPowerInternal(final double utilizationFraction) {
+                return STATIC_POWER + (MAX_POWER - STATIC_POWER) * Math.sqrt(utilizationFraction);
+            }
+
+            @Override
+            public PowerMeasurement getPowerMeasurement() {
+                return new PowerMeasurement();
+            }
+        };
+    }
+
+    @Test
+    void linearModelIsExactWithInitialResolution() {
+        final var model = new PowerModelHostSimple(MAX_POWER, STATIC_POWER);
+        final var table = new PowerLookupTable(model, 4, 0);
+        assertEquals(4, table.getResolution());
+        for (double utilization = 0; utilization <= 1; utilization += 0.01) {
+            assertEquals(model.getPower(utilization), table.getPower(utilization), 1e-9);
+        }
+    }
+
+    @Test
+    void nonLinearModelIsRefinedUntilErrorBound() {
+        final double errorBound = 0.5;
+        final var model = newSqrtPowerModel();
+        final var table = new PowerLookupTable(model, 10, errorBound);
+        assertTrue(table.getResolution() > 10);
+        assertTrue(table.getMaxError() <= errorBound);
+        for (int i = 1; i <= 1000; i++) {
+            final double utilization = i / 1000.0;
+            assertEquals(model.getPower(utilization), table.getPower(utilization), errorBound);
+        }
+    }
+
+    @Test
+    void specModelGetsPowerAtFullUtilization() {
+        final double[] specs = {STATIC_POWER, 120, 140, 160, 180, 200, 210, 220, 230, 240, MAX_POWER};
+        final var table = new PowerLookupTable(new PowerModelHostSpec(specs), 100, 0.5);
+        assertEquals(MAX_POWER, table.getPower(1));
+        assertEquals(200, table.getPower(0.5));
+    }
+
+    @Test
+    void specModelTableIsExact() {
+        final double[] specs = {STATIC_POWER, 120, 140, 160, 180, 200, 210, 220, 230, 240, MAX_POWER};
+        final var model = new PowerModelHostSpec(specs);
+        final var table = new PowerLookupTable(model, 100, 0.5);
+        assertEquals(specs.length - 1, table.getResolution());
+        assertEquals(0, table.getMaxError());
+        for (int i = 0; i <= 1000; i++) {
+            final double utilization = i / 1000.0;
+            assertEquals(model.getPower(utilization), table.getPower(utilization));
+        }
+    }
+
+    @Test
+    void unreachableErrorBoundIsRejected() {
+        final var stepModel = new PowerModelHostAbstract() {
+            @Override
+            protected double getPowerInternal(final double utilizationFraction) {
+                return utilizationFraction < 0.3 ? STATIC_POWER : MAX_POWER;
+            }
+
+            @Override
+            public PowerMeasurement getPowerMeasurement() {
+                return new PowerMeasurement();
+            }
+        };
+
+        assertThrows(IllegalArgumentException.class, () -> new PowerLookupTable(stepModel, 10, 0.5));
+    }
+
+    @Test
+    void lookupModelGetsPowerFromTable() {
+        final var table = new PowerLookupTable(newSqrtPowerModel(), 100, 0.5);
+        final var model = new PowerModelHostLookup(table);
+        assertSame(table, model.getTable());
+        assertEquals(table.getPower(0.3), model.getPower(0.3));
+        assertThrows(IllegalArgumentException.class, () -> model.getPower(1.1));
+    }
+
+    @Test
+    void lookupModelClampsHostUtilizationAboveCapacity() {
+        final var table = new PowerLookupTable(newSqrtPowerModel(), 100, 0.5);
+        final var host = Mockito.mock(HostSimple.class);
+        Mockito.when(host.isActive()).thenReturn(true);
+        Mockito.when(host.getTotalMipsCapacity()).thenReturn(1000.0);
+        Mockito.when(host.getCpuMipsUtilization()).thenReturn(1005.0);
+        final var model = new PowerModelHostLookup(table);
+        model.setHost(host);
+
+        final PowerMeasurement measurement = model.getPowerMeasurement();
+        assertEquals(STATIC_POWER, measurement.getStaticPower());
+        assertEquals(table.getPower(1), measurement.getTotalPower(), 1e-9);
+    }
+}
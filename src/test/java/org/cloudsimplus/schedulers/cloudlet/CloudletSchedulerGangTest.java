@@ -0,0 +1,178 @@
+package org.cloudsimplus.schedulers.cloudlet;
+
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.resources.Pe;
+import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.utilizationmodels.UtilizationModelFull;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class CloudletSchedulerGangTest {
+    private static final int MIPS = 1000;
+    private static final double TIME_SLICE = 1;
+
+    /**
+     * Two gangs, each one with a Cloudlet in each VM, must alternate in time slices.
+     * Each Cloudlet requires 2 seconds of CPU, so the first gang finishes after
+     * 3 time slices and the second one after 4.
+     */
+    @Test
+    void gangsAlternateInTimeSlices() {
+        final var simulation = new CloudSimPlus();
+        final List<Pe> peList = List.of(new PeSimple(MIPS), new PeSimple(MIPS));
+        new DatacenterSimple(simulation, List.of(new HostSimple(4096, 100_000, 100_000, peList)));
+        final var broker = new DatacenterBrokerSimple(simulation);
+
+        final var coordinator = new GangSchedulingCoordinator(TIME_SLICE);
+        final Vm vm0 = createVm(coordinator);
+        final Vm vm1 = createVm(coordinator);
+
+        final List<Cloudlet> gang0 = List.of(createCloudlet(vm0), createCloudlet(vm1));
+        final List<Cloudlet> gang1 = List.of(createCloudlet(vm0), createCloudlet(vm1));
+        coordinator.addGang(gang0).addGang(gang1);
+
+        broker.submitVmList(List.of(vm0, vm1));
+        broker.submitCloudletList(List.of(gang0.get(0), gang0.get(1), gang1.get(0), gang1.get(1)));
+        simulation.start();
+
+        final double gang0StartTime = gang0.get(0).getStartTime();
+        gang0.forEach(cloudlet -> assertEquals(gang0StartTime + 3, cloudlet.getFinishTime(), 0.2));
+        gang1.forEach(cloudlet -> assertEquals(gang0StartTime + 4, cloudlet.getFinishTime(), 0.2));
+        assertEquals(0, coordinator.getTimeSlotsNumber());
+    }
+
+    /**
+     * When all members of a gang finish, its time slot must be kept until the update round at that time ends,
+     * so that schedulers of other VMs updated in the same round still see the same active time slot.
+     */
+    @Test
+    void finishedGangReleasesTimeSlotJustAfterUpdateRound() {
+        final var coordinator = new GangSchedulingCoordinator(TIME_SLICE);
+        final Vm vm0 = createVm(coordinator);
+        final Vm vm1 = createVm(coordinator);
+        final List<Cloudlet> gang0 = List.of(createCloudlet(vm0), createCloudlet(vm1));
+        final List<Cloudlet> gang1 = List.of(createCloudlet(vm0), createCloudlet(vm1));
+        coordinator.addGang(gang0).addGang(gang1);
+        gang0.forEach(cloudlet -> coordinator.place(cloudlet, 0));
+        gang1.forEach(cloudlet -> coordinator.place(cloudlet, 0));
+        assertTrue(coordinator.isActive(gang1.get(0), 1));
+
+        // The member in vm1 finishes first, but the gang just finishes when its last member does
+        gang1.get(1).setStatus(Cloudlet.Status.SUCCESS);
+        coordinator.finish(gang1.get(1), 1.5);
+        assertFalse(coordinator.hasFinishedGangs());
+
+        gang1.get(0).setStatus(Cloudlet.Status.SUCCESS);
+        coordinator.finish(gang1.get(0), 1.5);
+        assertTrue(coordinator.hasFinishedGangs());
+
+        // Other VMs updated in the same round still see the finished gang's slot as the active one
+        assertFalse(coordinator.isActive(gang0.get(1), 1.5));
+        assertEquals(2, coordinator.getTimeSlotsNumber());
+
+        // In the next round, the slot is released and the remaining gang runs right away
+        assertTrue(coordinator.isActive(gang0.get(0), 1.6));
+        assertTrue(coordinator.isActive(gang0.get(1), 1.6));
+        assertFalse(coordinator.hasFinishedGangs());
+        assertEquals(1, coordinator.getTimeSlotsNumber());
+    }
+
+    /**
+     * A gang member that finishes before the others keeps its PEs idle, while stragglers
+     * of its gang keep running in the gang's time slot. Gang 0 has a Cloudlet requiring 1 second of CPU
+     * and another requiring 3 seconds. Gang 1 has Cloudlets requiring 2 seconds.
+     * Gang 0 runs during slices 1, 3 and 5, while gang 1 runs during slices 2 and 4.
+     */
+    @Test
+    void gangMemberFinishingEarlierKeepsTimeSlotForStragglers() {
+        final var simulation = new CloudSimPlus();
+        final var broker = createDatacenterAndBroker(simulation, 2);
+
+        final var coordinator = new GangSchedulingCoordinator(TIME_SLICE);
+        final Vm vm0 = createVm(coordinator);
+        final Vm vm1 = createVm(coordinator);
+
+        final List<Cloudlet> gang0 = List.of(createCloudlet(vm0, 1), createCloudlet(vm1, 3));
+        final List<Cloudlet> gang1 = List.of(createCloudlet(vm0, 2), createCloudlet(vm1, 2));
+        coordinator.addGang(gang0).addGang(gang1);
+
+        broker.submitVmList(List.of(vm0, vm1));
+        broker.submitCloudletList(List.of(gang0.get(0), gang0.get(1), gang1.get(0), gang1.get(1)));
+        simulation.start();
+
+        final double startTime = gang0.get(0).getStartTime();
+        assertEquals(startTime + 1, gang0.get(0).getFinishTime(), 0.2);
+        assertEquals(startTime + 5, gang0.get(1).getFinishTime(), 0.2);
+        gang1.forEach(cloudlet -> assertEquals(startTime + 4, cloudlet.getFinishTime(), 0.2));
+        assertEquals(0, coordinator.getTimeSlotsNumber());
+    }
+
+    /**
+     * Gangs spread across a different number of VMs share time slots when they fit together.
+     * Gang 0 runs in all 3 VMs, while gangs 1 (in VMs 0 and 1) and 2 (in VM 2) share the second time slot.
+     * Each Cloudlet requires 2 seconds of CPU, so gang 0 finishes after 3 time slices,
+     * then the second slot runs until gangs 1 and 2 finish after the 4th slice.
+     */
+    @Test
+    void gangsSpreadAcrossSeveralVmsShareTimeSlots() {
+        final var simulation = new CloudSimPlus();
+        final var broker = createDatacenterAndBroker(simulation, 3);
+
+        final var coordinator = new GangSchedulingCoordinator(TIME_SLICE);
+        final List<Vm> vms = List.of(createVm(coordinator), createVm(coordinator), createVm(coordinator));
+
+        final List<Cloudlet> gang0 = vms.stream().map(CloudletSchedulerGangTest::createCloudlet).toList();
+        final List<Cloudlet> gang1 = List.of(createCloudlet(vms.get(0)), createCloudlet(vms.get(1)));
+        final List<Cloudlet> gang2 = List.of(createCloudlet(vms.get(2)));
+        coordinator.addGang(gang0).addGang(gang1).addGang(gang2);
+
+        broker.submitVmList(vms);
+        broker.submitCloudletList(gang0);
+        broker.submitCloudletList(gang1);
+        broker.submitCloudletList(gang2);
+        simulation.start();
+
+        final double startTime = gang0.get(0).getStartTime();
+        gang0.forEach(cloudlet -> assertEquals(startTime + 3, cloudlet.getFinishTime(), 0.2));
+        gang1.forEach(cloudlet -> assertEquals(startTime + 4, cloudlet.getFinishTime(), 0.2));
+        gang2.forEach(cloudlet -> assertEquals(startTime + 4, cloudlet.getFinishTime(), 0.2));
+        assertEquals(0, coordinator.getTimeSlotsNumber());
+    }
+
+    private static DatacenterBrokerSimple createDatacenterAndBroker(final CloudSimPlus simulation, final int pes) {
+        final List<Pe> peList = IntStream.range(0, pes).mapToObj(i -> (Pe) new PeSimple(MIPS)).toList();
+        new DatacenterSimple(simulation, List.of(new HostSimple(4096, 100_000, 100_000, peList)));
+        return new DatacenterBrokerSimple(simulation);
+    }
+
+    private static Vm createVm(final GangSchedulingCoordinator coordinator) {
+        return new VmSimple(MIPS, 1)
+            .setRam(512).setBw(1000).setSize(10_000)
+            .setCloudletScheduler(new CloudletSchedulerGang(coordinator));
+    }
+
+    private static Cloudlet createCloudlet(final Vm vm) {
+        return createCloudlet(vm, 2);
+    }
+
+    /**
+     * Creates a Cloudlet requiring a given number of seconds of CPU.
+     */
+    private static Cloudlet createCloudlet(final Vm vm, final int seconds) {
+        return new CloudletSimple(MIPS * seconds, 1, new UtilizationModelFull()).setVm(vm);
+    }
+}
@@ -0,0 +1,104 @@
+package org.cloudsimplus.util;
+
+import org.apache.commons.math3.stat.regression.SimpleRegression;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class RollingWindowStatisticsTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void emptyWindowStatisticsAreZero() {
+        final var window = new RollingWindowStatistics(5);
+        assertAll(
+            () -> assertEquals(0, window.getSize()),
+            () -> assertEquals(0, window.median()),
+            () -> assertEquals(0, window.mad()),
+            () -> assertEquals(0, window.iqr()),
+            () -> assertEquals(0, window.slope()),
+            () -> assertEquals(0, window.predictNext())
+        );
+    }
+
+    @Test
+    void invalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RollingWindowStatistics(0));
+    }
+
+    @Test
+    void madOfKnownData() {
+        final var window = new RollingWindowStatistics(MathUtilTest.DATA3.length);
+        Arrays.stream(MathUtilTest.DATA3).forEach(window::add);
+        assertEquals(MathUtilTest.MAD, window.mad(), DELTA);
+    }
+
+    @Test
+    void iqrOfKnownData() {
+        final var window = new RollingWindowStatistics(MathUtilTest.DATA1.length);
+        Arrays.stream(MathUtilTest.DATA1).forEach(window::add);
+        assertEquals(MathUtilTest.IQR1, window.iqr(), DELTA);
+    }
+
+    @Test
+    void oldestValuesAreRemovedWhenFull() {
+        final var window = new RollingWindowStatistics(3);
+        for (int i = 1; i <= 5; i++) {
+            window.add(i);
+        }
+
+        assertAll(
+            () -> assertTrue(window.isFull()),
+            () -> assertEquals(3, window.getSize()),
+            () -> assertEquals(4, window.median()),
+            () -> assertEquals(4, window.mean(), DELTA),
+            () -> assertEquals(1, window.slope(), DELTA),
+            () -> assertEquals(6, window.predictNext(), DELTA)
+        );
+    }
+
+    @Test
+    void statisticsOfOddSizedWindowMatchTheOnesComputedFromTheWholeWindow() {
+        assertStatisticsMatchTheOnesComputedFromTheWholeWindow(7);
+    }
+
+    @Test
+    void statisticsOfEvenSizedWindowMatchTheOnesComputedFromTheWholeWindow() {
+        assertStatisticsMatchTheOnesComputedFromTheWholeWindow(8);
+    }
+
+    /**
+     * Checks the incremental statistics against the ones computed from scratch
+     * for each window of a random series (including repeated values) as it slides.
+     */
+    private static void assertStatisticsMatchTheOnesComputedFromTheWholeWindow(final int capacity) {
+        final var random = new Random(capacity);
+        final var window = new RollingWindowStatistics(capacity);
+        final double[] series = random.ints(100, 0, 10).asDoubleStream().toArray();
+        for (int i = 0; i < series.length; i++) {
+            window.add(series[i]);
+            final double[] values = Arrays.copyOfRange(series, Math.max(0, i + 1 - capacity), i + 1);
+            if (values.length < 4) {
+                continue;
+            }
+
+            final var regression = new SimpleRegression();
+            for (int x = 0; x < values.length; x++) {
+                regression.addData(x, values[x]);
+            }
+
+            final String msg = "window ending at " + i;
+            assertEquals(MathUtil.median(values), window.median(), DELTA, msg);
+            assertEquals(MathUtil.mad(values), window.mad(), DELTA, msg);
+            assertEquals(MathUtil.iqr(values.clone()), window.iqr(), DELTA, msg);
+            assertEquals(regression.getSlope(), window.slope(), DELTA, msg);
+            assertEquals(regression.predict(values.length), window.predictNext(), DELTA, msg);
+        }
+    }
+}
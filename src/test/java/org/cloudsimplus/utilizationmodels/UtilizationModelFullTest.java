@@ -22,4 +22,14 @@ public class UtilizationModelFullTest {
         }
     }
 
+    @Test
+    public void testUtilizationCacheDisabled() {
+        final UtilizationModelFull instance = new UtilizationModelFull();
+        instance.setUtilizationCacheEnabled(false);
+        instance.getUtilization(1);
+        instance.getUtilization(1);
+        assertEquals(0, instance.getUtilizationCacheHits());
+        assertEquals(0, instance.getUtilizationCacheMisses());
+    }
+
 }
@@ -87,6 +87,29 @@ public class UtilizationModelStochasticTest {
         }
     }
 
+    @Test
+    public void testUtilizationCacheHitsForSameTime() {
+        final double utilization = utilizationModel.getUtilization(1);
+        assertEquals(utilization, utilizationModel.getUtilization(1));
+        assertEquals(utilization, utilizationModel.getUtilization(1));
+        assertAll(
+            () -> assertEquals(2, utilizationModel.getUtilizationCacheHits()),
+            () -> assertEquals(1, utilizationModel.getUtilizationCacheMisses()),
+            () -> assertEquals(2/3.0, utilizationModel.getUtilizationCacheHitRate(), 0.0001)
+        );
+    }
+
+    @Test
+    public void testUtilizationNotCachedWhenAlwaysGenNewRandUtilization() {
+        utilizationModel.setAlwaysGenNewRandUtilization(true);
+        utilizationModel.getUtilization(1);
+        utilizationModel.getUtilization(1);
+        assertAll(
+            () -> assertEquals(0, utilizationModel.getUtilizationCacheHits()),
+            () -> assertEquals(0, utilizationModel.getUtilizationCacheHitRate())
+        );
+    }
+
     /**
      * A Pseudo Random Number Generator (PRNG) that always returns -1.
      */
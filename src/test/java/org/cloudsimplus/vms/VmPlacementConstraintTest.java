@@ -0,0 +1,135 @@
+package org.cloudsimplus.vms;
+
+import org.cloudsimplus.hosts.Host;
+import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.hosts.HostSimpleTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+class VmPlacementConstraintTest {
+    private static final int MIPS = 1000;
+    private List<HostSimple> hostList;
+    private List<Vm> vmList;
+
+    @BeforeEach
+    void setUp() {
+        hostList = IntStream.range(0, 4).mapToObj(i -> HostSimpleTest.createHostSimple(i, 8, MIPS, 10_000, 100_000, 100_000)).toList();
+        vmList = IntStream.range(0, 4).mapToObj(i -> (Vm) VmTestUtil.createVm(i, MIPS, 1)).toList();
+    }
+
+    private void createVm(final int hostIndex, final int vmIndex) {
+        assertTrue(hostList.get(hostIndex).createVm(vmList.get(vmIndex)).fully());
+    }
+
+    private boolean isSuitable(final int hostIndex, final int vmIndex) {
+        return hostList.get(hostIndex).isSuitableForVm(vmList.get(vmIndex));
+    }
+
+    @Test
+    void constraintIsAddedToVms() {
+        final var constraint = VmPlacementConstraint.antiAffinity(vmList);
+        vmList.forEach(vm -> assertEquals(List.of(constraint), vm.getPlacementConstraints()));
+    }
+
+    @Test
+    void antiAffinityRejectsHostWithAnotherVm() {
+        VmPlacementConstraint.antiAffinity(vmList);
+        createVm(0, 0);
+        assertFalse(isSuitable(0, 1));
+        assertTrue(isSuitable(1, 1));
+    }
+
+    @Test
+    void antiAffinityAcceptsHostAgainAfterVmIsDestroyed() {
+        VmPlacementConstraint.antiAffinity(vmList);
+        createVm(0, 0);
+        hostList.get(0).destroyAllVms();
+        assertTrue(isSuitable(0, 1));
+    }
+
+    @Test
+    void affinityJustAcceptsHostOfOtherVms() {
+        VmPlacementConstraint.affinity(vmList);
+        assertTrue(isSuitable(2, 0));
+        createVm(2, 0);
+        assertTrue(isSuitable(2, 1));
+        assertFalse(isSuitable(3, 1));
+    }
+
+    @Test
+    void spreadLimitsVmsPerHost() {
+        VmPlacementConstraint.spread(vmList, 2);
+        createVm(0, 0);
+        assertTrue(isSuitable(0, 1));
+        createVm(0, 1);
+        assertFalse(isSuitable(0, 2));
+        assertTrue(isSuitable(1, 2));
+    }
+
+    @Test
+    void spreadRequiresTheMinimumNumberOfDistinctHosts() {
+        // At most 2 VMs per Host, but the 4 VMs must use at least 3 Hosts
+        VmPlacementConstraint.spread(vmList, 3);
+        createVm(0, 0);
+        createVm(0, 1);
+        createVm(1, 2);
+        assertFalse(isSuitable(1, 3));
+        assertTrue(isSuitable(2, 3));
+    }
+
+    @Test
+    void antiAffinityRejectsHostPlannedForAnotherVm() {
+        final var constraint = VmPlacementConstraint.antiAffinity(vmList);
+        createVm(0, 0);
+        constraint.updatePlannedTarget(vmList.get(0), hostList.get(1));
+        assertFalse(isSuitable(1, 1));
+        // The VM is still counted into its current Host until it's actually migrated
+        assertFalse(isSuitable(0, 1));
+
+        constraint.updatePlannedTarget(vmList.get(0), Host.NULL);
+        assertTrue(isSuitable(1, 1));
+    }
+
+    @Test
+    void antiAffinityRejectsHostAnotherVmIsMigratingInto() {
+        final var constraint = VmPlacementConstraint.antiAffinity(vmList);
+        createVm(0, 0);
+        constraint.updateMigrationTarget(vmList.get(0), hostList.get(1));
+        assertFalse(isSuitable(1, 1));
+
+        constraint.updateMigrationTarget(vmList.get(0), Host.NULL);
+        assertTrue(isSuitable(1, 1));
+    }
+
+    @Test
+    void rackAffinityAcceptsHostsInTheSameRack() {
+        VmPlacementConstraint.rackAffinity(vmList, host -> host.getId() / 2);
+        createVm(0, 0);
+        assertTrue(isSuitable(1, 1));
+        assertFalse(isSuitable(2, 1));
+    }
+
+    @Test
+    void vmGroupIsCheckedByTheConstraintsOfItsVms() {
+        VmPlacementConstraint.antiAffinity(vmList.subList(0, 2));
+        final var group = new VmGroup(vmList.subList(1, 3));
+        createVm(0, 0);
+        final Host host = hostList.get(0);
+        assertFalse(host.isSuitableForVm(group));
+        assertTrue(hostList.get(1).isSuitableForVm(group));
+    }
+
+    @Test
+    void vmGroupCannotBeMember() {
+        final var group = new VmGroup(vmList.subList(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> VmPlacementConstraint.antiAffinity(List.of(group, vmList.get(2))));
+    }
+}